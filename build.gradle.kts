@@ -87,6 +87,8 @@ dependencies {
     //runtimeOnly(libs.jme3.testdata.old)
     runtimeOnly(libs.nashorn.core)
     runtimeOnly(libs.nifty.style.black)
+
+    testImplementation(libs.junit4)
 }
 
 // Register cleanup tasks:
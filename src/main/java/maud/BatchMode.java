@@ -0,0 +1,353 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AppStateManager;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import jme3utilities.MyString;
+import jme3utilities.SimpleAppState;
+import jme3utilities.Validate;
+import maud.model.cgm.PendingLoad;
+import maud.model.cgm.PendingShape;
+import maud.model.cgm.PendingWrite;
+
+/**
+ * An AppState to convert C-G models without displaying anything, by feeding a
+ * script of editor actions to {@link Maud#perform(java.lang.String)} while
+ * the editor runs in a headless context. Each non-blank line of the script
+ * that doesn't begin with "#" is an action string, the same as in the
+ * startup script, for instance "load cgm asset 0 Models/Foo.j3o" or
+ * "select menuItem Animation -&gt; Edit -&gt; Simplify".
+ * <p>
+ * Each action runs to completion, including any background load or export it
+ * starts, before the next one begins. An action fails if it throws an
+ * exception, isn't handled, or logs a SEVERE message. The wall-clock time of
+ * each action is reported. The application exits after the last action or
+ * the first failure.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class BatchMode extends SimpleAppState {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(BatchMode.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * count of SEVERE messages logged since the script began
+     */
+    final private AtomicInteger severeCount = new AtomicInteger(0);
+    /**
+     * true if the current action wasn't handled, otherwise false
+     */
+    private boolean wasUnhandled = false;
+    /**
+     * true once the application has been asked to stop
+     */
+    private boolean isStopping = false;
+    /**
+     * log handler that counts SEVERE messages from any thread
+     */
+    final private Handler severeCounter = new Handler() {
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public void flush() {
+            // do nothing
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            if (record.getLevel().intValue() >= Level.SEVERE.intValue()) {
+                severeCount.incrementAndGet();
+            }
+        }
+    };
+    /**
+     * process exit status: 0 if every action succeeded, otherwise 1
+     */
+    private int exitStatus = 0;
+    /**
+     * index of the next script line to examine
+     */
+    private int nextLine = 0;
+    /**
+     * number of actions performed
+     */
+    private int numActions = 0;
+    /**
+     * count of SEVERE messages when the current action began
+     */
+    private int severeAtStart = 0;
+    /**
+     * lines of the script, or null if not read yet
+     */
+    private List<String> lines = null;
+    /**
+     * starting time of the current action (from {@link System#nanoTime()})
+     */
+    private long actionStart = 0L;
+    /**
+     * starting time of the script (from {@link System#nanoTime()})
+     */
+    private long scriptStart = 0L;
+    /**
+     * the action in progress, or null if none
+     */
+    private String currentAction = null;
+    /**
+     * filesystem path to the script (not null)
+     */
+    final private String scriptPath;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an enabled AppState to execute the specified script.
+     *
+     * @param scriptPath filesystem path to the script (not null, not empty)
+     */
+    BatchMode(String scriptPath) {
+        super(true);
+        Validate.nonEmpty(scriptPath, "script path");
+
+        this.scriptPath = scriptPath;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Note that an action wasn't handled. Invoked by
+     * {@link Maud#didntHandle(java.lang.String)}.
+     *
+     * @param actionString the unhandled action (not null)
+     */
+    void didntHandle(String actionString) {
+        if (actionString.equals(currentAction)) {
+            this.wasUnhandled = true;
+        }
+    }
+
+    /**
+     * Read the process exit status.
+     *
+     * @return 0 if every action succeeded, otherwise 1
+     */
+    int exitStatus() {
+        return exitStatus;
+    }
+
+    /**
+     * Print a usage message for batch mode to the standard error stream.
+     */
+    public static void printUsage() {
+        System.err.println("usage: Maud --batch <script path>");
+        System.err.println("  where each line of the script is an editor "
+                + "action, for instance:");
+        System.err.println("    new assetLocationSpec file:///path/to/assets");
+        System.err.println("    load cgm asset <index> <asset path>");
+        System.err.println("    load sourceCgm asset <index> <asset path>");
+        System.err.println("    load map asset <index> <asset path>");
+        System.err.println("    new animations fromRetarget");
+        System.err.println("    load animation <name>");
+        System.err.println("    reduce animation <factor>");
+        System.err.println("    resample animation AtRate|ToNumber <count>");
+        System.err.println(
+                "    select menuItem Animation -> Edit -> Simplify");
+        System.err.println("    save cgm All J3O <base file path>");
+    }
+    // *************************************************************************
+    // SimpleAppState methods
+
+    /**
+     * Clean up this AppState on detach.
+     */
+    @Override
+    public void cleanup() {
+        Logger.getLogger("").removeHandler(severeCounter);
+        super.cleanup();
+    }
+
+    /**
+     * Initialize this AppState on the first update after it is attached: read
+     * the script.
+     *
+     * @param sm the application's state manager (not null)
+     * @param app the application which owns this state (not null)
+     */
+    @Override
+    public void initialize(AppStateManager sm, Application app) {
+        super.initialize(sm, app);
+
+        Logger.getLogger("").addHandler(severeCounter);
+        try {
+            File scriptFile = new File(scriptPath);
+            this.lines = Files.readAllLines(
+                    scriptFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            logger.log(Level.SEVERE, "unable to read script "
+                    + MyString.quote(scriptPath), exception);
+            this.exitStatus = 1;
+            stop();
+            return;
+        }
+        this.scriptStart = System.nanoTime();
+    }
+
+    /**
+     * Callback to update this AppState once per frame: once the editor is
+     * idle, finish the current action and perform the next one.
+     *
+     * @param tpf the time interval between frames (in seconds, &ge;0)
+     */
+    @Override
+    public void update(float tpf) {
+        super.update(tpf);
+
+        if (isStopping || isBusy()) {
+            return;
+        }
+
+        if (currentAction != null) {
+            boolean success = finishAction();
+            if (!success) {
+                this.exitStatus = 1;
+                stop();
+                return;
+            }
+        }
+
+        String actionString = nextAction();
+        if (actionString == null) {
+            double totalMsec = 1e-6 * (System.nanoTime() - scriptStart);
+            System.out.printf("%10.1f msec  total for %d action%s%n",
+                    totalMsec, numActions, numActions == 1 ? "" : "s");
+            stop();
+        } else {
+            startAction(actionString);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Finish the current action and report its timing.
+     *
+     * @return true if it succeeded, otherwise false
+     */
+    private boolean finishAction() {
+        double msec = 1e-6 * (System.nanoTime() - actionStart);
+        boolean success = !wasUnhandled && severeCount.get() == severeAtStart;
+        if (wasUnhandled) {
+            logger.log(Level.SEVERE, "unhandled action {0}",
+                    MyString.quote(currentAction));
+        }
+
+        ++numActions;
+        System.out.printf("%10.1f msec  %s%s%n", msec, currentAction,
+                success ? "" : "  FAILED");
+        this.currentAction = null;
+
+        return success;
+    }
+
+    /**
+     * Test whether the editor is still busy with the current action, loading
+     * or exporting in the background.
+     *
+     * @return true if busy, otherwise false
+     */
+    private static boolean isBusy() {
+        boolean result = PendingLoad.isActive() || PendingShape.isActive()
+                || PendingWrite.countPending() > 0;
+        return result;
+    }
+
+    /**
+     * Find the next action in the script.
+     *
+     * @return the action string, or null if none remain
+     */
+    private String nextAction() {
+        while (nextLine < lines.size()) {
+            String actionString = lines.get(nextLine).trim();
+            ++nextLine;
+            if (!actionString.isEmpty() && !actionString.startsWith("#")) {
+                return actionString;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Perform the specified action using the editor's action dispatch.
+     *
+     * @param actionString the action to perform (not null)
+     */
+    private void startAction(String actionString) {
+        this.currentAction = actionString;
+        this.wasUnhandled = false;
+        this.severeAtStart = severeCount.get();
+        this.actionStart = System.nanoTime();
+        try {
+            Maud.perform(actionString);
+        } catch (RuntimeException exception) {
+            // such as NumberFormatException from a malformed argument
+            logger.log(Level.SEVERE, "exception while performing "
+                    + MyString.quote(actionString), exception);
+        }
+    }
+
+    /**
+     * Request termination of the application, which exits with the status of
+     * the script.
+     */
+    private void stop() {
+        this.isStopping = true;
+        Maud.getApplication().stop();
+    }
+}
@@ -181,6 +181,30 @@ final public class DescribeUtil {
         return description;
     }
 
+    /**
+     * Describe an amount of memory using binary prefixes.
+     *
+     * @param numBytes the number of bytes (&ge;0)
+     * @return a textual description (not null, not empty)
+     */
+    public static String memory(long numBytes) {
+        Validate.require(numBytes >= 0L, "a non-negative number of bytes");
+
+        String result;
+        if (numBytes < 1024L) {
+            result = String.format("%d B", numBytes);
+        } else if (numBytes < 1024L * 1024L) {
+            result = String.format("%.1f KiB", numBytes / 1024.0);
+        } else if (numBytes < 1024L * 1024L * 1024L) {
+            result = String.format("%.1f MiB", numBytes / (1024.0 * 1024.0));
+        } else {
+            result = String.format("%.1f GiB",
+                    numBytes / (1024.0 * 1024.0 * 1024.0));
+        }
+
+        return result;
+    }
+
     /**
      * Describe a texture.
      *
@@ -68,6 +68,8 @@ import maud.model.option.PerformanceMode;
 import maud.model.option.scene.AxesOptions;
 import maud.model.option.scene.CameraOptions;
 import maud.tool.EditorTools;
+import maud.tool.ToolInvalidator;
+import maud.tool.ToolRefresh;
 import maud.view.Drag;
 import maud.view.EditorView;
 import maud.view.Selection;
@@ -305,6 +307,7 @@ public class EditorScreen extends GuiScreenController {
         EditorView mouseView = mouseView();
         if (mouseCgm != null && mouseView != null) {
             Vector2f mouseXY = inputManager.getCursorPosition();
+            Profiler.begin(ProfilerStage.Picking);
             Selection selection = new Selection(mouseXY, maxDSquared);
             mouseView.considerAxes(selection);
             mouseView.considerBones(selection);
@@ -313,6 +316,7 @@ public class EditorScreen extends GuiScreenController {
             mouseView.considerKeyframes(selection);
             mouseView.considerTracks(selection);
             selection.select();
+            Profiler.end(ProfilerStage.Picking);
         }
     }
 
@@ -324,9 +328,11 @@ public class EditorScreen extends GuiScreenController {
         EditorView mouseView = mouseView();
         if (mouseCgm != null && mouseView != null) {
             Vector2f mouseXY = inputManager.getCursorPosition();
+            Profiler.begin(ProfilerStage.Picking);
             Selection selection = new Selection(mouseXY, maxDSquared);
             mouseView.considerBones(selection);
             selection.select();
+            Profiler.end(ProfilerStage.Picking);
         }
     }
 
@@ -338,9 +344,11 @@ public class EditorScreen extends GuiScreenController {
         EditorView mouseView = mouseView();
         if (mouseCgm != null && mouseView != null) {
             Vector2f mouseXY = inputManager.getCursorPosition();
+            Profiler.begin(ProfilerStage.Picking);
             Selection selection = new Selection(mouseXY, Float.MAX_VALUE);
             mouseView.considerGnomons(selection);
             selection.select();
+            Profiler.end(ProfilerStage.Picking);
         }
     }
 
@@ -352,9 +360,11 @@ public class EditorScreen extends GuiScreenController {
         EditorView mouseView = mouseView();
         if (mouseCgm != null && mouseView != null) {
             Vector2f mouseXY = inputManager.getCursorPosition();
+            Profiler.begin(ProfilerStage.Picking);
             Selection selection = new Selection(mouseXY, maxDSquared);
             mouseView.considerKeyframes(selection);
             selection.select();
+            Profiler.end(ProfilerStage.Picking);
         }
     }
 
@@ -366,9 +376,11 @@ public class EditorScreen extends GuiScreenController {
         EditorView mouseView = mouseView();
         if (mouseCgm != null && mouseView != null) {
             Vector2f mouseXY = inputManager.getCursorPosition();
+            Profiler.begin(ProfilerStage.Picking);
             Selection selection = new Selection(mouseXY, maxDSquared);
             mouseView.considerVertices(selection);
             selection.select();
+            Profiler.end(ProfilerStage.Picking);
         }
     }
 
@@ -429,6 +441,11 @@ public class EditorScreen extends GuiScreenController {
         setListener(inputMode);
 
         super.initialize(stateManager, application);
+        /*
+         * Refresh the displayed tools after any user input,
+         * including input consumed by Nifty.
+         */
+        inputManager.addRawInputListener(new ToolInvalidator());
 
         // Initialize the texture previewer to a square, unshaded and all white.
         RectangleMesh square = new RectangleMesh();
@@ -470,6 +487,7 @@ public class EditorScreen extends GuiScreenController {
         updateBars();
 
         // Update the loaded animations.
+        Profiler.begin(ProfilerStage.Pose);
         Cgm source = model.getSource();
         if (source.getAnimation().isMoving()) {
             updateTrackTime(source, tpf);
@@ -479,6 +497,7 @@ public class EditorScreen extends GuiScreenController {
         } else if (target.getAnimation().isRetargetedPose()) {
             target.getPose().setToAnimation();
         }
+        Profiler.end(ProfilerStage.Pose);
 
         ViewType viewType = mouseViewType();
         if (viewType == ViewType.Scene) {
@@ -511,10 +530,19 @@ public class EditorScreen extends GuiScreenController {
         updateTexturePreviewer();
 
         // Update the views.
+        Profiler.begin(ProfilerStage.SceneViews);
         source.getSceneView().update(null, tpf);
         target.getSceneView().update(null, tpf);
+        Profiler.end(ProfilerStage.SceneViews);
+
+        Profiler.begin(ProfilerStage.ScoreViews);
         source.getScoreView().update(source, tpf);
         target.getScoreView().update(target, tpf);
+        Profiler.end(ProfilerStage.ScoreViews);
+
+        // The tools are updated next, ending when the ProfilerAppState is.
+        Profiler.begin(ProfilerStage.Tools);
+        ToolRefresh.beginFrame(tpf);
     }
     // *************************************************************************
     // private methods
@@ -638,24 +666,36 @@ public class EditorScreen extends GuiScreenController {
     private void updatePerformanceMode() {
         PerformanceAppState pas
                 = stateManager.getState(PerformanceAppState.class);
+        ProfilerAppState profiler
+                = stateManager.getState(ProfilerAppState.class);
         StatsAppState sas = stateManager.getState(StatsAppState.class);
 
         PerformanceMode mode = Maud.getModel().getMisc().performanceMode();
         switch (mode) {
             case DebugPas:
                 pas.setEnabled(true);
+                profiler.setEnabled(false);
                 sas.setDisplayFps(false);
                 sas.setDisplayStatView(false);
                 break;
 
             case JmeStats:
                 pas.setEnabled(false);
+                profiler.setEnabled(false);
                 sas.setDisplayFps(true);
                 sas.setDisplayStatView(true);
                 break;
 
             case Off:
                 pas.setEnabled(false);
+                profiler.setEnabled(false);
+                sas.setDisplayFps(false);
+                sas.setDisplayStatView(false);
+                break;
+
+            case Profiler:
+                pas.setEnabled(false);
+                profiler.setEnabled(true);
                 sas.setDisplayFps(false);
                 sas.setDisplayStatView(false);
                 break;
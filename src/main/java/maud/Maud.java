@@ -33,6 +33,7 @@ import com.jme3.audio.openal.ALAudioRenderer;
 import com.jme3.environment.EnvironmentCamera;
 import com.jme3.scene.plugins.bvh.BVHLoader;
 import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
 import java.io.File;
 import java.io.IOException;
 import java.util.logging.Level;
@@ -55,6 +56,7 @@ import maud.dialog.QuitDialog;
 import maud.model.EditState;
 import maud.model.EditorModel;
 import maud.model.cgm.EditableCgm;
+import maud.model.cgm.PendingWrite;
 import net.bithaven.jme.IQELoader;
 
 /**
@@ -71,6 +73,10 @@ public class Maud extends GuiApplication {
      * message logger for this class
      */
     final private static Logger logger = Logger.getLogger(Maud.class.getName());
+    /**
+     * maximum time to wait for model exports at exit (in seconds)
+     */
+    final private static int exportTimeoutSeconds = 120;
     /**
      * path to the script asset evaluated at startup
      */
@@ -83,13 +89,13 @@ public class Maud extends GuiApplication {
      */
     final static BindScreen bindScreen = new BindScreen();
     /**
-     * true once {@link #startup1()} has completed, until then false
+     * script driver in batch mode, or null in interactive mode
      */
-    private static boolean didStartup1 = false;
+    private static BatchMode batchMode = null;
     /**
-     * true IFF the EnvironmentCamera is busy
+     * true once {@link #startup1()} has completed, until then false
      */
-    public static volatile boolean envCamIsBusy = false;
+    private static boolean didStartup1 = false;
     /**
      * true to load startup script, false to skip it
      */
@@ -169,12 +175,27 @@ public class Maud extends GuiApplication {
         Logger.getLogger(AssetConfig.class.getName())
                 .setLevel(Level.SEVERE);
 
+        String batchScriptPath = null;
         String renderer = AppSettings.LWJGL_OPENGL2;
         ShowDialog showDialog = ShowDialog.FirstTime;
 
         // Process any command-line arguments.
-        for (String arg : arguments) {
+        for (int argIndex = 0; argIndex < arguments.length; ++argIndex) {
+            String arg = arguments[argIndex];
             switch (arg) {
+                case "-b":
+                case "--batch":
+                    if (argIndex + 1 < arguments.length) {
+                        ++argIndex;
+                        batchScriptPath = arguments[argIndex];
+                    } else {
+                        logger.log(Level.SEVERE,
+                                "No script path follows {0}", arg);
+                        BatchMode.printUsage();
+                        System.exit(1);
+                    }
+                    break;
+
                 case "-3":
                 case "--openGL3":
                     renderer = AppSettings.LWJGL_OPENGL3;
@@ -206,6 +227,14 @@ public class Maud extends GuiApplication {
             }
         }
 
+        if (batchScriptPath != null) {
+            /*
+             * Convert C-G models in a headless context, skipping the startup
+             * script so that results don't depend on saved options.
+             */
+            batchMode = new BatchMode(batchScriptPath);
+            loadStartupScript = false;
+        }
         startup0(showDialog, renderer);
     }
 
@@ -255,9 +284,14 @@ public class Maud extends GuiApplication {
         // Disable flyCam.
         flyCam.setEnabled(false);
 
+        // Profile the frame update. (Must be attached right after the tools.)
+        ProfilerAppState profiler = new ProfilerAppState();
+        boolean success = stateManager.attach(profiler);
+        assert success;
+
         // Manage latency statistics.
         PerformanceAppState pas = new PerformanceAppState();
-        boolean success = stateManager.attach(pas);
+        success = stateManager.attach(pas);
         assert success;
 
         // Manage view-port updating.
@@ -291,10 +325,31 @@ public class Maud extends GuiApplication {
             boolean success = target.loadNamed("Jaime");
             assert success;
         }
+
+        // In batch mode, start executing the script.
+        if (batchMode != null && !stateManager.hasState(batchMode)) {
+            boolean success = stateManager.attach(batchMode);
+            assert success;
+        }
     }
     // *************************************************************************
     // GuiApplication methods
 
+    /**
+     * Callback invoked when the application terminates: finish writing any
+     * model exports still in progress. In batch mode, exit the JVM with the
+     * status of the script.
+     */
+    @Override
+    public void destroy() {
+        PendingWrite.awaitPending(exportTimeoutSeconds);
+        super.destroy();
+
+        if (batchMode != null) {
+            System.exit(batchMode.exitStatus());
+        }
+    }
+
     /**
      * Callback invoked when an ongoing action isn't handled.
      *
@@ -303,6 +358,9 @@ public class Maud extends GuiApplication {
     @Override
     public void didntHandle(String actionString) {
         super.didntHandle(actionString);
+        if (batchMode != null) {
+            batchMode.didntHandle(actionString);
+        }
 
         String message = String.format("unimplemented feature (action = %s)",
                 MyString.quote(actionString));
@@ -443,6 +501,14 @@ public class Maud extends GuiApplication {
             message.append(".\nReally quit Maud?");
         }
 
+        int numExports = PendingWrite.countPending();
+        if (numExports > 0) {
+            message.append(String.format(
+                    "\n%d model export%s still in progress will finish "
+                    + "before Maud exits.", numExports,
+                    numExports == 1 ? "" : "s"));
+        }
+
         QuitDialog controller = new QuitDialog();
         gui.showConfirmDialog(message.toString(), "",
                 SimpleApplication.INPUT_MAPPING_EXIT, controller);
@@ -450,7 +516,8 @@ public class Maud extends GuiApplication {
 
     /**
      * Initialization performed immediately after parsing the command-line
-     * arguments.
+     * arguments. In batch mode, the editor starts in a headless context,
+     * without any settings dialog.
      *
      * @param showDialog when to show the JME settings dialog
      * @param renderer the value passed to
@@ -486,7 +553,13 @@ public class Maud extends GuiApplication {
         };
         displaySettingsScreen = new DsScreen(displaySettings);
 
-        AppSettings appSettings = displaySettings.initialize();
+        AppSettings appSettings;
+        if (batchMode == null) {
+            appSettings = displaySettings.initialize();
+        } else { // no window, so no settings dialog
+            appSettings = new AppSettings(true);
+            appSettings.setAudioRenderer(null);
+        }
         if (appSettings != null) {
             application.setSettings(appSettings);
             /*
@@ -509,7 +582,11 @@ public class Maud extends GuiApplication {
                 // do nothing
             }
 
-            application.start();
+            if (batchMode == null) {
+                application.start();
+            } else {
+                application.start(JmeContext.Type.Headless);
+            }
             // ... and onward to Maud.guiInitializeApplication()!
         }
     }
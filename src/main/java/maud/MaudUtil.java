@@ -68,8 +68,6 @@ import com.jme3.texture.Texture3D;
 import com.jme3.texture.TextureCubeMap;
 import com.jme3.texture.image.ColorSpace;
 import com.jme3.util.BufferUtils;
-import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.Writer;
@@ -79,6 +77,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jme3utilities.Heart;
@@ -1132,27 +1131,11 @@ final public class MaudUtil {
                 + ", numBytes = " + numBytes;
 
         BufferedImage result = new BufferedImage(width, height, awtType);
-        int[] pixelBytes = new int[bytesPerPixel];
-        Graphics2D graphics = result.createGraphics();
-        int byteOffset = 0;
-        for (int yIn = 0; yIn < height; ++yIn) {
-            int yOut;
-            if (flipY) {
-                yOut = height - 1 - yIn;
-            } else {
-                yOut = yIn;
-            }
-
-            for (int x = 0; x < width; ++x) {
-                for (int byteI = 0; byteI < bytesPerPixel; ++byteI) {
-                    int pixelByte = byteBuffer.get(byteOffset);
-                    pixelBytes[byteI] = 0xFF & pixelByte;
-                    ++byteOffset;
-                }
-                Color color = pixelColor(format, pixelBytes);
-                graphics.setColor(color);
-                graphics.fillRect(x, yOut, 1, 1);
-            }
+        if (height > 0) {
+            // Convert rows in parallel, writing directly to the data buffer.
+            RenderRowsTask task
+                    = new RenderRowsTask(imageIn, flipY, result, 0, height);
+            ForkJoinPool.commonPool().invoke(task);
         }
 
         return result;
@@ -1268,97 +1251,4 @@ final public class MaudUtil {
         writer.write(actionString);
         writer.write("');\n");
     }
-    // *************************************************************************
-    // private methods
-
-    /**
-     * Determine the color of a single pixel in a JME image.
-     *
-     * @param format the image format (not null, limited subset)
-     * @param bytes the pixel's ByteBuffer data (not null, unaffected)
-     * @return a new Color
-     */
-    private static Color pixelColor(Image.Format format, int[] bytes) {
-        float a; // alpha channel
-        float b; // blue channel
-        float g; // green channel
-        float r; // red channel
-        int numBytes = bytes.length;
-
-        switch (format) {
-            case ABGR8:
-                assert numBytes == 4 : numBytes;
-                a = bytes[0] / 255f;
-                b = bytes[1] / 255f;
-                g = bytes[2] / 255f;
-                r = bytes[3] / 255f;
-                break;
-
-            case ARGB8:
-                assert numBytes == 4 : numBytes;
-                a = bytes[0] / 255f;
-                r = bytes[1] / 255f;
-                g = bytes[2] / 255f;
-                b = bytes[3] / 255f;
-                break;
-
-            case Alpha8:
-                assert numBytes == 1 : numBytes;
-                a = bytes[0] / 255f;
-                b = g = r = 1f;
-                break;
-
-            case BGR8:
-                assert numBytes == 3 : numBytes;
-                b = bytes[0] / 255f;
-                g = bytes[1] / 255f;
-                r = bytes[2] / 255f;
-                a = 1f;
-                break;
-
-            case BGRA8:
-                assert numBytes == 4 : numBytes;
-                b = bytes[0] / 255f;
-                g = bytes[1] / 255f;
-                r = bytes[2] / 255f;
-                a = bytes[3] / 255f;
-                break;
-
-            case Luminance8:
-                assert numBytes == 1 : numBytes;
-                b = g = r = bytes[0] / 255f;
-                a = 1f;
-                break;
-
-            case Luminance8Alpha8:
-                assert numBytes == 2 : numBytes;
-                b = g = r = bytes[0] / 255f;
-                a = bytes[1] / 255f;
-                break;
-
-            case RGB8:
-                assert numBytes == 3 : numBytes;
-                r = bytes[0] / 255f;
-                g = bytes[1] / 255f;
-                b = bytes[2] / 255f;
-                a = 1f;
-                break;
-
-            case RGBA8:
-                assert numBytes == 4 : numBytes;
-                r = bytes[0] / 255f;
-                g = bytes[1] / 255f;
-                b = bytes[2] / 255f;
-                a = bytes[3] / 255f;
-                break;
-
-            // TODO handle more formats
-            default:
-                String message = "format = " + format;
-                throw new IllegalArgumentException(message);
-        }
-
-        Color result = new Color(r, g, b, a);
-        return result;
-    }
 }
@@ -0,0 +1,143 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Utility methods to time the stages of the editor's frame update, for use
+ * while the Profiler performance mode is active. When profiling is disabled,
+ * the timers cost a single test of a static field. All methods should be
+ * invoked from the JME thread.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class Profiler {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of timed stages
+     */
+    final public static int numStages = ProfilerStage.values().length;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(Profiler.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if stages are being timed, otherwise false
+     */
+    private static boolean enabled = false;
+    /**
+     * nanoseconds spent in each stage during the current frame
+     */
+    final private static long[] frameNanos = new long[numStages];
+    /**
+     * System.nanoTime() at the beginning of each stage in progress, or 0 if
+     * the stage isn't in progress
+     */
+    final private static long[] startNanos = new long[numStages];
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private Profiler() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Note the beginning of the specified stage.
+     *
+     * @param stage which stage (not null)
+     */
+    public static void begin(ProfilerStage stage) {
+        if (enabled) {
+            startNanos[stage.ordinal()] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Note the end of the specified stage and add its duration to the current
+     * frame. Ignored if the stage wasn't begun.
+     *
+     * @param stage which stage (not null)
+     */
+    public static void end(ProfilerStage stage) {
+        if (enabled) {
+            int index = stage.ordinal();
+            long start = startNanos[index];
+            if (start != 0L) {
+                frameNanos[index] += System.nanoTime() - start;
+                startNanos[index] = 0L;
+            }
+        }
+    }
+
+    /**
+     * Test whether stages are being timed.
+     *
+     * @return true if timing, otherwise false
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the timing of stages. Any partial measurements are
+     * discarded.
+     *
+     * @param newSetting true to enable, false to disable
+     */
+    public static void setEnabled(boolean newSetting) {
+        enabled = newSetting;
+        Arrays.fill(frameNanos, 0L);
+        Arrays.fill(startNanos, 0L);
+    }
+
+    /**
+     * Copy the per-stage times of the current frame and start a new frame.
+     *
+     * @param storeResult storage for the result (not null, length=numStages,
+     * modified)
+     */
+    public static void takeFrame(long[] storeResult) {
+        Validate.nonNull(storeResult, "storage for the result");
+        assert storeResult.length == numStages : storeResult.length;
+
+        System.arraycopy(frameNanos, 0, storeResult, 0, numStages);
+        Arrays.fill(frameNanos, 0L);
+    }
+}
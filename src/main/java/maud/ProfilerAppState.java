@@ -0,0 +1,416 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.math.ColorRGBA;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.MyString;
+import jme3utilities.SimpleAppState;
+import jme3utilities.ui.ActionApplication;
+import maud.tool.ToolRefresh;
+
+/**
+ * An AppState to display a rolling per-stage breakdown of the editor's frame
+ * time, along with the JME thread's allocation rate and the number of tool
+ * refreshes, and to write a CSV trace of every profiled frame. Enabled only
+ * in the Profiler performance mode.
+ * <p>
+ * Trace rows are buffered as raw numbers in the rolling window and formatted
+ * only when the window fills. The allocation counter is re-read after the
+ * profiler's own work, so formatting the trace and the overlay doesn't
+ * inflate the measured allocation rate.
+ * <p>
+ * The Tools stage ends when this state is updated, so it should be attached
+ * immediately after the tools.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class ProfilerAppState extends SimpleAppState {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of frames in the rolling window
+     */
+    final private static int windowFrames = 120;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(ProfilerAppState.class.getName());
+    /**
+     * asset path to the CSV trace
+     */
+    final private static String tracePath = "Profiler/trace.csv";
+    // *************************************************************************
+    // fields
+
+    /**
+     * overlay text (not null once initialized)
+     */
+    private BitmapText text = null;
+    /**
+     * seconds remaining until the overlay is refreshed
+     */
+    private float secondsUntilRefresh = 0f;
+    /**
+     * index of the next slot in the rolling window
+     */
+    private int nextSlot = 0;
+    /**
+     * number of profiled frames since profiling was enabled
+     */
+    private int numFrames = 0;
+    /**
+     * number of tool refreshes during each frame in the window
+     */
+    final private int[] toolRefreshes = new int[windowFrames];
+    /**
+     * bytes allocated by the JME thread during each frame in the window
+     */
+    final private long[] allocatedBytes = new long[windowFrames];
+    /**
+     * duration of each frame in the window (in nanoseconds)
+     */
+    final private long[] frameNanos = new long[windowFrames];
+    /**
+     * duration of each stage during each frame in the window (in nanoseconds)
+     */
+    final private long[][] stageNanos
+            = new long[windowFrames][Profiler.numStages];
+    /**
+     * JME thread's allocation counter at the end of the previous frame, or -1
+     * if not measured
+     */
+    private long lastAllocated = -1L;
+    /**
+     * JVM's thread-management interface, if it can count allocations,
+     * otherwise null
+     */
+    final private com.sun.management.ThreadMXBean allocationBean;
+    /**
+     * destination for the CSV trace, or null if not open
+     */
+    private Writer traceWriter = null;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a disabled AppState.
+     */
+    public ProfilerAppState() {
+        super(false);
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            this.allocationBean = (com.sun.management.ThreadMXBean) bean;
+        } else {
+            this.allocationBean = null;
+        }
+    }
+    // *************************************************************************
+    // SimpleAppState methods
+
+    /**
+     * Clean up this AppState on detach.
+     */
+    @Override
+    public void cleanup() {
+        if (isEnabled()) {
+            stopProfiling();
+        }
+        super.cleanup();
+    }
+
+    /**
+     * Initialize this AppState on the first update after it is attached.
+     *
+     * @param sm the application's state manager (not null)
+     * @param app the application which owns this state (not null)
+     */
+    @Override
+    public void initialize(AppStateManager sm, Application app) {
+        super.initialize(sm, app);
+
+        BitmapFont font
+                = assetManager.loadFont("Interface/Fonts/Default.fnt");
+        this.text = new BitmapText(font);
+        text.setColor(ColorRGBA.Yellow.clone());
+        text.setName("profiler text");
+
+        if (isEnabled()) {
+            startProfiling();
+        }
+    }
+
+    /**
+     * Enable or disable this AppState.
+     *
+     * @param newSetting true to enable, false to disable
+     */
+    @Override
+    public void setEnabled(boolean newSetting) {
+        boolean change = (newSetting != isEnabled());
+        super.setEnabled(newSetting);
+
+        if (change && isInitialized()) {
+            if (newSetting) {
+                startProfiling();
+            } else {
+                stopProfiling();
+            }
+        }
+    }
+
+    /**
+     * Callback to update this AppState once per frame, while it's enabled:
+     * end the Tools stage and record the frame.
+     *
+     * @param tpf the time interval between frames (in seconds, &ge;0)
+     */
+    @Override
+    public void update(float tpf) {
+        super.update(tpf);
+
+        Profiler.end(ProfilerStage.Tools);
+        long[] stages = stageNanos[nextSlot];
+        Profiler.takeFrame(stages);
+        frameNanos[nextSlot] = Math.round(1e9 * tpf);
+
+        long allocated = 0L;
+        long total = readAllocated();
+        if (lastAllocated >= 0L && total >= lastAllocated) {
+            allocated = total - lastAllocated;
+        }
+        allocatedBytes[nextSlot] = allocated;
+        toolRefreshes[nextSlot] = ToolRefresh.countRefreshes();
+
+        ++numFrames;
+        this.nextSlot = (nextSlot + 1) % windowFrames;
+        if (nextSlot == 0) {
+            writeTrace(windowFrames);
+        }
+
+        secondsUntilRefresh -= tpf;
+        if (secondsUntilRefresh <= 0f) {
+            refreshText();
+            this.secondsUntilRefresh = 0.5f;
+        }
+        /*
+         * Start the next frame's measurement after the profiler's own
+         * allocations.
+         */
+        this.lastAllocated = readAllocated();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Read the JME thread's allocation counter.
+     *
+     * @return the number of bytes allocated by the current thread, or -1 if
+     * not measured
+     */
+    private long readAllocated() {
+        long result = -1L;
+        if (allocationBean != null) {
+            long threadId = Thread.currentThread().getId();
+            result = allocationBean.getThreadAllocatedBytes(threadId);
+        }
+
+        return result;
+    }
+
+    /**
+     * Update the overlay text from the rolling window and position it at the
+     * upper-left corner of the display.
+     */
+    private void refreshText() {
+        int count = Math.min(numFrames, windowFrames);
+        if (count == 0) {
+            return;
+        }
+
+        long[] stageTotals = new long[Profiler.numStages];
+        long frameTotal = 0L;
+        long frameMax = 0L;
+        long allocatedTotal = 0L;
+        long refreshTotal = 0L;
+        for (int slot = 0; slot < count; ++slot) {
+            frameTotal += frameNanos[slot];
+            frameMax = Math.max(frameMax, frameNanos[slot]);
+            allocatedTotal += allocatedBytes[slot];
+            refreshTotal += toolRefreshes[slot];
+            for (int i = 0; i < Profiler.numStages; ++i) {
+                stageTotals[i] += stageNanos[slot][i];
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(400);
+        builder.append(String.format(
+                "Profiler: last %d frames%n", count));
+        builder.append(String.format("%-12s%8.2f ms avg %7.2f ms max%n",
+                "frame", 1e-6 * frameTotal / count, 1e-6 * frameMax));
+
+        long stagesTotal = 0L;
+        for (ProfilerStage stage : ProfilerStage.values()) {
+            long nanos = stageTotals[stage.ordinal()];
+            stagesTotal += nanos;
+            double percent = (frameTotal == 0L) ? 0.0
+                    : 100.0 * nanos / frameTotal;
+            builder.append(String.format("%-12s%8.2f ms %5.1f%%%n",
+                    stage, 1e-6 * nanos / count, percent));
+        }
+        long otherNanos = Math.max(0L, frameTotal - stagesTotal);
+        builder.append(String.format("%-12s%8.2f ms (render, etc.)%n",
+                "other", 1e-6 * otherNanos / count));
+
+        if (allocationBean == null) {
+            builder.append("allocation rate unavailable\n");
+        } else if (frameTotal > 0L) {
+            double mbPerSecond = 1e3 * allocatedTotal / frameTotal;
+            builder.append(String.format(
+                    "allocation %8.2f MB/s%n", mbPerSecond));
+        }
+        builder.append(String.format("tool refreshes %6.2f per frame%n",
+                (double) refreshTotal / count));
+        if (traceWriter != null) {
+            builder.append("trace: ").append(tracePath);
+        }
+
+        text.setText(builder.toString());
+        int height = cam.getHeight();
+        text.setLocalTranslation(10f, height - 40f, 0f);
+    }
+
+    /**
+     * Begin profiling: show the overlay, open the CSV trace, and enable the
+     * stage timers.
+     */
+    private void startProfiling() {
+        this.numFrames = 0;
+        this.nextSlot = 0;
+        this.lastAllocated = -1L;
+        this.secondsUntilRefresh = 0f;
+        text.setText("");
+        guiNode.attachChild(text);
+
+        String filePath = ActionApplication.filePath(tracePath);
+        File file = new File(filePath);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try {
+            FileOutputStream stream = new FileOutputStream(file);
+            this.traceWriter = new BufferedWriter(new OutputStreamWriter(
+                    stream, StandardCharsets.UTF_8));
+            traceWriter.write("frame,tpfMsec");
+            for (ProfilerStage stage : ProfilerStage.values()) {
+                traceWriter.write("," + stage + "Msec");
+            }
+            traceWriter.write(",allocatedBytes,toolRefreshes\n");
+            logger.log(Level.INFO, "writing profiler trace to {0}",
+                    MyString.quote(filePath));
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "unable to write profiler trace",
+                    exception);
+            this.traceWriter = null;
+        }
+
+        Profiler.setEnabled(true);
+    }
+
+    /**
+     * End profiling: disable the stage timers, close the CSV trace, and hide
+     * the overlay.
+     */
+    private void stopProfiling() {
+        Profiler.setEnabled(false);
+
+        writeTrace(nextSlot);
+        if (traceWriter != null) {
+            try {
+                traceWriter.close();
+            } catch (IOException exception) {
+                logger.log(Level.WARNING, "unable to close profiler trace",
+                        exception);
+            }
+            this.traceWriter = null;
+        }
+
+        text.removeFromParent();
+    }
+
+    /**
+     * Append rows for the oldest frames in the rolling window to the CSV
+     * trace, if it's open.
+     *
+     * @param numRows the number of rows to append (&ge;0, &le;windowFrames)
+     */
+    private void writeTrace(int numRows) {
+        if (traceWriter == null) {
+            return;
+        }
+
+        int firstFrame = numFrames - numRows;
+        StringBuilder rows = new StringBuilder(80 * numRows);
+        for (int slot = 0; slot < numRows; ++slot) {
+            rows.append(firstFrame + slot);
+            rows.append(String.format(Locale.ROOT, ",%.4f",
+                    1e-6 * frameNanos[slot]));
+            for (long nanos : stageNanos[slot]) {
+                rows.append(String.format(Locale.ROOT, ",%.4f",
+                        1e-6 * nanos));
+            }
+            rows.append(',').append(allocatedBytes[slot]);
+            rows.append(',').append(toolRefreshes[slot]).append('\n');
+        }
+        try {
+            traceWriter.write(rows.toString());
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "unable to write profiler trace",
+                    exception);
+            this.traceWriter = null;
+        }
+    }
+}
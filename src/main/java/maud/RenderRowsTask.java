@@ -0,0 +1,334 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud;
+
+import com.jme3.texture.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * A fork-join task to convert a range of rows of a JME image into an AWT
+ * image. Pixels are written straight into the output's data buffer when its
+ * layout is known, otherwise one row at a time. Large ranges are split in half
+ * and converted concurrently.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class RenderRowsTask extends RecursiveAction {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * maximum number of pixels to convert without splitting the range
+     */
+    final private static int maxPixelsPerTask = 1 << 16;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(RenderRowsTask.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the output image has an alpha channel, false if it's opaque
+     */
+    final private boolean hasAlpha;
+    /**
+     * true&rarr;flip the Y coordinate, false&rarr;don't flip
+     */
+    final private boolean flipY;
+    /**
+     * output image (not null)
+     */
+    final private BufferedImage imageOut;
+    /**
+     * pixel data of the input image (not null, unaffected)
+     */
+    final private ByteBuffer byteBuffer;
+    /**
+     * format of the input image (not null)
+     */
+    final private Image.Format format;
+    /**
+     * number of bytes per input pixel (&gt;0)
+     */
+    final private int bytesPerPixel;
+    /**
+     * index of the first input row in the range
+     */
+    final private int fromRow;
+    /**
+     * index after the last input row in the range
+     */
+    final private int toRow;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task to convert the specified range of rows.
+     *
+     * @param imageIn the input image (not null, 2-D, single buffer, alias
+     * created)
+     * @param flipY true&rarr;flip the Y coordinate, false&rarr;don't flip
+     * @param imageOut the output image (not null, same dimensions, alias
+     * created)
+     * @param fromRow index of the first input row (&ge;0)
+     * @param toRow index after the last input row (&gt;fromRow)
+     */
+    RenderRowsTask(Image imageIn, boolean flipY, BufferedImage imageOut,
+            int fromRow, int toRow) {
+        this(imageIn.getData(0), imageIn.getFormat(), flipY, imageOut,
+                fromRow, toRow);
+    }
+
+    /**
+     * Instantiate a task to convert the specified range of rows.
+     *
+     * @param byteBuffer the pixel data of the input image (not null, alias
+     * created)
+     * @param format the format of the input image (not null)
+     * @param flipY true&rarr;flip the Y coordinate, false&rarr;don't flip
+     * @param imageOut the output image (not null, alias created)
+     * @param fromRow index of the first input row (&ge;0)
+     * @param toRow index after the last input row (&gt;fromRow)
+     */
+    private RenderRowsTask(ByteBuffer byteBuffer, Image.Format format,
+            boolean flipY, BufferedImage imageOut, int fromRow, int toRow) {
+        assert byteBuffer != null;
+        assert format != null;
+        assert fromRow >= 0 : fromRow;
+        assert toRow > fromRow : toRow;
+        assert toRow <= imageOut.getHeight() : toRow;
+
+        this.byteBuffer = byteBuffer;
+        this.format = format;
+        this.flipY = flipY;
+        this.imageOut = imageOut;
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+        this.bytesPerPixel = format.getBitsPerPixel() / 8;
+        this.hasAlpha = imageOut.getColorModel().hasAlpha();
+    }
+    // *************************************************************************
+    // RecursiveAction methods
+
+    /**
+     * Convert the rows, splitting the range if it's large.
+     */
+    @Override
+    protected void compute() {
+        int numRows = toRow - fromRow;
+        int width = imageOut.getWidth();
+        if (numRows == 1 || numRows * width <= maxPixelsPerTask) {
+            convertRows();
+        } else {
+            int midRow = fromRow + numRows / 2;
+            RenderRowsTask low = new RenderRowsTask(byteBuffer, format,
+                    flipY, imageOut, fromRow, midRow);
+            RenderRowsTask high = new RenderRowsTask(byteBuffer, format,
+                    flipY, imageOut, midRow, toRow);
+            invokeAll(low, high);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Convert every row in the range on the current thread.
+     */
+    private void convertRows() {
+        int awtType = imageOut.getType();
+        int height = imageOut.getHeight();
+        int width = imageOut.getWidth();
+        DataBuffer dataBuffer = imageOut.getRaster().getDataBuffer();
+
+        byte[] bytesOut = null;
+        int[] intsOut = null;
+        int[] rowArgb = null;
+        if (awtType == BufferedImage.TYPE_4BYTE_ABGR
+                || awtType == BufferedImage.TYPE_3BYTE_BGR) {
+            bytesOut = ((DataBufferByte) dataBuffer).getData();
+        } else if (awtType == BufferedImage.TYPE_INT_ARGB
+                || awtType == BufferedImage.TYPE_INT_RGB) {
+            intsOut = ((DataBufferInt) dataBuffer).getData();
+        } else {
+            rowArgb = new int[width];
+        }
+
+        for (int yIn = fromRow; yIn < toRow; ++yIn) {
+            int yOut = flipY ? height - 1 - yIn : yIn;
+            int byteOffset = yIn * width * bytesPerPixel;
+            for (int x = 0; x < width; ++x) {
+                int argb = pixelArgb(byteOffset);
+                byteOffset += bytesPerPixel;
+                if (!hasAlpha) {
+                    argb = premultiply(argb);
+                }
+
+                int pixelIndex = yOut * width + x;
+                if (awtType == BufferedImage.TYPE_4BYTE_ABGR) {
+                    int i = 4 * pixelIndex;
+                    bytesOut[i] = (byte) (argb >>> 24);
+                    bytesOut[i + 1] = (byte) argb;
+                    bytesOut[i + 2] = (byte) (argb >> 8);
+                    bytesOut[i + 3] = (byte) (argb >> 16);
+                } else if (awtType == BufferedImage.TYPE_3BYTE_BGR) {
+                    int i = 3 * pixelIndex;
+                    bytesOut[i] = (byte) argb;
+                    bytesOut[i + 1] = (byte) (argb >> 8);
+                    bytesOut[i + 2] = (byte) (argb >> 16);
+                } else if (intsOut != null) {
+                    intsOut[pixelIndex] = argb;
+                } else {
+                    rowArgb[x] = argb;
+                }
+            }
+
+            if (rowArgb != null) {
+                imageOut.setRGB(0, yOut, width, 1, rowArgb, 0, width);
+            }
+        }
+    }
+
+    /**
+     * Read an unsigned byte from the input image.
+     *
+     * @param byteOffset the offset of the byte
+     * @return the value (&ge;0, &le;255)
+     */
+    private int getByte(int byteOffset) {
+        int result = 0xFF & byteBuffer.get(byteOffset);
+        return result;
+    }
+
+    /**
+     * Determine the color of a single pixel in the input image.
+     *
+     * @param byteOffset the offset of the pixel's first byte
+     * @return the color, packed in ARGB order
+     */
+    private int pixelArgb(int byteOffset) {
+        int a; // alpha channel
+        int b; // blue channel
+        int g; // green channel
+        int r; // red channel
+
+        switch (format) {
+            case ABGR8:
+                a = getByte(byteOffset);
+                b = getByte(byteOffset + 1);
+                g = getByte(byteOffset + 2);
+                r = getByte(byteOffset + 3);
+                break;
+
+            case ARGB8:
+                a = getByte(byteOffset);
+                r = getByte(byteOffset + 1);
+                g = getByte(byteOffset + 2);
+                b = getByte(byteOffset + 3);
+                break;
+
+            case Alpha8:
+                a = getByte(byteOffset);
+                b = g = r = 0xFF;
+                break;
+
+            case BGR8:
+                b = getByte(byteOffset);
+                g = getByte(byteOffset + 1);
+                r = getByte(byteOffset + 2);
+                a = 0xFF;
+                break;
+
+            case BGRA8:
+                b = getByte(byteOffset);
+                g = getByte(byteOffset + 1);
+                r = getByte(byteOffset + 2);
+                a = getByte(byteOffset + 3);
+                break;
+
+            case Luminance8:
+                b = g = r = getByte(byteOffset);
+                a = 0xFF;
+                break;
+
+            case Luminance8Alpha8:
+                b = g = r = getByte(byteOffset);
+                a = getByte(byteOffset + 1);
+                break;
+
+            case RGB8:
+                r = getByte(byteOffset);
+                g = getByte(byteOffset + 1);
+                b = getByte(byteOffset + 2);
+                a = 0xFF;
+                break;
+
+            case RGBA8:
+                r = getByte(byteOffset);
+                g = getByte(byteOffset + 1);
+                b = getByte(byteOffset + 2);
+                a = getByte(byteOffset + 3);
+                break;
+
+            // TODO handle more formats
+            default:
+                String message = "format = " + format;
+                throw new IllegalArgumentException(message);
+        }
+
+        int result = a << 24 | r << 16 | g << 8 | b;
+        return result;
+    }
+
+    /**
+     * Blend the specified color onto black, as if drawn onto an opaque image.
+     *
+     * @param argb the color, packed in ARGB order
+     * @return the blended color, packed in ARGB order with alpha=255
+     */
+    private static int premultiply(int argb) {
+        int a = argb >>> 24;
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        if (a != 0xFF) {
+            r = (r * a + 127) / 255;
+            g = (g * a + 127) / 255;
+            b = (b * a + 127) / 255;
+        }
+
+        int result = 0xFF000000 | r << 16 | g << 8 | b;
+        return result;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud;
+
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A self-repairing index of a scene graph, to find spatials by name and tree
+ * positions by spatial without searching the entire graph.
+ * <p>
+ * Each child's slot in its parent is cached and verified on every use. When a
+ * structural edit (delete, insert, re-parent, attach) leaves a slot stale, only
+ * the children of the affected parent are re-indexed. The name map is rebuilt
+ * lazily after each structural edit or rename, as reported by
+ * {@link #noteStructuralEdit()}, so other edits (such as dragging a transform)
+ * don't trigger a rebuild. Each hit is verified before it's used. Resolving a
+ * tree position to a spatial is already a direct walk down from the root, so
+ * it needs no index.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class SpatialIndex {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(SpatialIndex.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * structural revision when the name map was built, or -1 if not built
+     */
+    private long namesRevision = -1L;
+    /**
+     * revision of the scene graph's structure and spatial names, incremented
+     * by each structural edit
+     */
+    private long structureRevision = 0L;
+    /**
+     * map each spatial (that's been looked up) to its last known index among
+     * its parent's children (weak keys, since Spatial has identity equality)
+     */
+    final private Map<Spatial, Integer> childSlots = new WeakHashMap<>(256);
+    /**
+     * map each name to the first spatial with that name, in depth-first order
+     */
+    final private Map<String, Spatial> namedSpatials = new HashMap<>(256);
+    /**
+     * root of the indexed scene graph, or null if none
+     */
+    private Spatial indexedRoot = null;
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Find the first spatial with the specified name, in depth-first order,
+     * like MaudUtil.findSpatialNamed().
+     *
+     * @param name the name to search for (not null)
+     * @param root the root of the scene graph to search (may be null)
+     * @param storePosition storage for the tree position of the spatial found
+     * (modified if not null)
+     * @return the pre-existing spatial, or null if not found
+     */
+    public Spatial findNamed(
+            String name, Spatial root, List<Integer> storePosition) {
+        Validate.nonNull(name, "name");
+
+        if (root == null) {
+            return null;
+        }
+        setRoot(root);
+
+        if (namesRevision != structureRevision) {
+            indexNames();
+            this.namesRevision = structureRevision;
+        }
+
+        Spatial result = namedSpatials.get(name);
+        if (result != null && !isValidHit(name, result, storePosition)) {
+            // A structural edit wasn't noted: re-index the scene graph.
+            indexNames();
+            result = namedSpatials.get(name);
+            if (result != null) {
+                boolean success = findPosition(result, root, storePosition);
+                assert success;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the tree position of the specified spatial, like
+     * MaudUtil.findPosition(), in time proportional to its depth.
+     *
+     * @param spatial the spatial to search for (not null, unaffected)
+     * @param root the root of the scene graph to search (may be null)
+     * @param storePosition storage for the tree position (modified if not null)
+     * @return true if the spatial was found, otherwise false
+     */
+    public boolean findPosition(
+            Spatial spatial, Spatial root, List<Integer> storePosition) {
+        Validate.nonNull(spatial, "spatial");
+
+        if (root == null) {
+            return false;
+        }
+        setRoot(root);
+
+        if (storePosition != null) {
+            storePosition.clear();
+        }
+        Spatial climber = spatial;
+        while (climber != root) {
+            Node parent = climber.getParent();
+            if (parent == null) { // not in the scene graph
+                if (storePosition != null) {
+                    storePosition.clear();
+                }
+                return false;
+            }
+            int slot = childSlot(parent, climber);
+            if (storePosition != null) {
+                storePosition.add(slot);
+            }
+            climber = parent;
+        }
+
+        if (storePosition != null) {
+            Collections.reverse(storePosition);
+        }
+        return true;
+    }
+
+    /**
+     * Note that spatials in the indexed scene graph have been added, removed,
+     * moved, or renamed. Invoked by each structural edit.
+     */
+    public void noteStructuralEdit() {
+        ++structureRevision;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Determine the index of the specified child among its parent's children,
+     * re-indexing the parent's children if the cached slot is stale.
+     *
+     * @param parent the child's parent (not null)
+     * @param child the child (not null)
+     * @return the index (&ge;0)
+     */
+    private int childSlot(Node parent, Spatial child) {
+        assert child.getParent() == parent;
+
+        Integer cached = childSlots.get(child);
+        if (cached != null) {
+            int slot = cached;
+            if (slot < parent.getQuantity() && parent.getChild(slot) == child) {
+                return slot;
+            }
+        }
+
+        int result = -1;
+        List<Spatial> children = parent.getChildren();
+        int numChildren = children.size();
+        for (int slot = 0; slot < numChildren; ++slot) {
+            Spatial sibling = children.get(slot);
+            childSlots.put(sibling, slot);
+            if (sibling == child) {
+                result = slot;
+            }
+        }
+
+        assert result >= 0 : result;
+        return result;
+    }
+
+    /**
+     * Rebuild the name map from the indexed scene graph.
+     */
+    private void indexNames() {
+        namedSpatials.clear();
+        indexNames(indexedRoot);
+    }
+
+    /**
+     * Add the named spatials in the specified subtree to the name map, in
+     * depth-first order, without replacing any existing entries.
+     *
+     * @param subtree the subtree to index (not null)
+     */
+    private void indexNames(Spatial subtree) {
+        String name = subtree.getName();
+        if (name != null && !namedSpatials.containsKey(name)) {
+            namedSpatials.put(name, subtree);
+        }
+
+        if (subtree instanceof Node) {
+            List<Spatial> children = ((Node) subtree).getChildren();
+            int numChildren = children.size();
+            for (int slot = 0; slot < numChildren; ++slot) {
+                Spatial child = children.get(slot);
+                childSlots.put(child, slot);
+                indexNames(child);
+            }
+        }
+    }
+
+    /**
+     * Verify a hit in the name map.
+     *
+     * @param name the name searched for (not null)
+     * @param spatial the spatial found (not null)
+     * @param storePosition storage for its tree position (modified if not
+     * null)
+     * @return true if the spatial still has that name and is still in the
+     * indexed scene graph, otherwise false
+     */
+    private boolean isValidHit(
+            String name, Spatial spatial, List<Integer> storePosition) {
+        boolean result = name.equals(spatial.getName())
+                && findPosition(spatial, indexedRoot, storePosition);
+
+        return result;
+    }
+
+    /**
+     * Alter which scene graph is indexed, discarding the index if the root
+     * has changed.
+     *
+     * @param root the root of the scene graph to index (not null)
+     */
+    private void setRoot(Spatial root) {
+        if (root != indexedRoot) {
+            childSlots.clear();
+            namedSpatials.clear();
+            this.indexedRoot = root;
+            this.namesRevision = -1L;
+        }
+    }
+}
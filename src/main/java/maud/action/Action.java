@@ -93,6 +93,8 @@ final public class Action {
     final static String newAnimationFromPose = "new animation fromPose";
     final static String newAnimationFromRetarget
             = "new animation fromRetarget";
+    final static String newAnimationsFromRetarget
+            = "new animations fromRetarget";
     final static String newAttachmentLink = "new attachmentLink";
     final static String newBoneLink = "new boneLink";
     final static String newCheckpoint = "new checkpoint";
@@ -181,6 +183,7 @@ final public class Action {
     final static String resetBoneScaleToAnimation = "reset bone sca anim";
     final static String resetBoneScaleToBind = "reset bone sca bind";
     final static String resetBoneSelection = "reset bone selection";
+    final static String resetCgmLoad = "reset cgm load";
     final static String resetHistory = "reset history";
     final static String resetLightColor = "reset light color";
     final static String resetLightDir = "reset light dir";
@@ -201,6 +204,7 @@ final public class Action {
     final static String selectBoneChild = "select boneChild";
     final static String selectBoneParent = "select boneParent";
     final static String selectBoneTrack = "select boneTrack";
+    final static String selectBroadphaseType = "select broadphaseType";
     final static String selectBuffer = "select buffer";
     final static String selectBufferUsage = "select bufferUsage";
     final static String selectCullHint = "select cullHint";
@@ -283,6 +287,7 @@ final public class Action {
     final static String setBufferStride = "set bufferStride";
     final static String setDumpIndentSpaces = "set dumpIndentSpaces";
     final static String setDumpMaxChildren = "set dumpMaxChildren";
+    final static String setHistoryBudget = "set historyBudget";
     final static String setLightDirCardinal = "set lightDir cardinal";
     final static String setLightDirReverse = "set lightDir reverse";
     final static String setLinkMass = "set linkMass";
@@ -380,6 +385,7 @@ final public class Action {
         m.addActionName(newAnimationFromExtract);
         m.addActionName(newAnimationFromPose);
         m.addActionName(newAnimationFromRetarget);
+        m.addActionName(newAnimationsFromRetarget);
         m.addActionName(newAttachmentLink);
         m.addActionName(newBoneLink);
         m.addActionName(newCheckpoint);
@@ -482,6 +488,7 @@ final public class Action {
         m.addActionName(selectBoneChild);
         m.addActionName(selectBoneParent);
         m.addActionName(selectBoneTrack);
+        m.addActionName(selectBroadphaseType);
         m.addActionName(selectBuffer);
         m.addActionName(selectBufferUsage);
         m.addActionName(selectCullHint);
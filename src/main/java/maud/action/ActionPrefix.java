@@ -27,11 +27,13 @@
 package maud.action;
 
 import java.util.logging.Logger;
+import jme3utilities.Validate;
 
 /**
  * Action-string prefixes for Maud's "editor" screen. Each prefix describes a
  * user-interface action requiring one or more (textual) arguments. By
- * convention, action prefixes end with a space (' ').
+ * convention, action prefixes end with a space (' '), and no prefix begins
+ * with another.
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -303,6 +305,11 @@ final public class ActionPrefix {
      * argument is a decimal index (indexBase plus the bone index)
      */
     final public static String selectBoneIndex = "select boneIndex ";
+    /**
+     * argument is the name of a PhysicsSpace.BroadphaseType
+     */
+    final public static String selectBroadphaseType
+            = "select broadphaseType ";
     /**
      * argument is a buffer description or a prefix thereof
      */
@@ -639,6 +646,10 @@ final public class ActionPrefix {
      * argument is a decimal time in seconds
      */
     final public static String setFrameTime = "set frameTime ";
+    /**
+     * argument is a decimal number of mebibytes
+     */
+    final public static String setHistoryBudget = "set historyBudget ";
     /**
      * argument is a decimal float
      */
@@ -861,6 +872,14 @@ final public class ActionPrefix {
      */
     final public static String wrapTrack = "wrap track ";
     // *************************************************************************
+    // fields
+
+    /**
+     * precompiled lookup table for the prefixes defined above
+     */
+    final private static PrefixTable table
+            = new PrefixTable(ActionPrefix.class);
+    // *************************************************************************
     // constructors
 
     /**
@@ -868,4 +887,19 @@ final public class ActionPrefix {
      */
     private ActionPrefix() {
     }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Find the prefix of the specified action string in a single pass, for
+     * use in a switch statement.
+     *
+     * @param actionString textual description of the action (not null)
+     * @return the matching prefix, or "" if none matches (not null)
+     */
+    public static String match(String actionString) {
+        Validate.nonNull(actionString, "action string");
+        String result = table.match(actionString);
+        return result;
+    }
 }
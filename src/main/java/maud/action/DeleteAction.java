@@ -145,26 +145,31 @@ final class DeleteAction {
         boolean handled = true;
 
         EditableCgm target = Maud.getModel().getTarget();
-        if (actionString.startsWith(ActionPrefix.deleteAssetLocationSpec)) {
-            String spec = MyString.remainder(actionString,
-                    ActionPrefix.deleteAssetLocationSpec);
-            Maud.getModel().getLocations().remove(spec);
-
-        } else if (actionString.startsWith(ActionPrefix.deleteNextKeyframes)) {
-            String arg = MyString.remainder(actionString,
-                    ActionPrefix.deleteNextKeyframes);
-            int number = Integer.parseInt(arg);
-            target.getTrack().deleteNextKeyframes(number);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.deletePreviousKeyframes)) {
-            String arg = MyString.remainder(actionString,
-                    ActionPrefix.deletePreviousKeyframes);
-            int number = Integer.parseInt(arg);
-            target.getTrack().deletePreviousKeyframes(number);
-
-        } else {
-            handled = false;
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.deleteAssetLocationSpec:
+                String spec = MyString.remainder(actionString,
+                        ActionPrefix.deleteAssetLocationSpec);
+                Maud.getModel().getLocations().remove(spec);
+                break;
+
+            case ActionPrefix.deleteNextKeyframes: {
+                String arg = MyString.remainder(actionString,
+                        ActionPrefix.deleteNextKeyframes);
+                int number = Integer.parseInt(arg);
+                target.getTrack().deleteNextKeyframes(number);
+            }
+            break;
+
+            case ActionPrefix.deletePreviousKeyframes: {
+                String arg = MyString.remainder(actionString,
+                        ActionPrefix.deletePreviousKeyframes);
+                int number = Integer.parseInt(arg);
+                target.getTrack().deletePreviousKeyframes(number);
+            }
+            break;
+
+            default:
+                handled = false;
         }
 
         return handled;
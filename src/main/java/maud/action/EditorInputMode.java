@@ -48,6 +48,7 @@ import maud.model.cgm.CgmOutputFormat;
 import maud.model.cgm.CgmOutputSet;
 import maud.model.cgm.EditableCgm;
 import maud.model.cgm.SelectedTrack;
+import maud.tool.ToolRefresh;
 import maud.view.EditorView;
 import maud.view.ViewType;
 import maud.view.scene.SceneView;
@@ -145,6 +146,8 @@ final public class EditorInputMode extends InputMode {
             MyString.quote(actionString), ongoing
         });
 
+        ToolRefresh.invalidate();
+
         // Parse the action string and attempt to handle the action.
         boolean handled = false;
         String[] words = actionString.split(" ");
@@ -463,46 +466,54 @@ final public class EditorInputMode extends InputMode {
         EditableCgm target = Maud.getModel().getTarget();
         String arg;
         boolean handled = false;
-        if (actionString.startsWith(ActionPrefix.resampleAnimation)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.resampleAnimation);
-            String[] args = arg.split(" ");
-            if (args.length == 2) {
-                ResampleType resample = ResampleType.valueOf(args[0]);
-                switch (resample) {
-                    case AtRate:
-                        float sampleRate = Float.parseFloat(args[1]);
-                        target.getAnimation().resampleAtRate(sampleRate);
-                        handled = true;
-                        break;
-                    case ToNumber:
-                        int numSamples = Integer.parseInt(args[1]);
-                        target.getAnimation().resampleToNumber(numSamples);
-                        handled = true;
-                        break;
-                    default:
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.resampleAnimation: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.resampleAnimation);
+                String[] args = arg.split(" ");
+                if (args.length == 2) {
+                    ResampleType resample = ResampleType.valueOf(args[0]);
+                    switch (resample) {
+                        case AtRate:
+                            float sampleRate = Float.parseFloat(args[1]);
+                            target.getAnimation().resampleAtRate(sampleRate);
+                            handled = true;
+                            break;
+                        case ToNumber:
+                            int numSamples = Integer.parseInt(args[1]);
+                            target.getAnimation().resampleToNumber(numSamples);
+                            handled = true;
+                            break;
+                        default:
+                    }
                 }
             }
-
-        } else if (actionString.startsWith(ActionPrefix.resampleTrack)) {
-            arg = MyString.remainder(actionString, ActionPrefix.resampleTrack);
-            String[] args = arg.split(" ");
-            if (args.length == 2) {
-                ResampleType resample = ResampleType.valueOf(args[0]);
-                switch (resample) {
-                    case AtRate:
-                        float sampleRate = Float.parseFloat(args[1]);
-                        target.getTrack().resampleAtRate(sampleRate);
-                        handled = true;
-                        break;
-                    case ToNumber:
-                        int numSamples = Integer.parseInt(args[1]);
-                        target.getTrack().resampleToNumber(numSamples);
-                        handled = true;
-                        break;
-                    default:
+            break;
+
+            case ActionPrefix.resampleTrack: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.resampleTrack);
+                String[] args = arg.split(" ");
+                if (args.length == 2) {
+                    ResampleType resample = ResampleType.valueOf(args[0]);
+                    switch (resample) {
+                        case AtRate:
+                            float sampleRate = Float.parseFloat(args[1]);
+                            target.getTrack().resampleAtRate(sampleRate);
+                            handled = true;
+                            break;
+                        case ToNumber:
+                            int numSamples = Integer.parseInt(args[1]);
+                            target.getTrack().resampleToNumber(numSamples);
+                            handled = true;
+                            break;
+                        default:
+                    }
                 }
             }
+            break;
+
+            default:
         }
 
         return handled;
@@ -525,72 +536,81 @@ final public class EditorInputMode extends InputMode {
         String[] args;
         boolean handled = true;
 
-        if (actionString.startsWith(ActionPrefix.saveCgm)) {
-            argList = MyString.remainder(actionString, ActionPrefix.saveCgm);
-            if (argList.contains(" ")) {
-                args = argList.split(" ");
-                outputSet = CgmOutputSet.valueOf(args[0]);
-                format = CgmOutputFormat.valueOf(args[1]);
-                prefix = args[0] + " " + args[1] + " ";
-                baseFilePath = MyString.remainder(argList, prefix);
-                target.writeToFile(outputSet, format, baseFilePath);
-            } else {
-                handled = false;
-            }
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.saveCgm:
+                argList = MyString.remainder(actionString,
+                        ActionPrefix.saveCgm);
+                if (argList.contains(" ")) {
+                    args = argList.split(" ");
+                    outputSet = CgmOutputSet.valueOf(args[0]);
+                    format = CgmOutputFormat.valueOf(args[1]);
+                    prefix = args[0] + " " + args[1] + " ";
+                    baseFilePath = MyString.remainder(argList, prefix);
+                    target.writeToFileAsync(outputSet, format, baseFilePath);
+                } else {
+                    handled = false;
+                }
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.saveCgmUnconfirmed)) {
-            argList = MyString.remainder(actionString,
-                    ActionPrefix.saveCgmUnconfirmed);
-            if (argList.contains(" ")) {
-                args = argList.split(" ");
-                outputSet = CgmOutputSet.valueOf(args[0]);
-                format = CgmOutputFormat.valueOf(args[1]);
-                prefix = args[0] + " " + args[1] + " ";
-                baseFilePath = MyString.remainder(argList, prefix);
-                EditorDialogs.confirmOverwrite(ActionPrefix.saveCgm, outputSet,
-                        format, baseFilePath);
-            } else {
-                handled = false;
-            }
+            case ActionPrefix.saveCgmUnconfirmed:
+                argList = MyString.remainder(actionString,
+                        ActionPrefix.saveCgmUnconfirmed);
+                if (argList.contains(" ")) {
+                    args = argList.split(" ");
+                    outputSet = CgmOutputSet.valueOf(args[0]);
+                    format = CgmOutputFormat.valueOf(args[1]);
+                    prefix = args[0] + " " + args[1] + " ";
+                    baseFilePath = MyString.remainder(argList, prefix);
+                    EditorDialogs.confirmOverwrite(ActionPrefix.saveCgm,
+                            outputSet, format, baseFilePath);
+                } else {
+                    handled = false;
+                }
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.saveMap)) {
-            argList = MyString.remainder(actionString, ActionPrefix.saveMap);
-            if (argList.contains(" ")) {
-                args = argList.split(" ");
-                format = CgmOutputFormat.valueOf(args[0]);
-                baseFilePath = MyString.remainder(argList, args[0] + " ");
-                model.getMap().writeToFile(format, baseFilePath);
-            } else {
-                handled = false;
-            }
+            case ActionPrefix.saveMap:
+                argList = MyString.remainder(actionString,
+                        ActionPrefix.saveMap);
+                if (argList.contains(" ")) {
+                    args = argList.split(" ");
+                    format = CgmOutputFormat.valueOf(args[0]);
+                    baseFilePath = MyString.remainder(argList, args[0] + " ");
+                    model.getMap().writeToFile(format, baseFilePath);
+                } else {
+                    handled = false;
+                }
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.saveMapUnconfirmed)) {
-            argList = MyString.remainder(actionString,
-                    ActionPrefix.saveMapUnconfirmed);
-            if (argList.contains(" ")) {
-                args = argList.split(" ");
-                format = CgmOutputFormat.valueOf(args[0]);
-                baseFilePath = MyString.remainder(argList, args[0] + " ");
-                EditorDialogs.confirmOverwrite(ActionPrefix.saveMap, null,
-                        format, baseFilePath);
-            } else {
-                handled = false;
-            }
+            case ActionPrefix.saveMapUnconfirmed:
+                argList = MyString.remainder(actionString,
+                        ActionPrefix.saveMapUnconfirmed);
+                if (argList.contains(" ")) {
+                    args = argList.split(" ");
+                    format = CgmOutputFormat.valueOf(args[0]);
+                    baseFilePath = MyString.remainder(argList, args[0] + " ");
+                    EditorDialogs.confirmOverwrite(ActionPrefix.saveMap, null,
+                            format, baseFilePath);
+                } else {
+                    handled = false;
+                }
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.saveTexture)) {
-            argList = MyString.remainder(actionString,
-                    ActionPrefix.saveTexture);
-            if (argList.contains(" ")) {
-                args = argList.split(" ");
-                boolean flipY = Boolean.parseBoolean(args[0]);
-                String assetPath = MyString.remainder(argList, args[0] + " ");
-                target.getTexture().writeImageToAsset(assetPath, flipY);
-            } else {
-                handled = false;
-            }
+            case ActionPrefix.saveTexture:
+                argList = MyString.remainder(actionString,
+                        ActionPrefix.saveTexture);
+                if (argList.contains(" ")) {
+                    args = argList.split(" ");
+                    boolean flipY = Boolean.parseBoolean(args[0]);
+                    String assetPath
+                            = MyString.remainder(argList, args[0] + " ");
+                    target.getTexture().writeImageToAsset(assetPath, flipY);
+                } else {
+                    handled = false;
+                }
+                break;
 
-        } else {
-            handled = false;
+            default:
+                handled = false;
         }
 
         return handled;
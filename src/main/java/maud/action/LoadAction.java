@@ -128,69 +128,87 @@ final class LoadAction {
         String args;
         String name;
         String spec;
-        if (actionString.startsWith(ActionPrefix.loadAnimation)) {
-            name = MyString.remainder(actionString, ActionPrefix.loadAnimation);
-            AnimationMenus.loadAnimation(name, target);
-
-        } else if (actionString.startsWith(ActionPrefix.loadCgmAsset)) {
-            args = MyString.remainder(actionString, ActionPrefix.loadCgmAsset);
-            BuildMenus.loadCgmAsset(args, target);
-
-        } else if (actionString.startsWith(ActionPrefix.loadCgmLocator)) {
-            spec = MyString.remainder(actionString,
-                    ActionPrefix.loadCgmLocator);
-            BuildMenus.loadCgmLocator(spec, target);
-
-        } else if (actionString.startsWith(ActionPrefix.loadCgmNamed)) {
-            name = MyString.remainder(actionString, ActionPrefix.loadCgmNamed);
-            target.loadNamed(name);
-
-        } else if (actionString.startsWith(ActionPrefix.loadMapAsset)) {
-            args = MyString.remainder(actionString, ActionPrefix.loadMapAsset);
-            BuildMenus.loadMapAsset(args);
-
-        } else if (actionString.startsWith(ActionPrefix.loadMapLocator)) {
-            spec = MyString.remainder(actionString,
-                    ActionPrefix.loadMapLocator);
-            BuildMenus.loadMapLocator(spec);
-
-        } else if (actionString.startsWith(ActionPrefix.loadMapNamed)) {
-            name = MyString.remainder(actionString,
-                    ActionPrefix.loadMapNamed);
-            model.getMap().loadNamed(name);
-
-        } else if (actionString.startsWith(ActionPrefix.loadSourceAnimation)) {
-            name = MyString.remainder(actionString,
-                    ActionPrefix.loadSourceAnimation);
-            AnimationMenus.loadAnimation(name, source);
-
-        } else if (actionString.startsWith(ActionPrefix.loadSourceCgmAsset)) {
-            args = MyString.remainder(actionString,
-                    ActionPrefix.loadSourceCgmAsset);
-            BuildMenus.loadCgmAsset(args, source);
-
-        } else if (actionString.startsWith(ActionPrefix.loadSourceCgmLocator)) {
-            spec = MyString.remainder(actionString,
-                    ActionPrefix.loadSourceCgmLocator);
-            BuildMenus.loadCgmLocator(spec, source);
-
-        } else if (actionString.startsWith(ActionPrefix.loadSourceCgmNamed)) {
-            name = MyString.remainder(actionString,
-                    ActionPrefix.loadSourceCgmNamed);
-            source.loadNamed(name);
-
-        } else if (actionString.startsWith(ActionPrefix.loadTextureAsset)) {
-            args = MyString.remainder(actionString,
-                    ActionPrefix.loadTextureAsset);
-            BuildMenus.loadTextureAsset(args);
-
-        } else if (actionString.startsWith(ActionPrefix.loadTextureLocator)) {
-            spec = MyString.remainder(actionString,
-                    ActionPrefix.loadTextureLocator);
-            BuildMenus.loadTextureLocator(spec);
-
-        } else {
-            handled = false;
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.loadAnimation:
+                name = MyString.remainder(actionString,
+                        ActionPrefix.loadAnimation);
+                AnimationMenus.loadAnimation(name, target);
+                break;
+
+            case ActionPrefix.loadCgmAsset:
+                args = MyString.remainder(actionString,
+                        ActionPrefix.loadCgmAsset);
+                BuildMenus.loadCgmAsset(args, target);
+                break;
+
+            case ActionPrefix.loadCgmLocator:
+                spec = MyString.remainder(actionString,
+                        ActionPrefix.loadCgmLocator);
+                BuildMenus.loadCgmLocator(spec, target);
+                break;
+
+            case ActionPrefix.loadCgmNamed:
+                name = MyString.remainder(actionString,
+                        ActionPrefix.loadCgmNamed);
+                target.loadNamedAsync(name);
+                break;
+
+            case ActionPrefix.loadMapAsset:
+                args = MyString.remainder(actionString,
+                        ActionPrefix.loadMapAsset);
+                BuildMenus.loadMapAsset(args);
+                break;
+
+            case ActionPrefix.loadMapLocator:
+                spec = MyString.remainder(actionString,
+                        ActionPrefix.loadMapLocator);
+                BuildMenus.loadMapLocator(spec);
+                break;
+
+            case ActionPrefix.loadMapNamed:
+                name = MyString.remainder(actionString,
+                        ActionPrefix.loadMapNamed);
+                model.getMap().loadNamed(name);
+                break;
+
+            case ActionPrefix.loadSourceAnimation:
+                name = MyString.remainder(actionString,
+                        ActionPrefix.loadSourceAnimation);
+                AnimationMenus.loadAnimation(name, source);
+                break;
+
+            case ActionPrefix.loadSourceCgmAsset:
+                args = MyString.remainder(actionString,
+                        ActionPrefix.loadSourceCgmAsset);
+                BuildMenus.loadCgmAsset(args, source);
+                break;
+
+            case ActionPrefix.loadSourceCgmLocator:
+                spec = MyString.remainder(actionString,
+                        ActionPrefix.loadSourceCgmLocator);
+                BuildMenus.loadCgmLocator(spec, source);
+                break;
+
+            case ActionPrefix.loadSourceCgmNamed:
+                name = MyString.remainder(actionString,
+                        ActionPrefix.loadSourceCgmNamed);
+                source.loadNamedAsync(name);
+                break;
+
+            case ActionPrefix.loadTextureAsset:
+                args = MyString.remainder(actionString,
+                        ActionPrefix.loadTextureAsset);
+                BuildMenus.loadTextureAsset(args);
+                break;
+
+            case ActionPrefix.loadTextureLocator:
+                spec = MyString.remainder(actionString,
+                        ActionPrefix.loadTextureLocator);
+                BuildMenus.loadTextureLocator(spec);
+                break;
+
+            default:
+                handled = false;
         }
 
         return handled;
@@ -107,6 +107,10 @@ final class NewAction {
                         sourceName);
                 break;
 
+            case Action.newAnimationsFromRetarget:
+                target.getAnimControl().addRetargets();
+                break;
+
             case Action.newAttachmentLink:
                 target.getLink().createAttachmentLink();
                 break;
@@ -201,164 +205,198 @@ final class NewAction {
 
         EditableCgm target = Maud.getModel().getTarget();
         SelectedAnimControl animControl = target.getAnimControl();
-        if (actionString.startsWith(ActionPrefix.newAssetLocation)) {
-            String path = MyString.remainder(actionString,
-                    ActionPrefix.newAssetLocation);
-            BuildMenus.newAssetLocation(path);
-
-        } else if (actionString.startsWith(ActionPrefix.newAssetLocationSpec)) {
-            String spec = MyString.remainder(actionString,
-                    ActionPrefix.newAssetLocationSpec);
-            Maud.getModel().getLocations().addSpec(spec);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.newAnimationFromChain)) {
-            String argList = MyString.remainder(actionString,
-                    ActionPrefix.newAnimationFromChain);
-            String[] args = argList.split(" ");
-            if (args.length > 2) {
-                WhichCgm which1 = WhichCgm.valueOf(args[0]);
-                WhichCgm which2 = WhichCgm.valueOf(args[1]);
-                String prefix = args[0] + " " + args[1] + " ";
-                String newAnimationName = MyString.remainder(argList, prefix);
-                animControl.addChain(which1, which2, newAnimationName);
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.newAssetLocation:
+                String path = MyString.remainder(actionString,
+                        ActionPrefix.newAssetLocation);
+                BuildMenus.newAssetLocation(path);
+                break;
+
+            case ActionPrefix.newAssetLocationSpec:
+                String spec = MyString.remainder(actionString,
+                        ActionPrefix.newAssetLocationSpec);
+                Maud.getModel().getLocations().addSpec(spec);
+                break;
+
+            case ActionPrefix.newAnimationFromChain: {
+                String argList = MyString.remainder(actionString,
+                        ActionPrefix.newAnimationFromChain);
+                String[] args = argList.split(" ");
+                if (args.length > 2) {
+                    WhichCgm which1 = WhichCgm.valueOf(args[0]);
+                    WhichCgm which2 = WhichCgm.valueOf(args[1]);
+                    String prefix = args[0] + " " + args[1] + " ";
+                    String newAnimationName
+                            = MyString.remainder(argList, prefix);
+                    animControl.addChain(which1, which2, newAnimationName);
+                    target.getAnimation().load(newAnimationName);
+                } else {
+                    handled = false;
+                }
+            }
+            break;
+
+            case ActionPrefix.newAnimationFromCopy: {
+                String newName = MyString.remainder(actionString,
+                        ActionPrefix.newAnimationFromCopy);
+                animControl.addCopy(newName);
+                target.getAnimation().load(newName);
+            }
+            break;
+
+            case ActionPrefix.newAnimationFromExtract: {
+                String newName = MyString.remainder(actionString,
+                        ActionPrefix.newAnimationFromExtract);
+                animControl.addExtract(newName);
+                target.getAnimation().load(newName);
+            }
+            break;
+
+            case ActionPrefix.newAnimationFromMix: {
+                String args = MyString.remainder(actionString,
+                        ActionPrefix.newAnimationFromMix);
+                if (args.contains(" ")) {
+                    String indices = args.split(" ")[0];
+                    String newAnimationName
+                            = MyString.remainder(args, indices + " ");
+                    animControl.addMix(indices, newAnimationName);
+                    target.getAnimation().load(newAnimationName);
+                } else {
+                    EditorDialogs.newAnimationFromMix(actionString + " ");
+                }
+            }
+            break;
+
+            case ActionPrefix.newAnimationFromPose: {
+                String newAnimationName = MyString.remainder(actionString,
+                        ActionPrefix.newAnimationFromPose);
+                animControl.addPose(newAnimationName);
                 target.getAnimation().load(newAnimationName);
-            } else {
-                handled = false;
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.newAnimationFromCopy)) {
-            String newName = MyString.remainder(actionString,
-                    ActionPrefix.newAnimationFromCopy);
-            animControl.addCopy(newName);
-            target.getAnimation().load(newName);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.newAnimationFromExtract)) {
-            String newName = MyString.remainder(actionString,
-                    ActionPrefix.newAnimationFromExtract);
-            animControl.addExtract(newName);
-            target.getAnimation().load(newName);
-
-        } else if (actionString.startsWith(ActionPrefix.newAnimationFromMix)) {
-            String args = MyString.remainder(actionString,
-                    ActionPrefix.newAnimationFromMix);
-            if (args.contains(" ")) {
-                String indices = args.split(" ")[0];
-                String newAnimationName
-                        = MyString.remainder(args, indices + " ");
-                animControl.addMix(indices, newAnimationName);
+            case ActionPrefix.newAnimationFromRetarget: {
+                String newAnimationName = MyString.remainder(actionString,
+                        ActionPrefix.newAnimationFromRetarget);
+                animControl.addRetarget(newAnimationName);
                 target.getAnimation().load(newAnimationName);
-            } else {
-                EditorDialogs.newAnimationFromMix(actionString + " ");
             }
+            break;
+
+            case ActionPrefix.newGeometryFromMerge: {
+                String args = MyString.remainder(actionString,
+                        ActionPrefix.newGeometryFromMerge);
+                if (args.contains(" ")) {
+                    String indices = args.split(" ")[0];
+                    String newGeometryName
+                            = MyString.remainder(args, indices + " ");
+                    target.addMergedGeometry(indices, newGeometryName);
+                } else {
+                    EditorDialogs.newGeometry(actionString + " ");
+                }
+            }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.newAnimationFromPose)) {
-            String newAnimationName = MyString.remainder(actionString,
-                    ActionPrefix.newAnimationFromPose);
-            animControl.addPose(newAnimationName);
-            target.getAnimation().load(newAnimationName);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.newAnimationFromRetarget)) {
-            String newAnimationName = MyString.remainder(actionString,
-                    ActionPrefix.newAnimationFromRetarget);
-            animControl.addRetarget(newAnimationName);
-            target.getAnimation().load(newAnimationName);
-
-        } else if (actionString.startsWith(ActionPrefix.newGeometryFromMerge)) {
-            String args = MyString.remainder(actionString,
-                    ActionPrefix.newGeometryFromMerge);
-            if (args.contains(" ")) {
-                String indices = args.split(" ")[0];
-                String newGeometryName
-                        = MyString.remainder(args, indices + " ");
-                target.addMergedGeometry(indices, newGeometryName);
-            } else {
-                EditorDialogs.newGeometry(actionString + " ");
+            case ActionPrefix.newGhostControl: {
+                String shapeName = MyString.remainder(actionString,
+                        ActionPrefix.newGhostControl);
+                ShapeType shapeType = ShapeType.valueOf(shapeName);
+                target.getSpatial().addGhostControl(shapeType);
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.newGhostControl)) {
-            String shapeName = MyString.remainder(actionString,
-                    ActionPrefix.newGhostControl);
-            ShapeType shapeType = ShapeType.valueOf(shapeName);
-            target.getSpatial().addGhostControl(shapeType);
-
-        } else if (actionString.startsWith(ActionPrefix.newLeafNode)) {
-            String nodeName = MyString.remainder(actionString,
-                    ActionPrefix.newLeafNode);
-            target.getSpatial().attachLeafNode(nodeName);
-
-        } else if (actionString.startsWith(ActionPrefix.newLight)) {
-            String args = MyString.remainder(actionString,
-                    ActionPrefix.newLight);
-            if (args.contains(" ")) {
-                String typeName = args.split(" ")[0];
-                String lightName = MyString.remainder(args, typeName + " ");
-                if (typeName.equals(EnumMenus.copySelected)) {
-                    target.getLight().copySelected(lightName);
+            case ActionPrefix.newLeafNode: {
+                String nodeName = MyString.remainder(actionString,
+                        ActionPrefix.newLeafNode);
+                target.getSpatial().attachLeafNode(nodeName);
+            }
+            break;
+
+            case ActionPrefix.newLight: {
+                String args = MyString.remainder(actionString,
+                        ActionPrefix.newLight);
+                if (args.contains(" ")) {
+                    String typeName = args.split(" ")[0];
+                    String lightName = MyString.remainder(args, typeName + " ");
+                    if (typeName.equals(EnumMenus.copySelected)) {
+                        target.getLight().copySelected(lightName);
+                    } else {
+                        Light.Type type = Light.Type.valueOf(typeName);
+                        target.getSpatial().addLight(type, lightName);
+                    }
                 } else {
-                    Light.Type type = Light.Type.valueOf(typeName);
-                    target.getSpatial().addLight(type, lightName);
+                    EditorDialogs.newLight(actionString + " ");
                 }
-            } else {
-                EditorDialogs.newLight(actionString + " ");
             }
+            break;
+
+            case ActionPrefix.newMatParam:
+                String namePrefix = MyString.remainder(actionString,
+                        ActionPrefix.newMatParam);
+                ShowMenus.addNewMatParam(namePrefix);
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.newMatParam)) {
-            String namePrefix = MyString.remainder(actionString,
-                    ActionPrefix.newMatParam);
-            ShowMenus.addNewMatParam(namePrefix);
-
-        } else if (actionString.startsWith(ActionPrefix.newMcc)) {
-            String shapeName
-                    = MyString.remainder(actionString, ActionPrefix.newMcc);
-            ShapeType shapeType = ShapeType.valueOf(shapeName);
-            target.getSpatial().addCharacterControl(shapeType);
-
-        } else if (actionString.startsWith(ActionPrefix.newNormals)) {
-            String arg
-                    = MyString.remainder(actionString, ActionPrefix.newNormals);
-            MeshNormals meshNormals = MeshNormals.valueOf(arg);
-            target.getSpatial().generateNormals(meshNormals);
-
-        } else if (actionString.startsWith(ActionPrefix.newOverride)) {
-            String args = MyString.remainder(actionString,
-                    ActionPrefix.newOverride);
-            if (args.contains(" ")) {
-                String typeName = args.split(" ")[0];
-                VarType type = VarType.valueOf(typeName);
-                String parameterName = MyString.remainder(args, typeName + " ");
-                target.addOverride(type, parameterName);
-            } else {
-                EditorDialogs.newOverride(actionString + " ");
+            case ActionPrefix.newMcc: {
+                String shapeName
+                        = MyString.remainder(actionString, ActionPrefix.newMcc);
+                ShapeType shapeType = ShapeType.valueOf(shapeName);
+                target.getSpatial().addCharacterControl(shapeType);
             }
+            break;
+
+            case ActionPrefix.newNormals:
+                String arg = MyString.remainder(actionString,
+                        ActionPrefix.newNormals);
+                MeshNormals meshNormals = MeshNormals.valueOf(arg);
+                target.getSpatial().generateNormals(meshNormals);
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.newParent)) {
-            String nodeName = MyString.remainder(actionString,
-                    ActionPrefix.newParent);
-            target.insertParent(nodeName);
-
-        } else if (actionString.startsWith(ActionPrefix.newRbc)) {
-            String shapeName
-                    = MyString.remainder(actionString, ActionPrefix.newRbc);
-            ShapeType shapeType = ShapeType.valueOf(shapeName);
-            target.getSpatial().addRigidBodyControl(shapeType);
-
-        } else if (actionString.startsWith(ActionPrefix.newUserKey)) {
-            String args
-                    = MyString.remainder(actionString, ActionPrefix.newUserKey);
-            if (args.contains(" ")) {
-                String typeName = args.split(" ")[0];
-                UserDataType type = UserDataType.valueOf(typeName);
-                String key = MyString.remainder(args, typeName + " ");
-                target.addUserKey(type, key);
-            } else {
-                EditorDialogs.newUserKey(actionString + " ");
+            case ActionPrefix.newOverride: {
+                String args = MyString.remainder(actionString,
+                        ActionPrefix.newOverride);
+                if (args.contains(" ")) {
+                    String typeName = args.split(" ")[0];
+                    VarType type = VarType.valueOf(typeName);
+                    String parameterName
+                            = MyString.remainder(args, typeName + " ");
+                    target.addOverride(type, parameterName);
+                } else {
+                    EditorDialogs.newOverride(actionString + " ");
+                }
             }
+            break;
 
-        } else {
-            handled = false;
+            case ActionPrefix.newParent: {
+                String nodeName = MyString.remainder(actionString,
+                        ActionPrefix.newParent);
+                target.insertParent(nodeName);
+            }
+            break;
+
+            case ActionPrefix.newRbc: {
+                String shapeName
+                        = MyString.remainder(actionString, ActionPrefix.newRbc);
+                ShapeType shapeType = ShapeType.valueOf(shapeName);
+                target.getSpatial().addRigidBodyControl(shapeType);
+            }
+            break;
+
+            case ActionPrefix.newUserKey: {
+                String args = MyString.remainder(actionString,
+                        ActionPrefix.newUserKey);
+                if (args.contains(" ")) {
+                    String typeName = args.split(" ")[0];
+                    UserDataType type = UserDataType.valueOf(typeName);
+                    String key = MyString.remainder(args, typeName + " ");
+                    target.addUserKey(type, key);
+                } else {
+                    EditorDialogs.newUserKey(actionString + " ");
+                }
+            }
+            break;
+
+            default:
+                handled = false;
         }
 
         return handled;
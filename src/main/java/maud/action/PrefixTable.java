@@ -0,0 +1,182 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.action;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A precompiled, open-addressed hash table of action prefixes, used to resolve
+ * an action string to its prefix in a single pass, without allocating.
+ * <p>
+ * Every prefix ends with a space, and no prefix may begin with another, so
+ * the first prefix found while scanning an action string is the only match.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class PrefixTable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(PrefixTable.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * hash code of the prefix in each slot
+     */
+    final private int[] slotHashes;
+    /**
+     * bitmask to convert a hash code into a slot index
+     */
+    final private int slotMask;
+    /**
+     * largest number of words (spaces) in any prefix
+     */
+    final private int maxWords;
+    /**
+     * prefix in each slot, or null if the slot is empty
+     */
+    final private String[] slotPrefixes;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a table containing the value of every public static final
+     * String field of the specified class.
+     *
+     * @param constants the class that defines the prefixes (not null)
+     */
+    PrefixTable(Class<?> constants) {
+        List<String> prefixes = new ArrayList<>(200);
+        int modifiers = Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL;
+        for (Field field : constants.getFields()) {
+            if ((field.getModifiers() & modifiers) == modifiers
+                    && field.getType() == String.class) {
+                try {
+                    prefixes.add((String) field.get(null));
+                } catch (IllegalAccessException exception) {
+                    throw new RuntimeException(exception);
+                }
+            }
+        }
+
+        // Size the table for a load factor of at most 0.5 .
+        int numSlots = Integer.highestOneBit(4 * prefixes.size() - 1);
+        this.slotHashes = new int[numSlots];
+        this.slotMask = numSlots - 1;
+        this.slotPrefixes = new String[numSlots];
+
+        int mostWords = 0;
+        for (String prefix : prefixes) {
+            assert prefix.endsWith(" ") : prefix;
+            int numWords = 0;
+            for (int i = 0; i < prefix.length(); ++i) {
+                if (prefix.charAt(i) == ' ') {
+                    ++numWords;
+                }
+            }
+            mostWords = Math.max(mostWords, numWords);
+
+            int hash = prefix.hashCode();
+            int slot = hash & slotMask;
+            while (slotPrefixes[slot] != null) {
+                slot = (slot + 1) & slotMask;
+            }
+            slotHashes[slot] = hash;
+            slotPrefixes[slot] = prefix;
+        }
+        this.maxWords = mostWords;
+
+        for (String prefix : prefixes) {
+            assert match(prefix) == prefix : prefix;
+        }
+        logger.log(Level.INFO, "{0} prefixes in {1} slots", new Object[]{
+            prefixes.size(), numSlots
+        });
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Find the prefix that begins the specified action string.
+     *
+     * @param actionString textual description of the action (not null)
+     * @return the matching prefix, or "" if none matches (not null)
+     */
+    String match(String actionString) {
+        int length = actionString.length();
+        int hash = 0;
+        int numWords = 0;
+        for (int i = 0; i < length && numWords < maxWords; ++i) {
+            char ch = actionString.charAt(i);
+            hash = 31 * hash + ch; // same as String.hashCode()
+            if (ch == ' ') {
+                String result = lookup(hash, actionString, i + 1);
+                if (result != null) {
+                    return result;
+                }
+                ++numWords;
+            }
+        }
+
+        return "";
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Look up the prefix with the specified hash code and length.
+     *
+     * @param hash the hash code of the candidate prefix
+     * @param actionString the action string being matched (not null)
+     * @param length the length of the candidate prefix (&gt;0)
+     * @return the matching prefix, or null if none
+     */
+    private String lookup(int hash, String actionString, int length) {
+        int slot = hash & slotMask;
+        String prefix = slotPrefixes[slot];
+        while (prefix != null) {
+            if (slotHashes[slot] == hash && prefix.length() == length
+                    && actionString.startsWith(prefix)) {
+                return prefix;
+            }
+            slot = (slot + 1) & slotMask;
+            prefix = slotPrefixes[slot];
+        }
+
+        return null;
+    }
+}
@@ -116,55 +116,65 @@ final class RenameAction {
 
         String newName;
         EditableCgm target = Maud.getModel().getTarget();
-        if (actionString.startsWith(ActionPrefix.renameAnimation)) {
-            newName = MyString.remainder(actionString,
-                    ActionPrefix.renameAnimation);
-            target.getAnimation().rename(newName);
-
-        } else if (actionString.startsWith(ActionPrefix.renameBone)) {
-            newName = MyString.remainder(actionString, ActionPrefix.renameBone);
-            target.renameBone(newName);
-
-        } else if (actionString.startsWith(ActionPrefix.renameLight)) {
-            newName = MyString.remainder(actionString,
-                    ActionPrefix.renameLight);
-            target.getLight().rename(newName);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.renameMatchingTextures)) {
-            String args = MyString.remainder(actionString,
-                    ActionPrefix.renameMatchingTextures);
-            String[] argArray = args.split(";");
-            if (argArray.length == 2) {
-                CharSequence match = argArray[0];
-                CharSequence replacement = argArray[1];
-                target.getTexture().replaceMatchingTextures(match, replacement);
-            } else {
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.renameAnimation:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameAnimation);
+                target.getAnimation().rename(newName);
+                break;
+
+            case ActionPrefix.renameBone:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameBone);
+                target.renameBone(newName);
+                break;
+
+            case ActionPrefix.renameLight:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameLight);
+                target.getLight().rename(newName);
+                break;
+
+            case ActionPrefix.renameMatchingTextures:
+                String args = MyString.remainder(actionString,
+                        ActionPrefix.renameMatchingTextures);
+                String[] argArray = args.split(";");
+                if (argArray.length == 2) {
+                    CharSequence match = argArray[0];
+                    CharSequence replacement = argArray[1];
+                    target.getTexture().replaceMatchingTextures(
+                            match, replacement);
+                } else {
+                    handled = false;
+                }
+                break;
+
+            case ActionPrefix.renameMaterial:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameMaterial);
+                target.renameMaterial(newName);
+                break;
+
+            case ActionPrefix.renameOverride:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameOverride);
+                target.getOverride().rename(newName);
+                break;
+
+            case ActionPrefix.renameSpatial:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameSpatial);
+                target.renameSpatial(newName);
+                break;
+
+            case ActionPrefix.renameUserKey:
+                newName = MyString.remainder(actionString,
+                        ActionPrefix.renameUserKey);
+                target.getUserData().renameKey(newName);
+                break;
+
+            default:
                 handled = false;
-            }
-
-        } else if (actionString.startsWith(ActionPrefix.renameMaterial)) {
-            newName = MyString.remainder(actionString,
-                    ActionPrefix.renameMaterial);
-            target.renameMaterial(newName);
-
-        } else if (actionString.startsWith(ActionPrefix.renameOverride)) {
-            newName = MyString.remainder(actionString,
-                    ActionPrefix.renameOverride);
-            target.getOverride().rename(newName);
-
-        } else if (actionString.startsWith(ActionPrefix.renameSpatial)) {
-            newName = MyString.remainder(actionString,
-                    ActionPrefix.renameSpatial);
-            target.renameSpatial(newName);
-
-        } else if (actionString.startsWith(ActionPrefix.renameUserKey)) {
-            newName = MyString.remainder(actionString,
-                    ActionPrefix.renameUserKey);
-            target.getUserData().renameKey(newName);
-
-        } else {
-            handled = false;
         }
 
         return handled;
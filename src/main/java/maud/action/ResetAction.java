@@ -34,6 +34,8 @@ import maud.Maud;
 import maud.model.History;
 import maud.model.cgm.Cgm;
 import maud.model.cgm.EditableCgm;
+import maud.model.cgm.PendingLoad;
+import maud.model.cgm.PendingShape;
 import maud.model.cgm.SelectedBone;
 
 /**
@@ -123,6 +125,11 @@ final class ResetAction {
                 mouseCgm.getBone().deselect();
                 break;
 
+            case Action.resetCgmLoad:
+                PendingLoad.cancel();
+                PendingShape.cancel();
+                break;
+
             case Action.resetHistory:
                 History.clear();
                 break;
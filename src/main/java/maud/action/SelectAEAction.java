@@ -26,6 +26,7 @@
  */
 package maud.action;
 
+import com.jme3.bullet.PhysicsSpace;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.VertexBuffer;
@@ -125,6 +126,10 @@ final class SelectAEAction {
                 target.getBone().selectTrack();
                 break;
 
+            case Action.selectBroadphaseType:
+                EnumMenus.selectBroadphaseType();
+                break;
+
             case Action.selectBuffer:
                 MeshMenus.selectBuffer("");
                 break;
@@ -163,94 +168,127 @@ final class SelectAEAction {
         EditorModel model = Maud.getModel();
         EditableCgm target = model.getTarget();
         String arg;
-        if (actionString.startsWith(ActionPrefix.selectAnimControl)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectAnimControl);
-            target.getAnimControl().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectAxesDragEffect)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectAxesDragEffect);
-            AxesDragEffect value = AxesDragEffect.valueOf(arg);
-            model.getScene().getAxes().setDragEffect(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectAxesSubject)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectAxesSubject);
-            AxesSubject value = AxesSubject.valueOf(arg);
-            model.getScene().getAxes().setSubject(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBackground)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectBackground);
-            Background value = Background.valueOf(arg);
-            model.getMisc().selectBackground(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBatchHint)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectBatchHint);
-            Spatial.BatchHint value = Spatial.BatchHint.valueOf(arg);
-            target.setBatchHint(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBone)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectBone);
-            BoneMenus.selectBone(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBoneChild)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectBoneChild);
-            BoneMenus.selectBoneChild(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBoneIndex)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectBoneIndex);
-            int index = Integer.parseInt(arg);
-            int indexBase = Maud.getModel().getMisc().indexBase();
-            target.getBone().select(index - indexBase);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBuffer)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectBuffer);
-            MeshMenus.selectBuffer(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectBufferUsage)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectBufferUsage);
-            VertexBuffer.Usage usage = VertexBuffer.Usage.valueOf(arg);
-            target.getBuffer().setUsage(usage);
-
-        } else if (actionString.startsWith(ActionPrefix.selectCullHint)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectCullHint);
-            Spatial.CullHint value = Spatial.CullHint.valueOf(arg);
-            target.setCullHint(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectCursorColor)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectCursorColor);
-            int index = Integer.parseInt(arg);
-            model.getMisc().setColorIndex(index);
-
-        } else if (actionString.startsWith(ActionPrefix.selectEdgeFilter)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectEdgeFilter);
-            EdgeFilteringMode newMode = EdgeFilteringMode.valueOf(arg);
-            model.getScene().getRender().setEdgeFilter(newMode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectExtremeVertex)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectExtremeVertex);
-            String[] args = arg.split(" ");
-            if (args.length == 3) {
-                float x = Float.parseFloat(args[0]);
-                float y = Float.parseFloat(args[1]);
-                float z = Float.parseFloat(args[2]);
-                Vector3f direction = new Vector3f(x, y, z);
-                model.getTarget().getVertex().selectExtreme(direction);
-            } else {
-                handled = false;
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.selectAnimControl:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectAnimControl);
+                target.getAnimControl().select(arg);
+                break;
+
+            case ActionPrefix.selectAxesDragEffect: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectAxesDragEffect);
+                AxesDragEffect value = AxesDragEffect.valueOf(arg);
+                model.getScene().getAxes().setDragEffect(value);
+            }
+            break;
+
+            case ActionPrefix.selectAxesSubject: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectAxesSubject);
+                AxesSubject value = AxesSubject.valueOf(arg);
+                model.getScene().getAxes().setSubject(value);
+            }
+            break;
+
+            case ActionPrefix.selectBackground: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBackground);
+                Background value = Background.valueOf(arg);
+                model.getMisc().selectBackground(value);
             }
+            break;
 
-        } else {
-            handled = false;
+            case ActionPrefix.selectBatchHint: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBatchHint);
+                Spatial.BatchHint value = Spatial.BatchHint.valueOf(arg);
+                target.setBatchHint(value);
+            }
+            break;
+
+            case ActionPrefix.selectBone:
+                arg = MyString.remainder(actionString, ActionPrefix.selectBone);
+                BoneMenus.selectBone(arg);
+                break;
+
+            case ActionPrefix.selectBoneChild:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBoneChild);
+                BoneMenus.selectBoneChild(arg);
+                break;
+
+            case ActionPrefix.selectBoneIndex: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBoneIndex);
+                int index = Integer.parseInt(arg);
+                int indexBase = Maud.getModel().getMisc().indexBase();
+                target.getBone().select(index - indexBase);
+            }
+            break;
+
+            case ActionPrefix.selectBroadphaseType: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBroadphaseType);
+                PhysicsSpace.BroadphaseType type
+                        = PhysicsSpace.BroadphaseType.valueOf(arg);
+                model.getScene().setBroadphaseType(type);
+            }
+            break;
+
+            case ActionPrefix.selectBuffer:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBuffer);
+                MeshMenus.selectBuffer(arg);
+                break;
+
+            case ActionPrefix.selectBufferUsage:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectBufferUsage);
+                VertexBuffer.Usage usage = VertexBuffer.Usage.valueOf(arg);
+                target.getBuffer().setUsage(usage);
+                break;
+
+            case ActionPrefix.selectCullHint: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectCullHint);
+                Spatial.CullHint value = Spatial.CullHint.valueOf(arg);
+                target.setCullHint(value);
+            }
+            break;
+
+            case ActionPrefix.selectCursorColor: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectCursorColor);
+                int index = Integer.parseInt(arg);
+                model.getMisc().setColorIndex(index);
+            }
+            break;
+
+            case ActionPrefix.selectEdgeFilter:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectEdgeFilter);
+                EdgeFilteringMode newMode = EdgeFilteringMode.valueOf(arg);
+                model.getScene().getRender().setEdgeFilter(newMode);
+                break;
+
+            case ActionPrefix.selectExtremeVertex:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectExtremeVertex);
+                String[] args = arg.split(" ");
+                if (args.length == 3) {
+                    float x = Float.parseFloat(args[0]);
+                    float y = Float.parseFloat(args[1]);
+                    float z = Float.parseFloat(args[2]);
+                    Vector3f direction = new Vector3f(x, y, z);
+                    model.getTarget().getVertex().selectExtreme(direction);
+                } else {
+                    handled = false;
+                }
+                break;
+
+            default:
+                handled = false;
         }
 
         return handled;
@@ -203,89 +203,113 @@ final class SelectFNAction {
         EditorModel model = Maud.getModel();
         EditableCgm target = model.getTarget();
         String arg;
-        if (actionString.startsWith(ActionPrefix.selectFaceCull)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectFaceCull);
-            RenderState.FaceCullMode newMode
-                    = RenderState.FaceCullMode.valueOf(arg);
-            target.setFaceCullMode(newMode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectIndexBase)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectIndexBase);
-            int base = Integer.parseInt(arg);
-            model.getMisc().setIndexBase(base);
-
-        } else if (actionString.startsWith(ActionPrefix.selectJoint)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectJoint);
-            target.getJoint().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectJointBody)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectJointBody);
-            JointEnd end = JointEnd.valueOf(arg);
-            String bodyName = target.getJoint().endName(end);
-            target.getPco().select(bodyName);
-            EditorTools.select("pco");
-
-        } else if (actionString.startsWith(ActionPrefix.selectKeyframe)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectKeyframe);
-            int index = Integer.parseInt(arg);
-            int indexBase = Maud.getModel().getMisc().indexBase();
-            target.getFrame().select(index - indexBase);
-
-        } else if (actionString.startsWith(ActionPrefix.selectLight)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectLight);
-            target.getLight().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectLink)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectLink);
-            target.getLink().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectLinkChild)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectLinkChild);
-            PhysicsMenus.selectLinkChild(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectLinkShape)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectLinkShape);
-            ShapeHeuristic heuristic = ShapeHeuristic.valueOf(arg);
-            target.getLink().setShapeHeuristic(heuristic);
-
-        } else if (actionString.startsWith(ActionPrefix.selectLinkToolAxis)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectLinkToolAxis);
-            int axisIndex = MyString.axisIndex(arg);
-            model.getMisc().selectLinkToolAxis(axisIndex);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.selectLoadBvhAxisOrder)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectLoadBvhAxisOrder);
-            LoadBvhAxisOrder axisOrder = LoadBvhAxisOrder.valueOf(arg);
-            model.getMisc().selectLoadBvhAxisOrder(axisOrder);
-
-        } else if (actionString.startsWith(ActionPrefix.selectMatParam)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectMatParam);
-            ShowMenus.selectMatParam(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectMenuItem)) {
-            String menuPath = MyString.remainder(actionString,
-                    ActionPrefix.selectMenuItem);
-            handled = EditorMenus.selectMenuItem(menuPath);
-
-        } else if (actionString.startsWith(ActionPrefix.selectMeshMode)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectMeshMode);
-            Mesh.Mode mode = Mesh.Mode.valueOf(arg);
-            target.setMeshMode(mode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectMovement)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectMovement);
-            MovementMode mode = MovementMode.valueOf(arg);
-            model.getScene().getCamera().setMode(mode);
-
-        } else {
-            handled = false;
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.selectFaceCull:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectFaceCull);
+                RenderState.FaceCullMode newMode
+                        = RenderState.FaceCullMode.valueOf(arg);
+                target.setFaceCullMode(newMode);
+                break;
+
+            case ActionPrefix.selectIndexBase:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectIndexBase);
+                int base = Integer.parseInt(arg);
+                model.getMisc().setIndexBase(base);
+                break;
+
+            case ActionPrefix.selectJoint:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectJoint);
+                target.getJoint().select(arg);
+                break;
+
+            case ActionPrefix.selectJointBody:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectJointBody);
+                JointEnd end = JointEnd.valueOf(arg);
+                String bodyName = target.getJoint().endName(end);
+                target.getPco().select(bodyName);
+                EditorTools.select("pco");
+                break;
+
+            case ActionPrefix.selectKeyframe:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectKeyframe);
+                int index = Integer.parseInt(arg);
+                int indexBase = Maud.getModel().getMisc().indexBase();
+                target.getFrame().select(index - indexBase);
+                break;
+
+            case ActionPrefix.selectLight:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectLight);
+                target.getLight().select(arg);
+                break;
+
+            case ActionPrefix.selectLink:
+                arg = MyString.remainder(actionString, ActionPrefix.selectLink);
+                target.getLink().select(arg);
+                break;
+
+            case ActionPrefix.selectLinkChild:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectLinkChild);
+                PhysicsMenus.selectLinkChild(arg);
+                break;
+
+            case ActionPrefix.selectLinkShape:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectLinkShape);
+                ShapeHeuristic heuristic = ShapeHeuristic.valueOf(arg);
+                target.getLink().setShapeHeuristic(heuristic);
+                break;
+
+            case ActionPrefix.selectLinkToolAxis:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectLinkToolAxis);
+                int axisIndex = MyString.axisIndex(arg);
+                model.getMisc().selectLinkToolAxis(axisIndex);
+                break;
+
+            case ActionPrefix.selectLoadBvhAxisOrder:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectLoadBvhAxisOrder);
+                LoadBvhAxisOrder axisOrder = LoadBvhAxisOrder.valueOf(arg);
+                model.getMisc().selectLoadBvhAxisOrder(axisOrder);
+                break;
+
+            case ActionPrefix.selectMatParam:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectMatParam);
+                ShowMenus.selectMatParam(arg);
+                break;
+
+            case ActionPrefix.selectMenuItem:
+                String menuPath = MyString.remainder(actionString,
+                        ActionPrefix.selectMenuItem);
+                handled = EditorMenus.selectMenuItem(menuPath);
+                break;
+
+            case ActionPrefix.selectMeshMode: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectMeshMode);
+                Mesh.Mode mode = Mesh.Mode.valueOf(arg);
+                target.setMeshMode(mode);
+            }
+            break;
+
+            case ActionPrefix.selectMovement: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectMovement);
+                MovementMode mode = MovementMode.valueOf(arg);
+                model.getScene().getCamera().setMode(mode);
+            }
+            break;
+
+            default:
+                handled = false;
         }
 
         return handled;
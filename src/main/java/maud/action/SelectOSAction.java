@@ -254,171 +254,208 @@ final class SelectOSAction {
         EditorModel model = Maud.getModel();
         EditableCgm target = model.getTarget();
         String arg;
-        if (actionString.startsWith(ActionPrefix.selectOrbitCenter)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectOrbitCenter);
-            OrbitCenter oc = OrbitCenter.parse(arg);
-            model.getScene().getCamera().setMode(oc);
-
-        } else if (actionString.startsWith(ActionPrefix.selectOverride)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectOverride);
-            target.getOverride().select(arg);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.selectPerformanceMode)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectPerformanceMode);
-            PerformanceMode mode = PerformanceMode.valueOf(arg);
-            model.getMisc().selectPerformanceMode(mode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectPco)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectPco);
-            target.getPco().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectPcoParm)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectPcoParm);
-            RigidBodyParameter rbp; // TODO utility in ParseUtil
-            try {
-                rbp = RigidBodyParameter.valueOf(arg);
-            } catch (IllegalArgumentException exception) {
-                rbp = null;
-                PhysicsMenus.selectRbp(arg);
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.selectOrbitCenter:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectOrbitCenter);
+                OrbitCenter oc = OrbitCenter.parse(arg);
+                model.getScene().getCamera().setMode(oc);
+                break;
+
+            case ActionPrefix.selectOverride:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectOverride);
+                target.getOverride().select(arg);
+                break;
+
+            case ActionPrefix.selectPerformanceMode: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectPerformanceMode);
+                PerformanceMode mode = PerformanceMode.valueOf(arg);
+                model.getMisc().selectPerformanceMode(mode);
             }
-            if (rbp != null) {
-                model.getMisc().selectRbp(rbp);
+            break;
+
+            case ActionPrefix.selectPco:
+                arg = MyString.remainder(actionString, ActionPrefix.selectPco);
+                target.getPco().select(arg);
+                break;
+
+            case ActionPrefix.selectPcoParm:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectPcoParm);
+                RigidBodyParameter rbp; // TODO utility in ParseUtil
+                try {
+                    rbp = RigidBodyParameter.valueOf(arg);
+                } catch (IllegalArgumentException exception) {
+                    rbp = null;
+                    PhysicsMenus.selectRbp(arg);
+                }
+                if (rbp != null) {
+                    model.getMisc().selectRbp(rbp);
+                }
+                break;
+
+            case ActionPrefix.selectPlatformType:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectPlatformType);
+                PlatformType type = PlatformType.valueOf(arg);
+                model.getScene().setPlatformType(type);
+                break;
+
+            case ActionPrefix.selectProjection: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectProjection);
+                ProjectionMode mode = ProjectionMode.valueOf(arg);
+                model.getScene().getCamera().setMode(mode);
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.selectPlatformType)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectPlatformType);
-            PlatformType type = PlatformType.valueOf(arg);
-            model.getScene().setPlatformType(type);
-
-        } else if (actionString.startsWith(ActionPrefix.selectProjection)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectProjection);
-            ProjectionMode mode = ProjectionMode.valueOf(arg);
-            model.getScene().getCamera().setMode(mode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectQueueBucket)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectQueueBucket);
-            RenderQueue.Bucket value = RenderQueue.Bucket.valueOf(arg);
-            target.setQueueBucket(value);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.selectRotationDisplay)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectRotationDisplay);
-            RotationDisplayMode mode = RotationDisplayMode.valueOf(arg);
-            model.getMisc().selectRotationDisplay(mode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSgc)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectSgc);
-            target.getSgc().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSceneBones)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectSceneBones);
-            ShowBones value = ShowBones.valueOf(arg);
-            model.getScene().getSkeleton().setShowBones(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectScoreBonesNone)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectScoreBonesNone);
-            ShowBones value = ShowBones.valueOf(arg);
-            model.getScore().setShowNoneSelected(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectScoreBonesWhen)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectScoreBonesWhen);
-            ShowBones value = ShowBones.valueOf(arg);
-            model.getScore().setShowWhenSelected(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectShadowMode)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectShadowMode);
-            RenderQueue.ShadowMode value = RenderQueue.ShadowMode.valueOf(arg);
-            target.setShadowMode(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectShape)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectShape);
-            int colonPosition = arg.indexOf(':');
-            if (colonPosition == -1) {
-                handled = false;
-            } else {
-                target.getShape().select(arg);
+            case ActionPrefix.selectQueueBucket: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectQueueBucket);
+                RenderQueue.Bucket value = RenderQueue.Bucket.valueOf(arg);
+                target.setQueueBucket(value);
+            }
+            break;
+
+            case ActionPrefix.selectRotationDisplay: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectRotationDisplay);
+                RotationDisplayMode mode = RotationDisplayMode.valueOf(arg);
+                model.getMisc().selectRotationDisplay(mode);
+            }
+            break;
+
+            case ActionPrefix.selectSgc:
+                arg = MyString.remainder(actionString, ActionPrefix.selectSgc);
+                target.getSgc().select(arg);
+                break;
+
+            case ActionPrefix.selectSceneBones: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSceneBones);
+                ShowBones value = ShowBones.valueOf(arg);
+                model.getScene().getSkeleton().setShowBones(value);
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.selectShapeParm)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectShapeParm);
-            ShapeParameter parameter = ShapeParameter.valueOf(arg);
-            model.getMisc().selectShapeParameter(parameter);
-
-        } else if (actionString.startsWith(ActionPrefix.selectShapeUser)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectShapeUser);
-            PhysicsMenus.selectShapeUser(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSkeleton)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectSkeleton);
-            target.getSkeleton().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSkeletonColor)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectSkeletonColor);
-            SkeletonColors editColor = SkeletonColors.valueOf(arg);
-            model.getScene().getSkeleton().selectEditColor(editColor);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.selectSourceAnimControl)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectSourceAnimControl);
-            model.getSource().getAnimControl().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSourceBone)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectSourceBone);
-            BoneMenus.selectSourceBone(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSpatial)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectSpatial);
-            String whichName = arg.split(" ")[0];
-            WhichSpatials which = WhichSpatials.valueOf(whichName);
-            String name = "";
-            if (arg.contains(" ")) {
-                name = MyString.remainder(arg, whichName + " ");
+            case ActionPrefix.selectScoreBonesNone: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectScoreBonesNone);
+                ShowBones value = ShowBones.valueOf(arg);
+                model.getScore().setShowNoneSelected(value);
             }
-            SpatialMenus.selectSpatial(name, which);
-
-        } else if (actionString.startsWith(ActionPrefix.selectSpatialChild)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectSpatialChild);
-            SelectedSpatial spatial = target.getSpatial();
-            List<String> children = spatial.listNumberedChildren();
-            int childIndex = children.indexOf(arg);
-            if (childIndex >= 0) { // complete name+index
-                spatial.selectChild(childIndex);
-            } else { // prefix of name+index
-                SpatialMenus.selectSpatialChild(arg);
+            break;
+
+            case ActionPrefix.selectScoreBonesWhen: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectScoreBonesWhen);
+                ShowBones value = ShowBones.valueOf(arg);
+                model.getScore().setShowWhenSelected(value);
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.selectSpatialSibling)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectSpatialSibling);
-            SelectedSpatial spatial = target.getSpatial();
-            List<String> siblings = spatial.listNumberedSiblings();
-            int siblingIndex = siblings.indexOf(arg);
-            if (siblingIndex >= 0) { // complete name+index
-                spatial.selectSibling(siblingIndex);
-            } else { // prefix of name+index
-                SpatialMenus.selectSpatialSibling(arg);
+            case ActionPrefix.selectShadowMode: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectShadowMode);
+                RenderQueue.ShadowMode value
+                        = RenderQueue.ShadowMode.valueOf(arg);
+                target.setShadowMode(value);
             }
+            break;
 
-        } else {
-            handled = false;
+            case ActionPrefix.selectShape:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectShape);
+                int colonPosition = arg.indexOf(':');
+                if (colonPosition == -1) {
+                    handled = false;
+                } else {
+                    target.getShape().select(arg);
+                }
+                break;
+
+            case ActionPrefix.selectShapeParm:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectShapeParm);
+                ShapeParameter parameter = ShapeParameter.valueOf(arg);
+                model.getMisc().selectShapeParameter(parameter);
+                break;
+
+            case ActionPrefix.selectShapeUser:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectShapeUser);
+                PhysicsMenus.selectShapeUser(arg);
+                break;
+
+            case ActionPrefix.selectSkeleton:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSkeleton);
+                target.getSkeleton().select(arg);
+                break;
+
+            case ActionPrefix.selectSkeletonColor:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSkeletonColor);
+                SkeletonColors editColor = SkeletonColors.valueOf(arg);
+                model.getScene().getSkeleton().selectEditColor(editColor);
+                break;
+
+            case ActionPrefix.selectSourceAnimControl:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSourceAnimControl);
+                model.getSource().getAnimControl().select(arg);
+                break;
+
+            case ActionPrefix.selectSourceBone:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSourceBone);
+                BoneMenus.selectSourceBone(arg);
+                break;
+
+            case ActionPrefix.selectSpatial:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSpatial);
+                String whichName = arg.split(" ")[0];
+                WhichSpatials which = WhichSpatials.valueOf(whichName);
+                String name = "";
+                if (arg.contains(" ")) {
+                    name = MyString.remainder(arg, whichName + " ");
+                }
+                SpatialMenus.selectSpatial(name, which);
+                break;
+
+            case ActionPrefix.selectSpatialChild: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSpatialChild);
+                SelectedSpatial spatial = target.getSpatial();
+                List<String> children = spatial.listNumberedChildren();
+                int childIndex = children.indexOf(arg);
+                if (childIndex >= 0) { // complete name+index
+                    spatial.selectChild(childIndex);
+                } else { // prefix of name+index
+                    SpatialMenus.selectSpatialChild(arg);
+                }
+            }
+            break;
+
+            case ActionPrefix.selectSpatialSibling: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectSpatialSibling);
+                SelectedSpatial spatial = target.getSpatial();
+                List<String> siblings = spatial.listNumberedSiblings();
+                int siblingIndex = siblings.indexOf(arg);
+                if (siblingIndex >= 0) { // complete name+index
+                    spatial.selectSibling(siblingIndex);
+                } else { // prefix of name+index
+                    SpatialMenus.selectSpatialSibling(arg);
+                }
+            }
+            break;
+
+            default:
+                handled = false;
         }
 
         return handled;
@@ -163,107 +163,133 @@ final class SelectTZAction {
         Cgm target = model.getTarget();
         String arg;
 
-        if (actionString.startsWith(ActionPrefix.selectTexture)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectTexture);
-            target.getTexture().select(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTextureMag)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTextureMag);
-            Texture.MagFilter filter = Texture.MagFilter.valueOf(arg);
-            target.getTexture().setMagFilter(filter);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTextureMin)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTextureMin);
-            Texture.MinFilter filter = Texture.MinFilter.valueOf(arg);
-            target.getTexture().setMinFilter(filter);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTextureType)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTextureType);
-            SelectedTexture texture = target.getTexture();
-            for (Texture.Type type : Texture.Type.values()) {
-                String description = DescribeUtil.type(type);
-                if (arg.equals(description)) {
-                    texture.setTypeHint(type);
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.selectTexture:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTexture);
+                target.getTexture().select(arg);
+                break;
+
+            case ActionPrefix.selectTextureMag: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTextureMag);
+                Texture.MagFilter filter = Texture.MagFilter.valueOf(arg);
+                target.getTexture().setMagFilter(filter);
+            }
+            break;
+
+            case ActionPrefix.selectTextureMin: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTextureMin);
+                Texture.MinFilter filter = Texture.MinFilter.valueOf(arg);
+                target.getTexture().setMinFilter(filter);
+            }
+            break;
+
+            case ActionPrefix.selectTextureType:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTextureType);
+                SelectedTexture texture = target.getTexture();
+                for (Texture.Type type : Texture.Type.values()) {
+                    String description = DescribeUtil.type(type);
+                    if (arg.equals(description)) {
+                        texture.setTypeHint(type);
+                    }
+                }
+                break;
+
+            case ActionPrefix.selectTextureWrap:
+                String argList = MyString.remainder(actionString,
+                        ActionPrefix.selectTextureWrap);
+                String[] args = argList.split(" ");
+                Texture.WrapAxis axis = Texture.WrapAxis.valueOf(args[0]);
+                if (args.length == 1) {
+                    EnumMenus.selectTextureWrap(axis);
+                } else {
+                    assert args.length == 2;
+                    Texture.WrapMode mode = Texture.WrapMode.valueOf(args[1]);
+                    target.getTexture().setWrapMode(axis, mode);
                 }
+                break;
+
+            case ActionPrefix.selectTrack:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTrack);
+                AnimationMenus.selectTrack(arg);
+                break;
+
+            case ActionPrefix.selectTriangleMode:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTriangleMode);
+                TriangleMode mode = TriangleMode.valueOf(arg);
+                model.getScene().getRender().setTriangleMode(mode);
+                break;
+
+            case ActionPrefix.selectTweenPreset: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTweenPreset);
+                TweenPreset value = TweenPreset.valueOf(arg);
+                model.presetTweening(value);
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.selectTextureWrap)) {
-            String argList = MyString.remainder(actionString,
-                    ActionPrefix.selectTextureWrap);
-            String[] args = argList.split(" ");
-            Texture.WrapAxis axis = Texture.WrapAxis.valueOf(args[0]);
-            if (args.length == 1) {
-                EnumMenus.selectTextureWrap(axis);
-            } else {
-                assert args.length == 2;
-                Texture.WrapMode mode = Texture.WrapMode.valueOf(args[1]);
-                target.getTexture().setWrapMode(axis, mode);
+            case ActionPrefix.selectTweenRotations: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTweenRotations);
+                TweenRotations value = TweenRotations.valueOf(arg);
+                model.getTweenTransforms().setTweenRotations(value);
+            }
+            break;
+
+            case ActionPrefix.selectTweenScales: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTweenScales);
+                TweenVectors value = TweenVectors.valueOf(arg);
+                model.getTweenTransforms().setTweenScales(value);
             }
+            break;
+
+            case ActionPrefix.selectTweenTranslations: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectTweenTranslations);
+                TweenVectors value = TweenVectors.valueOf(arg);
+                model.getTweenTransforms().setTweenTranslations(value);
+            }
+            break;
+
+            case ActionPrefix.selectUserKey:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectUserKey);
+                target.getUserData().selectKey(arg);
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.selectTrack)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectTrack);
-            AnimationMenus.selectTrack(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTriangleMode)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTriangleMode);
-            TriangleMode mode = TriangleMode.valueOf(arg);
-            model.getScene().getRender().setTriangleMode(mode);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTweenPreset)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTweenPreset);
-            TweenPreset value = TweenPreset.valueOf(arg);
-            model.presetTweening(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTweenRotations)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTweenRotations);
-            TweenRotations value = TweenRotations.valueOf(arg);
-            model.getTweenTransforms().setTweenRotations(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectTweenScales)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTweenScales);
-            TweenVectors value = TweenVectors.valueOf(arg);
-            model.getTweenTransforms().setTweenScales(value);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.selectTweenTranslations)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectTweenTranslations);
-            TweenVectors value = TweenVectors.valueOf(arg);
-            model.getTweenTransforms().setTweenTranslations(value);
-
-        } else if (actionString.startsWith(ActionPrefix.selectUserKey)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectUserKey);
-            target.getUserData().selectKey(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.selectVertex)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectVertex);
-            int index = Integer.parseInt(arg);
-            int indexBase = Maud.getModel().getMisc().indexBase();
-            target.getVertex().select(index - indexBase);
-
-        } else if (actionString.startsWith(ActionPrefix.selectVertexBone)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.selectVertexBone);
-            int weightIndex = Integer.parseInt(arg);
-            SelectedVertex vertex = target.getVertex();
-            int[] boneIndices = vertex.boneIndices(null);
-            int boneIndex = boneIndices[weightIndex];
-            target.getBone().select(boneIndex);
-
-        } else if (actionString.startsWith(ActionPrefix.selectViewMode)) {
-            arg = MyString.remainder(actionString, ActionPrefix.selectViewMode);
-            ViewMode newSetting = ViewMode.valueOf(arg);
-            model.getMisc().selectViewMode(newSetting);
-
-        } else {
-            handled = false;
+            case ActionPrefix.selectVertex:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectVertex);
+                int index = Integer.parseInt(arg);
+                int indexBase = Maud.getModel().getMisc().indexBase();
+                target.getVertex().select(index - indexBase);
+                break;
+
+            case ActionPrefix.selectVertexBone:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectVertexBone);
+                int weightIndex = Integer.parseInt(arg);
+                SelectedVertex vertex = target.getVertex();
+                int[] boneIndices = vertex.boneIndices(null);
+                int boneIndex = boneIndices[weightIndex];
+                target.getBone().select(boneIndex);
+                break;
+
+            case ActionPrefix.selectViewMode:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.selectViewMode);
+                ViewMode newSetting = ViewMode.valueOf(arg);
+                model.getMisc().selectViewMode(newSetting);
+                break;
+
+            default:
+                handled = false;
         }
 
         if (!handled && actionString.startsWith(ActionPrefix.selectTool)) {
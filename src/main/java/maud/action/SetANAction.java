@@ -146,6 +146,10 @@ final class SetANAction {
                 }
                 break;
 
+            case Action.setHistoryBudget:
+                EditorDialogs.setHistoryBudget();
+                break;
+
             case Action.setMaxCheckpoints:
                 EditorDialogs.setMaxCheckpoints();
                 break;
@@ -176,182 +180,233 @@ final class SetANAction {
         EditorModel model = Maud.getModel();
         EditableCgm target = model.getTarget();
         String arg;
-        if (actionString.startsWith(ActionPrefix.set3DCursorColor)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.set3DCursorColor);
-            String[] args = arg.split(" ");
-            if (args.length >= 2) {
-                int index = Integer.parseInt(args[0]);
-                String colorText = MyString.remainder(arg, args[0] + " ");
-                ColorRGBA color = MyColor.parse(colorText);
-                model.getScene().getCursor().setColor(index, color);
-            } else {
-                handled = false;
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.set3DCursorColor: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.set3DCursorColor);
+                String[] args = arg.split(" ");
+                if (args.length >= 2) {
+                    int index = Integer.parseInt(args[0]);
+                    String colorText = MyString.remainder(arg, args[0] + " ");
+                    ColorRGBA color = MyColor.parse(colorText);
+                    model.getScene().getCursor().setColor(index, color);
+                } else {
+                    handled = false;
+                }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.set3DCursorCycleTime)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.set3DCursorCycleTime);
-            float cycleTime = Float.parseFloat(arg);
-            model.getScene().getCursor().setCycleTime(cycleTime);
-
-        } else if (actionString.startsWith(ActionPrefix.set3DCursorSize)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.set3DCursorSize);
-            float size = Float.parseFloat(arg);
-            model.getScene().getCursor().setSize(size);
-
-        } else if (actionString.startsWith(ActionPrefix.setAmbientLevel)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setAmbientLevel);
-            float level = Float.parseFloat(arg);
-            model.getScene().getLights().setAmbientLevel(level);
-
-        } else if (actionString.startsWith(ActionPrefix.setAnisotropy)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setAnisotropy);
-            int anisotropy = Integer.parseInt(arg);
-            target.getTexture().setAnisotropy(anisotropy);
-
-        } else if (actionString.startsWith(ActionPrefix.setAxesLineWidth)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setAxesLineWidth);
-            float width = Float.parseFloat(arg);
-            model.getScene().getAxes().setLineWidth(width);
-
-        } else if (actionString.startsWith(ActionPrefix.setBackgroundColor)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setBackgroundColor);
-            String[] args = arg.split(" ");
-            if (args.length >= 2) {
-                Background which = Background.valueOf(args[0]);
-                String colorText = MyString.remainder(arg, args[0] + " ");
-                ColorRGBA color = MyColor.parse(colorText);
-                model.setBackgroundColor(which, color);
-            } else {
-                handled = false;
+            case ActionPrefix.set3DCursorCycleTime:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.set3DCursorCycleTime);
+                float cycleTime = Float.parseFloat(arg);
+                model.getScene().getCursor().setCycleTime(cycleTime);
+                break;
+
+            case ActionPrefix.set3DCursorSize:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.set3DCursorSize);
+                float size = Float.parseFloat(arg);
+                model.getScene().getCursor().setSize(size);
+                break;
+
+            case ActionPrefix.setAmbientLevel: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setAmbientLevel);
+                float level = Float.parseFloat(arg);
+                model.getScene().getLights().setAmbientLevel(level);
+            }
+            break;
+
+            case ActionPrefix.setAnisotropy:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setAnisotropy);
+                int anisotropy = Integer.parseInt(arg);
+                target.getTexture().setAnisotropy(anisotropy);
+                break;
+
+            case ActionPrefix.setAxesLineWidth: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setAxesLineWidth);
+                float width = Float.parseFloat(arg);
+                model.getScene().getAxes().setLineWidth(width);
+            }
+            break;
+
+            case ActionPrefix.setBackgroundColor: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setBackgroundColor);
+                String[] args = arg.split(" ");
+                if (args.length >= 2) {
+                    Background which = Background.valueOf(args[0]);
+                    String colorText = MyString.remainder(arg, args[0] + " ");
+                    ColorRGBA color = MyColor.parse(colorText);
+                    model.setBackgroundColor(which, color);
+                } else {
+                    handled = false;
+                }
             }
+            break;
+
+            case ActionPrefix.setBoundsColor:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setBoundsColor);
+                ColorRGBA color = MyColor.parse(arg);
+                model.getScene().getBounds().setColor(color);
+                break;
+
+            case ActionPrefix.setBoundsLineWidth: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setBoundsLineWidth);
+                float width = Float.parseFloat(arg);
+                model.getScene().getBounds().setLineWidth(width);
+            }
+            break;
+
+            case ActionPrefix.setBufferInstanceSpan:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setBufferInstanceSpan);
+                int span = Integer.parseInt(arg);
+                target.getBuffer().setInstanceSpan(span);
+                break;
+
+            case ActionPrefix.setBufferLimit:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setBufferLimit);
+                int limit = Integer.parseInt(arg);
+                target.getBuffer().setLimit(limit);
+                break;
+
+            case ActionPrefix.setBufferStride:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setBufferStride);
+                int stride = Integer.parseInt(arg);
+                target.getBuffer().setStride(stride);
+                break;
+
+            case ActionPrefix.setCloudiness:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setCloudiness);
+                float fraction = Float.parseFloat(arg);
+                model.getScene().getRender().setCloudiness(fraction);
+                break;
+
+            case ActionPrefix.setDefaultMargin:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setDefaultMargin);
+                float newMargin = Float.parseFloat(arg);
+                CollisionShape.setDefaultMargin(newMargin);
+                break;
+
+            case ActionPrefix.setDumpIndentSpaces:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setDumpIndentSpaces);
+                int numSpaces = Integer.parseInt(arg);
+                String indent = MyString.repeat(" ", numSpaces);
+                model.getDumper().setIndentIncrement(indent);
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.setBoundsColor)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setBoundsColor);
-            ColorRGBA color = MyColor.parse(arg);
-            model.getScene().getBounds().setColor(color);
-
-        } else if (actionString.startsWith(ActionPrefix.setBoundsLineWidth)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setBoundsLineWidth);
-            float width = Float.parseFloat(arg);
-            model.getScene().getBounds().setLineWidth(width);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.setBufferInstanceSpan)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setBufferInstanceSpan);
-            int span = Integer.parseInt(arg);
-            target.getBuffer().setInstanceSpan(span);
-
-        } else if (actionString.startsWith(ActionPrefix.setBufferLimit)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setBufferLimit);
-            int limit = Integer.parseInt(arg);
-            target.getBuffer().setLimit(limit);
-
-        } else if (actionString.startsWith(ActionPrefix.setBufferStride)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setBufferStride);
-            int stride = Integer.parseInt(arg);
-            target.getBuffer().setStride(stride);
-
-        } else if (actionString.startsWith(ActionPrefix.setCloudiness)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setCloudiness);
-            float fraction = Float.parseFloat(arg);
-            model.getScene().getRender().setCloudiness(fraction);
-
-        } else if (actionString.startsWith(ActionPrefix.setDefaultMargin)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setDefaultMargin);
-            float newMargin = Float.parseFloat(arg);
-            CollisionShape.setDefaultMargin(newMargin);
-
-        } else if (actionString.startsWith(ActionPrefix.setDumpIndentSpaces)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setDumpIndentSpaces);
-            int numSpaces = Integer.parseInt(arg);
-            String indent = MyString.repeat(" ", numSpaces);
-            model.getDumper().setIndentIncrement(indent);
-
-        } else if (actionString.startsWith(ActionPrefix.setDumpMaxChildren)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setDumpMaxChildren);
-            int maxCount = Integer.parseInt(arg);
-            model.getDumper().setMaxChildren(maxCount);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.setDurationProportional)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setDurationProportional);
-            float value = Float.parseFloat(arg);
-            target.getAnimation().setDurationProportional(value);
-
-        } else if (actionString.startsWith(ActionPrefix.setDurationSame)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setDurationSame);
-            float value = Float.parseFloat(arg);
-            target.getAnimation().setDurationSame(value);
-
-        } else if (actionString.startsWith(ActionPrefix.setFrameTime)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setFrameTime);
-            float value = Float.parseFloat(arg);
-            target.getFrame().setTime(value);
-
-        } else if (actionString.startsWith(ActionPrefix.setHour)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setHour);
-            float hour = Float.parseFloat(arg);
-            model.getScene().getRender().setHour(hour);
-
-        } else if (actionString.startsWith(ActionPrefix.setLinkMass)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setLinkMass);
-            float mass = Float.parseFloat(arg);
-            target.setLinkMass(mass);
-
-        } else if (actionString.startsWith(ActionPrefix.setMainDirection)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setMainDirection);
-            Vector3f direction = MyVector3f.parse(arg);
-            model.getScene().getLights().setDirection(direction);
-
-        } else if (actionString.startsWith(ActionPrefix.setMainLevel)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setMainLevel);
-            float level = Float.parseFloat(arg);
-            model.getScene().getLights().setMainLevel(level);
-
-        } else if (actionString.startsWith(ActionPrefix.setMapSize)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setMapSize);
-            int mapSize = Integer.parseInt(arg);
-            model.getScene().getRender().setShadowMapSize(mapSize);
-
-        } else if (actionString.startsWith(ActionPrefix.setMatParamValue)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setMatParamValue);
-            target.setMatParamValue(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.setMaxCheckpoints)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setMaxCheckpoints);
-            int maxCheckpoints = Integer.parseInt(arg);
-            model.getMisc().setMaxCheckpoints(maxCheckpoints);
-
-        } else if (actionString.startsWith(ActionPrefix.setMeshWeights)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setMeshWeights);
-            int mnwpv = Integer.parseInt(arg);
-            target.setMeshWeights(mnwpv);
-
-        } else if (actionString.startsWith(ActionPrefix.setNumSplits)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setNumSplits);
-            int numSplits = Integer.parseInt(arg);
-            model.getScene().getRender().setNumSplits(numSplits);
-
-        } else {
-            handled = false;
+            case ActionPrefix.setDumpMaxChildren:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setDumpMaxChildren);
+                int maxCount = Integer.parseInt(arg);
+                model.getDumper().setMaxChildren(maxCount);
+                break;
+
+            case ActionPrefix.setDurationProportional: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setDurationProportional);
+                float value = Float.parseFloat(arg);
+                target.getAnimation().setDurationProportional(value);
+            }
+            break;
+
+            case ActionPrefix.setDurationSame: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setDurationSame);
+                float value = Float.parseFloat(arg);
+                target.getAnimation().setDurationSame(value);
+            }
+            break;
+
+            case ActionPrefix.setFrameTime: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setFrameTime);
+                float value = Float.parseFloat(arg);
+                target.getFrame().setTime(value);
+            }
+            break;
+
+            case ActionPrefix.setHour:
+                arg = MyString.remainder(actionString, ActionPrefix.setHour);
+                float hour = Float.parseFloat(arg);
+                model.getScene().getRender().setHour(hour);
+                break;
+
+            case ActionPrefix.setLinkMass:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setLinkMass);
+                float mass = Float.parseFloat(arg);
+                target.setLinkMass(mass);
+                break;
+
+            case ActionPrefix.setMainDirection:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setMainDirection);
+                Vector3f direction = MyVector3f.parse(arg);
+                model.getScene().getLights().setDirection(direction);
+                break;
+
+            case ActionPrefix.setMainLevel: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setMainLevel);
+                float level = Float.parseFloat(arg);
+                model.getScene().getLights().setMainLevel(level);
+            }
+            break;
+
+            case ActionPrefix.setMapSize:
+                arg = MyString.remainder(actionString, ActionPrefix.setMapSize);
+                int mapSize = Integer.parseInt(arg);
+                model.getScene().getRender().setShadowMapSize(mapSize);
+                break;
+
+            case ActionPrefix.setMatParamValue:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setMatParamValue);
+                target.setMatParamValue(arg);
+                break;
+
+            case ActionPrefix.setHistoryBudget:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setHistoryBudget);
+                int budget = Integer.parseInt(arg);
+                model.getMisc().setHistoryBudget(budget);
+                break;
+
+            case ActionPrefix.setMaxCheckpoints:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setMaxCheckpoints);
+                int maxCheckpoints = Integer.parseInt(arg);
+                model.getMisc().setMaxCheckpoints(maxCheckpoints);
+                break;
+
+            case ActionPrefix.setMeshWeights:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setMeshWeights);
+                int mnwpv = Integer.parseInt(arg);
+                target.setMeshWeights(mnwpv);
+                break;
+
+            case ActionPrefix.setNumSplits:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setNumSplits);
+                int numSplits = Integer.parseInt(arg);
+                model.getScene().getRender().setNumSplits(numSplits);
+                break;
+
+            default:
+                handled = false;
         }
 
         return handled;
@@ -232,209 +232,244 @@ final class SetOZAction {
         EditorModel model = Maud.getModel();
         EditableCgm target = model.getTarget();
         String arg;
-        if (actionString.startsWith(ActionPrefix.setOverrideValue)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setOverrideValue);
-            target.getOverride().setValue(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.setPcoParmValue)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setPcoParmValue);
-            String[] args = arg.split(" ");
-            if (args.length == 2) {
-                RigidBodyParameter parm = RigidBodyParameter.valueOf(args[0]);
-                float value = Float.parseFloat(args[1]);
-                target.getPco().setParameter(parm, value);
-            } else {
-                handled = false;
+        switch (ActionPrefix.match(actionString)) {
+            case ActionPrefix.setOverrideValue:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setOverrideValue);
+                target.getOverride().setValue(arg);
+                break;
+
+            case ActionPrefix.setPcoParmValue: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setPcoParmValue);
+                String[] args = arg.split(" ");
+                if (args.length == 2) {
+                    RigidBodyParameter parm
+                            = RigidBodyParameter.valueOf(args[0]);
+                    float value = Float.parseFloat(args[1]);
+                    target.getPco().setParameter(parm, value);
+                } else {
+                    handled = false;
+                }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setPlatformDiameter)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setPlatformDiameter);
-            String[] args = arg.split(" ");
-            if (args.length == 2) {
-                WhichCgm which = WhichCgm.valueOf(args[0]);
-                float diameter = Float.parseFloat(args[1]);
-                model.getScene().setPlatformDiameter(which, diameter);
-            } else {
-                handled = false;
+            case ActionPrefix.setPlatformDiameter: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setPlatformDiameter);
+                String[] args = arg.split(" ");
+                if (args.length == 2) {
+                    WhichCgm which = WhichCgm.valueOf(args[0]);
+                    float diameter = Float.parseFloat(args[1]);
+                    model.getScene().setPlatformDiameter(which, diameter);
+                } else {
+                    handled = false;
+                }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setShapeParmValue)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setShapeParmValue);
-            String[] args = arg.split(" ");
-            if (args.length == 2) {
-                ShapeParameter parm = ShapeParameter.valueOf(args[0]);
-                float value = Float.parseFloat(args[1]);
-                target.getShape().setParameter(parm, value);
-            } else {
-                handled = false;
+            case ActionPrefix.setShapeParmValue: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setShapeParmValue);
+                String[] args = arg.split(" ");
+                if (args.length == 2) {
+                    ShapeParameter parm = ShapeParameter.valueOf(args[0]);
+                    float value = Float.parseFloat(args[1]);
+                    target.getShape().setParameter(parm, value);
+                } else {
+                    handled = false;
+                }
+            }
+            break;
+
+            case ActionPrefix.setSkeletonColor: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSkeletonColor);
+                String[] args = arg.split(" ");
+                if (args.length >= 2) {
+                    SkeletonColors use = SkeletonColors.valueOf(args[0]);
+                    String colorText = MyString.remainder(arg, args[0] + " ");
+                    ColorRGBA color = MyColor.parse(colorText);
+                    model.getScene().getSkeleton().setColor(use, color);
+                } else {
+                    handled = false;
+                }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setSkeletonColor)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSkeletonColor);
-            String[] args = arg.split(" ");
-            if (args.length >= 2) {
-                SkeletonColors use = SkeletonColors.valueOf(args[0]);
-                String colorText = MyString.remainder(arg, args[0] + " ");
-                ColorRGBA color = MyColor.parse(colorText);
-                model.getScene().getSkeleton().setColor(use, color);
-            } else {
-                handled = false;
+            case ActionPrefix.setSkeletonLineWidth:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSkeletonLineWidth);
+                float width = Float.parseFloat(arg);
+                model.getScene().getSkeleton().setLineWidth(width);
+                break;
+
+            case ActionPrefix.setSkeletonPointSize:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSkeletonPointSize);
+                float pointSize = Float.parseFloat(arg);
+                model.getScene().getSkeleton().setPointSize(pointSize);
+                break;
+
+            case ActionPrefix.setSmartNodeTranslation: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSmartNodeTranslation);
+                Vector3f newValue = (Vector3f) VectorDialog.parseVector(arg);
+                target.translateSmartNode(newValue);
             }
+            break;
+
+            case ActionPrefix.setSpatialRotation:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSpatialRotation);
+                Vector3f vector = (Vector3f) VectorDialog.parseVector(arg);
+                Quaternion q = new Quaternion();
+                RotationDisplayMode mode
+                        = model.getMisc().rotationDisplayMode();
+                switch (mode) {
+                    case Degrees:
+                        vector.multLocal(FastMath.DEG_TO_RAD);
+                        q.fromAngles(vector.x, vector.y, vector.z);
+                        break;
+                    case Radians:
+                        q.fromAngles(vector.x, vector.y, vector.z);
+                        break;
+                    case QuatCoeff:
+                        double ssq = MyVector3f.lengthSquared(vector);
+                        if (ssq > 1.0) {
+                            q.set(vector.x, vector.y, vector.z, 0f);
+                            MyQuaternion.normalizeLocal(q);
+                        } else {
+                            double w = Math.sqrt(1.0 - ssq);
+                            q.set(vector.x, vector.y, vector.z, (float) w);
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException("mode = " + mode);
+                }
+                target.setSpatialRotation(q);
+                break;
 
-        } else if (actionString.startsWith(ActionPrefix.setSkeletonLineWidth)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSkeletonLineWidth);
-            float width = Float.parseFloat(arg);
-            model.getScene().getSkeleton().setLineWidth(width);
-
-        } else if (actionString.startsWith(ActionPrefix.setSkeletonPointSize)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSkeletonPointSize);
-            float pointSize = Float.parseFloat(arg);
-            model.getScene().getSkeleton().setPointSize(pointSize);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.setSmartNodeTranslation)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSmartNodeTranslation);
-            Vector3f newValue = (Vector3f) VectorDialog.parseVector(arg);
-            target.translateSmartNode(newValue);
-
-        } else if (actionString.startsWith(ActionPrefix.setSpatialRotation)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSpatialRotation);
-            Vector3f vector = (Vector3f) VectorDialog.parseVector(arg);
-            Quaternion q = new Quaternion();
-            RotationDisplayMode mode = model.getMisc().rotationDisplayMode();
-            switch (mode) {
-                case Degrees:
-                    vector.multLocal(FastMath.DEG_TO_RAD);
-                    q.fromAngles(vector.x, vector.y, vector.z);
-                    break;
-                case Radians:
-                    q.fromAngles(vector.x, vector.y, vector.z);
-                    break;
-                case QuatCoeff:
-                    double ssq = MyVector3f.lengthSquared(vector);
-                    if (ssq > 1.0) {
-                        q.set(vector.x, vector.y, vector.z, 0f);
-                        MyQuaternion.normalizeLocal(q);
-                    } else {
-                        double w = Math.sqrt(1.0 - ssq);
-                        q.set(vector.x, vector.y, vector.z, (float) w);
-                    }
-                    break;
-                default:
-                    throw new IllegalStateException("mode = " + mode);
+            case ActionPrefix.setSpatialScale: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSpatialScale);
+                Vector3f newValue = (Vector3f) VectorDialog.parseVector(arg);
+                target.setSpatialScale(newValue);
             }
-            target.setSpatialRotation(q);
-
-        } else if (actionString.startsWith(ActionPrefix.setSpatialScale)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSpatialScale);
-            Vector3f newValue = (Vector3f) VectorDialog.parseVector(arg);
-            target.setSpatialScale(newValue);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.setSpatialTranslation)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setSpatialTranslation);
-            Vector3f newValue = (Vector3f) VectorDialog.parseVector(arg);
-            target.setSpatialTranslation(newValue);
-
-        } else if (actionString.startsWith(ActionPrefix.setSubmenuWarp)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setSubmenuWarp);
-            String[] args = arg.split(" ");
-            if (args.length == 2) {
-                float x = Float.parseFloat(args[0]);
-                float y = Float.parseFloat(args[1]);
-                model.getMisc().setSubmenuWarp(x, y);
-            } else {
-                handled = false;
+            break;
+
+            case ActionPrefix.setSpatialTranslation: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSpatialTranslation);
+                Vector3f newValue = (Vector3f) VectorDialog.parseVector(arg);
+                target.setSpatialTranslation(newValue);
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setTime)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setTime);
-            String[] args = arg.split(" ");
-            if (args.length < 2) {
-                handled = false;
-            } else {
-                WhichCgm whichCgm = WhichCgm.valueOf(args[0]);
-                PlayTimes whichTime = PlayTimes.valueOf(args[1]);
+            case ActionPrefix.setSubmenuWarp: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setSubmenuWarp);
+                String[] args = arg.split(" ");
                 if (args.length == 2) {
-                    EditorDialogs.setTime(whichCgm, whichTime);
-                } else if (args.length == 3) {
-                    float newValue = Float.parseFloat(args[2]);
-                    Cgm cgm = model.getCgm(whichCgm);
-                    cgm.getPlay().setTime(whichTime, newValue);
+                    float x = Float.parseFloat(args[0]);
+                    float y = Float.parseFloat(args[1]);
+                    model.getMisc().setSubmenuWarp(x, y);
                 } else {
                     handled = false;
                 }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setTimeToFrame)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setTimeToFrame);
-            String[] args = arg.split(" ");
-            if (args.length < 2) {
-                handled = false;
-            } else {
-                WhichCgm whichCgm = WhichCgm.valueOf(args[0]);
-                PlayTimes whichTime = PlayTimes.valueOf(args[1]);
-                if (args.length == 2) {
-                    EditorDialogs.setTimeToKeyframe(whichCgm, whichTime);
-                } else if (args.length == 3) {
-                    int indexBase = model.getMisc().indexBase();
-                    int index = Integer.parseInt(args[2]) - indexBase;
-                    Cgm cgm = model.getCgm(whichCgm);
-                    float newValue = cgm.getTrack().keyframeTime(index);
-                    cgm.getPlay().setTime(whichTime, newValue);
+            case ActionPrefix.setTime: {
+                arg = MyString.remainder(actionString, ActionPrefix.setTime);
+                String[] args = arg.split(" ");
+                if (args.length < 2) {
+                    handled = false;
                 } else {
+                    WhichCgm whichCgm = WhichCgm.valueOf(args[0]);
+                    PlayTimes whichTime = PlayTimes.valueOf(args[1]);
+                    if (args.length == 2) {
+                        EditorDialogs.setTime(whichCgm, whichTime);
+                    } else if (args.length == 3) {
+                        float newValue = Float.parseFloat(args[2]);
+                        Cgm cgm = model.getCgm(whichCgm);
+                        cgm.getPlay().setTime(whichTime, newValue);
+                    } else {
+                        handled = false;
+                    }
+                }
+            }
+            break;
+
+            case ActionPrefix.setTimeToFrame: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setTimeToFrame);
+                String[] args = arg.split(" ");
+                if (args.length < 2) {
                     handled = false;
+                } else {
+                    WhichCgm whichCgm = WhichCgm.valueOf(args[0]);
+                    PlayTimes whichTime = PlayTimes.valueOf(args[1]);
+                    if (args.length == 2) {
+                        EditorDialogs.setTimeToKeyframe(whichCgm, whichTime);
+                    } else if (args.length == 3) {
+                        int indexBase = model.getMisc().indexBase();
+                        int index = Integer.parseInt(args[2]) - indexBase;
+                        Cgm cgm = model.getCgm(whichCgm);
+                        float newValue = cgm.getTrack().keyframeTime(index);
+                        cgm.getPlay().setTime(whichTime, newValue);
+                    } else {
+                        handled = false;
+                    }
                 }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setUserData)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setUserData);
-            target.getUserData().setValue(arg);
-
-        } else if (actionString.startsWith(ActionPrefix.setVertexData)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setVertexData);
-            String[] args = arg.split(" ");
-            int componentIndex = Integer.parseInt(args[0]);
-            if (args.length == 1) {
-                EditorDialogs.setVertexData(componentIndex);
-            } else if (args.length == 2) {
-                float value = Float.parseFloat(args[1]);
-                target.getVertex().setComponent(componentIndex, value);
-            } else {
-                handled = false;
+            case ActionPrefix.setUserData:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setUserData);
+                target.getUserData().setValue(arg);
+                break;
+
+            case ActionPrefix.setVertexData: {
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setVertexData);
+                String[] args = arg.split(" ");
+                int componentIndex = Integer.parseInt(args[0]);
+                if (args.length == 1) {
+                    EditorDialogs.setVertexData(componentIndex);
+                } else if (args.length == 2) {
+                    float value = Float.parseFloat(args[1]);
+                    target.getVertex().setComponent(componentIndex, value);
+                } else {
+                    handled = false;
+                }
             }
+            break;
 
-        } else if (actionString.startsWith(ActionPrefix.setVertexPointSize)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setVertexPointSize);
-            float size = Float.parseFloat(arg);
-            model.getScene().getVertex().setPointSize(size);
-
-        } else if (actionString.startsWith(
-                ActionPrefix.setVertexPositionTolerance)) {
-            arg = MyString.remainder(actionString,
-                    ActionPrefix.setVertexPositionTolerance);
-            float tolerance = Float.parseFloat(arg);
-            model.getMisc().setVertexPositionTolerance(tolerance);
-
-        } else if (actionString.startsWith(ActionPrefix.setXBoundary)) {
-            arg = MyString.remainder(actionString, ActionPrefix.setXBoundary);
-            float position = Float.parseFloat(arg);
-            model.getMisc().setXBoundary(position);
-
-        } else {
-            handled = false;
+            case ActionPrefix.setVertexPointSize:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setVertexPointSize);
+                float size = Float.parseFloat(arg);
+                model.getScene().getVertex().setPointSize(size);
+                break;
+
+            case ActionPrefix.setVertexPositionTolerance:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setVertexPositionTolerance);
+                float tolerance = Float.parseFloat(arg);
+                model.getMisc().setVertexPositionTolerance(tolerance);
+                break;
+
+            case ActionPrefix.setXBoundary:
+                arg = MyString.remainder(actionString,
+                        ActionPrefix.setXBoundary);
+                float position = Float.parseFloat(arg);
+                model.getMisc().setXBoundary(position);
+                break;
+
+            default:
+                handled = false;
         }
 
         return handled;
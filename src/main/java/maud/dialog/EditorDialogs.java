@@ -1170,6 +1170,22 @@ final public class EditorDialogs {
                 controller);
     }
 
+    /**
+     * Display a "set historyBudget " dialog to enter the new budget.
+     */
+    public static void setHistoryBudget() {
+        DialogController controller = new IntegerDialog(
+                "Set", 1, Integer.MAX_VALUE, AllowNull.No);
+
+        int oldBudget = Maud.getModel().getMisc().historyBudget();
+        String defaultText = Integer.toString(oldBudget);
+
+        Maud.gui.closeAllPopups();
+        Maud.gui.showTextEntryDialog(
+                "Enter the desired history budget in MiB:", defaultText,
+                ActionPrefix.setHistoryBudget, controller);
+    }
+
     /**
      * Display a "set maxCheckpoints " dialog to enter the new limit.
      */
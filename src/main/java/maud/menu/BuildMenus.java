@@ -136,7 +136,7 @@ final public class BuildMenus {
         String assetPath = MyString.remainder(args, indexString + " ");
 
         if (spec == null || !spec.startsWith("file:///")) { // won't browse
-            loadedCgm.loadAsset(spec, assetPath);
+            loadedCgm.loadAssetAsync(spec, assetPath);
             return;
         }
         String rootPath = MyString.remainder(spec, "file:///");
@@ -151,7 +151,7 @@ final public class BuildMenus {
                 }
             }
             if (cgmEntries.size() == 1 && cgmEntries.contains(assetPath)) {
-                loadedCgm.loadAsset(spec, assetPath);
+                loadedCgm.loadAssetAsync(spec, assetPath);
             } else if (!cgmEntries.isEmpty()) {
                 ShowMenus.selectFile(
                         cgmEntries, menuPrefix + indexString + " ");
@@ -169,7 +169,7 @@ final public class BuildMenus {
                 builder.show(menuPrefix);
 
             } else if (file.canRead()) {
-                loadedCgm.loadAsset(spec, assetPath);
+                loadedCgm.loadAssetAsync(spec, assetPath);
 
             } else { // Treat the pathname as a prefix.
                 File parent = file.getParentFile();
@@ -26,6 +26,7 @@
  */
 package maud.menu;
 
+import com.jme3.bullet.PhysicsSpace;
 import com.jme3.bullet.animation.ShapeHeuristic;
 import com.jme3.light.Light;
 import com.jme3.material.RenderState;
@@ -222,6 +223,27 @@ final public class EnumMenus {
         builder.show(ActionPrefix.selectBatchHint);
     }
 
+    /**
+     * Display a menu to select the type of physics broadphase using the
+     * "select broadphaseType " action prefix.
+     */
+    public static void selectBroadphaseType() {
+        MenuBuilder builder = new MenuBuilder();
+
+        SceneOptions options = Maud.getModel().getScene();
+        PhysicsSpace.BroadphaseType selectedType
+                = options.getBroadphaseType();
+        for (PhysicsSpace.BroadphaseType type
+                : PhysicsSpace.BroadphaseType.values()) {
+            if (type != selectedType) {
+                String name = type.toString();
+                builder.add(name);
+            }
+        }
+
+        builder.show(ActionPrefix.selectBroadphaseType);
+    }
+
     /**
      * Handle a "select bufferUsage" action without an argument.
      */
@@ -29,6 +29,12 @@ package maud.model;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Logger;
 import maud.Maud;
 
@@ -46,6 +52,27 @@ public class Checkpoint {
      */
     final private static Logger logger
             = Logger.getLogger(Checkpoint.class.getName());
+    /**
+     * bulky data shared between checkpoints
+     */
+    final private static CheckpointPool pool = new CheckpointPool();
+    /**
+     * worker thread that completes background captures, in order of creation
+     */
+    final private static ExecutorService worker
+            = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread result = new Thread(runnable, "checkpoint capture");
+                    result.setDaemon(true);
+                    return result;
+                }
+            });
+    /**
+     * completion of the most recently submitted background capture, or null
+     * if none
+     */
+    private static Future<?> latestCompletion = null;
     // *************************************************************************
     // fields
 
@@ -61,28 +88,132 @@ public class Checkpoint {
      * load/save/edit events since the previous checkpoint
      */
     final private List<String> eventDescriptions;
+    /**
+     * deferred portion of a background capture, or null if the capture is
+     * complete
+     */
+    private DeferredCapture deferred = null;
+    /**
+     * completion of the deferred portion, or null if the capture is complete
+     */
+    private Future<?> completion = null;
+    /**
+     * copies of vertex buffers and bone tracks referenced by the saved MVC
+     * model
+     */
+    private List<Object> copyList;
+    /**
+     * true if data have been spilled to disk since the last restore,
+     * otherwise false
+     */
+    private boolean isSpilled = false;
+    /**
+     * number of bytes of vertex/track data copied for this checkpoint
+     */
+    private long copiedBytes;
+    /**
+     * number of bytes of vertex/track data shared with earlier checkpoints
+     */
+    private long sharedBytes;
     // *************************************************************************
     // constructors
 
     /**
      * Create a new checkpoint based on the application's live state.
+     * <p>
+     * In background mode, the live state is still deep-copied on the JME
+     * thread, but without comparing it to earlier checkpoints. The
+     * comparisons (and the resulting data sharing) are completed by a worker
+     * thread. Since the copies are never modified, there's no need to block
+     * further edits while that happens.
+     * <p>
+     * The deep copy can't move to the worker, and a copy-on-write snapshot
+     * isn't possible: the live state is modified on the JME thread as soon as
+     * this constructor returns, and vertex buffers and bone tracks are
+     * modified in place (by buffer edits, mesh transforms, keyframe edits, and
+     * software skinning) without any hook to copy them first. What background
+     * mode saves on the JME thread is the element-by-element comparison with
+     * the previous copies.
      *
      * @param descriptions descriptions of all load/save/edit events since the
      * previous checkpoint (not null, unaffected)
+     * @param background true to complete the capture on a worker thread,
+     * false to complete it before returning
      */
-    Checkpoint(List<String> descriptions) {
+    Checkpoint(List<String> descriptions, boolean background) {
         this.timestamp = new Date();
 
         EditorModel live = Maud.getModel();
         live.preCheckpoint();
-        this.model = new EditorModel(live);
+        pool.beginCapture(background);
+        try {
+            this.model = new EditorModel(live);
+        } finally {
+            pool.end();
+        }
         live.postCheckpoint();
 
+        if (background) {
+            this.deferred = pool.takeDeferred();
+            this.copyList = new ArrayList<>(0);
+            final DeferredCapture capture = deferred;
+            final Checkpoint checkpoint = this;
+            this.completion = worker.submit(new Runnable() {
+                @Override
+                public void run() {
+                    capture.run();
+                    Maud.getApplication().enqueue(new Runnable() {
+                        @Override
+                        public void run() {
+                            History.captureCompleted(checkpoint);
+                        }
+                    });
+                }
+            });
+            latestCompletion = completion;
+        } else {
+            this.copiedBytes = pool.copiedBytes();
+            this.sharedBytes = pool.sharedBytes();
+            this.copyList = pool.takeCaptured();
+        }
+
         this.eventDescriptions = new ArrayList<>(descriptions);
     }
     // *************************************************************************
     // new methods exposed
 
+    /**
+     * Add this checkpoint's copies of vertex buffers and bone tracks to the
+     * specified set. A checkpoint that's still being captured contributes
+     * nothing.
+     *
+     * @param addSet the set to add to (not null, modified)
+     */
+    void addCopiesTo(Set<Object> addSet) {
+        if (!isCapturing()) {
+            awaitCapture();
+            addSet.addAll(copyList);
+        }
+    }
+
+    /**
+     * Wait for this checkpoint's capture to complete.
+     */
+    void awaitCapture() {
+        if (completion != null) {
+            try {
+                completion.get();
+            } catch (ExecutionException | InterruptedException exception) {
+                throw new RuntimeException(exception);
+            }
+            this.copiedBytes = deferred.copiedBytes();
+            this.sharedBytes = deferred.sharedBytes();
+            this.copyList = deferred.getCopies();
+            this.completion = null;
+            this.deferred = null;
+        }
+    }
+
     /**
      * Copy the timestamp of this checkpoint.
      *
@@ -93,6 +224,70 @@ public class Checkpoint {
         return result;
     }
 
+    /**
+     * Read the amount of vertex/track data copied to create this checkpoint.
+     *
+     * @return the number of bytes (&ge;0)
+     */
+    public long countCopiedBytes() {
+        awaitCapture();
+        assert copiedBytes >= 0L : copiedBytes;
+        return copiedBytes;
+    }
+
+    /**
+     * Read the amount of vertex/track data this checkpoint shares with
+     * earlier checkpoints.
+     *
+     * @return the number of bytes (&ge;0)
+     */
+    public long countSharedBytes() {
+        awaitCapture();
+        assert sharedBytes >= 0L : sharedBytes;
+        return sharedBytes;
+    }
+
+    /**
+     * Estimate the size of the spilled data of the specified copy.
+     *
+     * @param copy the copy to measure (not null, unaffected)
+     * @return the number of bytes on disk (&ge;0)
+     */
+    static long countSpilledBytes(Object copy) {
+        long result = pool.spilledBytes(copy);
+        return result;
+    }
+
+    /**
+     * Test whether any background capture is still in progress.
+     *
+     * @return true if in progress, otherwise false
+     */
+    static boolean isAnyCapturing() {
+        boolean result
+                = latestCompletion != null && !latestCompletion.isDone();
+        return result;
+    }
+
+    /**
+     * Test whether this checkpoint is still being captured.
+     *
+     * @return true if in progress, otherwise false
+     */
+    public boolean isCapturing() {
+        boolean result = completion != null && !completion.isDone();
+        return result;
+    }
+
+    /**
+     * Test whether any of this checkpoint's data have been spilled to disk.
+     *
+     * @return true if spilled, otherwise false
+     */
+    public boolean isSpilled() {
+        return isSpilled;
+    }
+
     /**
      * Enumerate load/save/edit events since the previous checkpoint.
      *
@@ -105,9 +300,44 @@ public class Checkpoint {
 
     /**
      * Copy the saved MVC model to the editor's live state.
+     *
+     * @return the number of bytes reloaded from disk (&ge;0)
      */
-    void restore() {
-        EditorModel newLiveState = new EditorModel(model);
+    long restore() {
+        awaitCapture();
+        long result = 0L;
+        if (isSpilled) {
+            result = pool.reload(copyList);
+            this.isSpilled = false;
+        }
+
+        EditorModel newLiveState;
+        pool.beginRestore();
+        try {
+            newLiveState = new EditorModel(model);
+        } finally {
+            pool.end();
+        }
         Maud.setModel(newLiveState);
+
+        return result;
+    }
+
+    /**
+     * Spill this checkpoint's vertex-buffer data to disk, except for copies
+     * that must remain in memory. The data are reloaded lazily by
+     * {@link #restore()}.
+     *
+     * @param keep the copies to keep in memory (not null, unaffected)
+     * @return the number of bytes released from memory (&ge;0)
+     */
+    long spill(Set<Object> keep) {
+        assert !isSpilled;
+        assert !isCapturing();
+
+        long result = pool.spill(copyList, keep);
+        this.isSpilled = true;
+
+        return result;
     }
 }
@@ -0,0 +1,654 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model;
+
+import com.jme3.animation.Animation;
+import com.jme3.animation.BoneTrack;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.export.binary.BinaryImporter;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.util.clone.CloneFunction;
+import com.jme3.util.clone.Cloner;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Share bulky data (vertex buffers and bone tracks) between checkpoints, so
+ * that only data modified since the previous checkpoint gets copied.
+ * <p>
+ * While a checkpoint is being captured, each live buffer/track whose content
+ * matches the copy made for it by an earlier capture (or restore) is replaced
+ * by that copy instead of being cloned. Checkpoint copies are never modified,
+ * so they can be shared by any number of checkpoints. Copies that are no
+ * longer referenced by any checkpoint get garbage collected.
+ * <p>
+ * In background mode, the capture on the JME thread still deep-copies every
+ * buffer/track, since live buffers/tracks get modified in place, but it
+ * doesn't compare them. The comparisons are deferred to a worker thread. See
+ * {@link DeferredCapture}.
+ * <p>
+ * To stay within the history's memory budget, the data of checkpoint vertex
+ * buffers can be spilled to J3O files in a temporary directory and reloaded
+ * when needed.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class CheckpointPool implements CloneFunction<Object> {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(CheckpointPool.class.getName());
+    /**
+     * pool (if any) in use by a capture or restore on the current thread
+     */
+    final private static ThreadLocal<CheckpointPool> activePool
+            = new ThreadLocal<>();
+    // *************************************************************************
+    // fields
+
+    /**
+     * true while capturing a checkpoint, false while restoring one
+     */
+    private boolean isCapturing;
+    /**
+     * number of bytes copied during the current/latest capture
+     */
+    private long copiedBytes = 0L;
+    /**
+     * number of bytes shared during the current/latest capture
+     */
+    private long sharedBytes = 0L;
+    /**
+     * temporary directory for spill files, or null if not yet created
+     */
+    private File spillDirectory = null;
+    /**
+     * deferred portion of the current capture, or null if not capturing in
+     * background mode
+     */
+    private DeferredCapture deferred = null;
+    /**
+     * copies referenced by the current/latest capture
+     */
+    private List<Object> captured = new ArrayList<>(256);
+    /**
+     * map each live buffer/track (weak key) to its most recent checkpoint copy
+     * (weak value), synchronized because deferred captures update it from a
+     * worker thread
+     */
+    final private Map<Object, WeakReference<Object>> copies
+            = new WeakHashMap<>(256);
+    /**
+     * map each spilled vertex buffer (weak key) to the file containing its
+     * data
+     */
+    final private Map<VertexBuffer, SpillFile> spillFiles
+            = new WeakHashMap<>(256);
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Begin capturing a checkpoint on the current thread.
+     *
+     * @param background true to defer comparisons to a worker thread (see
+     * {@link #takeDeferred()}), false to compare during the capture
+     */
+    void beginCapture(boolean background) {
+        assert activePool.get() == null;
+
+        this.isCapturing = true;
+        if (background) {
+            this.deferred = new DeferredCapture(this, captured.size());
+        }
+        this.copiedBytes = 0L;
+        this.sharedBytes = 0L;
+        this.captured = new ArrayList<>(captured.size());
+        activePool.set(this);
+    }
+
+    /**
+     * Begin restoring a checkpoint on the current thread.
+     */
+    void beginRestore() {
+        assert activePool.get() == null;
+
+        this.isCapturing = false;
+        activePool.set(this);
+    }
+
+    /**
+     * Configure the specified Cloner for the capture/restore (if any) in
+     * progress on the current thread. Invoked by C-G model cloning.
+     *
+     * @param cloner the Cloner to configure (not null, modified)
+     */
+    @SuppressWarnings("unchecked")
+    public static void configure(Cloner cloner) {
+        CheckpointPool pool = activePool.get();
+        if (pool != null) {
+            CloneFunction function = pool;
+            cloner.setCloneFunction(BoneTrack.class, function);
+            cloner.setCloneFunction(VertexBuffer.class, function);
+            if (pool.deferred != null) {
+                cloner.setCloneFunction(Animation.class, function);
+                cloner.setCloneFunction(Mesh.class, function);
+            }
+        }
+    }
+
+    /**
+     * Estimate the memory occupied by the distinct copies in the specified
+     * collection.
+     *
+     * @param copyList the copies to measure (not null, no duplicates,
+     * unaffected)
+     * @return the number of bytes in memory (&ge;0)
+     */
+    static long countBytes(Collection<Object> copyList) {
+        long result = 0L;
+        for (Object copy : copyList) {
+            result += countBytes(copy);
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimate the memory occupied by a bone track or vertex buffer.
+     *
+     * @param object the object to measure (not null, unaffected)
+     * @return the number of bytes (&ge;0)
+     */
+    static long countBytes(Object object) {
+        long result = 0L;
+        if (object instanceof VertexBuffer) {
+            Buffer data = ((VertexBuffer) object).getData();
+            if (data != null) {
+                result = data.capacity() * (long) elementBytes(data);
+            }
+
+        } else {
+            BoneTrack track = (BoneTrack) object;
+            float[] times = track.getTimes();
+            if (times != null) {
+                int bytesPerFrame = 4 + 3 * 4 + 4 * 4; // time + tra + rot
+                result = times.length * (long) bytesPerFrame;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the number of bytes copied during the latest capture.
+     *
+     * @return the count (&ge;0)
+     */
+    long copiedBytes() {
+        assert copiedBytes >= 0L : copiedBytes;
+        return copiedBytes;
+    }
+
+    /**
+     * End the capture or restore in progress on the current thread.
+     */
+    void end() {
+        assert activePool.get() == this;
+        activePool.remove();
+    }
+
+    /**
+     * Test whether a bone track or vertex buffer is equivalent to a checkpoint
+     * copy.
+     *
+     * @param live the live object or fresh copy (not null, unaffected)
+     * @param copy the checkpoint copy (not null, unaffected)
+     * @return true if equivalent, otherwise false
+     */
+    static boolean isEquivalent(Object live, Object copy) {
+        boolean result;
+        if (live instanceof VertexBuffer) {
+            VertexBuffer a = (VertexBuffer) live;
+            VertexBuffer b = (VertexBuffer) copy;
+            result = a.getBufferType() == b.getBufferType()
+                    && a.getFormat() == b.getFormat()
+                    && a.getNumComponents() == b.getNumComponents()
+                    && a.isNormalized() == b.isNormalized()
+                    && a.getUsage() == b.getUsage()
+                    && a.getInstanceSpan() == b.getInstanceSpan()
+                    && a.getOffset() == b.getOffset()
+                    && a.getStride() == b.getStride()
+                    && equalData(a.getData(), b.getData());
+
+        } else {
+            BoneTrack a = (BoneTrack) live;
+            BoneTrack b = (BoneTrack) copy;
+            result = a.getTargetBoneIndex() == b.getTargetBoneIndex()
+                    && Arrays.equals(a.getTimes(), b.getTimes());
+            if (result) {
+                Vector3f[] aTranslations = a.getTranslations();
+                Vector3f[] bTranslations = b.getTranslations();
+                result = Arrays.equals(aTranslations, bTranslations);
+            }
+            if (result) {
+                Quaternion[] aRotations = a.getRotations();
+                Quaternion[] bRotations = b.getRotations();
+                result = Arrays.equals(aRotations, bRotations);
+            }
+            if (result) {
+                Vector3f[] aScales = a.getScales();
+                Vector3f[] bScales = b.getScales();
+                result = Arrays.equals(aScales, bScales);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reload the spilled data of the specified copies.
+     *
+     * @param copyList the copies referenced by a checkpoint (not null)
+     * @return the number of bytes reloaded into memory (&ge;0)
+     */
+    long reload(List<Object> copyList) {
+        BinaryImporter importer = BinaryImporter.getInstance();
+        long result = 0L;
+        for (Object copy : copyList) {
+            if (copy instanceof VertexBuffer) {
+                VertexBuffer buffer = (VertexBuffer) copy;
+                if (buffer.getData() == null) {
+                    SpillFile spillFile = spillFiles.get(buffer);
+                    assert spillFile != null;
+                    File file = spillFile.getFile();
+                    try {
+                        VertexBuffer loaded
+                                = (VertexBuffer) importer.load(file);
+                        /*
+                         * updateData() can't be used here, since it
+                         * dereferences the old data, which are now null.
+                         */
+                        buffer.setupData(loaded.getUsage(),
+                                loaded.getNumComponents(), loaded.getFormat(),
+                                loaded.getData());
+                        result += spillFile.countBytes();
+                    } catch (IOException exception) {
+                        logger.log(Level.SEVERE, "failed to reload {0}",
+                                file);
+                        throw new RuntimeException(exception);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * If the specified live object's most recent copy is the specified stale
+     * copy, replace it with an equivalent copy. Invoked by deferred captures
+     * on a worker thread.
+     *
+     * @param live the live buffer/track (not null, unaffected)
+     * @param stale the stale copy (not null, unaffected)
+     * @param replacement the replacement copy (not null, alias created)
+     */
+    void replaceCopy(Object live, Object stale, Object replacement) {
+        synchronized (copies) {
+            if (previousCopy(live) == stale) {
+                copies.put(live, new WeakReference<>(replacement));
+            }
+        }
+    }
+
+    /**
+     * Read the number of bytes shared during the latest capture.
+     *
+     * @return the count (&ge;0)
+     */
+    long sharedBytes() {
+        assert sharedBytes >= 0L : sharedBytes;
+        return sharedBytes;
+    }
+
+    /**
+     * Spill the vertex-buffer data of the specified copies to files, except
+     * for copies that must remain in memory.
+     *
+     * @param copyList the copies referenced by a checkpoint (not null)
+     * @param keep the copies to keep in memory (not null, unaffected)
+     * @return the number of bytes released from memory (&ge;0)
+     */
+    long spill(List<Object> copyList, Set<Object> keep) {
+        BinaryExporter exporter = BinaryExporter.getInstance();
+        long result = 0L;
+        for (Object copy : copyList) {
+            if (copy instanceof VertexBuffer && !keep.contains(copy)) {
+                VertexBuffer buffer = (VertexBuffer) copy;
+                Buffer data = buffer.getData();
+                if (data != null) {
+                    SpillFile spillFile = spillFiles.get(buffer);
+                    if (spillFile == null) { // write a new spill file
+                        try {
+                            File file = createSpillFile();
+                            exporter.save(buffer, file, false);
+                            long numBytes = countBytes(buffer);
+                            spillFile = new SpillFile(file, numBytes);
+                        } catch (IOException exception) {
+                            logger.log(Level.WARNING,
+                                    "failed to spill checkpoint data",
+                                    exception);
+                            return result;
+                        }
+                        spillFiles.put(buffer, spillFile);
+                    }
+                    result += countBytes(buffer);
+                    buffer.updateData(null);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimate the spilled data of a bone track or vertex buffer.
+     *
+     * @param copy the copy to measure (not null, unaffected)
+     * @return the number of bytes on disk (&ge;0)
+     */
+    long spilledBytes(Object copy) {
+        long result = 0L;
+        if (copy instanceof VertexBuffer) {
+            VertexBuffer buffer = (VertexBuffer) copy;
+            SpillFile spillFile = spillFiles.get(buffer);
+            if (buffer.getData() == null && spillFile != null) {
+                result = spillFile.countBytes();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the copies referenced by the latest capture.
+     *
+     * @return the pre-existing list (not null)
+     */
+    List<Object> takeCaptured() {
+        List<Object> result = captured;
+        this.captured = new ArrayList<>(result.size());
+
+        return result;
+    }
+
+    /**
+     * Access the deferred portion of the latest capture.
+     *
+     * @return the pre-existing instance, or null if the latest capture wasn't
+     * in background mode
+     */
+    DeferredCapture takeDeferred() {
+        DeferredCapture result = deferred;
+        this.deferred = null;
+
+        return result;
+    }
+    // *************************************************************************
+    // CloneFunction methods
+
+    /**
+     * Clone the fields of a copy. Copies of buffers/tracks are made deep by
+     * {@link #cloneObject(com.jme3.util.clone.Cloner, java.lang.Object)}, so
+     * there's nothing to do for them. Meshes and animations are cloned in
+     * the usual way and noted for the deferred capture.
+     *
+     * @param cloner the Cloner in use (not null)
+     * @param clone the copy (not null)
+     * @param original the original (not null)
+     */
+    @Override
+    public void cloneFields(Cloner cloner, Object clone, Object original) {
+        if (clone instanceof Mesh) {
+            ((Mesh) clone).cloneFields(cloner, original);
+            deferred.addOwner(clone);
+        } else if (clone instanceof Animation) {
+            ((Animation) clone).cloneFields(cloner, original);
+            deferred.addOwner(clone);
+        }
+    }
+
+    /**
+     * Copy a bone track or vertex buffer, or re-use an existing copy.
+     * Meshes and animations get shallow clones.
+     *
+     * @param cloner the Cloner in use (not null)
+     * @param original the object to copy (not null, unaffected)
+     * @return a deep copy, a shallow clone, or a pre-existing copy
+     */
+    @Override
+    public Object cloneObject(Cloner cloner, Object original) {
+        Object result;
+        if (original instanceof Mesh) {
+            result = ((Mesh) original).jmeClone();
+
+        } else if (original instanceof Animation) {
+            result = ((Animation) original).jmeClone();
+
+        } else if (deferred != null) { // copy now, compare later
+            result = deepCopy(original);
+            synchronized (copies) {
+                Object previous = previousCopy(original);
+                deferred.addCopy(original, result, previous);
+                copies.put(original, new WeakReference<>(result));
+            }
+
+        } else if (isCapturing) {
+            long numBytes = countBytes(original);
+            Object previous;
+            synchronized (copies) {
+                previous = previousCopy(original);
+            }
+            if (previous != null && isEquivalent(original, previous)) {
+                result = previous;
+                this.sharedBytes += numBytes;
+            } else {
+                result = deepCopy(original);
+                this.copiedBytes += numBytes;
+                synchronized (copies) {
+                    copies.put(original, new WeakReference<>(result));
+                }
+            }
+            captured.add(result);
+
+        } else { // restoring: the new live object descends from the original
+            result = deepCopy(original);
+            synchronized (copies) {
+                copies.put(result, new WeakReference<>(original));
+            }
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Create a new spill file in the temporary directory.
+     *
+     * @return a new File
+     * @throws IOException if the file couldn't be created
+     */
+    private File createSpillFile() throws IOException {
+        if (spillDirectory == null) {
+            this.spillDirectory
+                    = Files.createTempDirectory("maud-history").toFile();
+            spillDirectory.deleteOnExit();
+        }
+        File result = File.createTempFile("vb", ".j3o", spillDirectory);
+        result.deleteOnExit();
+
+        return result;
+    }
+
+    /**
+     * Deep-copy a bone track or vertex buffer.
+     *
+     * @param object the object to copy (not null, unaffected)
+     * @return a new instance
+     */
+    private static Object deepCopy(Object object) {
+        Object result;
+        if (object instanceof VertexBuffer) {
+            result = ((VertexBuffer) object).clone();
+        } else {
+            result = ((BoneTrack) object).clone();
+        }
+
+        return result;
+    }
+
+    /**
+     * Determine the size of each element in the specified buffer.
+     *
+     * @param buffer the buffer to analyze (not null, unaffected)
+     * @return the number of bytes per element (&gt;0)
+     */
+    private static int elementBytes(Buffer buffer) {
+        int result;
+        if (buffer instanceof ByteBuffer) {
+            result = 1;
+        } else if (buffer instanceof ShortBuffer) {
+            result = 2;
+        } else if (buffer instanceof DoubleBuffer) {
+            result = 8;
+        } else {
+            result = 4;
+        }
+
+        return result;
+    }
+
+    /**
+     * Test whether 2 data buffers have the same type and contents, ignoring
+     * their positions.
+     *
+     * @param a the first buffer (may be null, unaffected)
+     * @param b the 2nd buffer (may be null, unaffected)
+     * @return true if equivalent, otherwise false
+     */
+    private static boolean equalData(Buffer a, Buffer b) {
+        boolean result;
+        if (a == null || b == null) {
+            result = (a == b);
+
+        } else if (a.limit() != b.limit()) {
+            result = false;
+
+        } else if (a instanceof FloatBuffer && b instanceof FloatBuffer) {
+            FloatBuffer aa = ((FloatBuffer) a).duplicate();
+            FloatBuffer bb = ((FloatBuffer) b).duplicate();
+            aa.rewind();
+            bb.rewind();
+            result = aa.equals(bb);
+
+        } else if (a instanceof ShortBuffer && b instanceof ShortBuffer) {
+            ShortBuffer aa = ((ShortBuffer) a).duplicate();
+            ShortBuffer bb = ((ShortBuffer) b).duplicate();
+            aa.rewind();
+            bb.rewind();
+            result = aa.equals(bb);
+
+        } else if (a instanceof IntBuffer && b instanceof IntBuffer) {
+            IntBuffer aa = ((IntBuffer) a).duplicate();
+            IntBuffer bb = ((IntBuffer) b).duplicate();
+            aa.rewind();
+            bb.rewind();
+            result = aa.equals(bb);
+
+        } else if (a instanceof ByteBuffer && b instanceof ByteBuffer) {
+            ByteBuffer aa = ((ByteBuffer) a).duplicate();
+            ByteBuffer bb = ((ByteBuffer) b).duplicate();
+            aa.rewind();
+            bb.rewind();
+            result = aa.equals(bb);
+
+        } else if (a instanceof DoubleBuffer && b instanceof DoubleBuffer) {
+            DoubleBuffer aa = ((DoubleBuffer) a).duplicate();
+            DoubleBuffer bb = ((DoubleBuffer) b).duplicate();
+            aa.rewind();
+            bb.rewind();
+            result = aa.equals(bb);
+
+        } else {
+            result = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the most recent checkpoint copy of the specified live object. The
+     * caller must hold the lock on the copies map.
+     *
+     * @param live the live object (not null, unaffected)
+     * @return the pre-existing copy, or null if none
+     */
+    private Object previousCopy(Object live) {
+        Object result = null;
+        WeakReference<Object> reference = copies.get(live);
+        if (reference != null) {
+            result = reference.get();
+        }
+
+        return result;
+    }
+}
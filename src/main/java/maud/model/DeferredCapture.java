@@ -0,0 +1,293 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model;
+
+import com.jme3.animation.Animation;
+import com.jme3.animation.Track;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The portion of a checkpoint capture that's deferred to a worker thread:
+ * comparing freshly-made copies of vertex buffers and bone tracks with the
+ * copies made by earlier captures, sharing the earlier copies where they match,
+ * and tallying the copied/shared data.
+ * <p>
+ * Both the fresh copies and the earlier copies are immutable, so the
+ * comparisons don't need access to the application's live state.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class DeferredCapture implements Runnable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(DeferredCapture.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * pool that made the copies (not null)
+     */
+    final private CheckpointPool pool;
+    /**
+     * number of bytes copied, once the capture has completed
+     */
+    private long copiedBytes = 0L;
+    /**
+     * number of bytes shared, once the capture has completed
+     */
+    private long sharedBytes = 0L;
+    /**
+     * copies referenced by the captured MVC model
+     */
+    final private List<Object> copyList;
+    /**
+     * live buffers/tracks from which the copies were made, in the same order
+     * as copyList
+     */
+    final private List<Object> liveList;
+    /**
+     * copies made by earlier captures (or null), in the same order as
+     * copyList
+     */
+    final private List<Object> previousList;
+    /**
+     * meshes and animations in the captured MVC model that might reference
+     * copies
+     */
+    final private List<Object> ownerList;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty capture.
+     *
+     * @param pool the pool making the copies (not null, alias created)
+     * @param capacity the expected number of copies (&ge;0)
+     */
+    DeferredCapture(CheckpointPool pool, int capacity) {
+        assert pool != null;
+        assert capacity >= 0 : capacity;
+
+        this.pool = pool;
+        this.copyList = new ArrayList<>(capacity);
+        this.liveList = new ArrayList<>(capacity);
+        this.previousList = new ArrayList<>(capacity);
+        this.ownerList = new ArrayList<>(capacity);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a freshly-made copy to this capture.
+     *
+     * @param live the live buffer/track (not null, alias created)
+     * @param copy the fresh copy (not null, alias created)
+     * @param previous the copy made by an earlier capture, or null if none
+     * (alias created)
+     */
+    void addCopy(Object live, Object copy, Object previous) {
+        assert live != null;
+        assert copy != null;
+
+        liveList.add(live);
+        copyList.add(copy);
+        previousList.add(previous);
+    }
+
+    /**
+     * Add a captured mesh or animation that might reference fresh copies.
+     *
+     * @param owner the Mesh or Animation (not null, alias created)
+     */
+    void addOwner(Object owner) {
+        assert owner instanceof Mesh || owner instanceof Animation : owner;
+        ownerList.add(owner);
+    }
+
+    /**
+     * Read the number of bytes copied. Valid only after the capture has
+     * completed.
+     *
+     * @return the count (&ge;0)
+     */
+    long copiedBytes() {
+        assert copiedBytes >= 0L : copiedBytes;
+        return copiedBytes;
+    }
+
+    /**
+     * Count the copies in this capture.
+     *
+     * @return the count (&ge;0)
+     */
+    int countCopies() {
+        int result = copyList.size();
+        return result;
+    }
+
+    /**
+     * Access the copies referenced by the captured MVC model. Valid only
+     * after the capture has completed.
+     *
+     * @return the pre-existing list (not null)
+     */
+    List<Object> getCopies() {
+        return copyList;
+    }
+
+    /**
+     * Read the number of bytes shared. Valid only after the capture has
+     * completed.
+     *
+     * @return the count (&ge;0)
+     */
+    long sharedBytes() {
+        assert sharedBytes >= 0L : sharedBytes;
+        return sharedBytes;
+    }
+    // *************************************************************************
+    // Runnable methods
+
+    /**
+     * Complete the capture. Invoked on a worker thread.
+     */
+    @Override
+    public void run() {
+        int numCopies = copyList.size();
+        Map<Object, Object> replacements = new IdentityHashMap<>(numCopies);
+        for (int index = 0; index < numCopies; ++index) {
+            Object copy = copyList.get(index);
+            Object previous = previousList.get(index);
+            long numBytes = CheckpointPool.countBytes(copy);
+            if (previous != null
+                    && CheckpointPool.isEquivalent(copy, previous)) {
+                copyList.set(index, previous);
+                replacements.put(copy, previous);
+                Object live = liveList.get(index);
+                pool.replaceCopy(live, copy, previous);
+                this.sharedBytes += numBytes;
+            } else {
+                this.copiedBytes += numBytes;
+            }
+        }
+
+        if (!replacements.isEmpty()) {
+            for (Object owner : ownerList) {
+                if (owner instanceof Mesh) {
+                    substitute((Mesh) owner, replacements);
+                } else {
+                    substitute((Animation) owner, replacements);
+                }
+            }
+        }
+        /*
+         * Release references to live state and to earlier copies.
+         */
+        liveList.clear();
+        previousList.clear();
+        ownerList.clear();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Replace bone tracks in the specified animation.
+     *
+     * @param animation the animation to modify (not null)
+     * @param replacements map from stale copies to their replacements (not
+     * null, unaffected)
+     */
+    private static void substitute(
+            Animation animation, Map<Object, Object> replacements) {
+        Track[] tracks = animation.getTracks();
+        Track[] newTracks = new Track[tracks.length];
+        boolean changed = false;
+        for (int index = 0; index < tracks.length; ++index) {
+            Object replacement = replacements.get(tracks[index]);
+            if (replacement == null) {
+                newTracks[index] = tracks[index];
+            } else {
+                newTracks[index] = (Track) replacement;
+                changed = true;
+            }
+        }
+        if (changed) {
+            animation.setTracks(newTracks);
+        }
+    }
+
+    /**
+     * Replace vertex buffers in the specified mesh, including its LOD
+     * levels.
+     *
+     * @param mesh the mesh to modify (not null)
+     * @param replacements map from stale copies to their replacements (not
+     * null, unaffected)
+     */
+    private static void substitute(
+            Mesh mesh, Map<Object, Object> replacements) {
+        List<VertexBuffer> staleList = new ArrayList<>(4);
+        for (VertexBuffer buffer : mesh.getBufferList()) {
+            if (replacements.containsKey(buffer)) {
+                staleList.add(buffer);
+            }
+        }
+        for (VertexBuffer stale : staleList) {
+            VertexBuffer replacement = (VertexBuffer) replacements.get(stale);
+            mesh.clearBuffer(stale.getBufferType());
+            mesh.setBuffer(replacement);
+        }
+
+        int numLevels = mesh.getNumLodLevels();
+        if (numLevels > 0) {
+            VertexBuffer[] levels = new VertexBuffer[numLevels];
+            boolean changed = false;
+            for (int level = 0; level < numLevels; ++level) {
+                levels[level] = mesh.getLodLevel(level);
+                Object replacement = replacements.get(levels[level]);
+                if (replacement != null) {
+                    levels[level] = (VertexBuffer) replacement;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                mesh.setLodLevels(levels);
+            }
+        }
+    }
+}
@@ -56,6 +56,14 @@ public class EditState implements Cloneable {
      * count of unsaved edits (&ge;0)
      */
     private int editCount = 0;
+    /**
+     * most recent revision number issued to any instance (&ge;0)
+     */
+    private static long lastRevision = 0L;
+    /**
+     * revision number of the edited state (&ge;0)
+     */
+    private long revision = 0L;
     /**
      * indicates which model state is being edited continuously, either:
      * <ul>
@@ -101,6 +109,30 @@ public class EditState implements Cloneable {
         return editCount;
     }
 
+    /**
+     * Read the revision number of the edited state. Unlike the count of
+     * unsaved edits, the revision changes with every edit (including each
+     * continuation of a continuous edit) and is never reused, so it's suitable
+     * for keying caches.
+     *
+     * @return the revision number (&ge;0)
+     */
+    public long revision() {
+        assert revision >= 0L : revision;
+        return revision;
+    }
+
+    /**
+     * Read the most recent revision number issued to any instance. This
+     * changes whenever any edited state changes.
+     *
+     * @return the revision number (&ge;0)
+     */
+    public static long lastRevision() {
+        assert lastRevision >= 0L : lastRevision;
+        return lastRevision;
+    }
+
     /**
      * Increment the edit count for a non-continuous option edit.
      *
@@ -148,6 +180,7 @@ public class EditState implements Cloneable {
         ++editCount;
         this.continuousEditState = "";
         History.addEvent(eventDescription);
+        nextRevision();
     }
 
     /**
@@ -161,6 +194,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set ambient level");
         }
+        nextRevision();
     }
 
     /**
@@ -174,6 +208,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set axes line width");
         }
+        nextRevision();
     }
 
     /**
@@ -191,6 +226,7 @@ public class EditState implements Cloneable {
                     = String.format("recolor background %s", background);
             History.addEvent(description);
         }
+        nextRevision();
     }
 
     /**
@@ -204,6 +240,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("recolor bounds");
         }
+        nextRevision();
     }
 
     /**
@@ -217,6 +254,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set bounds line width");
         }
+        nextRevision();
     }
 
     /**
@@ -234,6 +272,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("recolor cursor phase " + phase);
         }
+        nextRevision();
     }
 
     /**
@@ -247,6 +286,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set cursor cycle time");
         }
+        nextRevision();
     }
 
     /**
@@ -260,6 +300,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("resize cursor");
         }
+        nextRevision();
     }
 
     /**
@@ -278,6 +319,7 @@ public class EditState implements Cloneable {
                     "recolor light named %s", MyString.quote(lightName));
             History.addEvent(description);
         }
+        nextRevision();
     }
 
     /**
@@ -297,6 +339,7 @@ public class EditState implements Cloneable {
                     MyString.quote(lightName));
             History.addEvent(description);
         }
+        nextRevision();
     }
 
     /**
@@ -310,6 +353,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set main direction");
         }
+        nextRevision();
     }
 
     /**
@@ -323,6 +367,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set main level");
         }
+        nextRevision();
     }
 
     /**
@@ -340,6 +385,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("smart node transform " + subtreePositionString);
         }
+        nextRevision();
     }
 
     /**
@@ -358,6 +404,7 @@ public class EditState implements Cloneable {
                     "alter range of motion for %s", MyString.quote(linkName));
             History.addEvent(description);
         }
+        nextRevision();
     }
 
     /**
@@ -371,6 +418,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set physics iterations");
         }
+        nextRevision();
     }
 
     /**
@@ -387,6 +435,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("reposition collision object " + objectName);
         }
+        nextRevision();
     }
 
     /**
@@ -402,6 +451,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("resize platform " + whichCgm);
         }
+        nextRevision();
     }
 
     /**
@@ -418,6 +468,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("resize collision shape " + shapeName);
         }
+        nextRevision();
     }
 
     /**
@@ -433,6 +484,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("recolor " + use);
         }
+        nextRevision();
     }
 
     /**
@@ -446,6 +498,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set skeleton line width");
         }
+        nextRevision();
     }
 
     /**
@@ -459,6 +512,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set skeleton point size");
         }
+        nextRevision();
     }
 
     /**
@@ -472,6 +526,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set sky cloudiness");
         }
+        nextRevision();
     }
 
     /**
@@ -485,6 +540,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("set sky hour");
         }
+        nextRevision();
     }
 
     /**
@@ -502,6 +558,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("transform spatial " + spatialPosition);
         }
+        nextRevision();
     }
 
     /**
@@ -515,6 +572,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("adjust the submenu warp");
         }
+        nextRevision();
     }
 
     /**
@@ -532,6 +590,7 @@ public class EditState implements Cloneable {
             String event = "set twist for " + MyString.quote(targetBoneName);
             History.addEvent(event);
         }
+        nextRevision();
     }
 
     /**
@@ -545,6 +604,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("resize the vertex marker");
         }
+        nextRevision();
     }
 
     /**
@@ -558,6 +618,7 @@ public class EditState implements Cloneable {
             this.continuousEditState = newState;
             History.addEvent("adjust the display's X boundary");
         }
+        nextRevision();
     }
 
     /**
@@ -569,6 +630,17 @@ public class EditState implements Cloneable {
         this.editCount = 0;
         this.continuousEditState = "";
         History.addEvent(eventDescription);
+        nextRevision();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Issue a new revision number to the edited state.
+     */
+    private void nextRevision() {
+        ++lastRevision;
+        this.revision = lastRevision;
     }
     // *************************************************************************
     // Cloneable methods
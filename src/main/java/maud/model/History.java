@@ -27,7 +27,11 @@
 package maud.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import jme3utilities.Validate;
 import maud.DescribeUtil;
@@ -51,6 +55,11 @@ final public class History {
     // *************************************************************************
     // fields
 
+    /**
+     * true&rarr;complete checkpoint captures on a worker thread,
+     * false&rarr;complete them on the JME thread
+     */
+    private static boolean asyncFlag = false;
     /**
      * true&rarr;add a checkpoint before each edit/unload, false&rarr; add a
      * checkpoint only when the user manually requests one
@@ -69,6 +78,24 @@ final public class History {
      * checkpoint
      */
     final private static List<String> eventDescriptions = new ArrayList<>(20);
+    /**
+     * number of tallied checkpoints that reference each copy
+     */
+    final private static Map<Object, int[]> copyRefCounts
+            = new IdentityHashMap<>(1024);
+    /**
+     * checkpoints whose copies are included in the running totals
+     */
+    final private static Set<Checkpoint> tallied
+            = Collections.newSetFromMap(new IdentityHashMap<>(8));
+    /**
+     * running total of checkpoint data held in memory (in bytes)
+     */
+    private static long residentBytes = 0L;
+    /**
+     * running total of checkpoint data spilled to disk (in bytes)
+     */
+    private static long spilledBytes = 0L;
     // *************************************************************************
     // constructors
 
@@ -90,13 +117,15 @@ final public class History {
         String message;
         while (hasVulnerable()) {
             int lastIndex = checkpoints.size() - 1;
-            checkpoints.remove(lastIndex);
+            Checkpoint discard = checkpoints.remove(lastIndex);
+            untally(discard);
             message = "discard checkpoint" + DescribeUtil.index(lastIndex);
             logger.info(message);
         }
 
-        Checkpoint newbie = new Checkpoint(eventDescriptions);
+        Checkpoint newbie = new Checkpoint(eventDescriptions, asyncFlag);
         checkpoints.add(newbie);
+        tally(newbie);
         eventDescriptions.clear();
 
         String id = DescribeUtil.index(nextIndex);
@@ -108,6 +137,7 @@ final public class History {
         int result = nextIndex;
         ++nextIndex;
         assert checkpoints.size() == nextIndex;
+        enforceBudget();
 
         return result;
     }
@@ -133,6 +163,20 @@ final public class History {
         }
     }
 
+    /**
+     * Account for a background capture that has completed, then enforce the
+     * memory budget, since spilling was postponed while the capture was in
+     * progress. Invoked on the JME thread.
+     *
+     * @param checkpoint the checkpoint that was captured (not null)
+     */
+    static void captureCompleted(Checkpoint checkpoint) {
+        if (checkpoints.contains(checkpoint)) {
+            tally(checkpoint);
+        }
+        enforceBudget();
+    }
+
     /**
      * Clear the history.
      */
@@ -140,6 +184,10 @@ final public class History {
         nextIndex = 0;
         checkpoints.clear();
         eventDescriptions.clear();
+        copyRefCounts.clear();
+        tallied.clear();
+        residentBytes = 0L;
+        spilledBytes = 0L;
     }
 
     /**
@@ -152,6 +200,112 @@ final public class History {
         return count;
     }
 
+    /**
+     * Estimate the checkpoint data held in memory.
+     *
+     * @return the number of bytes (&ge;0)
+     */
+    public static long countResidentBytes() {
+        assert residentBytes >= 0L : residentBytes;
+        return residentBytes;
+    }
+
+    /**
+     * Count the checkpoints that have spilled data to disk.
+     *
+     * @return count (&ge;0)
+     */
+    public static int countSpilled() {
+        int result = 0;
+        for (Checkpoint checkpoint : checkpoints) {
+            if (checkpoint.isSpilled()) {
+                ++result;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimate the checkpoint data spilled to disk.
+     *
+     * @return the number of bytes (&ge;0)
+     */
+    public static long countSpilledBytes() {
+        assert spilledBytes >= 0L : spilledBytes;
+        return spilledBytes;
+    }
+
+    /**
+     * Enforce the configured memory budget by spilling checkpoint data to
+     * disk, oldest checkpoints first. The checkpoint most recently added or
+     * restored is never spilled. This is invoked each time a checkpoint is
+     * added or restored, each time a background capture completes, and each
+     * time the budget is reconfigured. Spilling is postponed while any
+     * background capture is in progress.
+     * <p>
+     * The running resident total is reduced by the bytes each spill
+     * releases, and copies shared with other in-memory checkpoints are found
+     * by reference counting, so the cost is linear in the number of copies.
+     */
+    public static void enforceBudget() {
+        if (Checkpoint.isAnyCapturing()) {
+            return;
+        }
+        for (Checkpoint checkpoint : checkpoints) {
+            tally(checkpoint);
+        }
+
+        int budgetMiB = Maud.getModel().getMisc().historyBudget();
+        long budgetBytes = budgetMiB * 1024L * 1024L;
+        if (residentBytes <= budgetBytes) {
+            return;
+        }
+        /*
+         * Count the in-memory checkpoints that reference each copy.
+         */
+        Map<Object, int[]> refCounts = new IdentityHashMap<>(1024);
+        for (Checkpoint checkpoint : checkpoints) {
+            if (!checkpoint.isSpilled()) {
+                for (Object copy : listCopies(checkpoint)) {
+                    int[] count = refCounts.get(copy);
+                    if (count == null) {
+                        refCounts.put(copy, new int[]{1});
+                    } else {
+                        ++count[0];
+                    }
+                }
+            }
+        }
+
+        int currentIndex = nextIndex - 1;
+        int numCheckpoints = checkpoints.size();
+        for (int index = 0; index < numCheckpoints; ++index) {
+            if (residentBytes <= budgetBytes) {
+                break;
+            }
+            Checkpoint checkpoint = checkpoints.get(index);
+            if (index != currentIndex && !checkpoint.isSpilled()) {
+                Set<Object> copies = listCopies(checkpoint);
+                Set<Object> keep
+                        = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (Object copy : copies) {
+                    int[] count = refCounts.get(copy);
+                    if (count[0] > 1) {
+                        keep.add(copy);
+                    }
+                    --count[0];
+                }
+                long releasedBytes = checkpoint.spill(keep);
+                residentBytes -= releasedBytes;
+                spilledBytes += releasedBytes;
+
+                String message = "spill checkpoint" + DescribeUtil.index(index);
+                logger.info(message);
+            }
+        }
+    }
+
     /**
      * Enforce the configured limit on the number of checkpoints. This is
      * invoked each time a checkpoint is added or the limit is reconfigured.
@@ -159,7 +313,8 @@ final public class History {
     public static void enforceLimit() {
         int maxCheckpoints = Maud.getModel().getMisc().maxCheckpoints();
         while (countCheckpoints() > maxCheckpoints) {
-            checkpoints.remove(0);
+            Checkpoint discard = checkpoints.remove(0);
+            untally(discard);
 
             String message = "discard checkpoint" + DescribeUtil.index(0);
             logger.info(message);
@@ -204,6 +359,15 @@ final public class History {
         }
     }
 
+    /**
+     * Test whether to complete checkpoint captures on a worker thread.
+     *
+     * @return true for background captures, otherwise false
+     */
+    public static boolean isAsync() {
+        return asyncFlag;
+    }
+
     /**
      * Test whether to add checkpoints automatically.
      *
@@ -228,14 +392,16 @@ final public class History {
      * the index.
      */
     public static void redo() {
+        awaitCaptures();
         String message;
         if (checkpoints.size() > nextIndex) {
             Checkpoint next = checkpoints.get(nextIndex);
-            next.restore();
+            restore(next);
             eventDescriptions.clear();
             message = "redo to checkpoint" + DescribeUtil.index(nextIndex);
             logger.info(message);
             ++nextIndex;
+            enforceBudget();
         } else {
             message = "There is nothing to redo!";
             warn(message);
@@ -248,13 +414,15 @@ final public class History {
      * Restore the final checkpoint and update the index.
      */
     public static void redoAll() {
+        awaitCaptures();
         String message;
         if (checkpoints.size() > nextIndex) {
             int lastIndex = checkpoints.size() - 1;
             Checkpoint last = checkpoints.get(lastIndex);
-            last.restore();
+            restore(last);
             eventDescriptions.clear();
             nextIndex = checkpoints.size();
+            enforceBudget();
 
             message = "redo to checkpoint" + DescribeUtil.index(lastIndex);
             logger.info(message);
@@ -267,6 +435,16 @@ final public class History {
         setAutoScroll();
     }
 
+    /**
+     * Alter whether to complete checkpoint captures on a worker thread.
+     *
+     * @param newSetting true &rarr; background captures, false &rarr;
+     * complete each capture before continuing
+     */
+    public static void setAsync(boolean newSetting) {
+        asyncFlag = newSetting;
+    }
+
     /**
      * Alter whether to add checkpoints automatically.
      *
@@ -291,12 +469,15 @@ final public class History {
      * index. If there are no vulnerable checkpoints, add one.
      */
     public static void undo() {
+        awaitCaptures();
         String message;
         boolean noneVulnerable = !hasVulnerable();
         if (nextIndex > 1 || noneVulnerable && nextIndex > 0) {
             if (noneVulnerable) {
-                Checkpoint newbie = new Checkpoint(eventDescriptions);
+                Checkpoint newbie
+                        = new Checkpoint(eventDescriptions, asyncFlag);
                 checkpoints.add(newbie);
+                tally(newbie);
 
                 String id = DescribeUtil.index(nextIndex);
                 message = "add precautionary checkpoint" + id;
@@ -309,8 +490,9 @@ final public class History {
             }
             int getIndex = nextIndex - 1;
             Checkpoint previous = checkpoints.get(getIndex);
-            previous.restore();
+            restore(previous);
             eventDescriptions.clear();
+            enforceBudget();
 
             message = "undo to checkpoint" + DescribeUtil.index(getIndex);
             logger.info(message);
@@ -325,6 +507,87 @@ final public class History {
     // *************************************************************************
     // private methods
 
+    /**
+     * Wait for all background captures to complete.
+     */
+    private static void awaitCaptures() {
+        for (Checkpoint checkpoint : checkpoints) {
+            checkpoint.awaitCapture();
+            tally(checkpoint);
+        }
+    }
+
+    /**
+     * Enumerate the distinct copies referenced by the specified checkpoint.
+     *
+     * @param checkpoint the checkpoint to enumerate (not null)
+     * @return a new identity-based set
+     */
+    private static Set<Object> listCopies(Checkpoint checkpoint) {
+        Set<Object> result
+                = Collections.newSetFromMap(new IdentityHashMap<>(256));
+        checkpoint.addCopiesTo(result);
+
+        return result;
+    }
+
+    /**
+     * Restore the specified checkpoint and update the running totals.
+     *
+     * @param checkpoint the checkpoint to restore (not null)
+     */
+    private static void restore(Checkpoint checkpoint) {
+        long reloadedBytes = checkpoint.restore();
+        residentBytes += reloadedBytes;
+        spilledBytes -= reloadedBytes;
+    }
+
+    /**
+     * Add the copies of the specified checkpoint to the running totals,
+     * unless its capture is still in progress or it's already tallied.
+     *
+     * @param checkpoint the checkpoint to tally (not null)
+     */
+    private static void tally(Checkpoint checkpoint) {
+        if (checkpoint.isCapturing() || tallied.contains(checkpoint)) {
+            return;
+        }
+        tallied.add(checkpoint);
+
+        for (Object copy : listCopies(checkpoint)) {
+            int[] count = copyRefCounts.get(copy);
+            if (count == null) {
+                copyRefCounts.put(copy, new int[]{1});
+                residentBytes += CheckpointPool.countBytes(copy);
+                spilledBytes += Checkpoint.countSpilledBytes(copy);
+            } else {
+                ++count[0];
+            }
+        }
+    }
+
+    /**
+     * Remove the copies of a discarded checkpoint from the running totals.
+     * Copies still referenced by other tallied checkpoints remain counted.
+     *
+     * @param checkpoint the discarded checkpoint (not null)
+     */
+    private static void untally(Checkpoint checkpoint) {
+        if (!tallied.remove(checkpoint)) {
+            return;
+        }
+
+        for (Object copy : listCopies(checkpoint)) {
+            int[] count = copyRefCounts.get(copy);
+            --count[0];
+            if (count[0] == 0) {
+                copyRefCounts.remove(copy);
+                residentBytes -= CheckpointPool.countBytes(copy);
+                spilledBytes -= Checkpoint.countSpilledBytes(copy);
+            }
+        }
+    }
+
     /**
      * Issue a warning to the user.
      *
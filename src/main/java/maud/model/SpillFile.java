@@ -0,0 +1,93 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+/**
+ * A temporary file containing the spilled data of a checkpoint vertex buffer.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class SpillFile {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(SpillFile.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * the file (not null)
+     */
+    final private File file;
+    /**
+     * size of the spilled data (in bytes, &ge;0)
+     */
+    final private long numBytes;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a record for the specified file.
+     *
+     * @param file the file (not null, alias created)
+     * @param numBytes the size of the spilled data (in bytes, &ge;0)
+     */
+    SpillFile(File file, long numBytes) {
+        assert file != null;
+        assert numBytes >= 0L : numBytes;
+
+        this.file = file;
+        this.numBytes = numBytes;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the size of the spilled data.
+     *
+     * @return the number of bytes (&ge;0)
+     */
+    long countBytes() {
+        return numBytes;
+    }
+
+    /**
+     * Access the file.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    File getFile() {
+        return file;
+    }
+}
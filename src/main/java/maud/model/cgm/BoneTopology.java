@@ -0,0 +1,293 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.anim.Armature;
+import com.jme3.anim.Joint;
+import com.jme3.animation.Bone;
+import com.jme3.animation.Skeleton;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import jme3utilities.InfluenceUtil;
+import maud.MaudUtil;
+
+/**
+ * Precomputed topology of an Armature or Skeleton: the parent of each bone,
+ * the pre-order range of each bone's subtree, which bones have attachments
+ * nodes, and which bones influence mesh vertices. Immutable once built.
+ * <p>
+ * Each subtree occupies a contiguous range of pre-order ranks, so descent
+ * tests take constant time and subtree queries take time proportional to the
+ * size of the subtree.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class BoneTopology {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(BoneTopology.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * pre-order ranks of the bones that have attachments nodes
+     */
+    final private BitSet attachedRanks;
+    /**
+     * indices of the bones that directly or indirectly influence mesh vertices
+     * in the subtree
+     */
+    final private BitSet influencers;
+    /**
+     * index of the bone at each pre-order rank
+     */
+    final private int[] boneAtRank;
+    /**
+     * index of each bone's parent, or noBoneIndex for a root bone
+     */
+    final private int[] parentIndex;
+    /**
+     * pre-order rank of each bone
+     */
+    final private int[] rank;
+    /**
+     * number of bones in each bone's subtree, including the bone itself
+     */
+    final private int[] subtreeSize;
+    /**
+     * edit revision when this topology was built
+     */
+    final private long revision;
+    /**
+     * Armature or Skeleton analyzed (not null)
+     */
+    final private Object skeleton;
+    /**
+     * scene-graph subtree analyzed for vertex influence (may be null)
+     */
+    final private Spatial subtree;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Analyze the specified Armature or Skeleton.
+     *
+     * @param skeleton the Armature or Skeleton to analyze (not null, alias
+     * created)
+     * @param subtree the scene-graph subtree whose meshes it animates (may be
+     * null, alias created)
+     * @param revision the current edit revision
+     */
+    BoneTopology(Object skeleton, Spatial subtree, long revision) {
+        assert skeleton instanceof Armature || skeleton instanceof Skeleton;
+
+        this.skeleton = skeleton;
+        this.subtree = subtree;
+        this.revision = revision;
+
+        List<Object> bones = new ArrayList<>(60);
+        List<Object> roots = new ArrayList<>(4);
+        if (skeleton instanceof Armature) {
+            Armature armature = (Armature) skeleton;
+            int numJoints = armature.getJointCount();
+            for (int jointIndex = 0; jointIndex < numJoints; ++jointIndex) {
+                bones.add(armature.getJoint(jointIndex));
+            }
+            for (Joint root : armature.getRoots()) {
+                roots.add(root);
+            }
+            this.influencers = InfluenceUtil.addAllInfluencers(
+                    subtree, armature);
+        } else {
+            Skeleton sk = (Skeleton) skeleton;
+            int numBones = sk.getBoneCount();
+            for (int boneIndex = 0; boneIndex < numBones; ++boneIndex) {
+                bones.add(sk.getBone(boneIndex));
+            }
+            for (Bone root : sk.getRoots()) {
+                roots.add(root);
+            }
+            this.influencers = InfluenceUtil.addAllInfluencers(subtree, sk);
+        }
+
+        int numBones = bones.size();
+        Map<Object, Integer> indexMap = new IdentityHashMap<>(numBones);
+        for (int boneIndex = 0; boneIndex < numBones; ++boneIndex) {
+            indexMap.put(bones.get(boneIndex), boneIndex);
+        }
+
+        this.boneAtRank = new int[numBones];
+        this.parentIndex = new int[numBones];
+        this.rank = new int[numBones];
+        this.subtreeSize = new int[numBones];
+        int nextRank = 0;
+        for (Object root : roots) {
+            int rootIndex = indexMap.get(root);
+            parentIndex[rootIndex] = SelectedSkeleton.noBoneIndex;
+            nextRank = visit(rootIndex, bones, indexMap, nextRank);
+        }
+        assert nextRank == numBones : nextRank;
+
+        this.attachedRanks = new BitSet(numBones);
+        for (int boneIndex = 0; boneIndex < numBones; ++boneIndex) {
+            if (MaudUtil.getAttachments(skeleton, boneIndex) != null) {
+                attachedRanks.set(rank[boneIndex]);
+            }
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add the indexed bone and all its descendants to the specified set.
+     *
+     * @param boneIndex the index of the subtree's root bone (&ge;0)
+     * @param storeResult the set of bone indices to add to (not null,
+     * modified)
+     */
+    void addSubtree(int boneIndex, BitSet storeResult) {
+        int startRank = rank[boneIndex];
+        int endRank = startRank + subtreeSize[boneIndex];
+        for (int r = startRank; r < endRank; ++r) {
+            storeResult.set(boneAtRank[r]);
+        }
+    }
+
+    /**
+     * Test whether the indexed bone descends from the indexed ancestor, like
+     * MaudUtil.descendsFrom().
+     *
+     * @param boneIndex the index of the subject bone (&ge;0)
+     * @param ancestorIndex the index of the ancestor bone (&ge;0)
+     * @return true if it's a proper descendant, otherwise false
+     */
+    boolean descendsFrom(int boneIndex, int ancestorIndex) {
+        int subjectRank = rank[boneIndex];
+        int ancestorRank = rank[ancestorIndex];
+        boolean result = subjectRank > ancestorRank
+                && subjectRank < ancestorRank + subtreeSize[ancestorIndex];
+
+        return result;
+    }
+
+    /**
+     * Test whether the indexed bone or any of its descendants has an
+     * attachments node.
+     *
+     * @param boneIndex the index of the bone (&ge;0)
+     * @return true if an attachments node was found, otherwise false
+     */
+    boolean hasAttachmentsInSubtree(int boneIndex) {
+        int startRank = rank[boneIndex];
+        int nextAttached = attachedRanks.nextSetBit(startRank);
+        boolean result = nextAttached >= 0
+                && nextAttached < startRank + subtreeSize[boneIndex];
+
+        return result;
+    }
+
+    /**
+     * Access the set of bones that directly or indirectly influence mesh
+     * vertices.
+     *
+     * @return the pre-existing instance (not null, do not modify)
+     */
+    BitSet influencers() {
+        assert influencers != null;
+        return influencers;
+    }
+
+    /**
+     * Test whether this topology is still valid for the specified skeleton,
+     * subtree, and edit revision.
+     *
+     * @param sk the Armature or Skeleton (may be null)
+     * @param spatial the scene-graph subtree (may be null)
+     * @param currentRevision the current edit revision
+     * @return true if still valid, otherwise false
+     */
+    boolean isValid(Object sk, Spatial spatial, long currentRevision) {
+        boolean result = sk == skeleton && spatial == subtree
+                && currentRevision == revision;
+        return result;
+    }
+
+    /**
+     * Read the index of the indexed bone's parent.
+     *
+     * @param boneIndex the index of the bone (&ge;0)
+     * @return the parent's index, or noBoneIndex for a root bone
+     */
+    int parentIndex(int boneIndex) {
+        int result = parentIndex[boneIndex];
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Assign pre-order ranks to the indexed bone and its descendants.
+     *
+     * @param boneIndex the index of the bone to visit (&ge;0)
+     * @param bones all bones, in index order (not null, unaffected)
+     * @param indexMap maps each bone to its index (not null, unaffected)
+     * @param firstRank the rank to assign to the visited bone (&ge;0)
+     * @return the next rank to assign
+     */
+    private int visit(int boneIndex, List<Object> bones,
+            Map<Object, Integer> indexMap, int firstRank) {
+        rank[boneIndex] = firstRank;
+        boneAtRank[firstRank] = boneIndex;
+        int nextRank = firstRank + 1;
+
+        Object bone = bones.get(boneIndex);
+        List<?> children;
+        if (bone instanceof Joint) {
+            children = ((Joint) bone).getChildren();
+        } else {
+            children = ((Bone) bone).getChildren();
+        }
+        for (Object child : children) {
+            int childIndex = indexMap.get(child);
+            parentIndex[childIndex] = boneIndex;
+            nextRank = visit(childIndex, bones, indexMap, nextRank);
+        }
+
+        subtreeSize[boneIndex] = nextRank - firstRank;
+        return nextRank;
+    }
+}
@@ -64,7 +64,9 @@ import jme3utilities.wes.TweenTransforms;
 import maud.Maud;
 import maud.MaudUtil;
 import maud.MeshUtil;
+import maud.SpatialIndex;
 import maud.menu.WhichSpatials;
+import maud.model.CheckpointPool;
 import maud.model.option.scene.RenderOptions;
 import maud.model.option.scene.TriangleMode;
 import maud.view.ScoreView;
@@ -206,6 +208,10 @@ public class Cgm implements Cloneable {
      * root spatial in the MVC model's copy of the C-G model
      */
     protected Spatial rootSpatial = null;
+    /**
+     * index of the MVC model's copy of the C-G model (not cloned)
+     */
+    private SpatialIndex spatialIndex = new SpatialIndex();
     // *************************************************************************
     // constructors
 
@@ -477,7 +483,7 @@ public class Cgm implements Cloneable {
 
         List<Integer> treePosition = new ArrayList<>(4);
         boolean success
-                = MaudUtil.findPosition(input, rootSpatial, treePosition);
+                = spatialIndex.findPosition(input, rootSpatial, treePosition);
         if (!success) {
             treePosition = null;
         }
@@ -496,7 +502,7 @@ public class Cgm implements Cloneable {
         assert !name.isEmpty();
 
         List<Integer> treePosition = new ArrayList<>(4);
-        Spatial sp = MaudUtil.findSpatialNamed(name, rootSpatial, treePosition);
+        Spatial sp = spatialIndex.findNamed(name, rootSpatial, treePosition);
         if (sp == null) {
             treePosition = null;
         }
@@ -590,27 +596,39 @@ public class Cgm implements Cloneable {
      * attachments.
      *
      * @param treePosition position in the C-G model (not null, unaffected)
-     * @return a local transform
+     * @param storeResult storage for the result (modified if not null)
+     * @return a local transform (either storeResult or a new instance)
      */
-    public Transform getLocalTransform(List<Integer> treePosition) {
+    public Transform getLocalTransform(
+            List<Integer> treePosition, Transform storeResult) {
+        Transform result
+                = (storeResult == null) ? new Transform() : storeResult;
+
         Spatial spatial = rootSpatial;
-        for (int childPosition : treePosition) {
+        int depth = treePosition.size();
+        for (int i = 0; i < depth; ++i) {
             Node node = (Node) spatial;
+            int childPosition = treePosition.get(i);
             spatial = node.getChild(childPosition);
         }
 
-        Transform result = spatial.getLocalTransform(); // alias
-        TweenTransforms technique = Maud.getModel().getTweenTransforms();
-        float time = playOptions.getTime();
+        Transform localTransform = spatial.getLocalTransform(); // alias
         Object track = loadedAnimation.findTrackForSpatial(spatial);
-        float duration = loadedAnimation.duration();
-        if (track instanceof Track) {
-            Transform fallback = spatial.getLocalTransform(); // alias
-            result = technique.interpolate(
-                    time, (Track) track, duration, fallback, null);
-        } else if (track instanceof TransformTrack) {
-            result = technique.interpolate(
-                    time, (TransformTrack) track, duration, null);
+        if (track == null) {
+            result.set(localTransform);
+        } else {
+            TweenTransforms technique = Maud.getModel().getTweenTransforms();
+            float time = playOptions.getTime();
+            float duration = loadedAnimation.duration();
+            if (track instanceof Track) {
+                technique.interpolate(time, (Track) track, duration,
+                        localTransform, result);
+            } else if (track instanceof TransformTrack) {
+                technique.interpolate(
+                        time, (TransformTrack) track, duration, result);
+            } else {
+                result.set(localTransform);
+            }
         }
 
         return result;
@@ -687,11 +705,12 @@ public class Cgm implements Cloneable {
     }
 
     /**
-     * Access the root spatial.
+     * Access the root spatial of the MVC model, which (unlike the scene
+     * view) isn't affected by the displayed pose.
      *
-     * @return the pre-existing instance (not null)
+     * @return the pre-existing instance (not null, don't modify!)
      */
-    Spatial getRootSpatial() {
+    public Spatial getRootSpatial() {
         assert rootSpatial != null;
         return rootSpatial;
     }
@@ -877,7 +896,7 @@ public class Cgm implements Cloneable {
      * @return true if found, otherwise false
      */
     public boolean hasGeometry(String name) {
-        Spatial sp = MySpatial.findNamed(rootSpatial, name);
+        Spatial sp = spatialIndex.findNamed(name, rootSpatial, null);
         boolean result = sp instanceof Geometry;
 
         return result;
@@ -920,7 +939,7 @@ public class Cgm implements Cloneable {
      * @return true if found, otherwise false
      */
     public boolean hasNode(String name) {
-        Spatial sp = MySpatial.findNamed(rootSpatial, name);
+        Spatial sp = spatialIndex.findNamed(name, rootSpatial, null);
         boolean result = sp instanceof Node;
 
         return result;
@@ -933,7 +952,7 @@ public class Cgm implements Cloneable {
      * @return true if found, otherwise false
      */
     public boolean hasSpatial(String name) {
-        Spatial sp = MySpatial.findNamed(rootSpatial, name);
+        Spatial sp = spatialIndex.findNamed(name, rootSpatial, null);
         if (sp == null) {
             return false;
         } else {
@@ -1194,6 +1213,14 @@ public class Cgm implements Cloneable {
         return result;
     }
 
+    /**
+     * Note that spatials have been added, removed, moved, or renamed, so that
+     * the name index gets rebuilt before its next use.
+     */
+    void noteStructuralEdit() {
+        spatialIndex.noteStructuralEdit();
+    }
+
     /**
      * Initialize the reference to the corresponding visualizations.
      *
@@ -1250,6 +1277,7 @@ public class Cgm implements Cloneable {
     public Cgm clone() throws CloneNotSupportedException {
         Cgm clone = (Cgm) super.clone();
         Cloner cloner = new Cloner();
+        CheckpointPool.configure(cloner);
 
         clone.physics = cloner.clone(physics);
         clone.displayedPose = cloner.clone(displayedPose);
@@ -1279,6 +1307,7 @@ public class Cgm implements Cloneable {
         clone.selectedTrack = cloner.clone(selectedTrack);
         clone.selectedUserData = selectedUserData.clone();
         clone.selectedVertex = selectedVertex.clone();
+        clone.spatialIndex = new SpatialIndex();
 
         // Redirect all the back pointers to the clone.
         clone.getAnimation().setCgm(clone);
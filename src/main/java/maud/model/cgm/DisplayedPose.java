@@ -28,15 +28,21 @@ package maud.model.cgm;
 
 import com.jme3.anim.Armature;
 import com.jme3.animation.Skeleton;
+import com.jme3.math.Matrix4f;
 import com.jme3.math.Quaternion;
 import com.jme3.math.Transform;
 import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
 import com.jme3.util.clone.Cloner;
 import com.jme3.util.clone.JmeCloneable;
 import java.util.logging.Logger;
 import jme3utilities.Validate;
 import jme3utilities.math.MyMath;
 import jme3utilities.wes.Pose;
+import jme3utilities.wes.TweenTransforms;
+import maud.Maud;
+import maud.model.EditableMap;
+import maud.model.EditorModel;
 
 /**
  * MVC model of a displayed pose in the Editor screen.
@@ -69,16 +75,31 @@ public class DisplayedPose implements JmeCloneable {
      * bone
      */
     private Pose pose;
+    /**
+     * recently retargeted poses, for reuse when the inputs recur
+     */
+    private RetargetCache retargetCache = new RetargetCache();
+    /**
+     * skinning matrices and skinned vertex locations for the pose
+     */
+    private SkinningCache skinningCache = new SkinningCache();
+    /**
+     * scratch transform for per-frame updates (shared between clones)
+     */
+    final private Transform tmpTransform = new Transform();
     // *************************************************************************
     // new methods exposed
 
     /**
-     * Access the pose.
+     * Access the pose. Since the caller might modify it, the skinning cache
+     * re-examines the pose at its next query.
      *
      * @return the pre-existing instance (not null)
      */
     public Pose get() {
         assert pose != null;
+
+        skinningCache.invalidatePose();
         return pose;
     }
 
@@ -102,6 +123,7 @@ public class DisplayedPose implements JmeCloneable {
         } else {
             this.pose = new Pose((Skeleton) skeleton);
         }
+        skinningCache.invalidatePose();
     }
 
     /**
@@ -117,6 +139,17 @@ public class DisplayedPose implements JmeCloneable {
         this.cgm = newCgm;
     }
 
+    /**
+     * Access the skinning matrices for the pose. The matrices are
+     * recalculated only when the pose changes.
+     *
+     * @return an internal array (not null, don't modify!)
+     */
+    public Matrix4f[] skinningMatrices() {
+        Matrix4f[] result = skinningCache.skinningMatrices(pose);
+        return result;
+    }
+
     /**
      * Alter whether the pose is frozen. When unfreezing, set the pose using the
      * current animation.
@@ -139,7 +172,9 @@ public class DisplayedPose implements JmeCloneable {
      */
     void setRotation(int boneIndex, Quaternion userRotation) {
         assert boneIndex >= 0 : boneIndex;
+
         pose.setRotation(boneIndex, userRotation);
+        skinningCache.invalidatePose();
     }
 
     /**
@@ -153,16 +188,27 @@ public class DisplayedPose implements JmeCloneable {
         Transform animT = cgm.getAnimation().boneTransform(boneIndex, null);
         Vector3f animV = animT.getScale(); // alias
         pose.setScale(boneIndex, animV);
+        skinningCache.invalidatePose();
     }
 
     /**
      * Alter the pose to match the loaded animation.
      */
     public void setToAnimation() {
-        Transform transform = new Transform();
-        for (int boneIndex : pose.preOrderIndices()) {
-            cgm.getAnimation().boneTransform(boneIndex, transform);
-            pose.set(boneIndex, transform);
+        LoadedAnimation animation = cgm.getAnimation();
+        RetargetKey key = null;
+        if (animation.isRetargetedPose()) {
+            key = retargetKey();
+        }
+
+        if (key == null || !retargetCache.apply(key, pose)) {
+            for (int boneIndex : pose.preOrderIndices()) {
+                animation.boneTransform(boneIndex, tmpTransform);
+                pose.set(boneIndex, tmpTransform);
+            }
+            if (key != null) {
+                retargetCache.put(key, pose);
+            }
         }
 
         if (cgm.getPlay().isPinned()) {
@@ -171,6 +217,7 @@ public class DisplayedPose implements JmeCloneable {
                 pose.resetTranslation(boneIndex);
             }
         }
+        skinningCache.invalidatePose();
     }
 
     /**
@@ -184,6 +231,7 @@ public class DisplayedPose implements JmeCloneable {
         Transform animT = cgm.getAnimation().boneTransform(boneIndex, null);
         Vector3f animV = animT.getTranslation(); // alias
         pose.setTranslation(boneIndex, animV);
+        skinningCache.invalidatePose();
     }
 
     /**
@@ -193,6 +241,34 @@ public class DisplayedPose implements JmeCloneable {
         setFrozen(!frozenFlag);
     }
 
+    /**
+     * Calculate the world location of the indexed vertex in the specified
+     * geometry, skinned using the pose. Results are cached until the pose,
+     * the geometry, or the C-G model changes.
+     *
+     * @param geometry the geometry containing the vertex (not null,
+     * unaffected)
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @param storeResult storage for the result (modified if not null)
+     * @return a location vector (in world coordinates, either storeResult or a
+     * new instance, not null)
+     */
+    public Vector3f vertexWorldLocation(
+            Geometry geometry, int vertexIndex, Vector3f storeResult) {
+        Validate.nonNull(geometry, "geometry");
+        Validate.nonNegative(vertexIndex, "vertex index");
+        Vector3f result = (storeResult == null) ? new Vector3f() : storeResult;
+
+        long revision = 0L;
+        if (cgm instanceof EditableCgm) {
+            revision = ((EditableCgm) cgm).getEditState().revision();
+        }
+        skinningCache.worldLocation(
+                pose, revision, geometry, vertexIndex, result);
+
+        return result;
+    }
+
     /**
      * Calculate the world location of the indexed bone in the scene view.
      *
@@ -237,6 +313,8 @@ public class DisplayedPose implements JmeCloneable {
     @Override
     public void cloneFields(Cloner cloner, Object original) {
         this.pose = cloner.clone(pose);
+        this.retargetCache = new RetargetCache();
+        this.skinningCache = new SkinningCache();
     }
 
     /**
@@ -253,4 +331,42 @@ public class DisplayedPose implements JmeCloneable {
             throw new RuntimeException(exception);
         }
     }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Generate a key for the retargeted pose, based on the current source
+     * pose, skeleton map, and target C-G model.
+     *
+     * @return a new key, or null if the source pose might have been altered
+     * by hand
+     */
+    private RetargetKey retargetKey() {
+        EditorModel model = Maud.getModel();
+        Cgm source = model.getSource();
+        if (source.getPose().isFrozen()) {
+            return null;
+        }
+
+        Object sourceAnimation = source.getAnimation().getReal();
+        float sourceTime = 0f;
+        if (sourceAnimation != null) {
+            sourceTime = source.getPlay().getTime();
+        }
+        boolean sourcePinned = source.getPlay().isPinned();
+        TweenTransforms techniques = model.getTweenTransforms();
+        EditableMap map = model.getMap();
+        long mapRevision = map.getEditState().revision();
+        boolean invertMap = map.isInvertingMap();
+        long targetRevision = (cgm instanceof EditableCgm)
+                ? ((EditableCgm) cgm).getEditState().revision() : 0L;
+        RetargetKey result = new RetargetKey(source.getRootSpatial(),
+                source.getSkeleton().find(), sourceAnimation, sourceTime,
+                sourcePinned, techniques.getTweenTranslations(),
+                techniques.getTweenRotations(), techniques.getTweenScales(),
+                mapRevision, invertMap, cgm.getSkeleton().find(),
+                targetRevision);
+
+        return result;
+    }
 }
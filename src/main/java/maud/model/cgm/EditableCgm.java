@@ -134,42 +134,40 @@ public class EditableCgm extends LoadedCgm {
      */
     void addAnimation(Object newAnim) {
         assert newAnim instanceof AnimClip || newAnim instanceof Animation;
-        SelectedAnimControl sac = getAnimControl();
-        String newAnimName;
-        if (newAnim instanceof AnimClip) {
-            newAnimName = ((AnimClip) newAnim).getName();
-        } else {
-            newAnimName = ((Animation) newAnim).getName();
-        }
-        assert !sac.hasRealAnimation(newAnimName);
+        String newAnimName = animationName(newAnim);
+        assert !getAnimControl().hasRealAnimation(newAnimName);
 
         History.autoAdd();
-        AbstractControl control = sac.find();
-        if (control == null) {
-            SelectedSkeleton ss = getSkeleton();
-            Object skeleton = ss.find();
-            assert skeleton != null;
-            if (skeleton instanceof Skeleton) {
-                control = new AnimControl((Skeleton) skeleton);
-            } else {
-                control = new AnimComposer();
-            }
-
-            Spatial skeletonSpatial = ss.findSpatial();
-            skeletonSpatial.addControl(control);
-        }
-        if (newAnim instanceof AnimClip) {
-            AnimClip clip = (AnimClip) newAnim;
-            ((AnimComposer) control).addAnimClip(clip);
-        } else {
-            Animation animation = (Animation) newAnim;
-            ((AnimControl) control).addAnim(animation);
-        }
+        AbstractControl control = animControlForAdd();
+        insertAnimation(control, newAnim);
         String description
                 = "add animation " + MyString.quote(newAnimName);
         editState.setEdited(description);
     }
 
+    /**
+     * Add the specified animations to the selected animation control as a
+     * single edit.
+     *
+     * @param newAnims the animations to add (not null, not empty, each an
+     * AnimClip or an Animation with a distinct name not in use)
+     * @param eventDescription a textual description of the event for the edit
+     * history (not null, not empty)
+     */
+    void addAnimations(List<Object> newAnims, String eventDescription) {
+        assert !newAnims.isEmpty();
+        assert eventDescription != null;
+        assert !eventDescription.isEmpty();
+
+        History.autoAdd();
+        AbstractControl control = animControlForAdd();
+        for (Object newAnim : newAnims) {
+            assert newAnim instanceof AnimClip || newAnim instanceof Animation;
+            insertAnimation(control, newAnim);
+        }
+        editState.setEdited(eventDescription);
+    }
+
     /**
      * Add an attachments node for the selected bone.
      */
@@ -179,6 +177,7 @@ public class EditableCgm extends LoadedCgm {
 
         History.autoAdd();
         Node newNode = selectedBone.createAttachments();
+        noteStructuralEdit();
 
         Node parent = newNode.getParent();
         List<Integer> parentPosition = findSpatial(parent);
@@ -266,6 +265,7 @@ public class EditableCgm extends LoadedCgm {
         Geometry geometry = MaudUtil.createMergedGeometry(name, geometries);
         Node parent = (Node) getSpatial().find();
         parent.attachChild(geometry);
+        noteStructuralEdit();
 
         List<Integer> parentPosition = findSpatial(parent);
         getSceneView().attachSpatial(parentPosition, geometry);
@@ -394,6 +394,7 @@ public class EditableCgm extends LoadedCgm {
         History.autoAdd();
         Spatial saveSpatial = ragdoll.setSpatial(null);
         dac.attach(boneName, 1f, child);
+        noteStructuralEdit();
         ragdoll.setSpatial(saveSpatial);
         getSceneView().attachBone(boneName, child);
         String description = "attach model to bone " + MyString.quote(boneName);
@@ -422,6 +423,7 @@ public class EditableCgm extends LoadedCgm {
         History.autoAdd();
         sceneView.attachSpatial(parentPosition, subtree);
         targetNode.attachChild(subtree);
+        noteStructuralEdit();
         editState.setEdited(eventDescription);
     }
 
@@ -450,6 +452,7 @@ public class EditableCgm extends LoadedCgm {
         if (numSubmeshes > 1) {
             History.autoAdd();
             MaudUtil.copyAndSplitGeometry(geometry, submeshes);
+            noteStructuralEdit();
             getSceneView().copyAndSplitGeometry(tolerance);
 
             String oldName = geometry.getName();
@@ -533,6 +536,7 @@ public class EditableCgm extends LoadedCgm {
         }
         boolean success = node.removeFromParent();
         assert success;
+        noteStructuralEdit();
         getSceneView().deleteSubtree(nodePosition);
 
         String boneName = selectedBone.name();
@@ -555,6 +559,7 @@ public class EditableCgm extends LoadedCgm {
             Node rootNode = (Node) rootSpatial;
             Map<Bone, Spatial> map = mapAttachments();
             deleteExtraSpatials(rootNode, map.values());
+            noteStructuralEdit();
 
             getSpatial().selectCgmRoot();
             int newNumSpatials
@@ -608,6 +613,7 @@ public class EditableCgm extends LoadedCgm {
                 // Detach the attachments node from its parent.
                 boolean success = attachmentsNode.removeFromParent();
                 assert success;
+                noteStructuralEdit();
 
                 // Synchronize with the scene view.
                 sceneView.deleteSubtree(nodePosition);
@@ -680,6 +686,7 @@ public class EditableCgm extends LoadedCgm {
             rootSpatial = newNode;
         }
         newNode.attachChild(selectedSpatial);
+        noteStructuralEdit();
 
         // Make sure the selected spatial doesn't change.
         getSpatial().select(selectedSpatial);
@@ -747,6 +754,7 @@ public class EditableCgm extends LoadedCgm {
         Geometry geometry = MaudUtil.createMergedGeometry(name, geometries);
         Node parent = (Node) getSpatial().find();
         parent.attachChild(geometry);
+        noteStructuralEdit();
         List<Integer> parentPosition = findSpatial(parent);
         getSceneView().attachSpatial(parentPosition, geometry);
 
@@ -788,9 +796,65 @@ public class EditableCgm extends LoadedCgm {
             sceneView.moveSpatial(targetPosition, spatialPosition);
             targetNode.attachChild(spatial);
         }
+        noteStructuralEdit();
         editState.setEdited(eventDescription);
     }
 
+    /**
+     * Update the origin information and edit status after successfully
+     * writing to the filesystem. Unless the C-G model has been edited since it
+     * was copied for writing, a write of the entire C-G model in a format that
+     * Maud can load marks it as pristine.
+     *
+     * @param format the output format (not null)
+     * @param baseFilePath file path without any extension (not null, not empty)
+     * @param file the file written (not null)
+     * @param wroteEntireCgm true if the entire C-G model was written
+     * @param revision the revision of the edit state that was written
+     */
+    void postWrite(CgmOutputFormat format, String baseFilePath, File file,
+            boolean wroteEntireCgm, long revision) {
+        String filePath = Heart.fixedPath(file);
+        boolean maudCanLoadIt = (format == CgmOutputFormat.J3O);
+        boolean unchanged = (editState.revision() == revision);
+        String af = assetFolderForWrite();
+        String eventDescription = "write model to " + filePath;
+        if (wroteEntireCgm && maudCanLoadIt && unchanged
+                && baseFilePath.startsWith(af)) {
+            /*
+             * The entire CGM was successfully written to "Written Assets"
+             * in a format that Maud can load, so update the
+             * origin information and mark as pristine.
+             */
+            this.assetRootPath = af;
+            this.baseAssetPath = MyString.remainder(baseFilePath, af);
+
+            // In asset paths, a leading slash is always redundant.
+            if (baseAssetPath.startsWith("/")) {
+                baseAssetPath = MyString.remainder(baseAssetPath, "/");
+            }
+            extension = format.extension();
+            editState.setPristine(eventDescription);
+
+        } else if (wroteEntireCgm && maudCanLoadIt && unchanged
+                && baseFilePath.endsWith(baseAssetPath)
+                && !baseAssetPath.isEmpty()) {
+            /*
+             * The entire CGM was successfully written to another part of
+             * the filesystem in a format that Maud can load, so update the
+             * origin information and mark as pristine.
+             */
+            assetRootPath = MyString.removeSuffix(
+                    baseFilePath, baseAssetPath);
+            extension = format.extension();
+            editState.setPristine(eventDescription);
+
+        } else {
+            // Don't update the origin information, don't mark as pristine.
+            History.addEvent(eventDescription);
+        }
+    }
+
     /**
      * Rename the selected bone.
      *
@@ -884,6 +948,7 @@ public class EditableCgm extends LoadedCgm {
 
             History.autoAdd();
             selectedSpatial.setName(newName);
+            noteStructuralEdit();
             success = true;
             editState.setEdited("rename spatial");
         }
@@ -1643,7 +1708,9 @@ public class EditableCgm extends LoadedCgm {
 
     /**
      * Write the specified subset of the C-G model to the filesystem, in the
-     * specified format, at the specified base path.
+     * specified format, at the specified base path. The file is written via a
+     * temporary file, so an existing file is replaced only if the write
+     * succeeds.
      *
      * @param outputSet the CGM subset to write (not null)
      * @param format the output format (not null)
@@ -1656,32 +1723,16 @@ public class EditableCgm extends LoadedCgm {
         Validate.nonNull(format, "format");
         Validate.nonEmpty(baseFilePath, "base file path");
 
-        String filePath = format.extend(baseFilePath);
-        File file = new File(filePath);
-
-        // create the parent folder (see JME issue #1011)
-        File parent = file.getParentFile();
-        if (parent != null && !parent.exists()) {
-            parent.mkdirs();
-        }
-
-        Spatial subtree;
-        switch (outputSet) {
-            case All:
-                subtree = rootSpatial;
-                break;
-            case Subtree:
-                subtree = getSpatial().find();
-                break;
-            default:
-                throw new IllegalArgumentException("outputSet=" + outputSet);
-        }
+        File file = prepareWrite(format, baseFilePath);
+        Spatial subtree = outputSubtree(outputSet);
 
-        filePath = Heart.fixedPath(file);
+        String filePath = Heart.fixedPath(file);
         JmeExporter exporter = format.getExporter();
         boolean success = true;
+        long startTime = System.nanoTime();
+        long numBytes = 0L;
         try {
-            exporter.save(subtree, file);
+            numBytes = PendingWrite.write(exporter, subtree, file);
         } catch (IOException exception) {
             System.err.println(exception);
             success = false;
@@ -1689,7 +1740,10 @@ public class EditableCgm extends LoadedCgm {
 
         String quotedPath = MyString.quote(filePath);
         if (success) {
-            logger.log(Level.INFO, "Wrote model to file {0}", quotedPath);
+            long milliseconds = (System.nanoTime() - startTime) / 1_000_000L;
+            logger.log(Level.INFO,
+                    "Wrote model to file {0} ({1} bytes in {2} msec)",
+                    new Object[]{quotedPath, numBytes, milliseconds});
         } else {
             logger.log(Level.SEVERE,
                     "I/O exception while writing model to file {0}",
@@ -1698,47 +1752,37 @@ public class EditableCgm extends LoadedCgm {
 
         if (success) {
             boolean wroteEntireCgm = (subtree == rootSpatial);
-            boolean maudCanLoadIt = (format == CgmOutputFormat.J3O);
-            String af = assetFolderForWrite();
-            String eventDescription = "write model to " + filePath;
-            if (wroteEntireCgm && maudCanLoadIt
-                    && baseFilePath.startsWith(af)) {
-                /*
-                 * The entire CGM was successfully written to "Written Assets"
-                 * in a format that Maud can load, so update the
-                 * origin information and mark as pristine.
-                 */
-                this.assetRootPath = af;
-                this.baseAssetPath = MyString.remainder(baseFilePath, af);
-
-                // In asset paths, a leading slash is always redundant.
-                if (baseAssetPath.startsWith("/")) {
-                    baseAssetPath = MyString.remainder(baseAssetPath, "/");
-                }
-                extension = format.extension();
-                editState.setPristine(eventDescription);
-
-            } else if (wroteEntireCgm && maudCanLoadIt
-                    && baseFilePath.endsWith(baseAssetPath)
-                    && !baseAssetPath.isEmpty()) {
-                /*
-                 * The entire CGM was successfully written to another part of
-                 * the filesystem in a format that Maud can load, so update the
-                 * origin information and mark as pristine.
-                 */
-                assetRootPath = MyString.removeSuffix(
-                        baseFilePath, baseAssetPath);
-                extension = format.extension();
-                editState.setPristine(eventDescription);
-
-            } else {
-                // Don't update the origin information, don't mark as pristine.
-                History.addEvent(eventDescription);
-            }
+            long revision = editState.revision();
+            postWrite(format, baseFilePath, file, wroteEntireCgm, revision);
         }
 
         return success;
     }
+
+    /**
+     * Write the specified subset of the C-G model to the filesystem in the
+     * background, in the specified format, at the specified base path. The
+     * subset is copied before returning, so editing can continue during the
+     * write.
+     *
+     * @param outputSet the CGM subset to write (not null)
+     * @param format the output format (not null)
+     * @param baseFilePath file path without any extension (not null, not empty)
+     */
+    public void writeToFileAsync(CgmOutputSet outputSet,
+            CgmOutputFormat format, String baseFilePath) {
+        Validate.nonNull(outputSet, "output set");
+        Validate.nonNull(format, "format");
+        Validate.nonEmpty(baseFilePath, "base file path");
+
+        File file = prepareWrite(format, baseFilePath);
+        Spatial subtree = outputSubtree(outputSet);
+        boolean wroteEntireCgm = (subtree == rootSpatial);
+        long revision = editState.revision();
+        PendingWrite.start(
+                subtree, wroteEntireCgm, format, baseFilePath, file, revision);
+    }
+
     // *************************************************************************
     // LoadedCgm methods
 
@@ -1776,6 +1820,49 @@ public class EditableCgm extends LoadedCgm {
     // *************************************************************************
     // private methods
 
+    /**
+     * Determine the name of the specified animation.
+     *
+     * @param anim the AnimClip or Animation (not null, unaffected)
+     * @return the name
+     */
+    private static String animationName(Object anim) {
+        String result;
+        if (anim instanceof AnimClip) {
+            result = ((AnimClip) anim).getName();
+        } else {
+            result = ((Animation) anim).getName();
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the selected animation control, adding a new one if none is
+     * selected.
+     *
+     * @return the pre-existing or new control (not null)
+     */
+    private AbstractControl animControlForAdd() {
+        SelectedAnimControl sac = getAnimControl();
+        AbstractControl result = sac.find();
+        if (result == null) {
+            SelectedSkeleton ss = getSkeleton();
+            Object skeleton = ss.find();
+            assert skeleton != null;
+            if (skeleton instanceof Skeleton) {
+                result = new AnimControl((Skeleton) skeleton);
+            } else {
+                result = new AnimComposer();
+            }
+
+            Spatial skeletonSpatial = ss.findSpatial();
+            skeletonSpatial.addControl(result);
+        }
+
+        return result;
+    }
+
     /**
      * Delete all "extra" spatials among a node's descendants. Note: recursive!
      *
@@ -1837,6 +1924,7 @@ public class EditableCgm extends LoadedCgm {
         // Detach the subtree from its parent.
         boolean success = subtree.removeFromParent();
         assert success;
+        noteStructuralEdit();
     }
 
     /**
@@ -1865,6 +1953,68 @@ public class EditableCgm extends LoadedCgm {
         return geometryArray;
     }
 
+    /**
+     * Add the specified animation to the specified animation control.
+     *
+     * @param control the AnimComposer or AnimControl to modify (not null)
+     * @param newAnim the AnimClip or Animation to add (not null, alias
+     * created)
+     */
+    private static void insertAnimation(
+            AbstractControl control, Object newAnim) {
+        if (newAnim instanceof AnimClip) {
+            AnimClip clip = (AnimClip) newAnim;
+            ((AnimComposer) control).addAnimClip(clip);
+        } else {
+            Animation animation = (Animation) newAnim;
+            ((AnimControl) control).addAnim(animation);
+        }
+    }
+
+    /**
+     * Access the subtree for the specified output set.
+     *
+     * @param outputSet the CGM subset to write (not null)
+     * @return the pre-existing subtree (not null)
+     */
+    private Spatial outputSubtree(CgmOutputSet outputSet) {
+        Spatial result;
+        switch (outputSet) {
+            case All:
+                result = rootSpatial;
+                break;
+            case Subtree:
+                result = getSpatial().find();
+                break;
+            default:
+                throw new IllegalArgumentException("outputSet=" + outputSet);
+        }
+
+        return result;
+    }
+
+    /**
+     * Determine the destination file for a write and create its parent
+     * folder, if necessary.
+     *
+     * @param format the output format (not null)
+     * @param baseFilePath file path without any extension (not null, not empty)
+     * @return a new File
+     */
+    private static File prepareWrite(
+            CgmOutputFormat format, String baseFilePath) {
+        String filePath = format.extend(baseFilePath);
+        File result = new File(filePath);
+
+        // create the parent folder (see JME issue #1011)
+        File parent = result.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        return result;
+    }
+
     /**
      * Repair problems with spatials in a newly-loaded model, including null
      * names, empty names, and duplicate names.
@@ -1904,6 +2054,7 @@ public class EditableCgm extends LoadedCgm {
         }
 
         if (numRenamed > 0) {
+            noteStructuralEdit();
             String description = "renamed ";
             if (numRenamed == 1) {
                 description += "one spatial";
@@ -27,9 +27,7 @@
 package maud.model.cgm;
 
 import com.jme3.anim.AnimClip;
-import com.jme3.anim.AnimComposer;
 import com.jme3.anim.AnimTrack;
-import com.jme3.anim.Armature;
 import com.jme3.anim.Joint;
 import com.jme3.anim.MorphTrack;
 import com.jme3.anim.TransformTrack;
@@ -37,13 +35,11 @@ import com.jme3.anim.util.HasLocalTransform;
 import com.jme3.animation.AnimControl;
 import com.jme3.animation.Animation;
 import com.jme3.animation.BoneTrack;
-import com.jme3.animation.Skeleton;
 import com.jme3.animation.SpatialTrack;
 import com.jme3.animation.Track;
 import com.jme3.math.Quaternion;
 import com.jme3.math.Transform;
 import com.jme3.math.Vector3f;
-import com.jme3.scene.Geometry;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.control.AbstractControl;
 import java.util.ArrayList;
@@ -51,7 +47,6 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import jme3utilities.InfluenceUtil;
 import jme3utilities.MyAnimation;
 import jme3utilities.MyString;
 import jme3utilities.Validate;
@@ -103,6 +98,15 @@ public class LoadedAnimation implements Cloneable {
      * name of the loaded animation, bindPoseName, or retargetedPoseName
      */
     private String loadedName = null;
+    /**
+     * index of the tracks in the loaded real animation, or null if not built
+     * yet (rebuilt whenever it goes stale)
+     */
+    private TrackIndex trackIndex = null;
+    /**
+     * scratch transform for per-frame updates (shared between clones)
+     */
+    final private Transform tmpLocal = new Transform();
     // *************************************************************************
     // new methods exposed
 
@@ -224,8 +228,7 @@ public class LoadedAnimation implements Cloneable {
             }
 
         } else if (oldAnim instanceof Animation) { // old animation system
-            BoneTrack track
-                    = MyAnimation.findBoneTrack((Animation) oldAnim, boneIndex);
+            BoneTrack track = (BoneTrack) findTrackForBone(boneIndex);
             if (track == null) {
                 result.loadIdentity();
             } else {
@@ -236,14 +239,13 @@ public class LoadedAnimation implements Cloneable {
             }
 
         } else { // new animation system
-            TransformTrack track
-                    = MyAnimation.findJointTrack((AnimClip) oldAnim, boneIndex);
+            TransformTrack track = (TransformTrack) findTrackForBone(boneIndex);
             if (track == null) {
                 result.loadIdentity();
             } else {
                 double time = cgm.getPlay().getTime();
                 Pose pose = cgm.getPose().get();
-                Transform local = pose.bindTransform(boneIndex, null);
+                Transform local = pose.bindTransform(boneIndex, tmpLocal);
                 track.getDataAtTime(time, local);
                 pose.userForLocal(boneIndex, local, result);
             }
@@ -466,15 +468,14 @@ public class LoadedAnimation implements Cloneable {
         AbstractControl control = sac.find();
         Object realAnim = getReal();
         if (realAnim instanceof Animation) {
-            BoneTrack boneTrack = MyAnimation.findBoneTrack(
-                    (Animation) realAnim, boneIndex);
+            BoneTrack boneTrack = (BoneTrack) findTrackForBone(boneIndex);
             if (boneTrack != null) {
                 result = MyAnimation.describe(boneTrack, (AnimControl) control);
             }
 
         } else if (realAnim instanceof AnimClip) {
-            TransformTrack transformTrack = MyAnimation.findJointTrack(
-                    (AnimClip) realAnim, boneIndex);
+            TransformTrack transformTrack
+                    = (TransformTrack) findTrackForBone(boneIndex);
             if (transformTrack != null) {
                 result = MyAnimation.describe(transformTrack);
             }
@@ -585,13 +586,9 @@ public class LoadedAnimation implements Cloneable {
         assert boneIndex >= 0 : boneIndex;
 
         Object result = null;
-        Object realAnimation = getReal();
-        if (realAnimation instanceof Animation) {
-            result = MyAnimation.findBoneTrack(
-                    (Animation) realAnimation, boneIndex);
-        } else if (realAnimation instanceof AnimClip) {
-            result = MyAnimation.findJointTrack(
-                    (AnimClip) realAnimation, boneIndex);
+        TrackIndex index = trackIndex();
+        if (index != null) {
+            result = index.findBoneTrack(boneIndex);
         }
 
         return result;
@@ -606,31 +603,9 @@ public class LoadedAnimation implements Cloneable {
      */
     Object findTrackForSpatial(Spatial spat) {
         Object result = null;
-        Object control = cgm.getAnimControl().find();
-        Object realAnim = getReal();
-        if (control instanceof AnimControl && realAnim instanceof Animation) {
-            result = MyAnimation.findSpatialTrack(
-                    (AnimControl) control, (Animation) realAnim, spat);
-
-        } else if (control instanceof AnimComposer
-                && realAnim instanceof AnimClip) {
-            AnimTrack<?>[] tracks = ((AnimClip) realAnim).getTracks();
-            for (AnimTrack<?> track : tracks) {
-                if (track instanceof MorphTrack) {
-                    Geometry target = ((MorphTrack) track).getTarget();
-                    if (target == spat) {
-                        result = track;
-                        break;
-                    }
-                } else if (track instanceof TransformTrack) {
-                    HasLocalTransform target
-                            = ((TransformTrack) track).getTarget();
-                    if (target == spat) {
-                        result = track;
-                        break;
-                    }
-                }
-            }
+        TrackIndex index = trackIndex();
+        if (index != null) {
+            result = index.findSpatialTrack(spat);
         }
 
         return result;
@@ -1043,30 +1018,27 @@ public class LoadedAnimation implements Cloneable {
      *
      * @param factor reduction factor (&ge;2)
      */
-    public void reduce(int factor) {
+    public void reduce(final int factor) {
         Validate.inRange(factor, "reduction factor", 2, Integer.MAX_VALUE);
         assert isReal();
 
-        Object newSelectedTrack = null;
-        Object oldSelectedTrack = cgm.getTrack().get();
-        TmpTracks.clear();
-        Object[] oldTracks = getTracks();
-        for (Object oldTrack : oldTracks) {
-            Object newTrack;
-            if (oldTrack instanceof BoneTrack
-                    || oldTrack instanceof SpatialTrack) {
-                newTrack = TrackEdit.reduce((Track) oldTrack, factor);
-            } else if (oldTrack instanceof TransformTrack) {
-                newTrack = TrackEdit.reduce((TransformTrack) oldTrack, factor);
-            } else { // TODO other track types
-                newTrack = TrackEdit.cloneTrack(oldTrack);
+        TrackTransform reducer = new TrackTransform() {
+            @Override
+            Object transform(Object oldTrack) {
+                Object newTrack;
+                if (oldTrack instanceof BoneTrack
+                        || oldTrack instanceof SpatialTrack) {
+                    newTrack = TrackEdit.reduce((Track) oldTrack, factor);
+                } else if (oldTrack instanceof TransformTrack) {
+                    newTrack = TrackEdit.reduce(
+                            (TransformTrack) oldTrack, factor);
+                } else { // TODO other track types
+                    newTrack = TrackEdit.cloneTrack(oldTrack);
+                }
+                return newTrack;
             }
-
-            if (oldTrack == oldSelectedTrack) {
-                newSelectedTrack = newTrack;
-            }
-            TmpTracks.add(newTrack);
-        }
+        };
+        Object newSelectedTrack = transformTracks(reducer);
 
         Object newAnim = newAnim();
         TmpTracks.addAllToAnim(newAnim);
@@ -1164,34 +1136,32 @@ public class LoadedAnimation implements Cloneable {
      *
      * @param sampleRate sample rate (in frames per second, &gt;0)
      */
-    public void resampleAtRate(float sampleRate) {
+    public void resampleAtRate(final float sampleRate) {
         Validate.positive(sampleRate, "sample rate");
         assert isReal();
 
-        float duration = duration();
-        Object newSelectedTrack = null;
-        TweenTransforms techniques = Maud.getModel().getTweenTransforms();
-        Object oldSelectedTrack = cgm.getTrack().get();
-        TmpTracks.clear();
-        Object[] oldTracks = getTracks();
-        for (Object oldTrack : oldTracks) {
-            Object newTrack;
-            if (oldTrack instanceof BoneTrack
-                    || oldTrack instanceof SpatialTrack) {
-                newTrack = techniques.resampleAtRate(
-                        (Track) oldTrack, sampleRate, duration);
-            } else if (oldTrack instanceof TransformTrack) {
-                newTrack = TrackEdit.resampleAtRate(
-                        (TransformTrack) oldTrack, sampleRate, duration);
-            } else { // TODO other track types
-                newTrack = TrackEdit.cloneTrack(oldTrack);
-            }
-
-            if (oldTrack == oldSelectedTrack) {
-                newSelectedTrack = newTrack;
+        final float duration = duration();
+        final TweenTransforms techniques
+                = Maud.getModel().getTweenTransforms();
+        TrackTransform resampler = new TrackTransform() {
+            @Override
+            Object transform(Object oldTrack) {
+                Object newTrack;
+                if (oldTrack instanceof BoneTrack
+                        || oldTrack instanceof SpatialTrack) {
+                    // Each invocation uses a private copy of the techniques.
+                    newTrack = techniques.clone().resampleAtRate(
+                            (Track) oldTrack, sampleRate, duration);
+                } else if (oldTrack instanceof TransformTrack) {
+                    newTrack = TrackEdit.resampleAtRate(
+                            (TransformTrack) oldTrack, sampleRate, duration);
+                } else { // TODO other track types
+                    newTrack = TrackEdit.cloneTrack(oldTrack);
+                }
+                return newTrack;
             }
-            TmpTracks.add(newTrack);
-        }
+        };
+        Object newSelectedTrack = transformTracks(resampler);
 
         Object newAnim = newAnim();
         TmpTracks.addAllToAnim(newAnim);
@@ -1210,36 +1180,33 @@ public class LoadedAnimation implements Cloneable {
      *
      * @param numSamples number of samples (&ge;2)
      */
-    public void resampleToNumber(int numSamples) {
+    public void resampleToNumber(final int numSamples) {
         Validate.inRange(numSamples, "number of samples", 2, Integer.MAX_VALUE);
         assert isReal();
 
-        float duration = duration();
+        final float duration = duration();
         assert duration > 0f : duration;
-        Object newSelectedTrack = null;
-        TweenTransforms techniques = Maud.getModel().getTweenTransforms();
-        Object oldSelectedTrack = cgm.getTrack().get();
-
-        TmpTracks.clear();
-        Object[] oldTracks = getTracks();
-        for (Object oldTrack : oldTracks) {
-            Object newTrack;
-            if (oldTrack instanceof BoneTrack
-                    || oldTrack instanceof SpatialTrack) {
-                newTrack = techniques.resampleToNumber(
-                        (Track) oldTrack, numSamples, duration);
-            } else if (oldTrack instanceof TransformTrack) {
-                newTrack = TrackEdit.resampleToNumber(
-                        (TransformTrack) oldTrack, numSamples, duration);
-            } else { // TODO other track types
-                newTrack = TrackEdit.cloneTrack(oldTrack);
-            }
-
-            if (oldTrack == oldSelectedTrack) {
-                newSelectedTrack = newTrack;
+        final TweenTransforms techniques
+                = Maud.getModel().getTweenTransforms();
+        TrackTransform resampler = new TrackTransform() {
+            @Override
+            Object transform(Object oldTrack) {
+                Object newTrack;
+                if (oldTrack instanceof BoneTrack
+                        || oldTrack instanceof SpatialTrack) {
+                    // Each invocation uses a private copy of the techniques.
+                    newTrack = techniques.clone().resampleToNumber(
+                            (Track) oldTrack, numSamples, duration);
+                } else if (oldTrack instanceof TransformTrack) {
+                    newTrack = TrackEdit.resampleToNumber(
+                            (TransformTrack) oldTrack, numSamples, duration);
+                } else { // TODO other track types
+                    newTrack = TrackEdit.cloneTrack(oldTrack);
+                }
+                return newTrack;
             }
-            TmpTracks.add(newTrack);
-        }
+        };
+        Object newSelectedTrack = transformTracks(resampler);
 
         Object newAnim = newAnim();
         TmpTracks.addAllToAnim(newAnim);
@@ -1384,43 +1351,30 @@ public class LoadedAnimation implements Cloneable {
         BitSet influencers = null;
         SelectedSkeleton ss = cgm.getSkeleton();
         if (ss.isSelected()) {
-            Object skeleton = ss.find();
-            Spatial subtree = ss.findSpatial();
-            if (skeleton instanceof Armature) {
-                influencers = InfluenceUtil.addAllInfluencers(
-                        subtree, (Armature) skeleton);
-            } else {
-                influencers = InfluenceUtil.addAllInfluencers(
-                        subtree, (Skeleton) skeleton);
-            }
+            influencers = ss.topology().influencers();
         }
 
-        Object newSelectedTrack = null;
-        Object oldSelectedTrack = cgm.getTrack().get();
-        TmpTracks.clear();
-        Object[] oldTracks = getTracks();
-        for (Object track : oldTracks) {
-            Object newTrack = null;
-            if (track instanceof BoneTrack) {
-                int boneIndex = ((BoneTrack) track).getTargetBoneIndex();
-                if (influencers.get(boneIndex)) {
+        final BitSet finalInfluencers = influencers;
+        TrackTransform simplifier = new TrackTransform() {
+            @Override
+            Object transform(Object track) {
+                Object newTrack = null;
+                if (track instanceof BoneTrack) {
+                    int boneIndex = ((BoneTrack) track).getTargetBoneIndex();
+                    if (finalInfluencers.get(boneIndex)) {
+                        newTrack = TrackEdit.simplify((Track) track);
+                    }
+                } else if (track instanceof SpatialTrack) {
                     newTrack = TrackEdit.simplify((Track) track);
+                } else if (track instanceof TransformTrack) {
+                    newTrack = TrackEdit.simplify((TransformTrack) track);
+                } else {
+                    newTrack = TrackEdit.cloneTrack(track);
                 }
-            } else if (track instanceof SpatialTrack) {
-                newTrack = TrackEdit.simplify((Track) track);
-            } else if (track instanceof TransformTrack) {
-                newTrack = TrackEdit.simplify((TransformTrack) track);
-            } else {
-                newTrack = TrackEdit.cloneTrack(track);
+                return newTrack;
             }
-
-            if (track == oldSelectedTrack) {
-                newSelectedTrack = newTrack;
-            }
-            if (newTrack != null) {
-                TmpTracks.add(newTrack);
-            }
-        }
+        };
+        Object newSelectedTrack = transformTracks(simplifier);
 
         Object newAnim = newAnim();
         TmpTracks.addAllToAnim(newAnim);
@@ -1489,30 +1443,26 @@ public class LoadedAnimation implements Cloneable {
      * @param endWeight how much weight to give to pre-existing end-time
      * keyframes, if any exist (&ge;0, &le;1)
      */
-    public void wrapAllTracks(float endWeight) {
-        float duration = duration();
-        Object newSelectedTrack = null;
-        Object oldSelectedTrack = cgm.getTrack().get();
-        TmpTracks.clear();
-        Object[] oldTracks = getTracks();
-        for (Object oldTrack : oldTracks) {
-            Object newTrack;
-            if (oldTrack instanceof BoneTrack
-                    || oldTrack instanceof SpatialTrack) {
-                newTrack = TrackEdit.wrap(
-                        (Track) oldTrack, duration, endWeight);
-            } else if (oldTrack instanceof TransformTrack) {
-                newTrack = TrackEdit.wrap(
-                        (TransformTrack) oldTrack, duration, endWeight);
-            } else { // TODO other track types
-                newTrack = TrackEdit.cloneTrack(oldTrack);
-            }
-
-            if (oldTrack == oldSelectedTrack) {
-                newSelectedTrack = newTrack;
+    public void wrapAllTracks(final float endWeight) {
+        final float duration = duration();
+        TrackTransform wrapper = new TrackTransform() {
+            @Override
+            Object transform(Object oldTrack) {
+                Object newTrack;
+                if (oldTrack instanceof BoneTrack
+                        || oldTrack instanceof SpatialTrack) {
+                    newTrack = TrackEdit.wrap(
+                            (Track) oldTrack, duration, endWeight);
+                } else if (oldTrack instanceof TransformTrack) {
+                    newTrack = TrackEdit.wrap(
+                            (TransformTrack) oldTrack, duration, endWeight);
+                } else { // TODO other track types
+                    newTrack = TrackEdit.cloneTrack(oldTrack);
+                }
+                return newTrack;
             }
-            TmpTracks.add(newTrack);
-        }
+        };
+        Object newSelectedTrack = transformTracks(wrapper);
 
         Object newAnim = newAnim();
         TmpTracks.addAllToAnim(newAnim);
@@ -1536,6 +1486,7 @@ public class LoadedAnimation implements Cloneable {
     @Override
     public LoadedAnimation clone() throws CloneNotSupportedException {
         LoadedAnimation clone = (LoadedAnimation) super.clone();
+        clone.trackIndex = null;
         return clone;
     }
     // *************************************************************************
@@ -1559,6 +1510,7 @@ public class LoadedAnimation implements Cloneable {
             cgm.getTrack().select(null);
         }
         cgm.getPlay().setSpeed(newSpeed);
+        trackIndex();
 
         boolean frozen = cgm.getPose().isFrozen();
         if (!frozen) {
@@ -1585,4 +1537,57 @@ public class LoadedAnimation implements Cloneable {
 
         return result;
     }
+
+    /**
+     * Access an up-to-date index of the tracks in the loaded real animation,
+     * building a new one if the current one is missing or stale.
+     *
+     * @return the pre-existing or new index, or null if no real animation is
+     * loaded
+     */
+    private TrackIndex trackIndex() {
+        Object realAnim = getReal();
+        if (realAnim == null) {
+            return null;
+        }
+
+        Object control = cgm.getAnimControl().find();
+        long revision = (editableCgm == null)
+                ? 0L : editableCgm.getEditState().revision();
+        if (trackIndex == null
+                || !trackIndex.matches(realAnim, control, revision)) {
+            this.trackIndex = new TrackIndex(realAnim, control, revision);
+        }
+
+        return trackIndex;
+    }
+
+    /**
+     * Transform every track of the loaded animation (possibly in parallel) and
+     * collect the results, in order, in TmpTracks.
+     *
+     * @param transform the transformation to apply (not null)
+     * @return the track that replaces the selected track, or null if none
+     */
+    private Object transformTracks(TrackTransform transform) {
+        assert transform != null;
+
+        Object[] oldTracks = getTracks();
+        Object[] newTracks = transform.transformAll(oldTracks);
+
+        Object newSelectedTrack = null;
+        Object oldSelectedTrack = cgm.getTrack().get();
+        TmpTracks.clear();
+        for (int trackIndex = 0; trackIndex < oldTracks.length; ++trackIndex) {
+            Object newTrack = newTracks[trackIndex];
+            if (oldTracks[trackIndex] == oldSelectedTrack) {
+                newSelectedTrack = newTrack;
+            }
+            if (newTrack != null) {
+                TmpTracks.add(newTrack);
+            }
+        }
+
+        return newSelectedTrack;
+    }
 }
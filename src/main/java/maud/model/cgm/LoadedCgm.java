@@ -32,6 +32,7 @@ import com.jme3.asset.ModelKey;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.plugins.bvh.BVHAnimData;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -84,6 +85,11 @@ public class LoadedCgm extends Cgm {
      * name of the C-G model, or null if none loaded
      */
     protected String name = null;
+    /**
+     * true while completing a background load whose C-G model was already
+     * checked on the background thread, otherwise false
+     */
+    private boolean preCheckedFlag = false;
     // *************************************************************************
     // new methods exposed
 
@@ -105,6 +111,48 @@ public class LoadedCgm extends Cgm {
         return result;
     }
 
+    /**
+     * Complete a background load on the JME thread. Invoked only by
+     * {@link PendingLoad}.
+     *
+     * @param load the load to complete (not null)
+     * @param loaded the loaded and checked C-G model, or null if the asset had
+     * errors
+     * @param cancelled true if the load was cancelled, in which case the
+     * result is discarded
+     */
+    void completeAsyncLoad(
+            PendingLoad load, Spatial loaded, boolean cancelled) {
+        if (cancelled) {
+            return;
+        }
+
+        String assetPath = load.getAssetPath();
+        finishLoad(assetPath, load.getKey(), loaded);
+
+        if (loaded == null) {
+            String message = "failed to load " + MyString.quote(assetPath);
+            Maud.getModel().getMisc().setStatusMessage(message);
+
+        } else {
+            String rootPath = load.getRootPath();
+            if (rootPath != null) {
+                this.assetRootPath = rootPath;
+            }
+            String cgmName = load.getCgmName();
+            if (cgmName != null) {
+                this.name = cgmName;
+            }
+
+            this.preCheckedFlag = true;
+            try {
+                postLoad(loaded);
+            } finally {
+                this.preCheckedFlag = false;
+            }
+        }
+    }
+
     /**
      * Read the asset path of the loaded C-G model, less extension.
      *
@@ -170,13 +218,7 @@ public class LoadedCgm extends Cgm {
         if (loaded == null) {
             success = false;
         } else {
-            if (spec == null || !spec.startsWith("file:///")) {
-                this.assetRootPath = "";
-            } else {
-                String rootPath = MyString.remainder(spec, "file:///");
-                assert !rootPath.isEmpty();
-                this.assetRootPath = rootPath;
-            }
+            this.assetRootPath = rootPathForSpec(spec);
             postLoad(loaded);
             success = true;
         }
@@ -184,6 +226,31 @@ public class LoadedCgm extends Cgm {
         return success;
     }
 
+    /**
+     * Unload the loaded C-G model, if any, and load from the specified asset in
+     * the specified location. If possible, the asset is loaded and checked on
+     * a background thread while editing continues, and the C-G model gets
+     * replaced on a later frame. Otherwise it's loaded immediately. Refused
+     * if another background load is in progress.
+     *
+     * @param spec URL specification, or null for the default location
+     * @param assetPath path to the asset to load (not null, not empty)
+     */
+    public void loadAssetAsync(String spec, String assetPath) {
+        Validate.nonEmpty(assetPath, "asset path");
+
+        if (PendingLoad.isActive()) {
+            PendingLoad.refuse();
+            return;
+        }
+        if (!canLoadAsync()) {
+            loadAsset(spec, assetPath);
+            return;
+        }
+
+        startAsyncLoad(spec, assetPath, null);
+    }
+
     /**
      * Unload the current C-G model, if any, and load the named one from the
      * default location.
@@ -194,70 +261,12 @@ public class LoadedCgm extends Cgm {
     public boolean loadNamed(String cgmName) {
         Validate.nonEmpty(cgmName, "model name");
 
-        String folderName = cgmName;
-        String fileName;
-        switch (cgmName) {
-            case BuildMenus.otherName:
-                EditorDialogs.loadCgmAsset(null, this);
-                return true;
-
-            case "Boat":
-                fileName = "boat.j3o";
-                break;
-            case "Buggy":
-                fileName = "Buggy.j3o";
-                break;
-            case "Elephant":
-                fileName = "Elephant.mesh.xml";
-                break;
-            case "Ferrari":
-                fileName = "Car.scene";
-                break;
-            case "HoverTank":
-                fileName = "Tank2.mesh.xml";
-                break;
-            case "Jaime":
-                fileName = "Jaime.j3o";
-                break;
-            case "MhGame":
-                fileName = "MhGame.mesh.xml";
-                break;
-            case "MonkeyHead":
-                fileName = "MonkeyHead.mesh.xml";
-                break;
-            case "Ninja":
-                fileName = "Ninja.mesh.xml";
-                break;
-            case "Oto":
-                fileName = "Oto.mesh.xml";
-                break;
-            case "Sign Post":
-                fileName = "Sign Post.mesh.xml";
-                break;
-            case "Sword":
-                fileName = "Sword.mesh.xml";
-                folderName = "Sinbad";
-                break;
-            case "Sinbad":
-                fileName = "Sinbad.mesh.xml";
-                break;
-            case "SpaceCraft":
-                fileName = "Rocket.mesh.xml";
-                break;
-            case "Teapot":
-                fileName = "Teapot.obj";
-                break;
-            case "Tree":
-                fileName = "Tree.mesh.xml";
-                break;
-
-            default:
-                String message = String.format("unknown model-asset name: %s",
-                        MyString.quote(cgmName));
-                throw new IllegalArgumentException(message);
+        if (cgmName.equals(BuildMenus.otherName)) {
+            EditorDialogs.loadCgmAsset(null, this);
+            return true;
         }
 
-        String assetPath = String.format("Models/%s/%s", folderName, fileName);
+        String assetPath = namedAssetPath(cgmName);
         boolean useCache = false;
         boolean diagnose = Maud.getModel().getMisc().diagnoseLoads();
 
@@ -274,6 +283,29 @@ public class LoadedCgm extends Cgm {
             return true;
         }
     }
+
+    /**
+     * Unload the current C-G model, if any, and load the named one from the
+     * default location, in the background if possible. See
+     * {@link #loadAssetAsync(java.lang.String, java.lang.String)}.
+     *
+     * @param cgmName which C-G model to load (not null, not empty)
+     */
+    public void loadNamedAsync(String cgmName) {
+        Validate.nonEmpty(cgmName, "model name");
+
+        if (PendingLoad.isActive()) {
+            PendingLoad.refuse();
+            return;
+        }
+        if (!canLoadAsync() || cgmName.equals(BuildMenus.otherName)) {
+            loadNamed(cgmName);
+            return;
+        }
+
+        String assetPath = namedAssetPath(cgmName);
+        startAsyncLoad(null, assetPath, cgmName);
+    }
     // *************************************************************************
     // new protected methods
 
@@ -285,7 +317,9 @@ public class LoadedCgm extends Cgm {
     protected void postLoad(Spatial cgmRoot) {
         assert cgmRoot != null;
 
-        CheckLoaded.cgm(cgmRoot);
+        if (!preCheckedFlag) {
+            CheckLoaded.cgm(cgmRoot);
+        }
         this.rootSpatial = Heart.deepCopy(cgmRoot);
         getVertex().deselect();
         getSceneView().loadCgm(cgmRoot);
@@ -379,6 +413,56 @@ public class LoadedCgm extends Cgm {
     // *************************************************************************
     // private methods
 
+    /**
+     * Test whether a C-G model can be loaded in the background: only if
+     * (for the target) a C-G model is already loaded and can remain editable
+     * during the load.
+     *
+     * @return true if possible, otherwise false
+     */
+    private boolean canLoadAsync() {
+        boolean result;
+        if (this == Maud.getModel().getTarget()) {
+            result = isLoaded();
+        } else {
+            result = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * Record the outcome of a C-G model load. If successful, set
+     * {@link #baseAssetPath} and related fields.
+     *
+     * @param assetPath (not null)
+     * @param key the key used to load the asset (not null)
+     * @param loaded the loaded C-G model, or null if the asset had errors
+     */
+    private void finishLoad(String assetPath, AssetKey key, Spatial loaded) {
+        if (loaded == null) {
+            logger.log(Level.SEVERE, "Failed to load model from asset {0}",
+                    MyString.quote(assetPath));
+        } else {
+            logger.log(Level.INFO, "Loaded model from asset {0}",
+                    MyString.quote(assetPath));
+
+            if (this == Maud.getModel().getTarget() && isLoaded()) {
+                History.autoAdd();
+            }
+            this.extension = key.getExtension();
+            int extLength = extension.length();
+            if (extLength == 0) {
+                this.baseAssetPath = assetPath;
+            } else {
+                int pathLength = assetPath.length() - extLength - 1;
+                this.baseAssetPath = assetPath.substring(0, pathLength);
+            }
+            this.assetRootPath = Locators.getRootPath();
+            this.name = loaded.getName();
+        }
+    }
+
     /**
      * Quietly load a C-G model asset from persistent storage without adding it
      * to the scene. If successful, set {@link #baseAssetPath}.
@@ -391,27 +475,133 @@ public class LoadedCgm extends Cgm {
      */
     private Spatial loadFromAsset(
             String assetPath, boolean useCache, boolean diagnose) {
-        AssetManager assetManager = Locators.getAssetManager();
         Locators.save();
+        AssetKey key = prepareLoad(assetPath, useCache);
+        AssetManager assetManager = Locators.getAssetManager();
+        Spatial loaded = loadKey(assetManager, key, diagnose);
+        finishLoad(assetPath, key, loaded);
+        Locators.restore();
 
-        // Load the C-G model.
-        String ext;
-        Spatial loaded;
-        if (assetPath.endsWith(".bvh")) {
-            AssetKey<BVHAnimData> key = new AssetKey<>(assetPath);
-            ext = key.getExtension();
+        return loaded;
+    }
+
+    /**
+     * Load a C-G model asset using the locators currently registered with the
+     * specified asset manager. Safe to invoke from a background thread.
+     *
+     * @param assetManager the asset manager to use (not null)
+     * @param key the key of the asset to load (not null)
+     * @param diagnose true&rarr;messages to console, false&rarr;no messages
+     * @return an orphaned spatial, or null if the asset had errors
+     */
+    static Spatial loadKey(
+            AssetManager assetManager, AssetKey key, boolean diagnose) {
+        Spatial result;
+        if (key instanceof ModelKey) {
+            result = LoadUtil.loadCgmAsset(
+                    assetManager, (ModelKey) key, diagnose);
+        } else {
+            @SuppressWarnings("unchecked")
+            AssetKey<BVHAnimData> bvhKey = key;
+            result = LoadUtil.loadBvhAsset(assetManager, bvhKey, diagnose);
+        }
+
+        return result;
+    }
+
+    /**
+     * Determine the asset path of a named C-G model in the default location.
+     *
+     * @param cgmName which C-G model (not null, not empty)
+     * @return the asset path (not null, not empty)
+     */
+    private static String namedAssetPath(String cgmName) {
+        String folderName = cgmName;
+        String fileName;
+        switch (cgmName) {
+            case "Boat":
+                fileName = "boat.j3o";
+                break;
+            case "Buggy":
+                fileName = "Buggy.j3o";
+                break;
+            case "Elephant":
+                fileName = "Elephant.mesh.xml";
+                break;
+            case "Ferrari":
+                fileName = "Car.scene";
+                break;
+            case "HoverTank":
+                fileName = "Tank2.mesh.xml";
+                break;
+            case "Jaime":
+                fileName = "Jaime.j3o";
+                break;
+            case "MhGame":
+                fileName = "MhGame.mesh.xml";
+                break;
+            case "MonkeyHead":
+                fileName = "MonkeyHead.mesh.xml";
+                break;
+            case "Ninja":
+                fileName = "Ninja.mesh.xml";
+                break;
+            case "Oto":
+                fileName = "Oto.mesh.xml";
+                break;
+            case "Sign Post":
+                fileName = "Sign Post.mesh.xml";
+                break;
+            case "Sword":
+                fileName = "Sword.mesh.xml";
+                folderName = "Sinbad";
+                break;
+            case "Sinbad":
+                fileName = "Sinbad.mesh.xml";
+                break;
+            case "SpaceCraft":
+                fileName = "Rocket.mesh.xml";
+                break;
+            case "Teapot":
+                fileName = "Teapot.obj";
+                break;
+            case "Tree":
+                fileName = "Tree.mesh.xml";
+                break;
+
+            default:
+                String message = String.format("unknown model-asset name: %s",
+                        MyString.quote(cgmName));
+                throw new IllegalArgumentException(message);
+        }
+
+        String result
+                = String.format("Models/%s/%s", folderName, fileName);
+        return result;
+    }
+
+    /**
+     * Configure the locators and the asset cache for loading the specified
+     * asset.
+     *
+     * @param assetPath (not null)
+     * @param useCache true to look in the asset manager's cache, false to force
+     * a fresh load from persistent storage
+     * @return a new key for the asset
+     */
+    private static AssetKey prepareLoad(String assetPath, boolean useCache) {
+        AssetManager assetManager = Locators.getAssetManager();
+        AssetKey result = newKey(assetPath);
+        if (!(result instanceof ModelKey)) {
             if (!useCache) {
                 /*
                  * Delete the key from the asset manager's cache in order
                  * to force a fresh load from persistent storage.
                  */
-                assetManager.deleteFromCache(key);
+                assetManager.deleteFromCache(result);
             }
-            loaded = LoadUtil.loadBvhAsset(assetManager, key, diagnose);
 
         } else {
-            ModelKey key = new ModelKey(assetPath);
-            ext = key.getExtension();
             if (!useCache) {
                 /*
                  * Clear the asset manager's cache in order to force a fresh
@@ -423,33 +613,73 @@ public class LoadedCgm extends Cgm {
             Locators.registerDefault();
             List<String> specList = Maud.getModel().getLocations().listAll();
             Locators.register(specList);
-
-            loaded = LoadUtil.loadCgmAsset(assetManager, key, diagnose);
         }
 
-        if (loaded == null) {
-            logger.log(Level.SEVERE, "Failed to load model from asset {0}",
-                    MyString.quote(assetPath));
+        return result;
+    }
+
+    /**
+     * Create a key for loading the specified C-G model asset.
+     *
+     * @param assetPath (not null)
+     * @return a new key for the asset
+     */
+    private static AssetKey newKey(String assetPath) {
+        AssetKey result;
+        if (assetPath.endsWith(".bvh")) {
+            result = new AssetKey<BVHAnimData>(assetPath);
         } else {
-            logger.log(Level.INFO, "Loaded model from asset {0}",
-                    MyString.quote(assetPath));
+            result = new ModelKey(assetPath);
+        }
 
-            if (this == Maud.getModel().getTarget() && isLoaded()) {
-                History.autoAdd();
-            }
-            this.extension = ext;
-            int extLength = extension.length();
-            if (extLength == 0) {
-                this.baseAssetPath = assetPath;
-            } else {
-                int pathLength = assetPath.length() - extLength - 1;
-                this.baseAssetPath = assetPath.substring(0, pathLength);
-            }
-            this.assetRootPath = Locators.getRootPath();
-            this.name = loaded.getName();
+        return result;
+    }
+
+    /**
+     * Determine the asset-root path for the specified location.
+     *
+     * @param spec URL specification, or null for the default location
+     * @return absolute filesystem path, or "" if unknown/remote (not null)
+     */
+    private static String rootPathForSpec(String spec) {
+        String result;
+        if (spec == null || !spec.startsWith("file:///")) {
+            result = "";
+        } else {
+            result = MyString.remainder(spec, "file:///");
+            assert !result.isEmpty();
         }
 
-        Locators.restore();
-        return loaded;
+        return result;
+    }
+
+    /**
+     * Start loading an asset in the background. The load uses a private asset
+     * manager, so the shared locators and asset cache are left untouched.
+     * Completed by {@link #completeAsyncLoad(maud.model.cgm.PendingLoad,
+     * com.jme3.scene.Spatial, boolean)}.
+     *
+     * @param spec URL specification, or null for the default location
+     * @param assetPath (not null, not empty)
+     * @param cgmName the name to record, or null to use the name of the
+     * loaded spatial
+     */
+    private void startAsyncLoad(String spec, String assetPath,
+            String cgmName) {
+        boolean diagnose = Maud.getModel().getMisc().diagnoseLoads();
+        AssetKey key = newKey(assetPath);
+        /*
+         * Mirror the locators that prepareLoad() would register.
+         */
+        List<String> specList = new ArrayList<>(5);
+        specList.add(spec);
+        if (key instanceof ModelKey) {
+            specList.add(null);
+            List<String> locations = Maud.getModel().getLocations().listAll();
+            specList.addAll(locations);
+        }
+        String rootPath = rootPathForSpec(spec);
+        PendingLoad.start(
+                this, specList, key, rootPath, cgmName, diagnose);
     }
 }
@@ -0,0 +1,245 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.math.Vector3f;
+import com.jme3.util.BufferUtils;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * A growable set of distinct locations, stored as packed floats and indexed by
+ * an open-addressed hash table, for building Hull shapes from large meshes.
+ * <p>
+ * Locations are distinct if their coordinates differ according to
+ * {@link Float#compare(float, float)}, the same criterion as
+ * {@link Vector3f#equals(java.lang.Object)}, so the contents match those of a
+ * {@link jme3utilities.math.VectorSet}. Not thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class LocationSet {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(LocationSet.class.getName());
+    /**
+     * marks an empty slot in the hash table
+     */
+    final private static int emptySlot = -1;
+    // *************************************************************************
+    // fields
+
+    /**
+     * packed coordinates of the locations, in insertion order
+     */
+    private float[] coordinates;
+    /**
+     * number of locations in the set (&ge;0)
+     */
+    private int numLocations = 0;
+    /**
+     * hash table: the index of a location in each slot, or emptySlot (length
+     * a power of 2)
+     */
+    private int[] slots;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty set with room for the specified number of
+     * locations.
+     *
+     * @param expectedSize the expected number of locations (&ge;0)
+     */
+    LocationSet(int expectedSize) {
+        assert expectedSize >= 0 : expectedSize;
+
+        int capacity = Math.max(expectedSize, 4);
+        this.coordinates = new float[3 * capacity];
+        this.slots = new int[tableLength(capacity)];
+        Arrays.fill(slots, emptySlot);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add the specified location, unless it's already in the set.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @param z the Z coordinate
+     */
+    void add(float x, float y, float z) {
+        int xBits = Float.floatToIntBits(x);
+        int yBits = Float.floatToIntBits(y);
+        int zBits = Float.floatToIntBits(z);
+        int mask = slots.length - 1;
+        int slot = hash(xBits, yBits, zBits) & mask;
+        while (slots[slot] != emptySlot) {
+            if (matches(slots[slot], xBits, yBits, zBits)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (3 * numLocations == coordinates.length) {
+            int newLength = 2 * coordinates.length;
+            this.coordinates = Arrays.copyOf(coordinates, newLength);
+        }
+        int floatIndex = 3 * numLocations;
+        coordinates[floatIndex] = x;
+        coordinates[floatIndex + 1] = y;
+        coordinates[floatIndex + 2] = z;
+        slots[slot] = numLocations;
+        ++numLocations;
+
+        if (2 * numLocations > slots.length) {
+            rehash();
+        }
+    }
+
+    /**
+     * Add the specified location, unless it's already in the set.
+     *
+     * @param location the location to add (not null, unaffected)
+     */
+    void add(Vector3f location) {
+        add(location.x, location.y, location.z);
+    }
+
+    /**
+     * Count the locations in the set.
+     *
+     * @return the count (&ge;0)
+     */
+    int numLocations() {
+        assert numLocations >= 0 : numLocations;
+        return numLocations;
+    }
+
+    /**
+     * Copy the coordinates to a new array.
+     *
+     * @return a new array of packed coordinates (not null)
+     */
+    float[] toArray() {
+        float[] result = Arrays.copyOf(coordinates, 3 * numLocations);
+        return result;
+    }
+
+    /**
+     * Copy the coordinates to a new FloatBuffer.
+     *
+     * @return a new, flipped direct buffer of packed coordinates (not null)
+     */
+    FloatBuffer toBuffer() {
+        FloatBuffer result = BufferUtils.createFloatBuffer(3 * numLocations);
+        result.put(coordinates, 0, 3 * numLocations);
+        result.flip();
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Hash the bit patterns of a location's coordinates.
+     *
+     * @param xBits the bits of the X coordinate
+     * @param yBits the bits of the Y coordinate
+     * @param zBits the bits of the Z coordinate
+     * @return a well-mixed hash code
+     */
+    private static int hash(int xBits, int yBits, int zBits) {
+        int result = xBits * 0x9E3779B1 + yBits;
+        result = result * 0x9E3779B1 + zBits;
+        result ^= result >>> 15;
+        result *= 0x85EBCA6B;
+        result ^= result >>> 13;
+
+        return result;
+    }
+
+    /**
+     * Test whether the indexed location has the specified coordinates.
+     *
+     * @param index the index of the location (&ge;0, &lt;numLocations)
+     * @param xBits the bits of the X coordinate
+     * @param yBits the bits of the Y coordinate
+     * @param zBits the bits of the Z coordinate
+     * @return true if they match, otherwise false
+     */
+    private boolean matches(int index, int xBits, int yBits, int zBits) {
+        int floatIndex = 3 * index;
+        if (Float.floatToIntBits(coordinates[floatIndex]) == xBits
+                && Float.floatToIntBits(coordinates[floatIndex + 1]) == yBits
+                && Float.floatToIntBits(coordinates[floatIndex + 2]) == zBits) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Double the length of the hash table and re-insert every location.
+     */
+    private void rehash() {
+        this.slots = new int[2 * slots.length];
+        Arrays.fill(slots, emptySlot);
+        int mask = slots.length - 1;
+        for (int index = 0; index < numLocations; ++index) {
+            int floatIndex = 3 * index;
+            int slot = hash(Float.floatToIntBits(coordinates[floatIndex]),
+                    Float.floatToIntBits(coordinates[floatIndex + 1]),
+                    Float.floatToIntBits(coordinates[floatIndex + 2])) & mask;
+            while (slots[slot] != emptySlot) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index;
+        }
+    }
+
+    /**
+     * Determine the hash-table length for the specified capacity: the
+     * smallest power of 2 that keeps the load factor at or below 1/2.
+     *
+     * @param capacity the number of locations (&ge;1)
+     * @return the length (a power of 2, &ge;2*capacity)
+     */
+    private static int tableLength(int capacity) {
+        assert capacity > 0 : capacity;
+
+        int result = Integer.highestOneBit(2 * capacity - 1) << 1;
+        return result;
+    }
+}
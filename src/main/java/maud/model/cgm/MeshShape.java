@@ -0,0 +1,475 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.bullet.collision.shapes.CollisionShape;
+import com.jme3.bullet.collision.shapes.HullCollisionShape;
+import com.jme3.bullet.collision.shapes.MeshCollisionShape;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.logging.Logger;
+import jme3utilities.Heart;
+import jme3utilities.MyMesh;
+import maud.ShapeType;
+
+/**
+ * The collision-shape data generated from a single mesh for a particular
+ * ShapeType, either built from scratch or reused from a previous build. See
+ * {@link PendingShape}.
+ * <p>
+ * For a Hull, the data are the distinct vertex locations in mesh coordinates.
+ * For a CompoundOfHulls or CompoundOfMeshes, the data are an unscaled child
+ * shape, which is never added to a compound directly: each placement gets a
+ * copy.
+ * <p>
+ * Each build retains a copy of the position and index data it was generated
+ * from. A previous build is reused only if that copy equals the current data;
+ * the checksum merely rules out most mismatches cheaply.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class MeshShape {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(MeshShape.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the data were reused from a previous build
+     */
+    private boolean reused = false;
+    /**
+     * checksum of the mesh data the shape was generated from
+     */
+    private long checksum;
+    /**
+     * revision of the C-G model at which the data were last known to be valid
+     */
+    final private long revision;
+    /**
+     * copy of the index data the shape was generated from, or null if the
+     * mesh has no index buffer
+     */
+    private int[] indexData = null;
+    /**
+     * copy of the position data the shape was generated from, or null if the
+     * mesh has no position buffer
+     */
+    private float[] positionData = null;
+    /**
+     * mode of the mesh the shape was generated from
+     */
+    private Mesh.Mode mode = null;
+    /**
+     * private views of the mesh buffers to read, or null once built
+     */
+    private Mesh view;
+    /**
+     * the result of a previous build for the same mesh, or null if none
+     */
+    private MeshShape previous;
+    /**
+     * the generated data: a CollisionShape or a float[] of vertex locations,
+     * or null if the mesh yields no shape
+     */
+    private Object data = null;
+    /**
+     * type of shape being generated (not null)
+     */
+    final private ShapeType shapeType;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a build for the specified mesh. Invoked on the JME thread.
+     *
+     * @param mesh the mesh to read (not null, unaffected)
+     * @param shapeType the type of shape to generate (not null)
+     * @param revision the current revision of the C-G model
+     * @param previous the result of a previous build for the same mesh, or
+     * null if none
+     */
+    MeshShape(Mesh mesh, ShapeType shapeType, long revision,
+            MeshShape previous) {
+        assert mesh != null;
+        assert shapeType != null;
+        assert previous == null || previous.shapeType == shapeType;
+
+        this.view = makeView(mesh);
+        this.shapeType = shapeType;
+        this.revision = revision;
+        this.previous = previous;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Generate the data, unless the previous build's data are still valid.
+     * Invoked on a worker thread.
+     */
+    void build() {
+        assert view != null;
+
+        this.checksum = checksum(view);
+        if (previous != null && previous.checksum == checksum
+                && previous.matches(view)) {
+            this.data = previous.data;
+            this.mode = previous.mode;
+            this.positionData = previous.positionData;
+            this.indexData = previous.indexData;
+            this.reused = true;
+        } else {
+            this.mode = view.getMode();
+            VertexBuffer positions = view.getBuffer(VertexBuffer.Type.Position);
+            if (positions != null) {
+                FloatBuffer floats = (FloatBuffer) positions.getData();
+                this.positionData = new float[floats.limit()];
+                for (int i = 0; i < positionData.length; ++i) {
+                    positionData[i] = floats.get(i);
+                }
+            }
+            VertexBuffer indices = view.getBuffer(VertexBuffer.Type.Index);
+            if (indices != null) {
+                Buffer buffer = indices.getData();
+                this.indexData = new int[buffer.limit()];
+                for (int i = 0; i < indexData.length; ++i) {
+                    indexData[i] = readIndex(buffer, i);
+                }
+            }
+
+            switch (shapeType) {
+                case CompoundOfHulls:
+                    this.data = new HullCollisionShape(view);
+                    break;
+
+                case CompoundOfMeshes:
+                    if (MyMesh.hasTriangles(view)) {
+                        this.data = new MeshCollisionShape(view);
+                    }
+                    break;
+
+                case Hull:
+                    this.data = listLocations(view);
+                    break;
+
+                default:
+                    throw new IllegalStateException(shapeType.toString());
+            }
+        }
+
+        this.view = null;
+        this.previous = null;
+    }
+
+    /**
+     * Create a copy of the child shape, for use in a single placement.
+     *
+     * @return a new shape, or null if the mesh yields no shape
+     */
+    CollisionShape copyShape() {
+        assert shapeType != ShapeType.Hull;
+
+        CollisionShape result = null;
+        if (data != null) {
+            result = Heart.deepCopy((CollisionShape) data);
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the distinct vertex locations of a Hull build.
+     *
+     * @return the pre-existing array of mesh coordinates (not null)
+     */
+    float[] getLocations() {
+        assert shapeType == ShapeType.Hull;
+        float[] result = (float[]) data;
+
+        assert result != null;
+        return result;
+    }
+
+    /**
+     * Test whether the data are complete and can be cached for reuse.
+     *
+     * @return true if built, otherwise false
+     */
+    boolean isBuilt() {
+        if (view == null) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Test whether the data were reused from a previous build.
+     *
+     * @return true if reused, otherwise false
+     */
+    boolean isReused() {
+        return reused;
+    }
+
+    /**
+     * Test whether this result can be reused without checking the mesh data.
+     *
+     * @param shapeType the desired type of shape (not null)
+     * @param revision the current revision of the C-G model
+     * @return true if valid, otherwise false
+     */
+    boolean isValid(ShapeType shapeType, long revision) {
+        assert isBuilt();
+
+        if (this.shapeType == shapeType && this.revision == revision) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Fold the elements of the specified buffer into a checksum.
+     *
+     * @param seed the checksum so far
+     * @param data the buffer to read (not null, unaffected)
+     * @return the new checksum
+     */
+    private static long checksum(long seed, Buffer data) {
+        long result = 31L * seed + data.limit();
+        int limit = data.limit();
+        if (data instanceof FloatBuffer) {
+            FloatBuffer floats = (FloatBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + Float.floatToIntBits(floats.get(i));
+            }
+        } else if (data instanceof IntBuffer) {
+            IntBuffer ints = (IntBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + ints.get(i);
+            }
+        } else if (data instanceof ShortBuffer) {
+            ShortBuffer shorts = (ShortBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + shorts.get(i);
+            }
+        } else if (data instanceof ByteBuffer) {
+            ByteBuffer bytes = (ByteBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + bytes.get(i);
+            }
+        } else {
+            throw new IllegalArgumentException(data.getClass().getName());
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate a checksum of the mesh data that the generated shapes depend
+     * on.
+     *
+     * @param mesh the mesh to read (not null, unaffected)
+     * @return the checksum
+     */
+    private static long checksum(Mesh mesh) {
+        long result = mesh.getMode().ordinal();
+        VertexBuffer positions = mesh.getBuffer(VertexBuffer.Type.Position);
+        if (positions != null) {
+            result = checksum(result, positions.getData());
+        }
+        VertexBuffer indices = mesh.getBuffer(VertexBuffer.Type.Index);
+        if (indices != null) {
+            result = checksum(result, indices.getData());
+        }
+
+        return result;
+    }
+
+    /**
+     * Copy the specified buffer of a mesh to a new mesh, sharing its content
+     * but with an independent position and limit.
+     *
+     * @param mesh the mesh to read (not null, unaffected)
+     * @param type which buffer to copy (not null)
+     * @param storeResult the mesh to add the copy to (not null, modified)
+     */
+    private static void copyView(
+            Mesh mesh, VertexBuffer.Type type, Mesh storeResult) {
+        VertexBuffer original = mesh.getBuffer(type);
+        if (original == null) {
+            return;
+        }
+
+        Buffer data = original.getData();
+        Buffer duplicate;
+        if (data instanceof FloatBuffer) {
+            duplicate = ((FloatBuffer) data).duplicate();
+        } else if (data instanceof IntBuffer) {
+            duplicate = ((IntBuffer) data).duplicate();
+        } else if (data instanceof ShortBuffer) {
+            duplicate = ((ShortBuffer) data).duplicate();
+        } else if (data instanceof ByteBuffer) {
+            duplicate = ((ByteBuffer) data).duplicate();
+        } else {
+            throw new IllegalArgumentException(data.getClass().getName());
+        }
+
+        VertexBuffer copy = new VertexBuffer(type);
+        copy.setupData(original.getUsage(), original.getNumComponents(),
+                original.getFormat(), duplicate);
+        storeResult.setBuffer(copy);
+    }
+
+    /**
+     * Enumerate the distinct vertex locations of the specified mesh.
+     *
+     * @param mesh the mesh to read (not null, unaffected)
+     * @return a new array of mesh coordinates (not null)
+     */
+    private static float[] listLocations(Mesh mesh) {
+        FloatBuffer positions = mesh.getFloatBuffer(VertexBuffer.Type.Position);
+        int numFloats = positions.limit();
+        LocationSet locations = new LocationSet(numFloats / 3);
+        for (int floatIndex = 0; floatIndex + 2 < numFloats; floatIndex += 3) {
+            float x = positions.get(floatIndex);
+            float y = positions.get(floatIndex + 1);
+            float z = positions.get(floatIndex + 2);
+            locations.add(x, y, z);
+        }
+        float[] result = locations.toArray();
+
+        return result;
+    }
+
+    /**
+     * Test whether the specified mesh has exactly the data this build was
+     * generated from.
+     *
+     * @param mesh the mesh to compare (not null, unaffected)
+     * @return true if the data are equal, otherwise false
+     */
+    private boolean matches(Mesh mesh) {
+        assert isBuilt();
+
+        if (mesh.getMode() != mode) {
+            return false;
+        }
+
+        VertexBuffer positions = mesh.getBuffer(VertexBuffer.Type.Position);
+        if (positions == null || positionData == null) {
+            if (positions != null || positionData != null) {
+                return false;
+            }
+        } else {
+            FloatBuffer floats = (FloatBuffer) positions.getData();
+            if (floats.limit() != positionData.length) {
+                return false;
+            }
+            for (int i = 0; i < positionData.length; ++i) {
+                if (Float.floatToIntBits(floats.get(i))
+                        != Float.floatToIntBits(positionData[i])) {
+                    return false;
+                }
+            }
+        }
+
+        VertexBuffer indices = mesh.getBuffer(VertexBuffer.Type.Index);
+        if (indices == null || indexData == null) {
+            if (indices != null || indexData != null) {
+                return false;
+            }
+        } else {
+            Buffer buffer = indices.getData();
+            if (buffer.limit() != indexData.length) {
+                return false;
+            }
+            for (int i = 0; i < indexData.length; ++i) {
+                if (readIndex(buffer, i) != indexData[i]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Read an index from the specified position in an index buffer.
+     *
+     * @param buffer the buffer to read (not null, unaffected)
+     * @param position the position to read (&ge;0)
+     * @return the index (&ge;0)
+     */
+    private static int readIndex(Buffer buffer, int position) {
+        int result;
+        if (buffer instanceof ByteBuffer) {
+            result = 0xff & ((ByteBuffer) buffer).get(position);
+        } else if (buffer instanceof ShortBuffer) {
+            result = 0xffff & ((ShortBuffer) buffer).get(position);
+        } else {
+            result = ((IntBuffer) buffer).get(position);
+        }
+
+        return result;
+    }
+
+    /**
+     * Create a mesh with private views of the position and index buffers of
+     * the specified mesh, so that the worker threads can read the data
+     * without disturbing the positions of the original buffers.
+     *
+     * @param mesh the mesh to read (not null, unaffected)
+     * @return a new mesh that shares the buffer content of the original
+     */
+    private static Mesh makeView(Mesh mesh) {
+        Mesh result = new Mesh();
+        result.setMode(mesh.getMode());
+        if (mesh.getMode() == Mesh.Mode.Hybrid) {
+            result.setModeStart(mesh.getModeStart());
+            result.setElementLengths(mesh.getElementLengths());
+        }
+        copyView(mesh, VertexBuffer.Type.Position, result);
+        copyView(mesh, VertexBuffer.Type.Index, result);
+
+        return result;
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.DesktopAssetManager;
+import com.jme3.asset.plugins.ClasspathLocator;
+import com.jme3.asset.plugins.FileLocator;
+import com.jme3.asset.plugins.UrlLocator;
+import com.jme3.asset.plugins.ZipLocator;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.plugins.bvh.BVHLoader;
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.MyString;
+import maud.CheckLoaded;
+import maud.Maud;
+import maud.model.EditorModel;
+import net.bithaven.jme.IQELoader;
+
+/**
+ * A C-G model load in progress on a background thread. At most one load is in
+ * progress at a time.
+ * <p>
+ * The asset is loaded and checked by a worker thread, after which the loaded
+ * C-G model is handed to the JME thread, which installs it in the destination
+ * slot. The worker uses a private asset manager with its own locators, so
+ * the JME thread remains free to use the shared locators and asset cache
+ * while the load is in progress. The asset loaders don't report their
+ * progress, so the load can only be described by how long it has been
+ * running. Likewise, a load can't be interrupted once started: cancelling it
+ * merely discards the result.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PendingLoad implements Runnable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(PendingLoad.class.getName());
+    /**
+     * worker thread that loads C-G models
+     */
+    final private static ExecutorService worker
+            = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread result = new Thread(runnable, "model loader");
+                    result.setDaemon(true);
+                    return result;
+                }
+            });
+    /**
+     * the load in progress, or null if none
+     */
+    private static PendingLoad active = null;
+    // *************************************************************************
+    // fields
+
+    /**
+     * URL specifications of the locations to search, in order of precedence
+     * (not null, may contain null for the default location)
+     */
+    final private Set<String> specs;
+    /**
+     * the key of the asset being loaded (not null)
+     */
+    final private AssetKey key;
+    /**
+     * true to write load diagnostics to the console
+     */
+    final private boolean diagnose;
+    /**
+     * true once the load has been cancelled
+     */
+    private volatile boolean cancelled = false;
+    /**
+     * true if the destination is the target slot, false if it's the source
+     * slot (The slot itself isn't retained, since undo/redo replaces the
+     * live MVC model while the load is in progress.)
+     */
+    final private boolean isTarget;
+    /**
+     * starting time (from {@link System#nanoTime()})
+     */
+    final private long startTime;
+    /**
+     * name to record on completion, or null to use the name of the loaded
+     * spatial
+     */
+    final private String cgmName;
+    /**
+     * asset-root path to record on completion, or null to use the locators'
+     * root path
+     */
+    final private String rootPath;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a load. Invoked only by
+     * {@link #start(maud.model.cgm.LoadedCgm, java.util.Collection,
+     * com.jme3.asset.AssetKey, java.lang.String, java.lang.String, boolean)}.
+     */
+    private PendingLoad(LoadedCgm slot, Collection<String> specs,
+            AssetKey key, String rootPath, String cgmName, boolean diagnose) {
+        this.isTarget = (slot == Maud.getModel().getTarget());
+        this.specs = new LinkedHashSet<>(specs);
+        this.key = key;
+        this.rootPath = rootPath;
+        this.cgmName = cgmName;
+        this.diagnose = diagnose;
+        this.startTime = System.nanoTime();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Cancel the load in progress, if any. Its result will be discarded.
+     */
+    public static void cancel() {
+        if (active != null && !active.cancelled) {
+            active.cancelled = true;
+            logger.log(Level.INFO, "Cancelled loading {0}",
+                    MyString.quote(active.getAssetPath()));
+        }
+    }
+
+    /**
+     * Describe the load in progress, for display in the CgmTool.
+     *
+     * @return a textual description, or "" if no load is in progress (not
+     * null)
+     */
+    public static String describe() {
+        String result;
+        if (active == null) {
+            result = "";
+        } else {
+            double seconds = 1e-9 * (System.nanoTime() - active.startTime);
+            String slotName = active.isTarget ? "target" : "source";
+            String status = active.cancelled ? "cancelling" : "loading";
+            result = String.format("%s %s %s  (%.1f sec)", status, slotName,
+                    MyString.quote(active.getAssetPath()), seconds);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the asset path of the asset being loaded.
+     *
+     * @return the path (not null, not empty)
+     */
+    String getAssetPath() {
+        String result = key.getName();
+        return result;
+    }
+
+    /**
+     * Read the name to record on completion.
+     *
+     * @return the name, or null to use the name of the loaded spatial
+     */
+    String getCgmName() {
+        return cgmName;
+    }
+
+    /**
+     * Access the key of the asset being loaded.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    AssetKey getKey() {
+        assert key != null;
+        return key;
+    }
+
+    /**
+     * Read the asset-root path to record on completion.
+     *
+     * @return the path, or null to use the locators' root path
+     */
+    String getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * Test whether a load is in progress, including one that's been
+     * cancelled but hasn't finished yet.
+     *
+     * @return true if in progress, otherwise false
+     */
+    public static boolean isActive() {
+        if (active == null) {
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Test whether the load in progress (if any) has been cancelled.
+     *
+     * @return true if cancelled, otherwise false
+     */
+    public static boolean isCancelled() {
+        if (active == null) {
+            return false;
+        } else {
+            return active.cancelled;
+        }
+    }
+
+    /**
+     * Refuse a load request because another load is in progress.
+     */
+    static void refuse() {
+        assert active != null;
+
+        String message = String.format("still loading %s",
+                MyString.quote(active.getAssetPath()));
+        Maud.getModel().getMisc().setStatusMessage(message);
+    }
+
+    /**
+     * Start loading the specified asset in the background.
+     *
+     * @param slot the destination slot (not null)
+     * @param specs URL specifications of the locations to search, in order of
+     * precedence (not null, unaffected, may contain null for the default
+     * location)
+     * @param key the key of the asset to load (not null)
+     * @param rootPath the asset-root path to record, or null to use the
+     * locators' root path
+     * @param cgmName the name to record, or null to use the name of the loaded
+     * spatial
+     * @param diagnose true&rarr;messages to console, false&rarr;no messages
+     */
+    static void start(LoadedCgm slot, Collection<String> specs, AssetKey key,
+            String rootPath, String cgmName, boolean diagnose) {
+        assert active == null;
+        assert slot != null;
+        assert specs != null;
+        assert key != null;
+
+        active = new PendingLoad(
+                slot, specs, key, rootPath, cgmName, diagnose);
+        worker.execute(active);
+    }
+    // *************************************************************************
+    // Runnable methods
+
+    /**
+     * Load and check the asset on the worker thread, then hand the result to
+     * the JME thread.
+     */
+    @Override
+    public void run() {
+        Spatial loaded = null;
+        try {
+            if (!cancelled) {
+                AssetManager assetManager = newAssetManager();
+                loaded = LoadedCgm.loadKey(assetManager, key, diagnose);
+            }
+            if (loaded != null && !cancelled) {
+                CheckLoaded.cgm(loaded);
+            }
+        } catch (RuntimeException exception) {
+            logger.log(Level.SEVERE, "Exception while loading "
+                    + MyString.quote(getAssetPath()), exception);
+            loaded = null;
+
+        } finally {
+            final Spatial result = loaded;
+            Maud.getApplication().enqueue(new Runnable() {
+                @Override
+                public void run() {
+                    complete(result);
+                }
+            });
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Create an asset manager for this load, with the same loaders as the
+     * shared one and with locators for the specified locations only. Its
+     * cache starts empty, so every asset is loaded fresh from persistent
+     * storage.
+     *
+     * @return a new instance
+     */
+    private AssetManager newAssetManager() {
+        AssetManager result = new DesktopAssetManager(true);
+        result.registerLoader(BVHLoader.class, "bvh", "BVH");
+        result.registerLoader(IQELoader.class, "iqe");
+
+        for (String spec : specs) {
+            if (spec == null) {
+                result.registerLocator("/", ClasspathLocator.class);
+
+            } else if (spec.startsWith("file:///")) {
+                String rootPath = MyString.remainder(spec, "file:///");
+                if (new File(rootPath).isDirectory()) {
+                    result.registerLocator(rootPath, FileLocator.class);
+                } else {
+                    result.registerLocator(rootPath, ZipLocator.class);
+                }
+
+            } else {
+                result.registerLocator(spec, UrlLocator.class);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Complete the load on the JME thread.
+     *
+     * @param loaded the loaded and checked C-G model, or null if the asset had
+     * errors
+     */
+    private void complete(Spatial loaded) {
+        assert active == this;
+
+        active = null;
+        EditorModel model = Maud.getModel();
+        LoadedCgm slot = isTarget ? model.getTarget() : model.getSource();
+        slot.completeAsyncLoad(this, loaded, cancelled);
+        long nanoseconds = System.nanoTime() - startTime;
+        logger.log(Level.INFO, "{0} {1} after {2} msec", new Object[]{
+            cancelled ? "Discarded" : "Completed",
+            MyString.quote(getAssetPath()), nanoseconds / 1_000_000L
+        });
+    }
+}
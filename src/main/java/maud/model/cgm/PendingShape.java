@@ -0,0 +1,618 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.bullet.collision.shapes.CollisionShape;
+import com.jme3.bullet.collision.shapes.CompoundCollisionShape;
+import com.jme3.bullet.collision.shapes.HullCollisionShape;
+import com.jme3.bullet.control.PhysicsControl;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.UserData;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.MyString;
+import jme3utilities.math.MyMath;
+import maud.Maud;
+import maud.ShapeType;
+
+/**
+ * A collision-shape generation in progress on a background thread, for a new
+ * physics control. At most one generation is in progress at a time.
+ * <p>
+ * Only the mesh-based shape types (Hull, CompoundOfHulls, and
+ * CompoundOfMeshes) are generated this way. The JME thread snapshots the
+ * transforms of the geometries in the subtree, after which a worker thread
+ * builds the data for each distinct mesh in parallel on the common fork-join
+ * pool, assembles the shape, and hands it to the JME thread, which adds the
+ * control.
+ * <p>
+ * The data built for each mesh are cached, keyed on mesh identity and shape
+ * type, along with the revision of the C-G model and a checksum of the mesh
+ * data. Data cached at the current revision are reused outright; older data
+ * are reused if the checksum still matches, so switching control types or
+ * re-adding a deleted control doesn't rebuild anything.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PendingShape implements Runnable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(PendingShape.class.getName());
+    /**
+     * worker thread that assembles collision shapes
+     */
+    final private static ExecutorService worker
+            = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread result = new Thread(runnable, "shape generator");
+                    result.setDaemon(true);
+                    return result;
+                }
+            });
+    /**
+     * results of completed builds, for reuse (accessed only on the JME
+     * thread)
+     */
+    final private static Map<Mesh, Map<ShapeType, MeshShape>> cache
+            = new WeakHashMap<>(16);
+    /**
+     * the generation in progress, or null if none
+     */
+    private static PendingShape active = null;
+    // *************************************************************************
+    // fields
+
+    /**
+     * number of meshes built or reused so far
+     */
+    final private AtomicInteger numBuilt = new AtomicInteger(0);
+    /**
+     * true if the subtree is a single geometry and a compound shape type was
+     * requested (CollisionShapeFactory returns a non-compound shape in that
+     * case)
+     */
+    final private boolean isSingle;
+    /**
+     * true once the generation has been cancelled
+     */
+    private volatile boolean cancelled = false;
+    /**
+     * type of control to add on completion (not null)
+     */
+    final private Class<? extends PhysicsControl> controlClass;
+    /**
+     * number of meshes whose cached data were valid at the start
+     */
+    private int numCached = 0;
+    /**
+     * index of the mesh for each placement (not null)
+     */
+    final private int[] placementMeshes;
+    /**
+     * revision of the target C-G model when the generation started
+     */
+    final private long revision;
+    /**
+     * starting time (from {@link System#nanoTime()})
+     */
+    final private long startTime;
+    /**
+     * the distinct meshes, which serve as cache keys (not null)
+     */
+    final private Mesh[] meshes;
+    /**
+     * the build for each distinct mesh (not null, same length as meshes)
+     */
+    final private MeshShape[] meshShapes;
+    /**
+     * type of shape to generate (not null)
+     */
+    final private ShapeType shapeType;
+    /**
+     * the subtree to generate a shape for (not null)
+     */
+    final private Spatial subtree;
+    /**
+     * transform for each placement: relative to the subtree for a compound,
+     * mesh-to-world (or null for identity) for a Hull (not null)
+     */
+    final private Transform[] placementTransforms;
+    /**
+     * world-to-subtree transform (for a Hull) or null
+     */
+    final private Transform worldToLocal;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a generation. Invoked only by
+     * {@link #start(com.jme3.scene.Spatial, maud.ShapeType, java.lang.Class,
+     * long)}.
+     */
+    private PendingShape(Spatial subtree, ShapeType shapeType,
+            Class<? extends PhysicsControl> controlClass, long revision) {
+        this.subtree = subtree;
+        this.shapeType = shapeType;
+        this.controlClass = controlClass;
+        this.revision = revision;
+
+        List<Mesh> meshList = new ArrayList<>(8);
+        List<MeshShape> shapeList = new ArrayList<>(8);
+        List<Integer> indexList = new ArrayList<>(8);
+        List<Transform> transformList = new ArrayList<>(8);
+        Map<Mesh, Integer> meshIndices = new IdentityHashMap<>(8);
+
+        if (shapeType == ShapeType.Hull) {
+            this.isSingle = false;
+            this.worldToLocal = subtree.getWorldTransform().invert();
+            List<Geometry> geometries = new ArrayList<>(8);
+            listHullGeometries(subtree, geometries);
+            for (Geometry geometry : geometries) {
+                Transform meshToWorld = null;
+                if (!geometry.isIgnoreTransform()) {
+                    meshToWorld = geometry.getWorldTransform().clone();
+                }
+                addPlacement(geometry.getMesh(), meshToWorld, meshList,
+                        shapeList, indexList, transformList, meshIndices);
+            }
+
+        } else {
+            this.worldToLocal = null;
+            List<Geometry> geometries = new ArrayList<>(8);
+            if (subtree instanceof Geometry) {
+                this.isSingle = true;
+                geometries.add((Geometry) subtree);
+            } else {
+                this.isSingle = false;
+                listCompoundGeometries((Node) subtree, geometries);
+            }
+            for (Geometry geometry : geometries) {
+                Transform relative = relativeTransform(geometry, subtree);
+                addPlacement(geometry.getMesh(), relative, meshList,
+                        shapeList, indexList, transformList, meshIndices);
+            }
+        }
+
+        int numMeshes = meshList.size();
+        this.meshes = meshList.toArray(new Mesh[numMeshes]);
+        this.meshShapes = shapeList.toArray(new MeshShape[numMeshes]);
+
+        int numPlacements = indexList.size();
+        this.placementMeshes = new int[numPlacements];
+        for (int i = 0; i < numPlacements; ++i) {
+            placementMeshes[i] = indexList.get(i);
+        }
+        this.placementTransforms
+                = transformList.toArray(new Transform[numPlacements]);
+
+        this.startTime = System.nanoTime();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Cancel the generation in progress, if any. Its result will be
+     * discarded.
+     */
+    public static void cancel() {
+        if (active != null && !active.cancelled) {
+            active.cancelled = true;
+            logger.log(Level.INFO, "Cancelled generating a {0} shape",
+                    active.shapeType);
+        }
+    }
+
+    /**
+     * Count one more mesh built or reused. Invoked on worker threads.
+     */
+    void countBuilt() {
+        numBuilt.incrementAndGet();
+    }
+
+    /**
+     * Describe the generation in progress, for display in the CgmTool.
+     *
+     * @return a textual description, or "" if no generation is in progress
+     * (not null)
+     */
+    public static String describe() {
+        String result;
+        if (active == null) {
+            result = "";
+        } else {
+            double seconds = 1e-9 * (System.nanoTime() - active.startTime);
+            String status = active.cancelled ? "cancelling" : "generating";
+            result = String.format("%s %s shape for a %s: %d of %d meshes"
+                    + "  (%.1f sec)", status, active.shapeType,
+                    active.controlClass.getSimpleName(),
+                    active.numBuilt.get(), active.meshes.length, seconds);
+        }
+
+        return result;
+    }
+
+    /**
+     * Test whether a generation is in progress, including one that's been
+     * cancelled but hasn't finished yet.
+     *
+     * @return true if in progress, otherwise false
+     */
+    public static boolean isActive() {
+        if (active == null) {
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Test whether the generation in progress (if any) has been cancelled.
+     *
+     * @return true if cancelled, otherwise false
+     */
+    public static boolean isCancelled() {
+        if (active == null) {
+            return false;
+        } else {
+            return active.cancelled;
+        }
+    }
+
+    /**
+     * Test whether the specified type of shape is generated in the
+     * background.
+     *
+     * @param shapeType the type of shape (not null)
+     * @return true if generated by this class, otherwise false
+     */
+    static boolean isGenerated(ShapeType shapeType) {
+        switch (shapeType) {
+            case CompoundOfHulls:
+            case CompoundOfMeshes:
+            case Hull:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Refuse a request because another generation is in progress.
+     */
+    static void refuse() {
+        assert active != null;
+
+        String message = String.format("still generating a %s shape",
+                active.shapeType);
+        Maud.getModel().getMisc().setStatusMessage(message);
+    }
+
+    /**
+     * Start generating a shape for the specified subtree in the background.
+     *
+     * @param subtree the subtree to generate a shape for (not null)
+     * @param shapeType the type of shape (not null)
+     * @param controlClass the type of control to add on completion (not null)
+     * @param revision the current revision of the target C-G model
+     */
+    static void start(Spatial subtree, ShapeType shapeType,
+            Class<? extends PhysicsControl> controlClass, long revision) {
+        assert active == null;
+        assert subtree != null;
+        assert isGenerated(shapeType) : shapeType;
+        assert controlClass != null;
+
+        active = new PendingShape(subtree, shapeType, controlClass, revision);
+        worker.execute(active);
+    }
+    // *************************************************************************
+    // Runnable methods
+
+    /**
+     * Build the mesh data in parallel and assemble the shape on the worker
+     * thread, then hand the result to the JME thread.
+     */
+    @Override
+    public void run() {
+        CollisionShape shape = null;
+        try {
+            int numMeshes = meshShapes.length;
+            if (numMeshes > 0 && !cancelled) {
+                ShapeBuildTask task
+                        = new ShapeBuildTask(this, meshShapes, 0, numMeshes);
+                ForkJoinPool.commonPool().invoke(task);
+            }
+            if (!cancelled) {
+                shape = assemble();
+            }
+        } catch (RuntimeException exception) {
+            logger.log(Level.SEVERE, "Exception while generating a "
+                    + shapeType + " shape", exception);
+            shape = null;
+
+        } finally {
+            final CollisionShape result = shape;
+            Maud.getApplication().enqueue(new Runnable() {
+                @Override
+                public void run() {
+                    complete(result);
+                }
+            });
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add a placement of the specified mesh, creating or reusing a build for
+     * it if it's new to this generation. Invoked by the constructor.
+     */
+    private void addPlacement(Mesh mesh, Transform transform,
+            List<Mesh> meshList, List<MeshShape> shapeList,
+            List<Integer> indexList, List<Transform> transformList,
+            Map<Mesh, Integer> meshIndices) {
+        if (mesh == null) {
+            return;
+        }
+
+        Integer meshIndex = meshIndices.get(mesh);
+        if (meshIndex == null) {
+            MeshShape previous = null;
+            Map<ShapeType, MeshShape> map = cache.get(mesh);
+            if (map != null) {
+                previous = map.get(shapeType);
+            }
+
+            MeshShape meshShape;
+            if (previous != null && previous.isValid(shapeType, revision)) {
+                meshShape = previous;
+                ++numCached;
+            } else {
+                meshShape = new MeshShape(mesh, shapeType, revision, previous);
+            }
+
+            meshIndex = meshList.size();
+            meshIndices.put(mesh, meshIndex);
+            meshList.add(mesh);
+            shapeList.add(meshShape);
+        }
+
+        indexList.add(meshIndex);
+        transformList.add(transform);
+    }
+
+    /**
+     * Assemble the shape from the mesh data. Invoked on the worker thread.
+     *
+     * @return a new shape, or null if the subtree yields no shape
+     */
+    private CollisionShape assemble() {
+        int numPlacements = placementMeshes.length;
+        CollisionShape result = null;
+
+        if (shapeType == ShapeType.Hull) {
+            int numLocations = 0;
+            for (int meshIndex : placementMeshes) {
+                numLocations += meshShapes[meshIndex].getLocations().length;
+            }
+            if (numLocations > 0) {
+                LocationSet vertexLocations
+                        = new LocationSet(numLocations / 3);
+                Vector3f tempLocation = new Vector3f();
+                for (int i = 0; i < numPlacements; ++i) {
+                    int meshIndex = placementMeshes[i];
+                    float[] locations = meshShapes[meshIndex].getLocations();
+                    Transform meshToWorld = placementTransforms[i];
+                    for (int j = 0; j < locations.length; j += 3) {
+                        tempLocation.set(locations[j], locations[j + 1],
+                                locations[j + 2]);
+                        if (meshToWorld != null) {
+                            meshToWorld.transformVector(
+                                    tempLocation, tempLocation);
+                        }
+                        // Transform to de-scaled shape coordinates.
+                        MyMath.transform(
+                                worldToLocal, tempLocation, tempLocation);
+                        vertexLocations.add(tempLocation);
+                    }
+                }
+                FloatBuffer buffer = vertexLocations.toBuffer();
+                result = new HullCollisionShape(buffer);
+            }
+
+        } else if (isSingle) {
+            if (numPlacements == 1) {
+                result = meshShapes[placementMeshes[0]].copyShape();
+                if (result != null) {
+                    result.setScale(placementTransforms[0].getScale());
+                }
+            }
+
+        } else {
+            CompoundCollisionShape compound = new CompoundCollisionShape();
+            for (int i = 0; i < numPlacements; ++i) {
+                int meshIndex = placementMeshes[i];
+                CollisionShape child = meshShapes[meshIndex].copyShape();
+                if (child != null) {
+                    Transform relative = placementTransforms[i];
+                    child.setScale(relative.getScale());
+                    compound.addChildShape(child, relative);
+                }
+            }
+            result = compound;
+        }
+
+        return result;
+    }
+
+    /**
+     * Complete the generation on the JME thread.
+     *
+     * @param shape the generated shape, or null if none was generated
+     */
+    private void complete(CollisionShape shape) {
+        assert active == this;
+
+        active = null;
+        EditableCgm target = Maud.getModel().getTarget();
+        boolean unedited = (target.getEditState().revision() == revision);
+        int numReused = numCached;
+        if (unedited) {
+            // The mesh data didn't change during the build, so cache it.
+            for (int i = 0; i < meshes.length; ++i) {
+                MeshShape meshShape = meshShapes[i];
+                if (meshShape.isBuilt()) {
+                    Map<ShapeType, MeshShape> map = cache.get(meshes[i]);
+                    if (map == null) {
+                        map = new EnumMap<>(ShapeType.class);
+                        cache.put(meshes[i], map);
+                    }
+                    MeshShape old = map.put(shapeType, meshShape);
+                    if (old != meshShape && meshShape.isReused()) {
+                        ++numReused;
+                    }
+                }
+            }
+        }
+
+        String controlName = controlClass.getSimpleName();
+        String message = "";
+        if (cancelled) {
+            // discard silently
+        } else if (shape == null) {
+            message = String.format("failed to generate a %s shape for %s",
+                    shapeType, MyString.quote(subtree.getName()));
+        } else if (!unedited) {
+            message = String.format(
+                    "discarded the new %s: the model was edited", controlName);
+        } else if (target.getSpatial().find() != subtree) {
+            message = String.format(
+                    "discarded the new %s: the selected spatial changed",
+                    controlName);
+        } else {
+            target.getSpatial().addPhysicsControl(controlClass, shape);
+        }
+        if (!message.isEmpty()) {
+            Maud.getModel().getMisc().setStatusMessage(message);
+        }
+
+        long nanoseconds = System.nanoTime() - startTime;
+        logger.log(Level.INFO, "{0} {1} shape after {2} msec, reused {3} of "
+                + "{4} meshes", new Object[]{
+                    cancelled ? "Discarded" : "Generated", shapeType,
+                    nanoseconds / 1_000_000L, numReused, meshes.length
+                });
+    }
+
+    /**
+     * Enumerate the geometries that contribute to a compound shape, in the
+     * same order as CollisionShapeFactory, skipping subtrees marked to be
+     * ignored by physics.
+     *
+     * @param node the node to traverse (not null)
+     * @param addResult storage for the results (not null, added to)
+     */
+    private static void listCompoundGeometries(
+            Node node, List<Geometry> addResult) {
+        for (Spatial child : node.getChildren()) {
+            Boolean ignore = child.getUserData(UserData.JME_PHYSICSIGNORE);
+            if (ignore != null && ignore) {
+                continue;
+            }
+            if (child instanceof Node) {
+                listCompoundGeometries((Node) child, addResult);
+            } else if (child instanceof Geometry) {
+                addResult.add((Geometry) child);
+            }
+        }
+    }
+
+    /**
+     * Enumerate the geometries that contribute to a Hull shape, in the same
+     * order as MyMesh.listVertexLocations().
+     *
+     * @param spatial the subtree to traverse (not null)
+     * @param addResult storage for the results (not null, added to)
+     */
+    private static void listHullGeometries(
+            Spatial spatial, List<Geometry> addResult) {
+        if (spatial instanceof Geometry) {
+            addResult.add((Geometry) spatial);
+        } else if (spatial instanceof Node) {
+            for (Spatial child : ((Node) spatial).getChildren()) {
+                listHullGeometries(child, addResult);
+            }
+        }
+    }
+
+    /**
+     * Calculate the transform of a geometry relative to the subtree, in the
+     * same way as CollisionShapeFactory.
+     *
+     * @param geometry the geometry (not null, unaffected)
+     * @param subtree the root of the subtree (not null, unaffected)
+     * @return a new transform
+     */
+    private static Transform relativeTransform(
+            Geometry geometry, Spatial subtree) {
+        Transform result = new Transform();
+        for (Spatial spatial = geometry; spatial != subtree;
+                spatial = spatial.getParent()) {
+            MyMath.combine(result, spatial.getLocalTransform(), result);
+        }
+
+        Transform subtreeScale = new Transform();
+        subtreeScale.setScale(subtree.getLocalScale());
+        MyMath.combine(result, subtreeScale, result);
+
+        return result;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.export.JmeExporter;
+import com.jme3.scene.Spatial;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Heart;
+import jme3utilities.MyString;
+import jme3utilities.Validate;
+import maud.Maud;
+
+/**
+ * A C-G model export in progress on a background thread.
+ * <p>
+ * The JME thread snapshots the subtree to be written, so editing can continue
+ * while a worker thread serializes the snapshot. The worker writes to a
+ * temporary file in the destination folder and then renames it into place, so
+ * a crash or I/O error never leaves a truncated file behind. The outcome is
+ * handed back to the JME thread, which updates the origin information and
+ * edit status of the target.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PendingWrite implements Runnable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(PendingWrite.class.getName());
+    /**
+     * worker thread that serializes exports, in order of submission
+     */
+    final private static ExecutorService worker
+            = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread result = new Thread(runnable, "model writer");
+                    result.setDaemon(true);
+                    return result;
+                }
+            });
+    /**
+     * number of exports submitted but not yet completed on the JME thread
+     */
+    private static int numPending = 0;
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the snapshot includes the entire C-G model
+     */
+    final private boolean wroteEntireCgm;
+    /**
+     * output format (not null)
+     */
+    final private CgmOutputFormat format;
+    /**
+     * destination file (not null)
+     */
+    final private File file;
+    /**
+     * revision of the target's edit state when the snapshot was taken
+     */
+    final private long revision;
+    /**
+     * starting time (from {@link System#nanoTime()})
+     */
+    final private long startTime;
+    /**
+     * copy of the subtree to write (not null, not attached to any scene)
+     */
+    final private Spatial snapshot;
+    /**
+     * destination file path without any extension (not null, not empty)
+     */
+    final private String baseFilePath;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an export. Invoked only by
+     * {@link #start(com.jme3.scene.Spatial, boolean,
+     * maud.model.cgm.CgmOutputFormat, java.lang.String, java.io.File,
+     * long)}.
+     */
+    private PendingWrite(Spatial subtree, boolean wroteEntireCgm,
+            CgmOutputFormat format, String baseFilePath, File file,
+            long revision) {
+        this.startTime = System.nanoTime();
+        this.snapshot = Heart.deepCopy(subtree);
+        this.wroteEntireCgm = wroteEntireCgm;
+        this.format = format;
+        this.baseFilePath = baseFilePath;
+        this.file = file;
+        this.revision = revision;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Stop accepting exports and wait for those already submitted to be
+     * written. Invoked when the application is exiting, since the worker is a
+     * daemon thread that would otherwise be killed mid-write.
+     *
+     * @param timeoutSeconds the maximum time to wait (in seconds, &ge;0)
+     * @return true if every export was written, false if the wait timed out
+     * or was interrupted
+     */
+    public static boolean awaitPending(int timeoutSeconds) {
+        Validate.nonNegative(timeoutSeconds, "timeout");
+
+        worker.shutdown();
+        boolean result;
+        try {
+            result = worker.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            result = false;
+        }
+        if (!result) {
+            logger.log(Level.SEVERE,
+                    "Exiting before every model export was written.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Count the exports that haven't completed yet.
+     *
+     * @return the count (&ge;0)
+     */
+    public static int countPending() {
+        assert numPending >= 0 : numPending;
+        return numPending;
+    }
+
+    /**
+     * Snapshot the specified subtree and start writing it in the background.
+     *
+     * @param subtree the subtree to write (not null, unaffected)
+     * @param wroteEntireCgm true if the subtree is the entire C-G model
+     * @param format the output format (not null)
+     * @param baseFilePath file path without any extension (not null, not
+     * empty)
+     * @param file the destination file (not null)
+     * @param revision the revision of the target's edit state
+     */
+    static void start(Spatial subtree, boolean wroteEntireCgm,
+            CgmOutputFormat format, String baseFilePath, File file,
+            long revision) {
+        assert subtree != null;
+        assert format != null;
+        assert baseFilePath != null;
+        assert !baseFilePath.isEmpty();
+        assert file != null;
+
+        PendingWrite export = new PendingWrite(
+                subtree, wroteEntireCgm, format, baseFilePath, file, revision);
+        ++numPending;
+        worker.execute(export);
+    }
+
+    /**
+     * Write the specified spatial to a temporary file in the destination's
+     * folder, then rename it into place, replacing any existing file.
+     *
+     * @param exporter the exporter to use (not null)
+     * @param spatial the spatial to write (not null)
+     * @param file the destination file (not null)
+     * @return the number of bytes written (&ge;0)
+     * @throws IOException if the spatial couldn't be written
+     */
+    public static long write(JmeExporter exporter, Spatial spatial,
+            File file) throws IOException {
+        Validate.nonNull(exporter, "exporter");
+        Validate.nonNull(spatial, "spatial");
+        Validate.nonNull(file, "file");
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        File tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            exporter.save(spatial, tempFile);
+            long result = tempFile.length();
+
+            Path source = tempFile.toPath();
+            Path destination = file.toPath();
+            try {
+                Files.move(source, destination,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(source, destination,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return result;
+
+        } finally {
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+    // *************************************************************************
+    // Runnable methods
+
+    /**
+     * Serialize the snapshot on the worker thread, then hand the outcome to
+     * the JME thread.
+     */
+    @Override
+    public void run() {
+        long numBytes = -1L;
+        try {
+            JmeExporter exporter = format.getExporter();
+            numBytes = write(exporter, snapshot, file);
+        } catch (IOException | RuntimeException exception) {
+            logger.log(Level.SEVERE, "Exception while writing model to file "
+                    + MyString.quote(Heart.fixedPath(file)), exception);
+            numBytes = -1L;
+
+        } finally {
+            final long bytesWritten = numBytes;
+            Maud.getApplication().enqueue(new Runnable() {
+                @Override
+                public void run() {
+                    complete(bytesWritten);
+                }
+            });
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Complete the export on the JME thread.
+     *
+     * @param numBytes the number of bytes written, or -1 if unsuccessful
+     */
+    private void complete(long numBytes) {
+        assert numPending > 0 : numPending;
+        --numPending;
+
+        String quotedPath = MyString.quote(Heart.fixedPath(file));
+        long milliseconds = (System.nanoTime() - startTime) / 1_000_000L;
+        boolean success = (numBytes >= 0L);
+        if (success) {
+            logger.log(Level.INFO,
+                    "Wrote model to file {0} ({1} bytes in {2} msec)",
+                    new Object[]{quotedPath, numBytes, milliseconds});
+        } else {
+            String message = "failed to write " + quotedPath;
+            Maud.getModel().getMisc().setStatusMessage(message);
+        }
+
+        if (success) {
+            EditableCgm target = Maud.getModel().getTarget();
+            target.postWrite(format, baseFilePath, file, wroteEntireCgm,
+                    revision);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.math.Transform;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import jme3utilities.wes.Pose;
+
+/**
+ * A bounded cache of retargeted poses, evicting the least recently used pose
+ * when full. Each pose is stored as an array of user transforms, indexed by
+ * target bone.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class RetargetCache {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * maximum number of poses to retain
+     */
+    final private static int maxPoses = 64;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(RetargetCache.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * cached poses in access order, least recently used first
+     */
+    final private Map<RetargetKey, Transform[]> poses
+            = new LinkedHashMap<RetargetKey, Transform[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<RetargetKey, Transform[]> eldest) {
+            return size() > maxPoses;
+        }
+    };
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Apply the cached pose with the specified key, if any.
+     *
+     * @param key the key of the desired pose (not null, unaffected)
+     * @param pose the pose to modify (not null)
+     * @return true if the pose was found and applied, otherwise false
+     */
+    boolean apply(RetargetKey key, Pose pose) {
+        assert key != null;
+
+        Transform[] transforms = poses.get(key);
+        if (transforms == null || transforms.length != pose.countBones()) {
+            return false;
+        }
+
+        for (int boneIndex : pose.preOrderIndices()) {
+            pose.set(boneIndex, transforms[boneIndex]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Add a copy of the specified pose to the cache.
+     *
+     * @param key the key of the pose (not null, alias created)
+     * @param pose the pose to copy (not null, unaffected)
+     */
+    void put(RetargetKey key, Pose pose) {
+        assert key != null;
+
+        int numBones = pose.countBones();
+        Transform[] transforms = new Transform[numBones];
+        for (int boneIndex = 0; boneIndex < numBones; ++boneIndex) {
+            transforms[boneIndex] = pose.userTransform(boneIndex, null);
+        }
+        poses.put(key, transforms);
+    }
+}
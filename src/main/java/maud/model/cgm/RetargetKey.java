@@ -0,0 +1,189 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import java.util.logging.Logger;
+
+/**
+ * Immutable key that identifies the inputs of a retargeted pose: if 2 poses
+ * have equal keys, they're interchangeable.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class RetargetKey {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(RetargetKey.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the skeleton map is inverted before it's applied
+     */
+    final private boolean invertMap;
+    /**
+     * true if the source C-G model's root bones are pinned
+     */
+    final private boolean sourcePinned;
+    /**
+     * animation time of the source pose (in seconds)
+     */
+    final private float sourceTime;
+    /**
+     * edit revision of the skeleton map (includes all twist edits)
+     */
+    final private long mapRevision;
+    /**
+     * edit revision of the target C-G model
+     */
+    final private long targetRevision;
+    /**
+     * source animation (compared by identity), or null for bind pose
+     */
+    final private Object sourceAnimation;
+    /**
+     * source root spatial (compared by identity), or null if none
+     */
+    final private Object sourceRoot;
+    /**
+     * source skeleton (compared by identity), or null if none
+     */
+    final private Object sourceSkeleton;
+    /**
+     * target skeleton (compared by identity), or null if none
+     */
+    final private Object targetSkeleton;
+    /**
+     * tweening technique for rotations (compared by identity)
+     */
+    final private Object tweenRotations;
+    /**
+     * tweening technique for scales (compared by identity)
+     */
+    final private Object tweenScales;
+    /**
+     * tweening technique for translations (compared by identity)
+     */
+    final private Object tweenTranslations;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a key with the specified inputs.
+     *
+     * @param sourceRoot the source root spatial (alias created) or null
+     * @param sourceSkeleton the source skeleton (alias created) or null
+     * @param sourceAnimation the source animation (alias created) or null
+     * @param sourceTime the animation time of the source pose
+     * @param sourcePinned true if the source root bones are pinned
+     * @param tweenTranslations the tweening technique for translations
+     * (alias created)
+     * @param tweenRotations the tweening technique for rotations (alias
+     * created)
+     * @param tweenScales the tweening technique for scales (alias created)
+     * @param mapRevision the edit revision of the skeleton map
+     * @param invertMap true if the skeleton map is inverted
+     * @param targetSkeleton the target skeleton (alias created) or null
+     * @param targetRevision the edit revision of the target C-G model
+     */
+    RetargetKey(Object sourceRoot, Object sourceSkeleton,
+            Object sourceAnimation, float sourceTime, boolean sourcePinned,
+            Object tweenTranslations, Object tweenRotations,
+            Object tweenScales, long mapRevision, boolean invertMap,
+            Object targetSkeleton, long targetRevision) {
+        this.sourceRoot = sourceRoot;
+        this.sourceSkeleton = sourceSkeleton;
+        this.sourceAnimation = sourceAnimation;
+        this.sourceTime = sourceTime;
+        this.sourcePinned = sourcePinned;
+        this.tweenTranslations = tweenTranslations;
+        this.tweenRotations = tweenRotations;
+        this.tweenScales = tweenScales;
+        this.mapRevision = mapRevision;
+        this.invertMap = invertMap;
+        this.targetSkeleton = targetSkeleton;
+        this.targetRevision = targetRevision;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Test for exact equivalence with another Object. Spatials, skeletons,
+     * animations, and tweening techniques are compared by identity.
+     *
+     * @param otherObject the object to compare to (may be null, unaffected)
+     * @return true if the objects are equivalent, otherwise false
+     */
+    @Override
+    public boolean equals(Object otherObject) {
+        boolean result;
+        if (otherObject == this) {
+            result = true;
+        } else if (otherObject != null
+                && otherObject.getClass() == getClass()) {
+            RetargetKey other = (RetargetKey) otherObject;
+            result = other.sourceAnimation == sourceAnimation
+                    && Float.compare(other.sourceTime, sourceTime) == 0
+                    && other.sourcePinned == sourcePinned
+                    && other.mapRevision == mapRevision
+                    && other.invertMap == invertMap
+                    && other.targetRevision == targetRevision
+                    && other.tweenTranslations == tweenTranslations
+                    && other.tweenRotations == tweenRotations
+                    && other.tweenScales == tweenScales
+                    && other.sourceRoot == sourceRoot
+                    && other.sourceSkeleton == sourceSkeleton
+                    && other.targetSkeleton == targetSkeleton;
+        } else {
+            result = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate the hash code for this key.
+     *
+     * @return the value to use for hashing
+     */
+    @Override
+    public int hashCode() {
+        int hash = System.identityHashCode(sourceAnimation);
+        hash = 37 * hash + Float.floatToIntBits(sourceTime);
+        hash = 37 * hash + (int) (mapRevision ^ (mapRevision >>> 32));
+        hash = 37 * hash + (int) (targetRevision ^ (targetRevision >>> 32));
+        hash = 37 * hash + (sourcePinned ? 1 : 0);
+        hash = 37 * hash + (invertMap ? 1 : 0);
+
+        return hash;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.anim.AnimClip;
+import com.jme3.anim.Armature;
+import com.jme3.animation.Animation;
+import com.jme3.animation.Skeleton;
+import com.jme3.scene.plugins.bvh.SkeletonMapping;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+import jme3utilities.wes.AnimationEdit;
+import jme3utilities.wes.TweenTransforms;
+
+/**
+ * A task to retarget a single source animation, suitable for execution on a
+ * worker thread. The source animation, both skeletons, and the skeleton
+ * mapping are only read, so many tasks can share them.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class RetargetTask implements Callable<Object> {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(RetargetTask.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * elapsed time of the most recent call (in nanoseconds) or 0 if not yet
+     * called
+     */
+    private volatile long elapsedNanos = 0L;
+    /**
+     * the animation to retarget (not null, unaffected)
+     */
+    final private Object sourceAnimation;
+    /**
+     * source skeleton (not null, unaffected)
+     */
+    final private Object sourceSkeleton;
+    /**
+     * target skeleton (not null, unaffected)
+     */
+    final private Object targetSkeleton;
+    /**
+     * map from target bones to source bones (not null, unaffected)
+     */
+    final private SkeletonMapping map;
+    /**
+     * name for the new animation (not null)
+     */
+    final private String newAnimName;
+    /**
+     * private copy of the tweening techniques (not null)
+     */
+    final private TweenTransforms techniques;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task.
+     *
+     * @param sourceAnimation the animation to retarget (not null, alias
+     * created)
+     * @param sourceSkeleton the source skeleton (not null, alias created)
+     * @param targetSkeleton the target skeleton (not null, alias created)
+     * @param map the skeleton mapping (not null, alias created)
+     * @param techniques the tweening techniques (not null, unaffected)
+     * @param newAnimName a name for the new animation (not null)
+     */
+    RetargetTask(Object sourceAnimation, Object sourceSkeleton,
+            Object targetSkeleton, SkeletonMapping map,
+            TweenTransforms techniques, String newAnimName) {
+        assert sourceAnimation != null;
+        assert sourceSkeleton != null;
+        assert targetSkeleton != null;
+        assert map != null;
+        assert newAnimName != null;
+
+        this.sourceAnimation = sourceAnimation;
+        this.sourceSkeleton = sourceSkeleton;
+        this.targetSkeleton = targetSkeleton;
+        this.map = map;
+        this.techniques = techniques.clone();
+        this.newAnimName = newAnimName;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the elapsed time of the most recent call.
+     *
+     * @return the time (in milliseconds, &ge;0)
+     */
+    double elapsedMillis() {
+        double result = 1e-6 * elapsedNanos;
+        return result;
+    }
+
+    /**
+     * Read the name for the new animation.
+     *
+     * @return the name (not null)
+     */
+    String newAnimName() {
+        return newAnimName;
+    }
+
+    /**
+     * Retarget the specified animation.
+     *
+     * @param sourceAnimation the animation to retarget (not null, unaffected)
+     * @param sourceSkeleton the source skeleton (not null, unaffected)
+     * @param targetSkeleton the target skeleton (not null, unaffected)
+     * @param map the skeleton mapping (not null, unaffected)
+     * @param techniques the tweening techniques (not null, unaffected)
+     * @param newAnimName a name for the new animation (not null)
+     * @return a new AnimClip or Animation, or null if the combination of
+     * animation and skeleton types isn't supported
+     */
+    public static Object retarget(Object sourceAnimation,
+            Object sourceSkeleton, Object targetSkeleton, SkeletonMapping map,
+            TweenTransforms techniques, String newAnimName) {
+        Validate.nonNull(sourceAnimation, "source animation");
+        Validate.nonNull(sourceSkeleton, "source skeleton");
+        Validate.nonNull(targetSkeleton, "target skeleton");
+        Validate.nonNull(map, "map");
+        Validate.nonNull(techniques, "techniques");
+        Validate.nonNull(newAnimName, "new animation name");
+
+        Object result = null;
+        if (sourceAnimation instanceof Animation
+                && sourceSkeleton instanceof Skeleton
+                && targetSkeleton instanceof Skeleton) {
+            Animation newAnimation = AnimationEdit.retargetAnimation(
+                    (Animation) sourceAnimation, (Skeleton) sourceSkeleton,
+                    (Skeleton) targetSkeleton, map, techniques, newAnimName);
+
+            float duration = newAnimation.getLength();
+            assert duration >= 0f : duration;
+
+            result = newAnimation;
+
+        } else if (sourceAnimation instanceof AnimClip
+                && sourceSkeleton instanceof Armature
+                && targetSkeleton instanceof Skeleton) {
+
+            Animation newAnimation = AnimationEdit.retargetAnimation(
+                    (AnimClip) sourceAnimation, (Armature) sourceSkeleton,
+                    (Skeleton) targetSkeleton, map, newAnimName);
+
+            float duration = newAnimation.getLength();
+            assert duration >= 0f : duration;
+
+            result = newAnimation;
+
+        } else if (sourceAnimation instanceof AnimClip
+                && sourceSkeleton instanceof Armature
+                && targetSkeleton instanceof Armature) {
+            AnimClip newAnimation = AnimationEdit.retargetAnimation(
+                    (AnimClip) sourceAnimation, (Armature) sourceSkeleton,
+                    (Armature) targetSkeleton, map, newAnimName);
+
+            double duration = newAnimation.getLength();
+            assert duration >= 0.0 : duration;
+
+            result = newAnimation;
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // Callable methods
+
+    /**
+     * Retarget the source animation.
+     *
+     * @return a new AnimClip or Animation (not null)
+     * @throws IllegalStateException if the combination of animation and
+     * skeleton types isn't supported
+     */
+    @Override
+    public Object call() {
+        long startTime = System.nanoTime();
+        try {
+            Object result = retarget(sourceAnimation, sourceSkeleton,
+                    targetSkeleton, map, techniques, newAnimName);
+            if (result == null) {
+                throw new IllegalStateException(
+                        "unsupported combination of animation and skeletons");
+            }
+            return result;
+
+        } finally {
+            this.elapsedNanos = System.nanoTime() - startTime;
+        }
+    }
+}
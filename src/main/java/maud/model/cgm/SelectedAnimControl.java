@@ -29,10 +29,8 @@ package maud.model.cgm;
 import com.jme3.anim.AnimClip;
 import com.jme3.anim.AnimComposer;
 import com.jme3.anim.AnimTrack;
-import com.jme3.anim.Armature;
 import com.jme3.animation.AnimControl;
 import com.jme3.animation.Animation;
-import com.jme3.animation.Skeleton;
 import com.jme3.animation.SpatialTrack;
 import com.jme3.animation.Track;
 import com.jme3.scene.Spatial;
@@ -46,6 +44,10 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jme3utilities.MyString;
@@ -342,47 +344,96 @@ public class SelectedAnimControl implements JmeCloneable {
         SkeletonMapping effectiveMap = Maud.getModel().getMap().effectiveMap();
         TweenTransforms techniques = Maud.getModel().getTweenTransforms();
 
-        Object newAnim = null;
-        if (sourceAnimation instanceof Animation
-                && sourceSkeleton instanceof Skeleton
-                && targetSkeleton instanceof Skeleton) {
-            Animation newAnimation = AnimationEdit.retargetAnimation(
-                    (Animation) sourceAnimation, (Skeleton) sourceSkeleton,
-                    (Skeleton) targetSkeleton, effectiveMap, techniques,
-                    newAnimName);
-
-            float duration = newAnimation.getLength();
-            assert duration >= 0f : duration;
-
-            newAnim = newAnimation;
-
-        } else if (sourceAnimation instanceof AnimClip
-                && sourceSkeleton instanceof Armature
-                && targetSkeleton instanceof Skeleton) {
-
-            Animation newAnimation = AnimationEdit.retargetAnimation(
-                    (AnimClip) sourceAnimation, (Armature) sourceSkeleton,
-                    (Skeleton) targetSkeleton, effectiveMap, newAnimName);
-
-            float duration = newAnimation.getLength();
-            assert duration >= 0f : duration;
-
-            newAnim = newAnimation;
+        Object newAnim = RetargetTask.retarget(sourceAnimation,
+                sourceSkeleton, targetSkeleton, effectiveMap, techniques,
+                newAnimName);
+        editableCgm.addAnimation(newAnim);
+    }
 
-        } else if (sourceAnimation instanceof AnimClip
-                && sourceSkeleton instanceof Armature
-                && targetSkeleton instanceof Armature) {
-            AnimClip newAnimation = AnimationEdit.retargetAnimation(
-                    (AnimClip) sourceAnimation, (Armature) sourceSkeleton,
-                    (Armature) targetSkeleton, effectiveMap, newAnimName);
+    /**
+     * Retarget every real animation in the source model's selected animation
+     * control into a new animation with the same name, and add them all to
+     * the animation control as a single edit. The retargeting is spread
+     * across all available cores. Animations whose names are reserved or
+     * already in use are skipped.
+     */
+    public void addRetargets() {
+        Cgm source = Maud.getModel().getSource();
+        SelectedAnimControl sourceControl = source.getAnimControl();
+        Object sourceSkeleton = source.getSkeleton().find();
+        Object targetSkeleton = editableCgm.getSkeleton().find();
+        SkeletonMapping effectiveMap = Maud.getModel().getMap().effectiveMap();
+        TweenTransforms techniques = Maud.getModel().getTweenTransforms();
 
-            double duration = newAnimation.getLength();
-            assert duration >= 0.0 : duration;
+        List<String> sourceNames = sourceControl.listRealAnimationsSorted();
+        int numAnimations = sourceNames.size();
+        List<RetargetTask> tasks = new ArrayList<>(numAnimations);
+        int numSkipped = 0;
+        for (String animName : sourceNames) {
+            if (MaudUtil.isReservedAnimationName(animName)
+                    || hasRealAnimation(animName)) {
+                logger.log(Level.WARNING,
+                        "Skipped retargeting {0}: name already in use",
+                        MyString.quote(animName));
+                ++numSkipped;
+            } else {
+                Object sourceAnimation = sourceControl.getAnimation(animName);
+                RetargetTask task = new RetargetTask(sourceAnimation,
+                        sourceSkeleton, targetSkeleton, effectiveMap,
+                        techniques, animName);
+                tasks.add(task);
+            }
+        }
 
-            newAnim = newAnimation;
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        numThreads = MyMath.clamp(numThreads, 1, Math.max(1, tasks.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        long startTime = System.nanoTime();
+        List<Future<Object>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            executor.shutdown();
+        }
+        double totalMillis = 1e-6 * (System.nanoTime() - startTime);
+
+        List<Object> newAnims = new ArrayList<>(tasks.size());
+        int numFailed = 0;
+        for (int taskIndex = 0; taskIndex < tasks.size(); ++taskIndex) {
+            RetargetTask task = tasks.get(taskIndex);
+            String quotedName = MyString.quote(task.newAnimName());
+            try {
+                Object newAnim = futures.get(taskIndex).get();
+                newAnims.add(newAnim);
+                logger.log(Level.INFO, "Retargeted {0} in {1} msec",
+                        new Object[]{quotedName, task.elapsedMillis()});
+            } catch (ExecutionException | InterruptedException exception) {
+                logger.log(Level.WARNING, "Failed to retarget "
+                        + quotedName, exception);
+                ++numFailed;
+            }
+        }
+        logger.log(Level.INFO,
+                "Retargeted {0} animation(s) using {1} thread(s) in {2} msec",
+                new Object[]{newAnims.size(), numThreads, totalMillis});
+
+        if (!newAnims.isEmpty()) {
+            String description = String.format(
+                    "retarget %d animations", newAnims.size());
+            editableCgm.addAnimations(newAnims, description);
         }
 
-        editableCgm.addAnimation(newAnim);
+        String message = String.format(
+                "retargeted %d of %d animation(s)", newAnims.size(),
+                numAnimations);
+        if (numSkipped > 0 || numFailed > 0) {
+            message += String.format(" (%d skipped, %d failed: see log)",
+                    numSkipped, numFailed);
+        }
+        Maud.getModel().getMisc().setStatusMessage(message);
     }
 
     /**
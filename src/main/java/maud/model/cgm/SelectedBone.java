@@ -37,14 +37,12 @@ import com.jme3.math.Quaternion;
 import com.jme3.math.Transform;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
-import com.jme3.scene.Spatial;
 import com.jme3.scene.control.AbstractControl;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import jme3utilities.InfluenceUtil;
 import jme3utilities.MyString;
 import jme3utilities.Validate;
 import jme3utilities.math.MyQuaternion;
@@ -230,22 +228,10 @@ public class SelectedBone implements Cloneable {
      */
     public boolean influencesAttachmentsNode() {
         boolean result = hasAttachmentsNode();
-        if (!result) {
+        if (!result && isSelected()) {
             // Test descendant bones/joints.
-            Object skeleton = cgm.getSkeleton().find();
-            int numBones = cgm.getSkeleton().countBones();
-            for (int iBone = 0; iBone < numBones; ++iBone) {
-                Node attachmentNode = null;
-
-                if (MaudUtil.descendsFrom(iBone, selectedIndex, skeleton)) {
-                    attachmentNode = MaudUtil.getAttachments(skeleton, iBone);
-                }
-
-                if (attachmentNode != null) {
-                    result = true;
-                    break;
-                }
-            }
+            BoneTopology topology = cgm.getSkeleton().topology();
+            result = topology.hasAttachmentsInSubtree(selectedIndex);
         }
 
         return result;
@@ -260,17 +246,7 @@ public class SelectedBone implements Cloneable {
     public boolean influencesVertices() {
         boolean result = false;
         if (isSelected()) {
-            SelectedSkeleton selectedSkeleton = cgm.getSkeleton();
-            Spatial subtree = selectedSkeleton.findSpatial();
-            Object skeleton = selectedSkeleton.find();
-            BitSet bones;
-            if (skeleton instanceof Armature) {
-                bones = InfluenceUtil.addAllInfluencers(subtree,
-                        (Armature) skeleton);
-            } else {
-                bones = InfluenceUtil.addAllInfluencers(subtree,
-                        (Skeleton) skeleton);
-            }
+            BitSet bones = cgm.getSkeleton().topology().influencers();
             result = bones.get(selectedIndex);
         }
 
@@ -46,13 +46,13 @@ import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
-import jme3utilities.InfluenceUtil;
 import jme3utilities.MySpatial;
 import jme3utilities.MyString;
 import jme3utilities.Validate;
 import maud.Maud;
 import maud.MaudUtil;
 import maud.model.EditorModel;
+import maud.model.EditState;
 import maud.model.LoadedMap;
 import maud.model.option.ShowBones;
 import maud.view.scene.SceneView;
@@ -92,6 +92,11 @@ public class SelectedSkeleton implements JmeCloneable {
      * C-G model containing the skeleton (set by {@link #setCgm(Cgm)})
      */
     private Cgm cgm = null;
+    /**
+     * cached topology of the selected skeleton, or null if not computed (not
+     * cloned)
+     */
+    private BoneTopology topology = null;
     /**
      * most recent selection
      */
@@ -398,21 +403,7 @@ public class SelectedSkeleton implements JmeCloneable {
     public int getParentIndex(int boneIndex) {
         Validate.nonNegative(boneIndex, "bone index");
 
-        int result;
-        Object selected = find();
-        if (selected instanceof Armature) {
-            Armature armature = (Armature) selected;
-            Joint joint = armature.getJoint(boneIndex);
-            Joint parent = joint.getParent();
-            result = armature.getJointIndex(parent);
-
-        } else {
-            Skeleton skeleton = (Skeleton) selected;
-            Bone bone = skeleton.getBone(boneIndex);
-            Bone parent = bone.getParent();
-            result = skeleton.getBoneIndex(parent);
-        }
-
+        int result = topology().parentIndex(boneIndex);
         return result;
     }
 
@@ -677,17 +668,8 @@ public class SelectedSkeleton implements JmeCloneable {
                     break;
 
                 case Influencers:
-                    Spatial subtree = findSpatial();
-                    BitSet bitset;
-                    if (selected instanceof Armature) {
-                        bitset = InfluenceUtil.addAllInfluencers(
-                                subtree, (Armature) selected);
-                    } else {
-                        bitset = InfluenceUtil.addAllInfluencers(
-                                subtree, (Skeleton) selected);
-                    }
                     result.clear();
-                    result.or(bitset);
+                    result.or(topology().influencers());
                     break;
 
                 case Leaves:
@@ -734,12 +716,7 @@ public class SelectedSkeleton implements JmeCloneable {
                 case Subtree:
                     result.clear();
                     if (selectedBi != noBoneIndex) {
-                        for (int loopBi = 0; loopBi < numBones; ++loopBi) {
-                            boolean inSubtree = (loopBi == selectedBi)
-                                    || MaudUtil.descendsFrom(
-                                            loopBi, selectedBi, selected);
-                            result.set(loopBi, inSubtree);
-                        }
+                        topology().addSubtree(selectedBi, result);
                     }
                     break;
 
@@ -885,6 +862,30 @@ public class SelectedSkeleton implements JmeCloneable {
 
         this.cgm = newCgm;
     }
+
+    /**
+     * Access the topology of the selected skeleton, rebuilding it if the
+     * skeleton or its spatial has changed, or if any edit has occurred, since
+     * it was last built.
+     *
+     * @return the pre-existing or a new instance, or null if no skeleton is
+     * selected
+     */
+    BoneTopology topology() {
+        Object selected = find();
+        if (selected == null) {
+            this.topology = null;
+        } else {
+            Spatial subtree = findSpatial();
+            long revision = EditState.lastRevision();
+            if (topology == null
+                    || !topology.isValid(selected, subtree, revision)) {
+                this.topology = new BoneTopology(selected, subtree, revision);
+            }
+        }
+
+        return topology;
+    }
     // *************************************************************************
     // JmeCloneable methods
 
@@ -912,6 +913,7 @@ public class SelectedSkeleton implements JmeCloneable {
     @Override
     public void cloneFields(Cloner cloner, Object original) {
         this.last = cloner.clone(last);
+        this.topology = null;
     }
 
     /**
@@ -44,6 +44,7 @@ import com.jme3.bullet.collision.shapes.ConvexShape;
 import com.jme3.bullet.control.BetterCharacterControl;
 import com.jme3.bullet.control.CharacterControl;
 import com.jme3.bullet.control.GhostControl;
+import com.jme3.bullet.control.PhysicsControl;
 import com.jme3.bullet.control.RigidBodyControl;
 import com.jme3.light.AmbientLight;
 import com.jme3.light.DirectionalLight;
@@ -182,39 +183,41 @@ public class SelectedSpatial implements JmeCloneable {
     }
 
     /**
-     * Add a CharacterControl to the Spatial and select the new Control.
+     * Add a CharacterControl to the Spatial and select the new Control. Mesh-
+     * based shapes are generated in the background, so the Control may be added
+     * on a later frame.
      *
      * @param shapeType desired type of shape (not null)
      */
     public void addCharacterControl(ShapeType shapeType) {
         Validate.nonNull(shapeType, "shape type");
 
-        Spatial subtree = find();
-        ConvexShape shape
-                = (ConvexShape) PhysicsUtil.makeShape(shapeType, subtree);
-        CharacterControl cc = new CharacterControl(shape, 1f);
-
-        editableCgm.addSgc(cc, "add a CharacterControl");
-        Spatial modelSpatial = find();
-        editableCgm.getSgc().select(cc, modelSpatial);
+        if (PendingShape.isGenerated(shapeType)) {
+            generateShape(shapeType, CharacterControl.class);
+        } else {
+            Spatial subtree = find();
+            CollisionShape shape = PhysicsUtil.makeShape(shapeType, subtree);
+            addCharacterControl((ConvexShape) shape);
+        }
     }
 
     /**
-     * Add a GhostControl to the Spatial and select the new Control.
+     * Add a GhostControl to the Spatial and select the new Control. Mesh-based
+     * shapes are generated in the background, so the Control may be added on a
+     * later frame.
      *
      * @param shapeType desired type of shape (not null)
      */
     public void addGhostControl(ShapeType shapeType) {
         Validate.nonNull(shapeType, "shape type");
 
-        Spatial subtree = find();
-        CollisionShape shape = PhysicsUtil.makeShape(shapeType, subtree);
-        GhostControl ghostControl = new GhostControl(shape);
-        ghostControl.setApplyScale(true);
-
-        editableCgm.addSgc(ghostControl, "add a GhostControl");
-        Spatial modelSpatial = find();
-        editableCgm.getSgc().select(ghostControl, modelSpatial);
+        if (PendingShape.isGenerated(shapeType)) {
+            generateShape(shapeType, GhostControl.class);
+        } else {
+            Spatial subtree = find();
+            CollisionShape shape = PhysicsUtil.makeShape(shapeType, subtree);
+            addGhostControl(shape);
+        }
     }
 
     /**
@@ -260,6 +263,28 @@ public class SelectedSpatial implements JmeCloneable {
         editableCgm.getLight().select(newLight, spatial);
     }
 
+    /**
+     * Add a physics control with the specified shape to the spatial and select
+     * the new control. Invoked when a PendingShape completes.
+     *
+     * @param controlClass the type of control to add (not null)
+     * @param shape the collision shape for the control (not null)
+     */
+    void addPhysicsControl(Class<? extends PhysicsControl> controlClass,
+            CollisionShape shape) {
+        assert shape != null;
+
+        if (controlClass == CharacterControl.class) {
+            addCharacterControl((ConvexShape) shape);
+        } else if (controlClass == GhostControl.class) {
+            addGhostControl(shape);
+        } else if (controlClass == RigidBodyControl.class) {
+            addRigidBodyControl(shape);
+        } else {
+            throw new IllegalArgumentException(controlClass.getName());
+        }
+    }
+
     /**
      * Add a DynamicAnimControl to the Spatial and select the new Control.
      */
@@ -279,24 +304,22 @@ public class SelectedSpatial implements JmeCloneable {
     }
 
     /**
-     * Add a RigidBodyControl to the spatial and select the new control.
+     * Add a RigidBodyControl to the spatial and select the new control. Mesh-
+     * based shapes are generated in the background, so the control may be added
+     * on a later frame.
      *
      * @param shapeType desired type of shape (not null)
      */
     public void addRigidBodyControl(ShapeType shapeType) {
         Validate.nonNull(shapeType, "shape type");
 
-        Spatial subtree = find();
-        CollisionShape shape = PhysicsUtil.makeShape(shapeType, subtree);
-        float mass = 1f;
-        RigidBodyControl rbc = new RigidBodyControl(shape, mass);
-        rbc.setApplyScale(true);
-        rbc.setKinematic(true);
-        // TODO why is the default kinematic=false but kinematicSpatial=true?
-
-        editableCgm.addSgc(rbc, "add a RigidBodyControl");
-        Spatial modelSpatial = find();
-        editableCgm.getSgc().select(rbc, modelSpatial);
+        if (PendingShape.isGenerated(shapeType)) {
+            generateShape(shapeType, RigidBodyControl.class);
+        } else {
+            Spatial subtree = find();
+            CollisionShape shape = PhysicsUtil.makeShape(shapeType, subtree);
+            addRigidBodyControl(shape);
+        }
     }
 
     /**
@@ -2075,6 +2098,53 @@ public class SelectedSpatial implements JmeCloneable {
     // *************************************************************************
     // private methods
 
+    /**
+     * Add a CharacterControl with the specified shape to the spatial and
+     * select the new control.
+     *
+     * @param shape the collision shape for the control (not null)
+     */
+    private void addCharacterControl(ConvexShape shape) {
+        CharacterControl cc = new CharacterControl(shape, 1f);
+
+        editableCgm.addSgc(cc, "add a CharacterControl");
+        Spatial modelSpatial = find();
+        editableCgm.getSgc().select(cc, modelSpatial);
+    }
+
+    /**
+     * Add a GhostControl with the specified shape to the spatial and select
+     * the new control.
+     *
+     * @param shape the collision shape for the control (not null)
+     */
+    private void addGhostControl(CollisionShape shape) {
+        GhostControl ghostControl = new GhostControl(shape);
+        ghostControl.setApplyScale(true);
+
+        editableCgm.addSgc(ghostControl, "add a GhostControl");
+        Spatial modelSpatial = find();
+        editableCgm.getSgc().select(ghostControl, modelSpatial);
+    }
+
+    /**
+     * Add a RigidBodyControl with the specified shape to the spatial and
+     * select the new control.
+     *
+     * @param shape the collision shape for the control (not null)
+     */
+    private void addRigidBodyControl(CollisionShape shape) {
+        float mass = 1f;
+        RigidBodyControl rbc = new RigidBodyControl(shape, mass);
+        rbc.setApplyScale(true);
+        rbc.setKinematic(true);
+        // TODO why is the default kinematic=false but kinematicSpatial=true?
+
+        editableCgm.addSgc(rbc, "add a RigidBodyControl");
+        Spatial modelSpatial = find();
+        editableCgm.getSgc().select(rbc, modelSpatial);
+    }
+
     /**
      * Test whether the specified Spatial is a Geometry whose Material defines
      * the selected parameter.
@@ -2122,6 +2192,24 @@ public class SelectedSpatial implements JmeCloneable {
         return result;
     }
 
+    /**
+     * Generate a mesh-based shape for the spatial in the background, then add
+     * a physics control with that shape.
+     *
+     * @param shapeType the type of shape (not null)
+     * @param controlClass the type of control to add (not null)
+     */
+    private void generateShape(ShapeType shapeType,
+            Class<? extends PhysicsControl> controlClass) {
+        if (PendingShape.isActive()) {
+            PendingShape.refuse();
+        } else {
+            Spatial subtree = find();
+            long revision = editableCgm.getEditState().revision();
+            PendingShape.start(subtree, shapeType, controlClass, revision);
+        }
+    }
+
     /**
      * Access (by index) a child of the selected spatial in the MVC model.
      *
@@ -45,8 +45,6 @@ import jme3utilities.MyMesh;
 import jme3utilities.Validate;
 import jme3utilities.math.MyQuaternion;
 import jme3utilities.math.MyVector3f;
-import jme3utilities.math.Population;
-import jme3utilities.wes.Pose;
 import maud.view.scene.SceneUpdater;
 
 /**
@@ -79,6 +77,11 @@ public class SelectedVertex implements Cloneable {
      * for none selected
      */
     private int selectedIndex = -1;
+    /**
+     * spatial index of the rest positions in the selected mesh, or null if
+     * not built yet
+     */
+    private VertexIndex vertexIndex = null;
     // *************************************************************************
     // new methods exposed
 
@@ -167,13 +170,11 @@ public class SelectedVertex implements Cloneable {
 
         Mesh mesh = cgm.getSpatial().getMesh();
         if (bufferType == VertexBuffer.Type.Position) {
-            Pose pose = cgm.getPose().get();
-            Matrix4f[] skinningMatrices = pose.skin(null);
+            Matrix4f[] skinningMatrices = cgm.getPose().skinningMatrices();
             MyMesh.vertexLocation(mesh, selectedIndex, skinningMatrices,
                     result);
         } else if (bufferType == VertexBuffer.Type.Normal) {
-            Pose pose = cgm.getPose().get();
-            Matrix4f[] skinningMatrices = pose.skin(null);
+            Matrix4f[] skinningMatrices = cgm.getPose().skinningMatrices();
             MyMesh.vertexNormal(mesh, selectedIndex, skinningMatrices, result);
         } else {
             MyMesh.vertexVector3f(mesh, bufferType, selectedIndex, result);
@@ -196,8 +197,7 @@ public class SelectedVertex implements Cloneable {
 
         Mesh mesh = cgm.getSpatial().getMesh();
         if (bufferType == VertexBuffer.Type.Tangent) {
-            Pose pose = cgm.getPose().get();
-            Matrix4f[] skinningMatrices = pose.skin(null);
+            Matrix4f[] skinningMatrices = cgm.getPose().skinningMatrices();
             MyMesh.vertexTangent(mesh, selectedIndex, skinningMatrices, result);
         } else {
             MyMesh.vertexVector4f(mesh, bufferType, selectedIndex, result);
@@ -269,24 +269,9 @@ public class SelectedVertex implements Cloneable {
     public List<Integer> listNeighbors(int maxNumber) {
         Validate.positive(maxNumber, "max number");
 
-        Population<Float, Integer> population = new Population<>(maxNumber);
-        Mesh mesh = cgm.getSpatial().getMesh();
-        Vector3f position = MyMesh.vertexVector3f(mesh, Type.BindPosePosition,
-                selectedIndex, null);
-
-        Vector3f tmpPosition = new Vector3f();
-        int numVertices = mesh.getVertexCount();
-
-        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
-            if (vertexIndex != selectedIndex) {
-                MyMesh.vertexVector3f(mesh, Type.BindPosePosition, vertexIndex,
-                        tmpPosition);
-                float squaredDistance = position.distanceSquared(tmpPosition);
-                population.add(vertexIndex, -squaredDistance);
-            }
-        }
+        VertexIndex index = updateIndex();
+        List<Integer> result = index.findNearest(selectedIndex, maxNumber);
 
-        List<Integer> result = population.listElements();
         return result;
     }
 
@@ -402,10 +387,8 @@ public class SelectedVertex implements Cloneable {
 
         Spatial selectedSpatial = cgm.getSceneView().selectedSpatial();
         Geometry selectedGeometry = (Geometry) selectedSpatial;
-        Pose pose = cgm.getPose().get();
-        Matrix4f[] matrices = pose.skin(null);
-        MyMesh.vertexWorldLocation(selectedGeometry, selectedIndex, matrices,
-                result);
+        cgm.getPose().vertexWorldLocation(
+                selectedGeometry, selectedIndex, result);
 
         return result;
     }
@@ -421,11 +404,32 @@ public class SelectedVertex implements Cloneable {
     @Override
     public SelectedVertex clone() throws CloneNotSupportedException {
         SelectedVertex clone = (SelectedVertex) super.clone();
+        clone.vertexIndex = null; // rebuilt on demand
         return clone;
     }
     // *************************************************************************
     // private methods
 
+    /**
+     * Test whether the specified skinning matrices leave the mesh in its rest
+     * pose.
+     *
+     * @param mesh the mesh (not null, unaffected)
+     * @param skinningMatrices the matrices (not null, unaffected)
+     * @return true if in rest pose, otherwise false
+     */
+    private static boolean isRestPose(Mesh mesh, Matrix4f[] skinningMatrices) {
+        if (MyMesh.isAnimated(mesh)) {
+            for (Matrix4f matrix : skinningMatrices) {
+                if (!matrix.isIdentity()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Select an extreme vertex.
      *
@@ -438,16 +442,38 @@ public class SelectedVertex implements Cloneable {
 
         Spatial selectedSpatial = cgm.getSceneView().selectedSpatial();
         Geometry selectedGeometry = (Geometry) selectedSpatial;
-        Pose pose = cgm.getPose().get();
-        Matrix4f[] skinningMatrices = pose.skin(null);
+        DisplayedPose displayedPose = cgm.getPose();
+        Matrix4f[] skinningMatrices = displayedPose.skinningMatrices();
+        /*
+         * In the rest pose, world locations are an affine function of the
+         * rest positions, so the spatial index can find the extreme vertex.
+         */
+        Mesh mesh = selectedGeometry.getMesh();
+        if (isRestPose(mesh, skinningMatrices)) {
+            Vector3f meshDirection = worldDirection.clone();
+            if (!selectedGeometry.isIgnoreTransform()) {
+                Transform transform = selectedGeometry.getWorldTransform();
+                Quaternion inverse = transform.getRotation().inverse();
+                inverse.multLocal(meshDirection);
+                meshDirection.multLocal(transform.getScale());
+            }
+            if (!MyVector3f.isZero(meshDirection)) {
+                VertexIndex index = updateIndex();
+                int extremeIndex = index.findExtreme(meshDirection);
+                if (extremeIndex >= 0) {
+                    select(extremeIndex);
+                }
+                return;
+            }
+        }
 
         double bestDot = Double.NEGATIVE_INFINITY;
         Vector3f tmpWorldLocation = new Vector3f();
 
         int numVertices = cgm.getSpatial().countVertices();
         for (int iVertex = 0; iVertex < numVertices; ++iVertex) {
-            MyMesh.vertexWorldLocation(selectedGeometry, iVertex,
-                    skinningMatrices, tmpWorldLocation);
+            displayedPose.vertexWorldLocation(
+                    selectedGeometry, iVertex, tmpWorldLocation);
             double dot = MyVector3f.dot(tmpWorldLocation, worldDirection);
             if (dot >= bestDot) {
                 bestDot = dot;
@@ -455,4 +481,31 @@ public class SelectedVertex implements Cloneable {
             }
         }
     }
+
+    /**
+     * Access the spatial index of the selected mesh, rebuilding it if the
+     * mesh or its rest positions have changed.
+     *
+     * @return the pre-existing or updated instance (not null)
+     */
+    private VertexIndex updateIndex() {
+        Mesh mesh = cgm.getSpatial().getMesh();
+        VertexBuffer restBuffer = null;
+        if (MyMesh.isAnimated(mesh)) {
+            restBuffer = mesh.getBuffer(Type.BindPosePosition);
+        }
+        if (restBuffer == null) {
+            restBuffer = mesh.getBuffer(Type.Position);
+        }
+        long revision = 0L;
+        if (cgm instanceof EditableCgm) {
+            revision = ((EditableCgm) cgm).getEditState().revision();
+        }
+
+        if (vertexIndex == null || !vertexIndex.matches(restBuffer, revision)) {
+            this.vertexIndex = new VertexIndex(restBuffer, revision);
+        }
+
+        return vertexIndex;
+    }
 }
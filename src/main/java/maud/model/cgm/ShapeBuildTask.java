@@ -0,0 +1,115 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * A fork-join task to build the shape data for a range of meshes on behalf of
+ * a PendingShape.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class ShapeBuildTask extends RecursiveAction {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(ShapeBuildTask.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * index of the first mesh in the range
+     */
+    final private int fromIndex;
+    /**
+     * index after the last mesh in the range
+     */
+    final private int toIndex;
+    /**
+     * the builds to perform (not null)
+     */
+    final private MeshShape[] meshShapes;
+    /**
+     * the shape generation being performed (not null)
+     */
+    final private PendingShape pending;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task for the specified range of meshes.
+     *
+     * @param pending the shape generation being performed (not null, alias
+     * created)
+     * @param meshShapes the builds to perform (not null, alias created)
+     * @param fromIndex index of the first mesh in the range (&ge;0)
+     * @param toIndex index after the last mesh in the range (&gt;fromIndex)
+     */
+    ShapeBuildTask(PendingShape pending, MeshShape[] meshShapes,
+            int fromIndex, int toIndex) {
+        assert pending != null;
+        assert fromIndex >= 0 : fromIndex;
+        assert toIndex > fromIndex : toIndex;
+        assert toIndex <= meshShapes.length : toIndex;
+
+        this.pending = pending;
+        this.meshShapes = meshShapes;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+    // *************************************************************************
+    // RecursiveAction methods
+
+    /**
+     * Build a single mesh, or else split the range in half and build both
+     * halves concurrently.
+     */
+    @Override
+    protected void compute() {
+        int numMeshes = toIndex - fromIndex;
+        if (numMeshes == 1) {
+            MeshShape meshShape = meshShapes[fromIndex];
+            if (!meshShape.isBuilt() && !PendingShape.isCancelled()) {
+                meshShape.build();
+            }
+            pending.countBuilt();
+        } else {
+            int midIndex = fromIndex + numMeshes / 2;
+            ShapeBuildTask low = new ShapeBuildTask(
+                    pending, meshShapes, fromIndex, midIndex);
+            ShapeBuildTask high = new ShapeBuildTask(
+                    pending, meshShapes, midIndex, toIndex);
+            invokeAll(low, high);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.logging.Logger;
+import jme3utilities.MyMesh;
+import jme3utilities.wes.Pose;
+
+/**
+ * Skinning matrices and skinned vertex locations for a displayed pose, reused
+ * until the pose changes.
+ * <p>
+ * The skinning matrices are stored in a single array that's recalculated in
+ * place. The bone transforms are compared with those used for the matrices
+ * only after the owner reports that the pose might have changed, so a batch
+ * of vertex queries costs one scan of the pose, not one per vertex. Vertex
+ * world locations are calculated on demand and remembered
+ * until the pose, the geometry, its world transform, or the C-G model
+ * changes, so repeated queries (picking, the vertex marker) neither
+ * re-skin vertices nor allocate memory.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class SkinningCache {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(SkinningCache.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the pose might have changed since the bone transforms were last
+     * compared
+     */
+    private boolean poseDirty = true;
+    /**
+     * world coordinates of skinned vertices, 3 per vertex
+     */
+    private float[] locations = new float[0];
+    /**
+     * generation in which each vertex location was calculated
+     */
+    private int[] stamps = new int[0];
+    /**
+     * current generation of cached locations (&ge;1)
+     */
+    private int generation = 1;
+    /**
+     * geometry whose locations are cached, or null if none
+     */
+    private Geometry geometry = null;
+    /**
+     * revision of the C-G model when the cached locations were calculated
+     */
+    private long revision = 0L;
+    /**
+     * skinning matrices for the pose, reused to avoid allocation
+     */
+    private Matrix4f[] matrices = new Matrix4f[0];
+    /**
+     * mesh whose locations are cached, or null if none
+     */
+    private Mesh mesh = null;
+    /**
+     * pose for which the matrices were calculated, or null if none
+     */
+    private Pose pose = null;
+    /**
+     * local transform of each bone when the matrices were calculated
+     */
+    private Transform[] boneTransforms = new Transform[0];
+    /**
+     * temporary storage for a bone transform
+     */
+    final private Transform tmpTransform = new Transform();
+    /**
+     * world transform of the geometry when the locations were calculated
+     */
+    final private Transform worldTransform = new Transform();
+    /**
+     * temporary storage for a bind-pose location
+     */
+    final private Vector3f tmpBind = new Vector3f();
+    /**
+     * temporary storage for a mesh location
+     */
+    final private Vector3f tmpLocation = new Vector3f();
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Note that the pose might have changed, so the next query will compare
+     * its bone transforms with those used for the matrices.
+     */
+    void invalidatePose() {
+        this.poseDirty = true;
+    }
+
+    /**
+     * Access the skinning matrices for the specified pose, recalculating
+     * them only if the pose has changed since the previous invocation.
+     *
+     * @param pose the pose (not null, unaffected)
+     * @return the internal array (not null, don't modify!)
+     */
+    Matrix4f[] skinningMatrices(Pose pose) {
+        assert pose != null;
+
+        updateMatrices(pose);
+        return matrices;
+    }
+
+    /**
+     * Calculate the world location of the indexed vertex in the specified
+     * geometry, using cached results where possible.
+     *
+     * @param pose the pose (not null, unaffected)
+     * @param revision the current revision of the C-G model
+     * @param geometry the geometry (not null, unaffected)
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @param storeResult storage for the result (not null, modified)
+     * @return storeResult
+     */
+    Vector3f worldLocation(Pose pose, long revision, Geometry geometry,
+            int vertexIndex, Vector3f storeResult) {
+        assert geometry != null;
+        assert vertexIndex >= 0 : vertexIndex;
+        assert storeResult != null;
+
+        boolean poseChanged = updateMatrices(pose);
+        Mesh currentMesh = geometry.getMesh();
+        Transform currentTransform = geometry.getWorldTransform(); // alias
+        if (poseChanged
+                || geometry != this.geometry
+                || currentMesh != mesh
+                || revision != this.revision
+                || !currentTransform.equals(worldTransform)) {
+            invalidate(geometry, revision);
+        }
+
+        int base = 3 * vertexIndex;
+        if (stamps[vertexIndex] == generation) {
+            storeResult.set(locations[base], locations[base + 1],
+                    locations[base + 2]);
+        } else {
+            meshLocation(vertexIndex, tmpLocation);
+            if (geometry.isIgnoreTransform()) {
+                storeResult.set(tmpLocation);
+            } else {
+                geometry.localToWorld(tmpLocation, storeResult);
+            }
+            locations[base] = storeResult.x;
+            locations[base + 1] = storeResult.y;
+            locations[base + 2] = storeResult.z;
+            stamps[vertexIndex] = generation;
+        }
+
+        return storeResult;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Forget all cached locations and start caching for the specified
+     * geometry.
+     *
+     * @param newGeometry the geometry (not null, alias created)
+     * @param newRevision the current revision of the C-G model
+     */
+    private void invalidate(Geometry newGeometry, long newRevision) {
+        this.geometry = newGeometry;
+        this.mesh = newGeometry.getMesh();
+        this.revision = newRevision;
+        worldTransform.set(newGeometry.getWorldTransform());
+
+        int numVertices = mesh.getVertexCount();
+        if (stamps.length != numVertices) {
+            this.locations = new float[3 * numVertices];
+            this.stamps = new int[numVertices];
+            this.generation = 1;
+        } else {
+            ++generation;
+        }
+    }
+
+    /**
+     * Calculate the mesh location of the indexed vertex, skinned by the
+     * current matrices. Equivalent to
+     * {@link jme3utilities.MyMesh#vertexLocation(com.jme3.scene.Mesh, int,
+     * com.jme3.math.Matrix4f[], com.jme3.math.Vector3f)} but allocates
+     * nothing.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @param storeResult storage for the result (not null, modified)
+     */
+    private void meshLocation(int vertexIndex, Vector3f storeResult) {
+        if (!MyMesh.isAnimated(mesh)) {
+            FloatBuffer positions = mesh.getFloatBuffer(
+                    VertexBuffer.Type.Position);
+            int base = 3 * vertexIndex;
+            storeResult.set(positions.get(base), positions.get(base + 1),
+                    positions.get(base + 2));
+            return;
+        }
+
+        FloatBuffer bindPositions
+                = mesh.getFloatBuffer(VertexBuffer.Type.BindPosePosition);
+        int base = 3 * vertexIndex;
+        tmpBind.set(bindPositions.get(base), bindPositions.get(base + 1),
+                bindPositions.get(base + 2));
+
+        FloatBuffer weights = mesh.getFloatBuffer(VertexBuffer.Type.BoneWeight);
+        Buffer boneIndices
+                = mesh.getBuffer(VertexBuffer.Type.BoneIndex).getData();
+        int maxWeights = mesh.getMaxNumWeights();
+        storeResult.zero();
+        for (int wIndex = 0; wIndex < maxWeights; ++wIndex) {
+            float weight = weights.get(4 * vertexIndex + wIndex);
+            if (weight != 0f) {
+                int boneIndex
+                        = readIndex(boneIndices, 4 * vertexIndex + wIndex);
+                Matrix4f s = matrices[boneIndex];
+                float x = tmpBind.x;
+                float y = tmpBind.y;
+                float z = tmpBind.z;
+                storeResult.x += weight
+                        * (s.m00 * x + s.m01 * y + s.m02 * z + s.m03);
+                storeResult.y += weight
+                        * (s.m10 * x + s.m11 * y + s.m12 * z + s.m13);
+                storeResult.z += weight
+                        * (s.m20 * x + s.m21 * y + s.m22 * z + s.m23);
+            }
+        }
+    }
+
+    /**
+     * Read an index from the specified position in a buffer of bone indices.
+     *
+     * @param buffer the buffer to read (not null, unaffected)
+     * @param position the position to read (&ge;0)
+     * @return the index (&ge;0)
+     */
+    private static int readIndex(Buffer buffer, int position) {
+        int result;
+        if (buffer instanceof ByteBuffer) {
+            result = 0xff & ((ByteBuffer) buffer).get(position);
+        } else if (buffer instanceof ShortBuffer) {
+            result = 0xffff & ((ShortBuffer) buffer).get(position);
+        } else {
+            result = ((IntBuffer) buffer).get(position);
+        }
+
+        return result;
+    }
+
+    /**
+     * Recalculate the skinning matrices if the pose has changed. The bone
+     * transforms are scanned only if the pose was invalidated or replaced.
+     *
+     * @param currentPose the pose (not null, unaffected)
+     * @return true if the matrices were recalculated, otherwise false
+     */
+    private boolean updateMatrices(Pose currentPose) {
+        int numBones = currentPose.countBones();
+        boolean changed = (currentPose != pose)
+                || (boneTransforms.length != numBones);
+        if (!changed && !poseDirty) {
+            return false;
+        }
+        this.poseDirty = false;
+
+        if (changed) {
+            this.pose = currentPose;
+            this.boneTransforms = new Transform[numBones];
+            this.matrices = new Matrix4f[numBones];
+            for (int boneIndex = 0; boneIndex < numBones; ++boneIndex) {
+                boneTransforms[boneIndex] = new Transform();
+                matrices[boneIndex] = new Matrix4f();
+            }
+        }
+
+        for (int boneIndex = 0; boneIndex < numBones; ++boneIndex) {
+            currentPose.localTransform(boneIndex, tmpTransform);
+            if (!tmpTransform.equals(boneTransforms[boneIndex])) {
+                boneTransforms[boneIndex].set(tmpTransform);
+                changed = true;
+            }
+        }
+        if (changed) {
+            currentPose.skin(matrices);
+        }
+
+        return changed;
+    }
+}
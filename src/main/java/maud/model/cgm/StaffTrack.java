@@ -33,6 +33,8 @@ import com.jme3.animation.Track;
 import com.jme3.math.Quaternion;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.control.AbstractControl;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Logger;
 import jme3utilities.MyAnimation;
 import jme3utilities.Validate;
@@ -94,6 +96,21 @@ final public class StaffTrack {
      * number of interpolated samples per sparkline, or 0 for no interpolation
      */
     private static int numSamples = 0;
+    /**
+     * cached rotation samples, keyed by track (weak keys)
+     */
+    final private static Map<Object, TrackSamples> rotationSamples
+            = new WeakHashMap<>(120);
+    /**
+     * cached scale samples, keyed by track (weak keys)
+     */
+    final private static Map<Object, TrackSamples> scaleSamples
+            = new WeakHashMap<>(120);
+    /**
+     * cached translation samples, keyed by track (weak keys)
+     */
+    final private static Map<Object, TrackSamples> translationSamples
+            = new WeakHashMap<>(120);
     /**
      * animation track currently loaded for visualization
      */
@@ -113,6 +130,57 @@ final public class StaffTrack {
     // *************************************************************************
     // new methods exposed
 
+    /**
+     * Describe the indexed spatial track in the loaded Animation.
+     *
+     * @param spatialTrackIndex which spatial track (&ge;0)
+     * @return label text (not null)
+     */
+    public static String describeSpatialTrack(int spatialTrackIndex) {
+        Validate.nonNegative(spatialTrackIndex, "spatial track index");
+
+        Object spatialTrack
+                = cgm.getAnimation().findSpatialTrack(spatialTrackIndex);
+        String result;
+        AbstractControl control = cgm.getAnimControl().find();
+        if (control instanceof AnimControl) {
+            AnimControl animControl = (AnimControl) control;
+            result = MyAnimation.describe((Track) spatialTrack, animControl);
+        } else {
+            result = MyAnimation.describe((AnimTrack<?>) spatialTrack);
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the track (in the loaded Animation) that targets the indexed Bone
+     * or Joint.
+     *
+     * @param boneIndex which bone (&ge;0)
+     * @return the pre-existing instance, or null if none
+     */
+    public static Object findBoneTrack(int boneIndex) {
+        Validate.nonNegative(boneIndex, "bone index");
+
+        Object result = cgm.getAnimation().findTrackForBone(boneIndex);
+        return result;
+    }
+
+    /**
+     * Find the indexed spatial track in the loaded Animation.
+     *
+     * @param spatialTrackIndex which spatial track (&ge;0)
+     * @return the pre-existing instance, or null if not found
+     */
+    public static Object findSpatialTrack(int spatialTrackIndex) {
+        Validate.nonNegative(spatialTrackIndex, "spatial track index");
+
+        Object result
+                = cgm.getAnimation().findSpatialTrack(spatialTrackIndex);
+        return result;
+    }
+
     /**
      * Access the normalized track time for the indexed keyframe.
      *
@@ -211,14 +279,7 @@ final public class StaffTrack {
         Validate.nonNegative(spatialTrackIndex, "spatial track index");
 
         track = cgm.getAnimation().findSpatialTrack(spatialTrackIndex);
-        AbstractControl control = cgm.getAnimControl().find();
-        if (control instanceof AnimControl) {
-            AnimControl animControl = (AnimControl) control;
-            labelText = MyAnimation.describe((Track) track, animControl);
-        } else {
-            labelText = MyAnimation.describe((AnimTrack<?>) track);
-        }
-
+        labelText = describeSpatialTrack(spatialTrackIndex);
         loadTrack();
     }
 
@@ -244,22 +305,33 @@ final public class StaffTrack {
             zs[i] = rotations[i].getZ();
         }
 
-        if (numSamples > 0) { // interpolate to obtain sample values
+        if (numSamples > 0) { // obtain sample values
             TweenTransforms tt = Maud.getModel().getTweenTransforms();
             TweenRotations technique = tt.getTweenRotations();
-            float[] times = MaudUtil.getTrackTimes(track);
             float duration = cgm.getAnimation().duration();
-            RotationCurve parms;
-            parms = technique.precompute(times, duration, rotations);
-            Quaternion tempQ = new Quaternion();
-
-            for (int iSample = 0; iSample < numSamples; ++iSample) {
-                float time = its[iSample];
-                technique.interpolate(time, parms, tempQ);
-                iws[iSample] = tempQ.getW();
-                ixs[iSample] = tempQ.getX();
-                iys[iSample] = tempQ.getY();
-                izs[iSample] = tempQ.getZ();
+            long revision = revision();
+            TrackSamples samples = rotationSamples.get(track);
+            if (samples != null && samples.matches(
+                    revision, technique, duration, numSamples)) {
+                samples.copyTo(iws, ixs, iys, izs);
+
+            } else { // interpolate and cache the results
+                float[] times = MaudUtil.getTrackTimes(track);
+                RotationCurve parms;
+                parms = technique.precompute(times, duration, rotations);
+                Quaternion tempQ = new Quaternion();
+
+                for (int iSample = 0; iSample < numSamples; ++iSample) {
+                    float time = its[iSample];
+                    technique.interpolate(time, parms, tempQ);
+                    iws[iSample] = tempQ.getW();
+                    ixs[iSample] = tempQ.getX();
+                    iys[iSample] = tempQ.getY();
+                    izs[iSample] = tempQ.getZ();
+                }
+                samples = new TrackSamples(revision, technique, duration,
+                        numSamples, iws, ixs, iys, izs);
+                rotationSamples.put(track, samples);
             }
         }
 
@@ -334,20 +406,32 @@ final public class StaffTrack {
             zs[i] = scales[i].z;
         }
 
-        if (numSamples > 0) { // interpolate to obtain sample values
+        if (numSamples > 0) { // obtain sample values
             TweenTransforms tt = Maud.getModel().getTweenTransforms();
             TweenVectors technique = tt.getTweenScales();
-            float[] times = MaudUtil.getTrackTimes(track);
             float duration = cgm.getAnimation().duration();
-            VectorCurve parms = technique.precompute(times, duration, scales);
-            Vector3f tempV = new Vector3f();
-
-            for (int iSample = 0; iSample < numSamples; ++iSample) {
-                float time = its[iSample];
-                technique.interpolate(time, parms, tempV);
-                ixs[iSample] = tempV.x;
-                iys[iSample] = tempV.y;
-                izs[iSample] = tempV.z;
+            long revision = revision();
+            TrackSamples samples = scaleSamples.get(track);
+            if (samples != null && samples.matches(
+                    revision, technique, duration, numSamples)) {
+                samples.copyTo(null, ixs, iys, izs);
+
+            } else { // interpolate and cache the results
+                float[] times = MaudUtil.getTrackTimes(track);
+                VectorCurve parms
+                        = technique.precompute(times, duration, scales);
+                Vector3f tempV = new Vector3f();
+
+                for (int iSample = 0; iSample < numSamples; ++iSample) {
+                    float time = its[iSample];
+                    technique.interpolate(time, parms, tempV);
+                    ixs[iSample] = tempV.x;
+                    iys[iSample] = tempV.y;
+                    izs[iSample] = tempV.z;
+                }
+                samples = new TrackSamples(revision, technique, duration,
+                        numSamples, null, ixs, iys, izs);
+                scaleSamples.put(track, samples);
             }
         }
 
@@ -417,21 +501,32 @@ final public class StaffTrack {
             zs[i] = translations[i].z;
         }
 
-        if (numSamples > 0) { // interpolate to obtain sample values
+        if (numSamples > 0) { // obtain sample values
             TweenTransforms tt = Maud.getModel().getTweenTransforms();
             TweenVectors technique = tt.getTweenTranslations();
-            float[] times = MaudUtil.getTrackTimes(track);
             float duration = cgm.getAnimation().duration();
-            VectorCurve parms
-                    = technique.precompute(times, duration, translations);
-            Vector3f tempV = new Vector3f();
-
-            for (int iSample = 0; iSample < numSamples; ++iSample) {
-                float time = its[iSample];
-                technique.interpolate(time, parms, tempV);
-                ixs[iSample] = tempV.x;
-                iys[iSample] = tempV.y;
-                izs[iSample] = tempV.z;
+            long revision = revision();
+            TrackSamples samples = translationSamples.get(track);
+            if (samples != null && samples.matches(
+                    revision, technique, duration, numSamples)) {
+                samples.copyTo(null, ixs, iys, izs);
+
+            } else { // interpolate and cache the results
+                float[] times = MaudUtil.getTrackTimes(track);
+                VectorCurve parms
+                        = technique.precompute(times, duration, translations);
+                Vector3f tempV = new Vector3f();
+
+                for (int iSample = 0; iSample < numSamples; ++iSample) {
+                    float time = its[iSample];
+                    technique.interpolate(time, parms, tempV);
+                    ixs[iSample] = tempV.x;
+                    iys[iSample] = tempV.y;
+                    izs[iSample] = tempV.z;
+                }
+                samples = new TrackSamples(revision, technique, duration,
+                        numSamples, null, ixs, iys, izs);
+                translationSamples.put(track, samples);
             }
         }
 
@@ -519,6 +614,21 @@ final public class StaffTrack {
     // *************************************************************************
     // private methods
 
+    /**
+     * Determine the revision of the C-G model being visualized, for
+     * validating cached samples.
+     *
+     * @return the revision number, or 0 if the model isn't editable
+     */
+    private static long revision() {
+        long result = 0L;
+        if (cgm instanceof EditableCgm) {
+            result = ((EditableCgm) cgm).getEditState().revision();
+        }
+
+        return result;
+    }
+
     /**
      * Prepare a bone/spatial track for visualization.
      */
@@ -36,6 +36,7 @@ import java.util.logging.Logger;
 
 /**
  * A temporary list of tracks, used while constructing a new AnimClip/Animation.
+ * Each thread has its own list.
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -60,9 +61,15 @@ final class TmpTracks {
     // fields
 
     /**
-     * list of tracks
+     * list of tracks for each thread
      */
-    final private static List<Object> trackList = new ArrayList<>(64);
+    final private static ThreadLocal<List<Object>> trackList
+            = new ThreadLocal<List<Object>>() {
+        @Override
+        protected List<Object> initialValue() {
+            return new ArrayList<>(64);
+        }
+    };
     // *************************************************************************
     // new methods exposed
 
@@ -76,7 +83,7 @@ final class TmpTracks {
         assert track instanceof AnimTrack || track instanceof Track :
                 track.getClass().getSimpleName();
 
-        trackList.add(track);
+        trackList.get().add(track);
     }
 
     /**
@@ -85,17 +92,18 @@ final class TmpTracks {
      * @param anim the Animation or AnimClip to modify (not null, empty)
      */
     static void addAllToAnim(Object anim) {
+        List<Object> list = trackList.get();
         if (anim instanceof Animation) {
-            for (Object tmpTrack : trackList) {
+            for (Object tmpTrack : list) {
                 Track track = (Track) tmpTrack;
                 ((Animation) anim).addTrack(track);
             }
 
         } else {
-            int numTracks = trackList.size();
+            int numTracks = list.size();
             AnimTrack<?>[] tracks = new AnimTrack[numTracks];
             for (int i = 0; i < numTracks; ++i) {
-                tracks[i] = (AnimTrack<?>) trackList.get(i);
+                tracks[i] = (AnimTrack<?>) list.get(i);
             }
             ((AnimClip) anim).setTracks(tracks);
         }
@@ -107,6 +115,6 @@ final class TmpTracks {
      * Reset the list of temporary tracks.
      */
     static void clear() {
-        trackList.clear();
+        trackList.get().clear();
     }
 }
@@ -0,0 +1,255 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.anim.AnimClip;
+import com.jme3.anim.AnimComposer;
+import com.jme3.anim.AnimTrack;
+import com.jme3.anim.Joint;
+import com.jme3.anim.MorphTrack;
+import com.jme3.anim.TransformTrack;
+import com.jme3.anim.util.HasLocalTransform;
+import com.jme3.animation.AnimControl;
+import com.jme3.animation.Animation;
+import com.jme3.animation.BoneTrack;
+import com.jme3.animation.SpatialTrack;
+import com.jme3.animation.Track;
+import com.jme3.scene.Spatial;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * An immutable index of the tracks in an animation, mapping bone/joint indices
+ * and target spatials to tracks in constant time. Where several tracks have
+ * the same target, the first one wins, as with the linear searches in
+ * {@link jme3utilities.MyAnimation}.
+ * <p>
+ * The index is keyed to the identity of the animation, its track array, and
+ * its control, plus the edit revision of its C-G model, so a stale index is
+ * easily detected.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class TrackIndex {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(TrackIndex.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * edit revision of the C-G model when the index was built
+     */
+    final private long revision;
+    /**
+     * map from target spatials to MorphTracks, SpatialTracks, and
+     * TransformTracks
+     */
+    final private Map<Spatial, Object> spatialTracks = new IdentityHashMap<>();
+    /**
+     * the indexed Animation or AnimClip (not null)
+     */
+    final private Object animation;
+    /**
+     * the animation's control, or null if none
+     */
+    final private Object control;
+    /**
+     * BoneTracks or TransformTracks indexed by bone/joint index (elements may
+     * be null)
+     */
+    final private Object[] boneTracks;
+    /**
+     * the animation's track array when the index was built
+     */
+    final private Object[] trackArray;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Build an index for the specified animation.
+     *
+     * @param animation the Animation or AnimClip to index (not null,
+     * unaffected)
+     * @param control the AnimComposer or AnimControl that contains the
+     * animation (may be null, unaffected)
+     * @param revision the edit revision of the C-G model
+     */
+    TrackIndex(Object animation, Object control, long revision) {
+        assert animation instanceof AnimClip || animation instanceof Animation;
+
+        this.animation = animation;
+        this.control = control;
+        this.revision = revision;
+        this.trackArray = tracksOf(animation);
+
+        int maxBoneIndex = -1;
+        for (Object track : trackArray) {
+            int boneIndex = targetBoneIndex(track);
+            maxBoneIndex = Math.max(maxBoneIndex, boneIndex);
+        }
+        this.boneTracks = new Object[maxBoneIndex + 1];
+
+        for (Object track : trackArray) {
+            int boneIndex = targetBoneIndex(track);
+            if (boneIndex >= 0 && boneTracks[boneIndex] == null) {
+                boneTracks[boneIndex] = track;
+            }
+
+            Spatial spatial = targetSpatial(track);
+            if (spatial != null && !spatialTracks.containsKey(spatial)) {
+                spatialTracks.put(spatial, track);
+            }
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Find the track for the indexed bone/joint.
+     *
+     * @param boneIndex the index of the target bone/joint (&ge;0)
+     * @return the pre-existing BoneTrack or TransformTrack, or null if none
+     */
+    Object findBoneTrack(int boneIndex) {
+        assert boneIndex >= 0 : boneIndex;
+
+        Object result = null;
+        if (boneIndex < boneTracks.length) {
+            result = boneTracks[boneIndex];
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the track for the specified spatial.
+     *
+     * @param spatial the target spatial (unaffected)
+     * @return the pre-existing MorphTrack, SpatialTrack, or TransformTrack, or
+     * null if none
+     */
+    Object findSpatialTrack(Spatial spatial) {
+        Object result = spatialTracks.get(spatial);
+        return result;
+    }
+
+    /**
+     * Test whether this index is still valid for the specified animation.
+     *
+     * @param animation the Animation or AnimClip (not null, unaffected)
+     * @param control the animation's control (may be null, unaffected)
+     * @param revision the current edit revision of the C-G model
+     * @return true if valid, otherwise false
+     */
+    boolean matches(Object animation, Object control, long revision) {
+        boolean result = animation == this.animation
+                && control == this.control
+                && revision == this.revision
+                && tracksOf(animation) == trackArray;
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Determine which bone/joint the specified track targets.
+     *
+     * @param track the track to analyze (not null, unaffected)
+     * @return the bone/joint index, or -1 if not a bone/joint track
+     */
+    private static int targetBoneIndex(Object track) {
+        int result = -1;
+        if (track instanceof BoneTrack) {
+            result = ((BoneTrack) track).getTargetBoneIndex();
+
+        } else if (track instanceof TransformTrack) {
+            HasLocalTransform target = ((TransformTrack) track).getTarget();
+            if (target instanceof Joint) {
+                result = ((Joint) target).getId();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Determine which spatial the specified track targets, consistent with
+     * {@link LoadedAnimation#findTrackForSpatial(com.jme3.scene.Spatial)}.
+     *
+     * @param track the track to analyze (not null, unaffected)
+     * @return the pre-existing spatial, or null if not a spatial track
+     */
+    private Spatial targetSpatial(Object track) {
+        Spatial result = null;
+        if (control instanceof AnimControl && track instanceof SpatialTrack) {
+            result = ((SpatialTrack) track).getTrackSpatial();
+            if (result == null) {
+                result = ((AnimControl) control).getSpatial();
+            }
+
+        } else if (control instanceof AnimComposer) {
+            if (track instanceof MorphTrack) {
+                result = ((MorphTrack) track).getTarget();
+
+            } else if (track instanceof TransformTrack) {
+                HasLocalTransform target = ((TransformTrack) track).getTarget();
+                if (target instanceof Spatial) {
+                    result = (Spatial) target;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the track array of the specified animation.
+     *
+     * @param animation the Animation or AnimClip (not null)
+     * @return the pre-existing array of AnimTracks or Tracks
+     */
+    private static Object[] tracksOf(Object animation) {
+        Object[] result;
+        if (animation instanceof AnimClip) {
+            AnimTrack<?>[] tracks = ((AnimClip) animation).getTracks();
+            result = tracks;
+        } else {
+            Track[] tracks = ((Animation) animation).getTracks();
+            result = tracks;
+        }
+
+        return result;
+    }
+}
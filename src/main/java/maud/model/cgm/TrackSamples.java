@@ -0,0 +1,165 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import java.util.logging.Logger;
+
+/**
+ * Interpolated samples of a single track component (rotations, scales, or
+ * translations), cached to avoid re-interpolating the track every time its
+ * staff is visualized.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class TrackSamples {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(TrackSamples.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * animation duration used for interpolation (in seconds)
+     */
+    final private float duration;
+    /**
+     * sampled W components, or null for vector samples
+     */
+    final private float[] ws;
+    /**
+     * sampled X components (not null)
+     */
+    final private float[] xs;
+    /**
+     * sampled Y components (not null)
+     */
+    final private float[] ys;
+    /**
+     * sampled Z components (not null)
+     */
+    final private float[] zs;
+    /**
+     * revision of the C-G model when the samples were taken
+     */
+    final private long revision;
+    /**
+     * interpolation technique used (a TweenRotations or TweenVectors value)
+     */
+    final private Object technique;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a cache entry by copying the specified samples.
+     *
+     * @param revision the revision of the C-G model
+     * @param technique the interpolation technique (not null)
+     * @param duration the animation duration (in seconds, &ge;0)
+     * @param numSamples the number of samples (&gt;0)
+     * @param ws the W components to copy, or null for vector samples
+     * (unaffected)
+     * @param xs the X components to copy (not null, unaffected)
+     * @param ys the Y components to copy (not null, unaffected)
+     * @param zs the Z components to copy (not null, unaffected)
+     */
+    TrackSamples(long revision, Object technique, float duration,
+            int numSamples, float[] ws, float[] xs, float[] ys, float[] zs) {
+        assert technique != null;
+        assert duration >= 0f : duration;
+        assert numSamples > 0 : numSamples;
+
+        this.revision = revision;
+        this.technique = technique;
+        this.duration = duration;
+        this.ws = (ws == null) ? null : copyOf(ws, numSamples);
+        this.xs = copyOf(xs, numSamples);
+        this.ys = copyOf(ys, numSamples);
+        this.zs = copyOf(zs, numSamples);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Copy the cached samples to the specified arrays.
+     *
+     * @param storeWs storage for W components (modified) or null for vector
+     * samples
+     * @param storeXs storage for X components (not null, modified)
+     * @param storeYs storage for Y components (not null, modified)
+     * @param storeZs storage for Z components (not null, modified)
+     */
+    void copyTo(float[] storeWs, float[] storeXs, float[] storeYs,
+            float[] storeZs) {
+        int numSamples = xs.length;
+        if (ws != null) {
+            System.arraycopy(ws, 0, storeWs, 0, numSamples);
+        }
+        System.arraycopy(xs, 0, storeXs, 0, numSamples);
+        System.arraycopy(ys, 0, storeYs, 0, numSamples);
+        System.arraycopy(zs, 0, storeZs, 0, numSamples);
+    }
+
+    /**
+     * Test whether these samples were taken with the specified parameters.
+     *
+     * @param revision the current revision of the C-G model
+     * @param technique the current interpolation technique
+     * @param duration the current animation duration (in seconds)
+     * @param numSamples the current number of samples
+     * @return true if the samples are valid, otherwise false
+     */
+    boolean matches(long revision, Object technique, float duration,
+            int numSamples) {
+        boolean result = this.revision == revision
+                && this.technique == technique
+                && Float.compare(this.duration, duration) == 0
+                && xs.length == numSamples;
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Copy the leading elements of an array.
+     *
+     * @param array the input array (not null, unaffected)
+     * @param length the number of elements to copy (&ge;0)
+     * @return a new array
+     */
+    private static float[] copyOf(float[] array, int length) {
+        float[] result = new float[length];
+        System.arraycopy(array, 0, result, 0, length);
+
+        return result;
+    }
+}
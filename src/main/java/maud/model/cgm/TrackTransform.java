@@ -0,0 +1,88 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+/**
+ * A transformation applied independently to each track of an animation. When
+ * there are enough tracks, they are transformed in parallel on the common
+ * fork-join pool, so transform() must not modify shared state.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+abstract class TrackTransform {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * minimum number of tracks to transform in parallel
+     */
+    final private static int minParallelTracks = 4;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(TrackTransform.class.getName());
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Transform a single track. May be invoked on any thread.
+     *
+     * @param oldTrack the input track (not null, unaffected)
+     * @return a new AnimTrack or Track, or null to omit the track
+     */
+    abstract Object transform(Object oldTrack);
+
+    /**
+     * Transform all the specified tracks, in parallel if there are enough of
+     * them.
+     *
+     * @param oldTracks the input tracks (not null, unaffected)
+     * @return a new array of transformed tracks, in the same order as the
+     * input tracks (an element is null where a track was omitted)
+     */
+    Object[] transformAll(Object[] oldTracks) {
+        int numTracks = oldTracks.length;
+        Object[] result = new Object[numTracks];
+
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (numTracks < minParallelTracks || parallelism < 2) {
+            for (int trackIndex = 0; trackIndex < numTracks; ++trackIndex) {
+                result[trackIndex] = transform(oldTracks[trackIndex]);
+            }
+        } else {
+            TrackTransformTask task = new TrackTransformTask(
+                    this, oldTracks, result, 0, numTracks);
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        return result;
+    }
+}
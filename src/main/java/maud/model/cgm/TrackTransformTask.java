@@ -0,0 +1,117 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * A fork-join task to apply a TrackTransform to a range of tracks, storing
+ * each result at the same index as its input.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class TrackTransformTask extends RecursiveAction {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(TrackTransformTask.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * index of the first track in the range
+     */
+    final private int fromIndex;
+    /**
+     * index after the last track in the range
+     */
+    final private int toIndex;
+    /**
+     * input tracks (not null, unaffected)
+     */
+    final private Object[] oldTracks;
+    /**
+     * storage for the transformed tracks (not null, same length as oldTracks)
+     */
+    final private Object[] newTracks;
+    /**
+     * the transformation to apply (not null)
+     */
+    final private TrackTransform transform;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task for the specified range of tracks.
+     *
+     * @param transform the transformation to apply (not null, alias created)
+     * @param oldTracks the input tracks (not null, alias created)
+     * @param newTracks storage for the results (not null, alias created)
+     * @param fromIndex index of the first track in the range (&ge;0)
+     * @param toIndex index after the last track in the range (&gt;fromIndex)
+     */
+    TrackTransformTask(TrackTransform transform, Object[] oldTracks,
+            Object[] newTracks, int fromIndex, int toIndex) {
+        assert transform != null;
+        assert newTracks.length == oldTracks.length;
+        assert fromIndex >= 0 : fromIndex;
+        assert toIndex > fromIndex : toIndex;
+        assert toIndex <= oldTracks.length : toIndex;
+
+        this.transform = transform;
+        this.oldTracks = oldTracks;
+        this.newTracks = newTracks;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+    // *************************************************************************
+    // RecursiveAction methods
+
+    /**
+     * Transform a single track, or else split the range in half and transform
+     * both halves concurrently.
+     */
+    @Override
+    protected void compute() {
+        int numTracks = toIndex - fromIndex;
+        if (numTracks == 1) {
+            newTracks[fromIndex] = transform.transform(oldTracks[fromIndex]);
+        } else {
+            int midIndex = fromIndex + numTracks / 2;
+            TrackTransformTask low = new TrackTransformTask(
+                    transform, oldTracks, newTracks, fromIndex, midIndex);
+            TrackTransformTask high = new TrackTransformTask(
+                    transform, oldTracks, newTracks, midIndex, toIndex);
+            invokeAll(low, high);
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model.cgm;
+
+import com.jme3.math.Vector3f;
+import com.jme3.scene.VertexBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A k-d tree over the rest positions of a mesh's vertices, for
+ * nearest-neighbor and extreme-direction queries that don't scan the entire
+ * mesh. The tree is implicit: each subtree occupies a contiguous range of the
+ * order[] array, with its root at the midpoint of the range.
+ * <p>
+ * An index is built for a specific buffer at a specific revision of the C-G
+ * model, and it becomes stale when either changes.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class VertexIndex {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(VertexIndex.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * split axis (0&rarr;X, 1&rarr;Y, 2&rarr;Z) of the subtree rooted at each
+     * position in order[]
+     */
+    final private byte[] axes;
+    /**
+     * best dot product found by the current extreme-direction query
+     */
+    private double bestDot;
+    /**
+     * vertex found by the current extreme-direction query, or -1 if none
+     */
+    private int bestVertex;
+    /**
+     * rest-position coordinates, 3 per vertex, indexed by vertex index
+     */
+    final private float[] coords;
+    /**
+     * direction of the current extreme-direction query (3 components)
+     */
+    final private float[] direction = new float[3];
+    /**
+     * maximum coordinates of the box bounding the current subtree
+     */
+    final private float[] boxMax = new float[3];
+    /**
+     * minimum coordinates of the box bounding the current subtree
+     */
+    final private float[] boxMin = new float[3];
+    /**
+     * maximum coordinates of all vertices
+     */
+    final private float[] maxima = new float[3];
+    /**
+     * minimum coordinates of all vertices
+     */
+    final private float[] minima = new float[3];
+    /**
+     * squared distances in the max-heap of the current neighbor query
+     */
+    private float[] heapDistances;
+    /**
+     * location of the current neighbor query (3 components)
+     */
+    final private float[] target = new float[3];
+    /**
+     * number of vertices in the max-heap of the current neighbor query
+     */
+    private int heapSize;
+    /**
+     * vertex indices in the max-heap of the current neighbor query
+     */
+    private int[] heapVertices;
+    /**
+     * vertex indices, arranged as an implicit k-d tree
+     */
+    final private int[] order;
+    /**
+     * revision of the C-G model when the index was built
+     */
+    final private long revision;
+    /**
+     * buffer from which the index was built (not null)
+     */
+    final private VertexBuffer buffer;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Build an index for the specified buffer.
+     *
+     * @param buffer the buffer of rest positions (not null, 3 float
+     * components, alias created)
+     * @param revision the revision of the C-G model
+     */
+    VertexIndex(VertexBuffer buffer, long revision) {
+        assert buffer.getNumComponents() == 3 : buffer.getNumComponents();
+        assert buffer.getFormat() == VertexBuffer.Format.Float;
+
+        this.buffer = buffer;
+        this.revision = revision;
+
+        FloatBuffer data = (FloatBuffer) buffer.getDataReadOnly();
+        int numVertices = data.limit() / 3;
+        this.coords = new float[3 * numVertices];
+        data.rewind();
+        data.get(coords);
+
+        this.axes = new byte[numVertices];
+        this.order = new int[numVertices];
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            order[vertexIndex] = vertexIndex;
+        }
+
+        for (int axis = 0; axis < 3; ++axis) {
+            minima[axis] = Float.POSITIVE_INFINITY;
+            maxima[axis] = Float.NEGATIVE_INFINITY;
+        }
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            for (int axis = 0; axis < 3; ++axis) {
+                float coord = coords[3 * vertexIndex + axis];
+                minima[axis] = Math.min(minima[axis], coord);
+                maxima[axis] = Math.max(maxima[axis], coord);
+            }
+        }
+
+        resetBox();
+        build(0, numVertices);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the vertices in this index.
+     *
+     * @return the count (&ge;0)
+     */
+    int countVertices() {
+        int result = order.length;
+        return result;
+    }
+
+    /**
+     * Find the vertex whose rest position lies farthest in the specified
+     * direction. Ties are broken in favor of the highest vertex index.
+     *
+     * @param meshDirection the direction to maximize (in mesh coordinates,
+     * not null, not zero, unaffected)
+     * @return the index of the vertex found, or -1 if the mesh has no
+     * vertices
+     */
+    int findExtreme(Vector3f meshDirection) {
+        assert meshDirection != null;
+
+        direction[0] = meshDirection.x;
+        direction[1] = meshDirection.y;
+        direction[2] = meshDirection.z;
+        this.bestDot = Double.NEGATIVE_INFINITY;
+        this.bestVertex = -1;
+
+        resetBox();
+        searchExtreme(0, order.length);
+
+        return bestVertex;
+    }
+
+    /**
+     * Find the vertices whose rest positions are closest to that of the
+     * specified vertex.
+     *
+     * @param vertexIndex the index of the vertex to search around (&ge;0)
+     * @param maxNumber the maximum number of vertices to find (&gt;0)
+     * @return a new list of vertex indices, closest first, excluding
+     * vertexIndex
+     */
+    List<Integer> findNearest(int vertexIndex, int maxNumber) {
+        assert vertexIndex >= 0 && vertexIndex < order.length : vertexIndex;
+        assert maxNumber > 0 : maxNumber;
+
+        for (int axis = 0; axis < 3; ++axis) {
+            target[axis] = coords[3 * vertexIndex + axis];
+        }
+        int capacity = Math.min(maxNumber, order.length);
+        this.heapDistances = new float[capacity];
+        this.heapVertices = new int[capacity];
+        this.heapSize = 0;
+
+        searchNearest(0, order.length, vertexIndex);
+        /*
+         * Drain the max-heap, farthest vertex first.
+         */
+        Integer[] sorted = new Integer[heapSize];
+        while (heapSize > 0) {
+            sorted[heapSize - 1] = heapVertices[0];
+            heapRemoveTop();
+        }
+        List<Integer> result = new ArrayList<>(sorted.length);
+        for (Integer index : sorted) {
+            result.add(index);
+        }
+
+        this.heapDistances = null;
+        this.heapVertices = null;
+
+        return result;
+    }
+
+    /**
+     * Test whether this index is valid for the specified buffer and revision.
+     *
+     * @param buffer the buffer of rest positions (not null, unaffected)
+     * @param revision the current revision of the C-G model
+     * @return true if valid, otherwise false
+     */
+    boolean matches(VertexBuffer buffer, long revision) {
+        boolean result = (buffer == this.buffer)
+                && (revision == this.revision);
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Arrange the specified range of order[] into a k-d subtree, splitting
+     * along the longest side of the current box.
+     *
+     * @param lo the start of the range (&ge;0)
+     * @param hi the end of the range (exclusive, &ge;lo)
+     */
+    private void build(int lo, int hi) {
+        if (hi - lo < 1) {
+            return;
+        }
+
+        int axis = 0;
+        float longest = boxMax[0] - boxMin[0];
+        for (int i = 1; i < 3; ++i) {
+            float side = boxMax[i] - boxMin[i];
+            if (side > longest) {
+                longest = side;
+                axis = i;
+            }
+        }
+
+        int mid = (lo + hi) >>> 1;
+        partition(lo, hi, mid, axis);
+        axes[mid] = (byte) axis;
+        float split = coords[3 * order[mid] + axis];
+
+        float saveMax = boxMax[axis];
+        boxMax[axis] = split;
+        build(lo, mid);
+        boxMax[axis] = saveMax;
+
+        float saveMin = boxMin[axis];
+        boxMin[axis] = split;
+        build(mid + 1, hi);
+        boxMin[axis] = saveMin;
+    }
+
+    /**
+     * Insert a vertex into the max-heap of the current neighbor query, or
+     * replace the farthest vertex if the heap is full.
+     *
+     * @param vertexIndex the vertex to insert (&ge;0)
+     * @param squaredDistance the vertex's squared distance from the target
+     */
+    private void heapInsert(int vertexIndex, float squaredDistance) {
+        int capacity = heapVertices.length;
+        if (heapSize == capacity) {
+            if (squaredDistance >= heapDistances[0]) {
+                return;
+            }
+            heapRemoveTop();
+        }
+        /*
+         * Sift up from the end.
+         */
+        int child = heapSize;
+        ++heapSize;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (heapDistances[parent] >= squaredDistance) {
+                break;
+            }
+            heapDistances[child] = heapDistances[parent];
+            heapVertices[child] = heapVertices[parent];
+            child = parent;
+        }
+        heapDistances[child] = squaredDistance;
+        heapVertices[child] = vertexIndex;
+    }
+
+    /**
+     * Remove the farthest vertex from the max-heap of the current neighbor
+     * query.
+     */
+    private void heapRemoveTop() {
+        assert heapSize > 0 : heapSize;
+
+        --heapSize;
+        float lastDistance = heapDistances[heapSize];
+        int lastVertex = heapVertices[heapSize];
+        /*
+         * Sift down from the top.
+         */
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize
+                    && heapDistances[child + 1] > heapDistances[child]) {
+                ++child;
+            }
+            if (heapDistances[child] <= lastDistance) {
+                break;
+            }
+            heapDistances[parent] = heapDistances[child];
+            heapVertices[parent] = heapVertices[child];
+            parent = child;
+        }
+        heapDistances[parent] = lastDistance;
+        heapVertices[parent] = lastVertex;
+    }
+
+    /**
+     * Partially sort the specified range of order[] so that the element at
+     * position k has the median coordinate: smaller or equal coordinates
+     * before it and larger or equal coordinates after it.
+     *
+     * @param lo the start of the range (&ge;0)
+     * @param hi the end of the range (exclusive, &gt;lo)
+     * @param k the position to fill (&ge;lo, &lt;hi)
+     * @param axis the coordinate axis to sort by (0, 1, or 2)
+     */
+    private void partition(int lo, int hi, int k, int axis) {
+        int left = lo;
+        int right = hi - 1;
+        while (right > left) {
+            int pivotVertex = order[(left + right) >>> 1];
+            float pivot = coords[3 * pivotVertex + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coords[3 * order[i] + axis] < pivot) {
+                    ++i;
+                }
+                while (coords[3 * order[j] + axis] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    ++i;
+                    --j;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reset the current box to bound all vertices.
+     */
+    private void resetBox() {
+        for (int axis = 0; axis < 3; ++axis) {
+            boxMin[axis] = minima[axis];
+            boxMax[axis] = maxima[axis];
+        }
+    }
+
+    /**
+     * Search the specified subtree for an extreme vertex, skipping it if its
+     * box can't contain a better vertex than the best found so far.
+     *
+     * @param lo the start of the subtree's range (&ge;0)
+     * @param hi the end of the subtree's range (exclusive, &ge;lo)
+     */
+    private void searchExtreme(int lo, int hi) {
+        if (hi - lo < 1) {
+            return;
+        }
+        double bound = 0.0;
+        for (int axis = 0; axis < 3; ++axis) {
+            double d = direction[axis];
+            bound += Math.max(d * boxMin[axis], d * boxMax[axis]);
+        }
+        if (bound < bestDot) {
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        int vertexIndex = order[mid];
+        int base = 3 * vertexIndex;
+        double dot = direction[0] * (double) coords[base]
+                + direction[1] * (double) coords[base + 1]
+                + direction[2] * (double) coords[base + 2];
+        if (dot > bestDot || dot == bestDot && vertexIndex > bestVertex) {
+            this.bestDot = dot;
+            this.bestVertex = vertexIndex;
+        }
+
+        int axis = axes[mid];
+        float split = coords[base + axis];
+        if (direction[axis] >= 0f) { // upper half first
+            searchUpper(mid + 1, hi, axis, split);
+            searchLower(lo, mid, axis, split);
+        } else {
+            searchLower(lo, mid, axis, split);
+            searchUpper(mid + 1, hi, axis, split);
+        }
+    }
+
+    /**
+     * Search the lower child of a subtree for an extreme vertex.
+     *
+     * @param lo the start of the child's range (&ge;0)
+     * @param hi the end of the child's range (exclusive, &ge;lo)
+     * @param axis the parent's split axis (0, 1, or 2)
+     * @param split the parent's split coordinate
+     */
+    private void searchLower(int lo, int hi, int axis, float split) {
+        float save = boxMax[axis];
+        boxMax[axis] = split;
+        searchExtreme(lo, hi);
+        boxMax[axis] = save;
+    }
+
+    /**
+     * Search the specified subtree for vertices near the target.
+     *
+     * @param lo the start of the subtree's range (&ge;0)
+     * @param hi the end of the subtree's range (exclusive, &ge;lo)
+     * @param exclude the index of a vertex to exclude
+     */
+    private void searchNearest(int lo, int hi, int exclude) {
+        if (hi - lo < 1) {
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        int vertexIndex = order[mid];
+        int base = 3 * vertexIndex;
+        if (vertexIndex != exclude) {
+            float dx = coords[base] - target[0];
+            float dy = coords[base + 1] - target[1];
+            float dz = coords[base + 2] - target[2];
+            heapInsert(vertexIndex, dx * dx + dy * dy + dz * dz);
+        }
+
+        int axis = axes[mid];
+        float offset = target[axis] - coords[base + axis];
+        if (offset < 0f) { // lower half first
+            searchNearest(lo, mid, exclude);
+            if (heapSize < heapVertices.length
+                    || offset * offset < heapDistances[0]) {
+                searchNearest(mid + 1, hi, exclude);
+            }
+        } else {
+            searchNearest(mid + 1, hi, exclude);
+            if (heapSize < heapVertices.length
+                    || offset * offset < heapDistances[0]) {
+                searchNearest(lo, mid, exclude);
+            }
+        }
+    }
+
+    /**
+     * Search the upper child of a subtree for an extreme vertex.
+     *
+     * @param lo the start of the child's range (&ge;0)
+     * @param hi the end of the child's range (exclusive, &ge;lo)
+     * @param axis the parent's split axis (0, 1, or 2)
+     * @param split the parent's split coordinate
+     */
+    private void searchUpper(int lo, int hi, int axis, float split) {
+        float save = boxMin[axis];
+        boxMin[axis] = split;
+        searchExtreme(lo, hi);
+        boxMin[axis] = save;
+    }
+}
@@ -110,6 +110,10 @@ public class MiscOptions implements Cloneable {
      * which color to view/edit in CursorTool (0 or 1)
      */
     private int colorIndex = 0;
+    /**
+     * memory budget for checkpoint data (in mebibytes, &ge;1)
+     */
+    private int historyBudget = 1024;
     /**
      * starting point for displayed indices (0 or 1)
      */
@@ -183,6 +187,16 @@ public class MiscOptions implements Cloneable {
         return diagnoseLoads;
     }
 
+    /**
+     * Determine the memory budget for checkpoint data.
+     *
+     * @return the budget (in mebibytes, &ge;1)
+     */
+    public int historyBudget() {
+        assert historyBudget >= 1 : historyBudget;
+        return historyBudget;
+    }
+
     /**
      * Determine starting point for displayed indices.
      *
@@ -340,6 +354,9 @@ public class MiscOptions implements Cloneable {
                 selectPerformanceMode(PerformanceMode.DebugPas);
                 break;
             case DebugPas:
+                selectPerformanceMode(PerformanceMode.Profiler);
+                break;
+            case Profiler:
                 selectPerformanceMode(PerformanceMode.Off);
                 break;
             default:
@@ -485,6 +502,21 @@ public class MiscOptions implements Cloneable {
         }
     }
 
+    /**
+     * Alter the memory budget for checkpoint data.
+     *
+     * @param budget the desired budget (in mebibytes, &ge;1)
+     */
+    public void setHistoryBudget(int budget) {
+        Validate.inRange(budget, "budget", 1, Integer.MAX_VALUE);
+
+        if (historyBudget != budget) {
+            historyBudget = budget;
+            History.enforceBudget();
+            EditState.optionSetEdited("history budget=" + budget);
+        }
+    }
+
     /**
      * Select a starting point for displayed indices.
      *
@@ -744,6 +776,10 @@ public class MiscOptions implements Cloneable {
                 + Integer.toString(maxCheckpoints);
         MaudUtil.writePerformAction(writer, action);
 
+        action = ActionPrefix.setHistoryBudget
+                + Integer.toString(historyBudget);
+        MaudUtil.writePerformAction(writer, action);
+
         action = String.format("%s%f %f", ActionPrefix.setSubmenuWarp,
                 warpX, warpY);
         MaudUtil.writePerformAction(writer, action);
@@ -48,5 +48,10 @@ public enum PerformanceMode {
      * display maximum latency using the PerformanceAppState from the
      * Jme3-utilities project
      */
-    DebugPas
+    DebugPas,
+    /**
+     * display a per-stage breakdown of Maud's frame time using the
+     * ProfilerAppState, and write a CSV trace
+     */
+    Profiler
 }
@@ -26,6 +26,7 @@
  */
 package maud.model.option.scene;
 
+import com.jme3.bullet.PhysicsSpace;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.logging.Logger;
@@ -69,6 +70,12 @@ public class SceneOptions implements Cloneable {
      * options for the 3-D cursor(s)
      */
     private DddCursorOptions cursorOptions = new DddCursorOptions();
+    /**
+     * type of broadphase used to accelerate physics collision detection (not
+     * null)
+     */
+    private PhysicsSpace.BroadphaseType broadphaseType
+            = PhysicsSpace.BroadphaseType.AXIS_SWEEP_3;
     /**
      * diameter of source-CGM platform (in world units, &gt;0)
      */
@@ -124,6 +131,16 @@ public class SceneOptions implements Cloneable {
         return boundsOptions;
     }
 
+    /**
+     * Read the type of physics broadphase.
+     *
+     * @return an enum value (not null)
+     */
+    public PhysicsSpace.BroadphaseType getBroadphaseType() {
+        assert broadphaseType != null;
+        return broadphaseType;
+    }
+
     /**
      * Access the options for the camera(s).
      *
@@ -229,6 +246,20 @@ public class SceneOptions implements Cloneable {
         return numPhysicsIterations;
     }
 
+    /**
+     * Alter the type of physics broadphase.
+     *
+     * @param newType an enum value (not null)
+     */
+    public void setBroadphaseType(PhysicsSpace.BroadphaseType newType) {
+        Validate.nonNull(newType, "new type");
+
+        if (broadphaseType != newType) {
+            broadphaseType = newType;
+            EditState.optionSetEdited("broadphase=" + newType);
+        }
+    }
+
     /**
      * Alter the number of iterations to use in the physics solver.
      *
@@ -308,6 +339,9 @@ public class SceneOptions implements Cloneable {
                 + platformType.toString();
         MaudUtil.writePerformAction(writer, action);
 
+        action = ActionPrefix.selectBroadphaseType + broadphaseType.toString();
+        MaudUtil.writePerformAction(writer, action);
+
         lightsOptions.writeToScript(writer);
         renderOptions.writeToScript(writer);
         skeletonOptions.writeToScript(writer);
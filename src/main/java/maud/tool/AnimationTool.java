@@ -181,6 +181,10 @@ class AnimationTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this, true)) {
+            return;
+        }
+
         updateControlIndex();
         updateIndex();
         updateLooping();
@@ -69,6 +69,10 @@ class BoneMirrorTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         EditorModel model = Maud.getModel();
         Cgm target = model.getTarget();
         String targetBoneName = target.getBone().name();
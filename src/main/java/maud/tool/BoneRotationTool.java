@@ -131,6 +131,10 @@ class BoneRotationTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this, true)) {
+            return;
+        }
+
         updateSelected();
         updateSnapButtons();
 
@@ -129,6 +129,10 @@ class BoneScaleTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this, true)) {
+            return;
+        }
+
         boolean enableSliders = false;
         SelectedBone bone = Maud.getModel().getTarget().getBone();
         if (bone.isSelected()) {
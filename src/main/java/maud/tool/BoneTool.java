@@ -73,6 +73,10 @@ class BoneTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateChildren();
         updateControlIndex();
         updateHasTrack();
@@ -35,6 +35,8 @@ import jme3utilities.nifty.GuiScreenController;
 import jme3utilities.nifty.Tool;
 import maud.Maud;
 import maud.model.cgm.EditableCgm;
+import maud.model.cgm.PendingLoad;
+import maud.model.cgm.PendingShape;
 import maud.model.cgm.SelectedTexture;
 
 /**
@@ -72,6 +74,10 @@ class CgmTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         // name
         EditableCgm target = Maud.getModel().getTarget();
         String name = target.getName();
@@ -158,5 +164,20 @@ class CgmTool extends Tool {
         int numVertices = target.countVertices();
         text = Integer.toString(numVertices);
         setButtonText("cgmVertices", text);
+
+        // background load or shape generation in progress
+        if (PendingLoad.isActive()) {
+            text = PendingLoad.describe();
+        } else {
+            text = PendingShape.describe();
+        }
+        setStatusText("cgmLoad", " " + text);
+        if (PendingLoad.isActive() && !PendingLoad.isCancelled()
+                || PendingShape.isActive() && !PendingShape.isCancelled()) {
+            text = "Cancel";
+        } else {
+            text = "";
+        }
+        setButtonText("cgmLoadCancel", text);
     }
 }
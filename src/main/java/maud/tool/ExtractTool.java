@@ -73,6 +73,10 @@ class ExtractTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         LoadedCgm target = Maud.getModel().getTarget();
 
         String animControlButton = "";
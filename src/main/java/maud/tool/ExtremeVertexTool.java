@@ -26,7 +26,6 @@
  */
 package maud.tool;
 
-import com.jme3.math.Transform;
 import java.util.logging.Logger;
 import jme3utilities.nifty.GuiScreenController;
 import jme3utilities.nifty.Tool;
@@ -72,6 +71,10 @@ class ExtremeVertexTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         EditorModel model = Maud.getModel();
         AxesSubject subject = model.getScene().getAxes().getSubject();
         String axesButton = subject.toString();
@@ -86,16 +89,13 @@ class ExtremeVertexTool extends Tool {
 
         Cgm cgm = model.getTarget();
         SelectedSpatial ss = cgm.getSpatial();
-        if (ss.isGeometry()) {
-            Transform transform = SceneUpdater.axesTransform(cgm);
-            if (transform != null) {
-                plusXButton = "+X";
-                plusYButton = "+Y";
-                plusZButton = "+Z";
-                minusXButton = "-X";
-                minusYButton = "-Y";
-                minusZButton = "-Z";
-            }
+        if (ss.isGeometry() && SceneUpdater.hasAxes(cgm)) {
+            plusXButton = "+X";
+            plusYButton = "+Y";
+            plusZButton = "+Z";
+            minusXButton = "-X";
+            minusYButton = "-Y";
+            minusZButton = "-Z";
         }
 
         setButtonText("evPlusX", plusXButton);
@@ -99,6 +99,7 @@ public class HistoryTool extends Tool {
     @Override
     protected List<String> listCheckBoxes() {
         List<String> result = super.listCheckBoxes();
+        result.add("asyncCheckpoint");
         result.add("autoCheckpoint");
 
         return result;
@@ -114,6 +115,10 @@ public class HistoryTool extends Tool {
     @Override
     public void onCheckBoxChanged(String name, boolean isChecked) {
         switch (name) {
+            case "asyncCheckpoint":
+                History.setAsync(isChecked);
+                break;
+
             case "autoCheckpoint":
                 History.setAutoAdd(isChecked);
                 break;
@@ -129,6 +134,10 @@ public class HistoryTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         String aButton = "";
         String rButton = "";
         int nextIndex = History.getNextIndex();
@@ -146,6 +155,19 @@ public class HistoryTool extends Tool {
         String limitButton = Integer.toString(limit);
         setButtonText("historyLimit", limitButton);
 
+        int budget = Maud.getModel().getMisc().historyBudget();
+        String budgetButton = Integer.toString(budget);
+        setButtonText("historyBudget", budgetButton);
+
+        int numSpilled = History.countSpilled();
+        int numResident = numCheckpoints - numSpilled;
+        String resident = DescribeUtil.memory(History.countResidentBytes());
+        String spilled = DescribeUtil.memory(History.countSpilledBytes());
+        String memoryStatus = String.format(
+                "%d in memory (%s), %d spilled (%s)",
+                numResident, resident, numSpilled, spilled);
+        setStatusText("historyMemory", " " + memoryStatus);
+
         String uButton = "";
         boolean noneVulnerable = !History.hasVulnerable();
         if (nextIndex > 1 || noneVulnerable && nextIndex > 0) {
@@ -174,10 +196,13 @@ public class HistoryTool extends Tool {
         Element windowElement = getElement();
         windowElement.layoutElements();
         /*
-         * Update the "automatic checkpoints" checkbox.
+         * Update the "automatic checkpoints" and "background capture"
+         * checkboxes.
          */
         boolean autoAddFlag = History.isAutoAdd();
         setChecked("autoCheckpoint", autoAddFlag);
+        boolean asyncFlag = History.isAsync();
+        setChecked("asyncCheckpoint", asyncFlag);
 
         if (autoScrollFlag) {
             autoScrollFlag = false;
@@ -206,8 +231,18 @@ public class HistoryTool extends Tool {
         Date creationDate = checkpoint.copyTimestamp();
         DateFormat timestampFormatter = DateFormat.getTimeInstance();
         String creationTime = timestampFormatter.format(creationDate);
-        String text = String
-                .format("checkpoint%s added at %s", id, creationTime);
+        String text;
+        if (checkpoint.isCapturing()) {
+            text = String.format("checkpoint%s added at %s (capturing...)",
+                    id, creationTime);
+        } else {
+            long copiedBytes = checkpoint.countCopiedBytes();
+            long sharedBytes = checkpoint.countSharedBytes();
+            String copied = DescribeUtil.memory(copiedBytes);
+            String shared = DescribeUtil.memory(sharedBytes);
+            text = String.format("checkpoint%s added at %s (%s, %s shared)",
+                    id, creationTime, copied, shared);
+        }
         addLabel(text, bgColor);
     }
 
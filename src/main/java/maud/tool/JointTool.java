@@ -70,6 +70,10 @@ class JointTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateDescription();
         updateIndex();
         updateName();
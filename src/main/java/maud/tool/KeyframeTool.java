@@ -71,6 +71,10 @@ class KeyframeTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this, true)) {
+            return;
+        }
+
         String indexStatus;
         String timeStatus;
 
@@ -112,6 +112,10 @@ class LightColorTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         String resetButton = "";
         float r = 1f;
         float g = 1f;
@@ -112,6 +112,10 @@ class LightDirectionTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         String resetButton = "";
         String reverseButton = "";
         String snapButton = "";
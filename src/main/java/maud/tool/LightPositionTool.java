@@ -127,6 +127,10 @@ class LightPositionTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         String resetButton = "";
 
         SelectedLight light = Maud.getModel().getTarget().getLight();
@@ -107,6 +107,10 @@ class LightsTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateIndex();
         updateProperties();
 
@@ -124,6 +124,10 @@ class LinkTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateChildren();
         updateIndex();
         updateName();
@@ -108,6 +108,10 @@ class MappingTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateAsset();
         updateFeedback();
         updateIndex();
@@ -116,6 +116,10 @@ class MaterialTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateIndex();
         updateNames();
         updateRenderState();
@@ -110,6 +110,10 @@ class MeshTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateBufferInfo();
         updateBufferIndex();
         updateGeometryIndex();
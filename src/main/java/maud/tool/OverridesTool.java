@@ -104,6 +104,10 @@ class OverridesTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateIndex();
         updateName();
         updateType();
@@ -71,6 +71,10 @@ class PcoTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateIndex();
         updateName();
         updateParameter();
@@ -73,6 +73,10 @@ class RetargetTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         EditorModel model = Maud.getModel();
         LoadedCgm target = model.getTarget();
         String targetCgmName = target.getName();
@@ -134,11 +138,12 @@ class RetargetTool extends Tool {
     // private methods
 
     /**
-     * Update the feedback line and retarget button.
+     * Update the feedback line and retarget buttons.
      */
     private void updateFeedback() {
         String feedback;
         String rButton = "";
+        String allButton = "";
 
         LoadedMap map = Maud.getModel().getMap();
         Cgm source = Maud.getModel().getSource();
@@ -147,8 +152,6 @@ class RetargetTool extends Tool {
             feedback = "select a target anim control";
         } else if (!source.isLoaded()) {
             feedback = "load a source model";
-        } else if (!source.getAnimation().isReal()) {
-            feedback = "load a source animation";
         } else if (map.isEmpty()) {
             feedback = "no bone mappings";
         } else {
@@ -157,7 +160,14 @@ class RetargetTool extends Tool {
             if (matchesTarget >= 0.9995f) {
                 if (matchesSource >= 0.9995f) {
                     feedback = "";
-                    rButton = "Retarget";
+                    if (source.getAnimation().isReal()) {
+                        rButton = "Retarget";
+                    } else {
+                        feedback = "load a source animation";
+                    }
+                    if (source.getAnimControl().countRealAnimations() > 0) {
+                        allButton = "Retarget all";
+                    }
                 } else {
                     feedback = "map doesn't match the source skeleton";
                 }
@@ -170,5 +180,6 @@ class RetargetTool extends Tool {
 
         setStatusText("retargetFeedback", feedback);
         setButtonText("retarget", rButton);
+        setButtonText("retargetAll", allButton);
     }
 }
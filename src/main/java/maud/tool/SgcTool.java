@@ -111,6 +111,10 @@ class SgcTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateIndex();
 
         String deleteButton;
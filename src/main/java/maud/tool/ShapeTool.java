@@ -75,6 +75,10 @@ class ShapeTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateChildren();
         updateIndex();
         updateName();
@@ -164,6 +164,10 @@ class SourceAnimationTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this, true)) {
+            return;
+        }
+
         updateControlIndex();
         updateIndex();
         updateLooping();
@@ -72,6 +72,10 @@ class SpatialBoundsTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateName();
         updateType();
 
@@ -105,6 +105,10 @@ class SpatialDetailsTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateBatchHint();
         updateBound();
         updateBucket();
@@ -126,6 +126,10 @@ class SpatialRotationTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         setSlidersToTransform();
         updateSnapButtons();
 
@@ -125,6 +125,10 @@ class SpatialScaleTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         setSlidersToTransform();
     }
     // *************************************************************************
@@ -73,6 +73,10 @@ class SpatialTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateChildren();
         updateMaterial();
         updateMesh();
@@ -125,6 +125,10 @@ class SpatialTranslationTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         setSlidersToTransform();
 
         String buttonText = "";
@@ -116,6 +116,10 @@ class TextureTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateIndex();
         updateKey();
         updateUsers();
@@ -0,0 +1,148 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.tool;
+
+import com.jme3.input.RawInputListener;
+import com.jme3.input.event.JoyAxisEvent;
+import com.jme3.input.event.JoyButtonEvent;
+import com.jme3.input.event.KeyInputEvent;
+import com.jme3.input.event.MouseButtonEvent;
+import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.input.event.TouchEvent;
+import java.util.logging.Logger;
+
+/**
+ * Raw-input listener to refresh the displayed tools after user input,
+ * including input consumed by the GUI. Mouse motion counts only while a
+ * button is held (dragging a slider, for instance) or the wheel turns, so
+ * merely moving the pointer doesn't refresh every tool. Never consumes
+ * events.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class ToolInvalidator implements RawInputListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(ToolInvalidator.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * number of mouse buttons currently pressed
+     */
+    private int numButtonsDown = 0;
+    // *************************************************************************
+    // RawInputListener methods
+
+    /**
+     * Callback invoked at the start of each batch of input events.
+     */
+    @Override
+    public void beginInput() {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked at the end of each batch of input events.
+     */
+    @Override
+    public void endInput() {
+        // do nothing
+    }
+
+    /**
+     * Callback to process a joystick-axis event.
+     *
+     * @param event the event (not null)
+     */
+    @Override
+    public void onJoyAxisEvent(JoyAxisEvent event) {
+        ToolRefresh.invalidate();
+    }
+
+    /**
+     * Callback to process a joystick-button event.
+     *
+     * @param event the event (not null)
+     */
+    @Override
+    public void onJoyButtonEvent(JoyButtonEvent event) {
+        ToolRefresh.invalidate();
+    }
+
+    /**
+     * Callback to process a keyboard event.
+     *
+     * @param event the event (not null)
+     */
+    @Override
+    public void onKeyEvent(KeyInputEvent event) {
+        ToolRefresh.invalidate();
+    }
+
+    /**
+     * Callback to process a mouse-button event.
+     *
+     * @param event the event (not null)
+     */
+    @Override
+    public void onMouseButtonEvent(MouseButtonEvent event) {
+        if (event.isPressed()) {
+            ++numButtonsDown;
+        } else if (numButtonsDown > 0) {
+            --numButtonsDown;
+        }
+        ToolRefresh.invalidate();
+    }
+
+    /**
+     * Callback to process a mouse-motion event.
+     *
+     * @param event the event (not null)
+     */
+    @Override
+    public void onMouseMotionEvent(MouseMotionEvent event) {
+        if (numButtonsDown > 0 || event.getDeltaWheel() != 0) {
+            ToolRefresh.invalidate();
+        }
+    }
+
+    /**
+     * Callback to process a touch event.
+     *
+     * @param event the event (not null)
+     */
+    @Override
+    public void onTouchEvent(TouchEvent event) {
+        ToolRefresh.invalidate();
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.tool;
+
+import com.jme3.renderer.Camera;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import jme3utilities.nifty.Tool;
+import maud.Maud;
+import maud.model.EditState;
+import maud.model.EditorModel;
+import maud.model.cgm.PendingLoad;
+import maud.model.cgm.PendingShape;
+import maud.model.cgm.PendingWrite;
+
+/**
+ * Change notification for tools, so that a displayed tool refreshes itself
+ * only when something it might depend on has changed, or when it has just
+ * become visible.
+ * <p>
+ * Two change stamps are maintained. The general stamp covers every tool. It
+ * advances when an edit is made (EditState revision), when an action or a
+ * significant raw input occurs (plus a few following frames, since Nifty
+ * processes GUI events during rendering), while a background load or write is
+ * in progress, when the display is resized, and periodically as a safety net.
+ * The playback stamp advances on every frame while an animation plays, and
+ * only tools that display the animation time or the pose follow it, so
+ * playback doesn't refresh every displayed tool on every frame.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ToolRefresh {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of frames to refresh after each invalidation
+     */
+    final private static int framesPerInvalidation = 3;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(ToolRefresh.class.getName());
+    /**
+     * interval between unconditional refreshes (in seconds)
+     */
+    final private static float safetyInterval = 0.5f;
+    // *************************************************************************
+    // fields
+
+    /**
+     * seconds remaining until the next unconditional refresh
+     */
+    private static float secondsUntilSafety = 0f;
+    /**
+     * number of frames remaining to refresh due to invalidation
+     */
+    private static int framesToRefresh = framesPerInvalidation;
+    /**
+     * display height at the previous frame (in pixels)
+     */
+    private static int lastHeight = -1;
+    /**
+     * number of background writes pending at the previous frame
+     */
+    private static int lastPendingWrites = 0;
+    /**
+     * display width at the previous frame (in pixels)
+     */
+    private static int lastWidth = -1;
+    /**
+     * number of tool refreshes during the current frame
+     */
+    private static int numRefreshes = 0;
+    /**
+     * general change stamp: advances whenever every tool should refresh
+     */
+    private static long changeStamp = 0L;
+    /**
+     * frame counter
+     */
+    private static long frameIndex = 0L;
+    /**
+     * most recent EditState revision seen
+     */
+    private static long lastRevision = -1L;
+    /**
+     * playback stamp: advances on each frame while an animation plays
+     */
+    private static long playStamp = 0L;
+    /**
+     * for each tool: the general change stamp of its last refresh, the index
+     * of the last frame it was updated, and the playback stamp of its last
+     * refresh
+     */
+    final private static Map<Tool, long[]> toolStates
+            = new IdentityHashMap<>(80);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private ToolRefresh() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Begin a new frame of tool updates: decide whether the change stamps
+     * advance and reset the refresh count. Invoked once per frame, after
+     * the model has been updated and before the tools are updated.
+     *
+     * @param tpf time interval between frames (in seconds, &ge;0)
+     */
+    public static void beginFrame(float tpf) {
+        ++frameIndex;
+        numRefreshes = 0;
+
+        boolean changed = false;
+        if (framesToRefresh > 0) {
+            --framesToRefresh;
+            changed = true;
+        }
+
+        secondsUntilSafety -= tpf;
+        if (secondsUntilSafety <= 0f) {
+            secondsUntilSafety = safetyInterval;
+            changed = true;
+        }
+
+        long revision = EditState.lastRevision();
+        if (revision != lastRevision) {
+            lastRevision = revision;
+            changed = true;
+        }
+
+        if (PendingLoad.isActive() || PendingShape.isActive()) {
+            changed = true;
+        }
+
+        EditorModel model = Maud.getModel();
+        if (model.getSource().getAnimation().isMoving()
+                || model.getTarget().getAnimation().isMoving()) {
+            ++playStamp;
+        }
+
+        int pendingWrites = PendingWrite.countPending();
+        if (pendingWrites != lastPendingWrites) {
+            lastPendingWrites = pendingWrites;
+            changed = true;
+        }
+
+        Camera camera = Maud.getApplication().getCamera();
+        int height = camera.getHeight();
+        int width = camera.getWidth();
+        if (height != lastHeight || width != lastWidth) {
+            lastHeight = height;
+            lastWidth = width;
+            changed = true;
+        }
+
+        if (changed) {
+            ++changeStamp;
+        }
+    }
+
+    /**
+     * Count the tool refreshes during the most recent frame.
+     *
+     * @return the count (&ge;0)
+     */
+    public static int countRefreshes() {
+        assert numRefreshes >= 0 : numRefreshes;
+        return numRefreshes;
+    }
+
+    /**
+     * Force every displayed tool to refresh during the next few frames.
+     * Invoked when an action or input event occurs.
+     */
+    public static void invalidate() {
+        framesToRefresh = framesPerInvalidation;
+    }
+
+    /**
+     * Test whether the specified tool should refresh itself during the
+     * current frame, ignoring animation playback. Invoked at the start of
+     * each tool's toolUpdate().
+     *
+     * @param tool the tool being updated (not null)
+     * @return true if the tool should refresh, otherwise false
+     */
+    public static boolean isNeeded(Tool tool) {
+        boolean result = isNeeded(tool, false);
+        return result;
+    }
+
+    /**
+     * Test whether the specified tool should refresh itself during the
+     * current frame. Invoked at the start of each tool's toolUpdate().
+     *
+     * @param tool the tool being updated (not null)
+     * @param followsPlayback true if the tool displays the animation time or
+     * the pose, so it must refresh while an animation plays
+     * @return true if the tool should refresh, otherwise false
+     */
+    public static boolean isNeeded(Tool tool, boolean followsPlayback) {
+        assert tool != null;
+
+        long[] state = toolStates.get(tool);
+        if (state == null) {
+            state = new long[]{-1L, -1L, -1L};
+            toolStates.put(tool, state);
+        }
+
+        boolean justShown = (state[1] != frameIndex - 1L);
+        boolean result = justShown || state[0] != changeStamp
+                || followsPlayback && state[2] != playStamp;
+        state[1] = frameIndex;
+        if (result) {
+            state[0] = changeStamp;
+            state[2] = playStamp;
+            ++numRefreshes;
+        }
+
+        return result;
+    }
+}
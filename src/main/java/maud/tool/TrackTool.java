@@ -69,6 +69,10 @@ class TrackTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         boolean isReal = Maud.getModel().getTarget().getAnimation().isReal();
         String selectButton = isReal ? "Select track" : "";
         setButtonText("selectTrack", selectButton);
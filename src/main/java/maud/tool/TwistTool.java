@@ -129,6 +129,10 @@ class TwistTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateSelected();
 
         RotationDisplayMode mode
@@ -78,6 +78,10 @@ class VertexTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         updateBuffer();
         updateBone(0);
         updateBone(1);
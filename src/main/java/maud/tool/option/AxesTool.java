@@ -35,6 +35,7 @@ import maud.Maud;
 import maud.model.option.scene.AxesDragEffect;
 import maud.model.option.scene.AxesOptions;
 import maud.model.option.scene.AxesSubject;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Axes" tool in Maud's editor screen.
@@ -132,6 +133,10 @@ public class AxesTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         AxesOptions options = Maud.getModel().getScene().getAxes();
         boolean depthTestFlag = options.getDepthTestFlag();
         setChecked("axesDepthTest", depthTestFlag);
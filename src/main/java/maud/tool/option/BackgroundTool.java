@@ -37,6 +37,7 @@ import maud.model.EditorModel;
 import maud.model.option.Background;
 import maud.model.option.ScoreOptions;
 import maud.model.option.scene.RenderOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Background" tool in Maud's editor screen.
@@ -127,6 +128,10 @@ public class BackgroundTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         EditorModel editorModel = Maud.getModel();
         RenderOptions forScenes = editorModel.getScene().getRender();
         ScoreOptions forScores = editorModel.getScore();
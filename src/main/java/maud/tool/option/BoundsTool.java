@@ -34,6 +34,7 @@ import jme3utilities.nifty.SliderTransform;
 import jme3utilities.nifty.Tool;
 import maud.Maud;
 import maud.model.option.scene.BoundsOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Bounds" tool in Maud's editor screen.
@@ -143,6 +144,10 @@ public class BoundsTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         BoundsOptions options = Maud.getModel().getScene().getBounds();
 
         ColorRGBA color = options.copyColor(null);
@@ -34,6 +34,7 @@ import maud.model.option.scene.CameraOptions;
 import maud.model.option.scene.MovementMode;
 import maud.model.option.scene.OrbitCenter;
 import maud.model.option.scene.ProjectionMode;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Camera" tool in Maud's editor screen. The camera tool
@@ -75,6 +76,10 @@ public class CameraTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         CameraOptions options = Maud.getModel().getScene().getCamera();
 
         MovementMode movement = options.getMovementMode();
@@ -37,6 +37,7 @@ import maud.Maud;
 import maud.model.option.scene.DddCursorOptions;
 import maud.model.option.scene.SceneOptions;
 import maud.model.option.scene.VertexOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Cursor" tool in Maud's editor screen. The tool
@@ -167,6 +168,10 @@ public class CursorTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         SceneOptions sOptions = Maud.getModel().getScene();
         DddCursorOptions options = sOptions.getCursor();
 
@@ -33,6 +33,7 @@ import jme3utilities.minie.PhysicsDumper;
 import jme3utilities.nifty.GuiScreenController;
 import jme3utilities.nifty.Tool;
 import maud.Maud;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Dump" tool in Maud's editor screen.
@@ -135,6 +136,10 @@ public class DumpTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         PhysicsDumper dumper = Maud.getModel().getDumper();
 
         boolean dumpBuckets = dumper.isDumpBucket();
@@ -26,13 +26,17 @@
  */
 package maud.tool.option;
 
+import com.jme3.bullet.PhysicsSpace;
 import java.util.List;
 import java.util.logging.Logger;
 import jme3utilities.nifty.GuiScreenController;
 import jme3utilities.nifty.SliderTransform;
 import jme3utilities.nifty.Tool;
 import maud.Maud;
+import maud.model.EditorModel;
+import maud.model.cgm.Cgm;
 import maud.model.option.scene.SceneOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Physics" tool in Maud's editor screen.
@@ -133,7 +137,17 @@ public class PhysicsTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
-        SceneOptions options = Maud.getModel().getScene();
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
+        EditorModel model = Maud.getModel();
+        SceneOptions options = model.getScene();
+
+        PhysicsSpace.BroadphaseType broadphaseType
+                = options.getBroadphaseType();
+        String bButton = broadphaseType.toString();
+        setButtonText("physicsBroadphase", bButton);
 
         boolean isRendered = options.getRender().isPhysicsRendered();
         setChecked("physics2", isRendered);
@@ -141,5 +155,16 @@ public class PhysicsTool extends Tool {
         int maxIterations = options.numPhysicsIterations();
         setSlider("maxIterations", iterSt, maxIterations);
         updateSliderStatus("maxIterations", maxIterations, "");
+
+        Cgm target = model.getTarget();
+        float targetMillis = target.getSceneView().physicsStepMilliseconds();
+        String stepStatus = String.format("step: %.2f ms", targetMillis);
+        Cgm source = model.getSource();
+        if (source.isLoaded()) {
+            float sourceMillis
+                    = source.getSceneView().physicsStepMilliseconds();
+            stepStatus += String.format(" + %.2f ms", sourceMillis);
+        }
+        setStatusText("physicsStep", stepStatus);
     }
 }
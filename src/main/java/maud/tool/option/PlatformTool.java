@@ -35,6 +35,7 @@ import maud.Maud;
 import maud.model.WhichCgm;
 import maud.model.option.scene.PlatformType;
 import maud.model.option.scene.SceneOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Platform" tool in Maud's editor screen.
@@ -105,6 +106,10 @@ public class PlatformTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         SceneOptions options = Maud.getModel().getScene();
 
         PlatformType type = options.getPlatformType();
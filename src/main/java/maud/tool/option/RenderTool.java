@@ -37,6 +37,7 @@ import maud.model.EditorModel;
 import maud.model.option.scene.RenderOptions;
 import maud.model.option.scene.SceneOptions;
 import maud.model.option.scene.TriangleMode;
+import maud.tool.ToolRefresh;
 import maud.view.scene.SceneView;
 
 /**
@@ -140,6 +141,10 @@ public class RenderTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         EditorModel model = Maud.getModel();
         SceneOptions sceneOptions = model.getScene();
         RenderOptions options = sceneOptions.getRender();
@@ -39,6 +39,7 @@ import maud.model.EditorModel;
 import maud.model.option.scene.LightsOptions;
 import maud.model.option.scene.RenderOptions;
 import maud.model.option.scene.SceneOptions;
+import maud.tool.ToolRefresh;
 import maud.view.scene.SceneView;
 
 /**
@@ -165,6 +166,10 @@ public class SceneLightingTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         EditorModel model = Maud.getModel();
         SceneOptions sceneOptions = model.getScene();
         boolean isSkySimulated = sceneOptions.getRender().isSkySimulated();
@@ -172,23 +177,15 @@ public class SceneLightingTool extends Tool {
 
         SceneView sceneView = model.getTarget().getSceneView();
         int count = sceneView.countAddedLightProbes();
-        String countText;
-        if (Maud.envCamIsBusy && count > 0) {
-            countText = Integer.toString(count - 1) + "+";
-        } else {
-            countText = Integer.toString(count);
+        int numPending = sceneView.countPendingLightProbes();
+        String countText = Integer.toString(count);
+        if (numPending > 0) {
+            countText += "+" + numPending;
         }
         setStatusText("probeCount", countText);
+        setButtonText("probeAdd", "Add");
 
-        String addText;
-        if (Maud.envCamIsBusy) {
-            addText = "";
-        } else {
-            addText = "Add";
-        }
-        setButtonText("probeAdd", addText);
-
-        if (count > 0) {
+        if (count + numPending > 0) {
             setButtonText("probeDeleteAll", "Delete all");
         } else {
             setButtonText("probeDeleteAll", "");
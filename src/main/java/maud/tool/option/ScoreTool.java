@@ -31,8 +31,12 @@ import java.util.logging.Logger;
 import jme3utilities.nifty.GuiScreenController;
 import jme3utilities.nifty.Tool;
 import maud.Maud;
+import maud.model.EditorModel;
+import maud.model.cgm.Cgm;
 import maud.model.option.ScoreOptions;
 import maud.model.option.ShowBones;
+import maud.tool.ToolRefresh;
+import maud.view.ScoreView;
 
 /**
  * The controller for the "Score" tool in Maud's editor screen.
@@ -112,6 +116,10 @@ public class ScoreTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         ScoreOptions scoreOptions = Maud.getModel().getScore();
 
         boolean translations = scoreOptions.showsTranslations();
@@ -130,5 +138,30 @@ public class ScoreTool extends Tool {
         ShowBones showWhenSelected = scoreOptions.getShowWhenSelected();
         String whenButton = showWhenSelected.toString();
         setButtonText("scoreShowWhenSelected", whenButton);
+
+        updateStaves();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Update the status label that counts rebuilt and re-used staves.
+     */
+    private void updateStaves() {
+        int numRebuilt = 0;
+        int numReused = 0;
+        EditorModel model = Maud.getModel();
+        Cgm[] cgms = {model.getSource(), model.getTarget()};
+        for (Cgm cgm : cgms) {
+            ScoreView view = cgm.getScoreView();
+            if (cgm.isLoaded() && view != null) {
+                numRebuilt += view.countRebuiltStaves();
+                numReused += view.countReusedStaves();
+            }
+        }
+
+        String text = String.format("Staves this frame: %d rebuilt, %d re-used",
+                numRebuilt, numReused);
+        setStatusText("scoreStaves", " " + text);
     }
 }
@@ -35,6 +35,7 @@ import maud.Maud;
 import maud.model.option.LoadBvhAxisOrder;
 import maud.model.option.MiscOptions;
 import maud.model.option.RotationDisplayMode;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Settings" tool in Maud's editor screen.
@@ -134,6 +135,10 @@ public class SettingsTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         MiscOptions options = Maud.getModel().getMisc();
 
         RotationDisplayMode mode = options.rotationDisplayMode();
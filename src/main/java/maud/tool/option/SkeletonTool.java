@@ -36,6 +36,7 @@ import maud.Maud;
 import maud.model.option.ShowBones;
 import maud.model.option.scene.SkeletonColors;
 import maud.model.option.scene.SkeletonOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Skeleton" tool in Maud's editor screen.
@@ -121,6 +122,10 @@ public class SkeletonTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         SkeletonOptions options = Maud.getModel().getScene().getSkeleton();
 
         ShowBones showBones = options.getShowBones();
@@ -34,6 +34,7 @@ import jme3utilities.nifty.SliderTransform;
 import jme3utilities.nifty.Tool;
 import maud.Maud;
 import maud.model.option.scene.RenderOptions;
+import maud.tool.ToolRefresh;
 
 /**
  * The controller for the "Sky" tool in Maud's editor screen.
@@ -141,6 +142,10 @@ public class SkyTool extends Tool {
      */
     @Override
     protected void toolUpdate() {
+        if (!ToolRefresh.isNeeded(this)) {
+            return;
+        }
+
         RenderOptions options = Maud.getModel().getScene().getRender();
 
         boolean isSkySimulated = options.isSkySimulated();
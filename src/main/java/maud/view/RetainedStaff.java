@@ -0,0 +1,187 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.view;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.scene.Node;
+import java.util.logging.Logger;
+import maud.mesh.YSwarm;
+
+/**
+ * The retained geometry of a single staff in a score view, along with the
+ * key of the inputs used to build it. The geometry is built relative to the
+ * top of the staff, so a staff can be re-used after the staves above it
+ * change height.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class RetainedStaff {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * maximum number of pose points per staff
+     */
+    final private static int maxPosePoints = 10;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(RetainedStaff.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * colors of the pose points
+     */
+    final private ColorRGBA[] poseColors = new ColorRGBA[maxPosePoints];
+    /**
+     * normalized X-coordinates of keyframes in the selected track, or null if
+     * the staff doesn't visualize the selected track
+     */
+    private float[] frameXs = null;
+    /**
+     * Y-coordinates of the pose points (relative to the top of the staff)
+     */
+    final private float[] poseYs = new float[maxPosePoints];
+    /**
+     * number of pose points
+     */
+    private int numPosePoints = 0;
+    /**
+     * frame in which this staff was last attached to the visuals
+     */
+    private long lastUsed;
+    /**
+     * parent of the staff's geometries
+     */
+    final private Node node;
+    /**
+     * key of the inputs used to build the geometries (not null)
+     */
+    final private StaffKey key;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty staff with the specified key.
+     *
+     * @param key the key of the inputs (not null, alias created)
+     * @param name the name for the staff's node (may be null)
+     */
+    RetainedStaff(StaffKey key, String name) {
+        assert key != null;
+
+        this.key = key;
+        this.node = new Node(name);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a pose point to this staff.
+     *
+     * @param y the Y-coordinate (relative to the top of the staff)
+     * @param color the color of the point (not null, alias created)
+     */
+    void addPosePoint(float y, ColorRGBA color) {
+        assert color != null;
+        assert numPosePoints < maxPosePoints : numPosePoints;
+
+        poseYs[numPosePoints] = y;
+        poseColors[numPosePoints] = color;
+        ++numPosePoints;
+    }
+
+    /**
+     * Add this staff's pose points to the specified mesh.
+     *
+     * @param mesh the mesh to modify (not null)
+     * @param topY the world Y-coordinate of the top of the staff
+     */
+    void addPosePointsTo(YSwarm mesh, float topY) {
+        for (int i = 0; i < numPosePoints; ++i) {
+            mesh.add(topY + poseYs[i], poseColors[i]);
+        }
+    }
+
+    /**
+     * Access the normalized keyframe X-coordinates of the selected track.
+     *
+     * @return the pre-existing array, or null if not the selected track
+     */
+    float[] getFrameXs() {
+        return frameXs;
+    }
+
+    /**
+     * Access the key of the inputs used to build this staff.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    StaffKey getKey() {
+        assert key != null;
+        return key;
+    }
+
+    /**
+     * Access the parent node of this staff's geometries.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    Node getNode() {
+        assert node != null;
+        return node;
+    }
+
+    /**
+     * Read the frame in which this staff was last used.
+     *
+     * @return the frame number
+     */
+    long lastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * Alter the normalized keyframe X-coordinates of the selected track.
+     *
+     * @param newXs the desired coordinates (alias created) or null
+     */
+    void setFrameXs(float[] newXs) {
+        this.frameXs = newXs;
+    }
+
+    /**
+     * Record the frame in which this staff was used.
+     *
+     * @param frameNumber the frame number
+     */
+    void setLastUsed(long frameNumber) {
+        this.lastUsed = frameNumber;
+    }
+}
@@ -26,11 +26,13 @@
  */
 package maud.view;
 
+import com.jme3.animation.BoneTrack;
 import com.jme3.input.InputManager;
 import com.jme3.material.Material;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.FastMath;
 import com.jme3.math.Ray;
+import com.jme3.math.Transform;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.Camera;
@@ -44,6 +46,7 @@ import com.jme3.scene.shape.Line;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -54,14 +57,18 @@ import jme3utilities.math.MyArray;
 import jme3utilities.math.MyMath;
 import jme3utilities.mesh.RectangleMesh;
 import jme3utilities.wes.Pose;
+import jme3utilities.wes.TweenTransforms;
 import maud.Maud;
+import maud.MaudUtil;
 import maud.mesh.Finial;
 import maud.mesh.Sparkline;
 import maud.mesh.YSwarm;
 import maud.model.EditorModel;
 import maud.model.cgm.Cgm;
+import maud.model.cgm.EditableCgm;
 import maud.model.cgm.LoadedAnimation;
 import maud.model.cgm.PlayOptions;
+import maud.model.cgm.ScorePov;
 import maud.model.cgm.StaffTrack;
 import maud.model.option.MiscOptions;
 import maud.model.option.ScoreOptions;
@@ -69,8 +76,10 @@ import maud.model.option.ShowBones;
 import maud.model.option.ViewMode;
 
 /**
- * An editor view containing a 2-D visualization of a loaded animation. TODO
- * split off ScoreViewCore
+ * An editor view containing a 2-D visualization of a loaded animation.
+ * <p>
+ * Staves are retained between frames: a staff is rebuilt only when the inputs
+ * recorded in its key change. TODO split off ScoreViewCore
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -128,17 +137,31 @@ public class ScoreView implements EditorView {
      */
     private Cgm cgm;
     /**
-     * end-cap mesh for a bone track that includes scales
+     * end-cap meshes for tracks, indexed by component bitmask
      */
-    private static Finial finialComplete;
+    final private static Finial[] finials = new Finial[8];
     /**
-     * end-cap mesh for a bone track without scales
+     * camera compression factor for the current frame
      */
-    private static Finial finialNoScales;
+    private float compression;
+    /**
+     * half height of the camera's frustum for the current frame (in world
+     * units)
+     */
+    private float halfHeight;
     /**
      * height of this score (in world units, &ge;0)
      */
     private float height = 0f;
+    /**
+     * world X-coordinate of the left edge of the frustum for the current frame
+     */
+    private float leftX;
+    /**
+     * world X-coordinate of the right edge of the frustum for the current
+     * frame
+     */
+    private float rightX;
     /**
      * array to pass a single X value to {@link #attachSparkline(int, float[],
      * float[], com.jme3.scene.Mesh.Mode, java.lang.String, int,
@@ -159,10 +182,35 @@ public class ScoreView implements EditorView {
      * number of interpolated samples per sparkline, or 0 to use keyframes
      */
     private int numSamples = 0;
+    /**
+     * number of staves rebuilt during the most recent update (&ge;0)
+     */
+    private int numRebuilt = 0;
+    /**
+     * number of staves re-used during the most recent update (&ge;0)
+     */
+    private int numReused = 0;
     /**
      * index of the staff currently being visualized, used to name geometries
      */
     private int staffIndex = 0;
+    /**
+     * count of updates in which this view was visible
+     */
+    private long frameCount = 0L;
+    /**
+     * revision of the visualized C-G model for the current frame
+     */
+    private long revision;
+    /**
+     * retained staves for bones, indexed by bone index
+     */
+    final private Map<Integer, RetainedStaff> boneStaves = new HashMap<>(120);
+    /**
+     * retained staves for spatial tracks, indexed by spatial-track index
+     */
+    final private Map<Integer, RetainedStaff> spatialStaves
+            = new HashMap<>(20);
     /**
      * world X-coordinates of each keyframe in the selected bone track
      */
@@ -172,9 +220,13 @@ public class ScoreView implements EditorView {
      */
     final private Map<String, Vector2f> trackYs = new HashMap<>(120);
     /**
-     * visualization subtree: attach geometries here
+     * visualization subtree: attach staves here
      */
     private Node visuals = null;
+    /**
+     * staff currently being built, or null if none
+     */
+    private RetainedStaff building = null;
     /**
      * reusable resources for visualization
      */
@@ -226,17 +278,17 @@ public class ScoreView implements EditorView {
      * @param z normalized Z component of the rotation
      */
     public void addPoseRotation(float w, float x, float y, float z) {
-        float scoreY = scoreY(w, numPlots);
-        poseMesh.add(scoreY, ScoreResources.wColor);
+        float staffY = staffY(w, numPlots);
+        building.addPosePoint(staffY, ScoreResources.wColor);
 
-        scoreY = scoreY(x, numPlots + 1);
-        poseMesh.add(scoreY, ScoreResources.xColor);
+        staffY = staffY(x, numPlots + 1);
+        building.addPosePoint(staffY, ScoreResources.xColor);
 
-        scoreY = scoreY(y, numPlots + 2);
-        poseMesh.add(scoreY, ScoreResources.yColor);
+        staffY = staffY(y, numPlots + 2);
+        building.addPosePoint(staffY, ScoreResources.yColor);
 
-        scoreY = scoreY(z, numPlots + 3);
-        poseMesh.add(scoreY, ScoreResources.zColor);
+        staffY = staffY(z, numPlots + 3);
+        building.addPosePoint(staffY, ScoreResources.zColor);
     }
 
     /**
@@ -248,14 +300,14 @@ public class ScoreView implements EditorView {
      * @param z normalized Z component of the vector
      */
     public void addPoseVector(float x, float y, float z) {
-        float scoreY = scoreY(x, numPlots);
-        poseMesh.add(scoreY, ScoreResources.xColor);
+        float staffY = staffY(x, numPlots);
+        building.addPosePoint(staffY, ScoreResources.xColor);
 
-        scoreY = scoreY(y, numPlots + 1);
-        poseMesh.add(scoreY, ScoreResources.yColor);
+        staffY = staffY(y, numPlots + 1);
+        building.addPosePoint(staffY, ScoreResources.yColor);
 
-        scoreY = scoreY(z, numPlots + 2);
-        poseMesh.add(scoreY, ScoreResources.zColor);
+        staffY = staffY(z, numPlots + 2);
+        building.addPosePoint(staffY, ScoreResources.zColor);
     }
 
     /**
@@ -296,8 +348,7 @@ public class ScoreView implements EditorView {
             attachSparkline(numPoints, pxx, pyy, Mesh.Mode.Points,
                     suffix + "p", plotIndex, material);
 
-            float zoom = cgm.getScorePov().getHalfHeight();
-            if (zoom < 10f) {
+            if (halfHeight < 10f) {
                 /*
                  * Draw connecting lines only when zoomed in.
                  */
@@ -317,6 +368,26 @@ public class ScoreView implements EditorView {
         }
     }
 
+    /**
+     * Count the staves that were rebuilt during the most recent update.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countRebuiltStaves() {
+        assert numRebuilt >= 0 : numRebuilt;
+        return numRebuilt;
+    }
+
+    /**
+     * Count the staves that were re-used during the most recent update.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countReusedStaves() {
+        assert numReused >= 0 : numReused;
+        return numReused;
+    }
+
     /**
      * Read the height of this score, not including the gnomon.
      *
@@ -545,6 +616,8 @@ public class ScoreView implements EditorView {
         trackYs.clear();
         frameXs.clear();
         poseMesh.clear();
+        this.numRebuilt = 0;
+        this.numReused = 0;
 
         ViewPort viewPort = getViewPort();
         if (viewPort != null && viewPort.isEnabled()) {
@@ -562,16 +635,6 @@ public class ScoreView implements EditorView {
                 backgroundColor = options.targetBackgroundColor(null);
             }
             viewPort.setBackgroundColor(backgroundColor);
-            /*
-             * Pre-configure finials for bone tracks.
-             */
-            boolean translations = options.showsTranslations();
-            boolean rotations = options.showsRotations();
-            boolean scales = options.showsScales();
-            finialComplete = new Finial(translations, rotations, scales,
-                    sparklineHeight);
-            finialNoScales = new Finial(translations, rotations, false,
-                    sparklineHeight);
 
             cgm.getScorePov().updatePartial();
             /*
@@ -592,6 +655,20 @@ public class ScoreView implements EditorView {
                 numSamples = 0;
             }
             StaffTrack.setNumSamples(numSamples);
+            /*
+             * Capture the per-frame inputs that are common to all staves.
+             */
+            ScorePov pov = cgm.getScorePov();
+            this.compression = pov.compression();
+            this.halfHeight = pov.getHalfHeight();
+            this.leftX = pov.leftX();
+            this.rightX = pov.rightX();
+            if (cgm instanceof EditableCgm) {
+                this.revision = ((EditableCgm) cgm).getEditState().revision();
+            } else {
+                this.revision = 0L;
+            }
+            ++frameCount;
 
             List<Spatial> roots = viewPort.getScenes();
             int numRoots = roots.size();
@@ -604,6 +681,8 @@ public class ScoreView implements EditorView {
 
             attachBones();
             attachSpatialTracks();
+            evictUnusedStaves(boneStaves);
+            evictUnusedStaves(spatialStaves);
             attachGnomon();
             attachLimits();
 
@@ -614,16 +693,16 @@ public class ScoreView implements EditorView {
                 /*
                  * Explain why there are no tracks.
                  */
-                float compression = cgm.getScorePov().compression();
                 float xWidth = 1f / compression;
                 float lineWidth = 4f + r.labelFont.getLineWidth(clueMessage, 0);
                 float sizeFactor = xWidth / lineWidth;
                 float preferredSize = r.labelFont.getActualLineHeight();
                 float yHeight = 2.4f * xWidth / preferredSize;
                 float centerY = cgm.getScorePov().getCameraY();
-                float rightX = 1f;
-                attachLabelHorizontal(clueMessage, sizeFactor, ColorRGBA.White,
-                        r.bgSelected, rightX, centerY, xWidth, yHeight);
+                float labelRightX = 1f;
+                attachLabelHorizontal(visuals, clueMessage, sizeFactor,
+                        ColorRGBA.White, r.bgSelected, labelRightX, centerY,
+                        xWidth, yHeight);
             }
         }
     }
@@ -718,7 +797,8 @@ public class ScoreView implements EditorView {
     }
 
     /**
-     * Attach a staff to visualize the indexed bone and its track, if any.
+     * Attach a staff to visualize the indexed bone and its track, if any. The
+     * staff is rebuilt only if its inputs have changed.
      *
      * @param boneIndex which bone (&ge;0)
      */
@@ -727,20 +807,21 @@ public class ScoreView implements EditorView {
 
         float staffHeight;
         Finial finial;
-        boolean trackedBone = cgm.getAnimation().hasTrackForBone(boneIndex);
-        if (trackedBone) {
-            StaffTrack.loadBoneTrack(boneIndex);
-            boolean hasScales = StaffTrack.hasScales();
-            finial = hasScales ? finialComplete : finialNoScales;
+        Object track = StaffTrack.findBoneTrack(boneIndex);
+        if (track != null) {
+            ScoreOptions options = Maud.getModel().getScore();
+            boolean translations = options.showsTranslations();
+            boolean rotations = options.showsRotations();
+            boolean hasScales = MaudUtil.getTrackScales(track) != null;
+            boolean scales = hasScales && options.showsScales();
+            finial = finial(translations, rotations, scales);
             staffHeight = finial.getHeight();
             if (staffHeight == 0f) {
                 finial = null;
-                StaffTrack.setNoData();
             }
         } else {
             finial = null;
             staffHeight = 0f;
-            StaffTrack.setTracklessBone(boneIndex);
         }
         /*
          * Calculate the range of (world) Ys that the staff occupies.
@@ -749,7 +830,7 @@ public class ScoreView implements EditorView {
         float minY = -newHeight;
         float maxY = -height;
         assert minY <= maxY;
-        if (trackedBone) {
+        if (track != null) {
             String trackDesc = cgm.getAnimation().describeBoneTrack(boneIndex);
             trackYs.put(trackDesc, new Vector2f(minY, maxY));
         }
@@ -761,11 +842,35 @@ public class ScoreView implements EditorView {
             if (boneIndex == targetBoneIndex) {
                 isSelectedTrack = true;
             }
-            if (finial == null) {
-                attachTracklessStaff();
+
+            String labelText = cgm.getSkeleton().getBoneName(boneIndex);
+            Transform pose = null;
+            if (finial != null && track instanceof BoneTrack) {
+                pose = cgm.getPose().get().userTransform(boneIndex, null);
+            }
+            Object keyTrack = (finial == null) ? null : track;
+            StaffKey key = makeKey(keyTrack, labelText, pose);
+
+            RetainedStaff staff = boneStaves.get(boneIndex);
+            if (staff == null || !staff.getKey().equals(key)) {
+                String name = String.format("bone staff%d", boneIndex);
+                staff = new RetainedStaff(key, name);
+                boneStaves.put(boneIndex, staff);
+
+                this.building = staff;
+                if (finial == null) {
+                    StaffTrack.setTracklessBone(boneIndex);
+                    attachTracklessStaff();
+                } else {
+                    StaffTrack.loadBoneTrack(boneIndex);
+                    attachTrackedStaff(finial);
+                }
+                this.building = null;
+                ++numRebuilt;
             } else {
-                attachTrackedStaff(finial);
+                ++numReused;
             }
+            placeStaff(staff);
             ++staffIndex;
         }
         this.height = newHeight;
@@ -802,46 +907,45 @@ public class ScoreView implements EditorView {
          */
         String name = String.format("left finial%d", staffIndex);
         Geometry geometry = new Geometry(name, finial);
-        visuals.attachChild(geometry);
-        geometry.setLocalTranslation(xLeftMargin, -height, zLines);
+        building.getNode().attachChild(geometry);
+        geometry.setLocalTranslation(xLeftMargin, 0f, zLines);
         geometry.setMaterial(wireMaterial);
         /*
          * Attach a track label to the left of the left-hand finial.
          */
-        float leftX = cgm.getScorePov().leftX() + xGap;
-        float rightX = xLeftMargin - ScoreResources.hashSize;
-        assert leftX < rightX : leftX;
+        float labelLeftX = leftX + xGap;
+        float labelRightX = xLeftMargin - ScoreResources.hashSize;
+        assert labelLeftX < labelRightX : labelLeftX;
         float staffHeight = finial.getHeight();
-        float middleY = -(height + staffHeight / 2);
-        float compression = cgm.getScorePov().compression();
-        float maxWidth = (rightX - leftX) / compression;
+        float middleY = -staffHeight / 2;
+        float maxWidth = (labelRightX - labelLeftX) / compression;
         float minWidth = ScoreResources.hashSize / compression;
-        attachLabel(rightX, middleY, minWidth, maxWidth, staffHeight);
+        attachLabel(labelRightX, middleY, minWidth, maxWidth, staffHeight);
         /*
          * Attach the right-hand finial.
          */
         name = String.format("right finial%d", staffIndex);
         geometry = new Geometry(name, finial);
-        visuals.attachChild(geometry);
-        geometry.setLocalTranslation(xRightMargin, -height, zLines);
+        building.getNode().attachChild(geometry);
+        geometry.setLocalTranslation(xRightMargin, 0f, zLines);
         geometry.setLocalScale(-1f, 1f, 1f);
         geometry.setMaterial(wireMaterial);
         /*
          * Attach transform icons to the right of the right-hand finial.
          */
-        leftX = xRightMargin + ScoreResources.hashSize * 2f / 3;
-        rightX = cgm.getScorePov().rightX() - xGap;
-        assert rightX > leftX : rightX;
-        maxWidth = (rightX - leftX) / compression;
-        middleY = -height - sparklineHeight / 2 - (float) Finial.hpf;
+        float iconLeftX = xRightMargin + ScoreResources.hashSize * 2f / 3;
+        float iconRightX = rightX - xGap;
+        assert iconRightX > iconLeftX : iconRightX;
+        maxWidth = (iconRightX - iconLeftX) / compression;
+        middleY = -sparklineHeight / 2 - (float) Finial.hpf;
 
         ScoreOptions options = Maud.getModel().getScore();
         boolean translations = options.showsTranslations();
         boolean hasTranslations = StaffTrack.hasTranslations();
         if (translations && hasTranslations) {
             float maxHeight = 2 * (float) Finial.hpf;
-            attachTransformIcon(leftX, middleY, maxWidth, maxHeight, "tra",
-                    r.traMaterial);
+            attachTransformIcon(iconLeftX, middleY, maxWidth, maxHeight,
+                    "tra", r.traMaterial);
             middleY -= 3 * (float) Finial.hpf;
         }
 
@@ -850,8 +954,8 @@ public class ScoreView implements EditorView {
         if (rotations && hasRotations) {
             middleY -= 0.5f * (float) Finial.hpf;
             float maxHeight = 3 * (float) Finial.hpf;
-            attachTransformIcon(
-                    leftX, middleY, maxWidth, maxHeight, "rot", r.rotMaterial);
+            attachTransformIcon(iconLeftX, middleY, maxWidth, maxHeight,
+                    "rot", r.rotMaterial);
             middleY -= 3.5f * (float) Finial.hpf;
         }
 
@@ -859,8 +963,8 @@ public class ScoreView implements EditorView {
         boolean hasScales = StaffTrack.hasScales();
         if (scales && hasScales) {
             float maxHeight = 2 * (float) Finial.hpf;
-            attachTransformIcon(
-                    leftX, middleY, maxWidth, maxHeight, "sca", r.scaMaterial);
+            attachTransformIcon(iconLeftX, middleY, maxWidth, maxHeight,
+                    "sca", r.scaMaterial);
         }
     }
 
@@ -906,7 +1010,7 @@ public class ScoreView implements EditorView {
      * @param staffHeight (&ge;0)
      */
     private void attachHashes(float staffHeight) {
-        float y = -height - staffHeight / 2;
+        float y = -staffHeight / 2;
         Material material
                 = isSelectedTrack ? r.wireSelected : r.wireNotSelected;
 
@@ -914,28 +1018,29 @@ public class ScoreView implements EditorView {
         Geometry geometry = new Geometry(name, ScoreResources.hashMark);
         geometry.setLocalTranslation(xLeftMargin, y, zLines);
         geometry.setMaterial(material);
-        visuals.attachChild(geometry);
+        building.getNode().attachChild(geometry);
 
         name = String.format("right hash%d", staffIndex);
         geometry = new Geometry(name, ScoreResources.hashMark);
         geometry.setLocalTranslation(xRightMargin, y, zLines);
         geometry.setLocalScale(-1f, 1f, 1f); // grows to the right
         geometry.setMaterial(material);
-        visuals.attachChild(geometry);
+        building.getNode().attachChild(geometry);
     }
 
     /**
-     * Attach a right-aligned track label to the visuals.
+     * Attach a right-aligned track label to the staff being built.
      *
-     * @param rightX world X coordinate for the right edge of the label
-     * @param centerY world Y coordinate for the center of the label
+     * @param labelRightX world X coordinate for the right edge of the label
+     * @param centerY Y coordinate for the center of the label (relative to
+     * the top of the staff)
      * @param minWidth minimum width of label (in compressed units, &gt;0)
      * @param maxWidth maximum width of label (in compressed units,
      * &ge;minWidth)
      * @param maxHeight maximum height of label (in world units, &gt;0)
      */
-    private void attachLabel(float rightX, float centerY, float minWidth,
-            float maxWidth, float maxHeight) {
+    private void attachLabel(float labelRightX, float centerY,
+            float minWidth, float maxWidth, float maxHeight) {
         assert minWidth > 0f : minWidth;
         assert maxWidth >= minWidth : maxWidth;
         assert maxHeight > 0f : maxHeight;
@@ -979,28 +1084,30 @@ public class ScoreView implements EditorView {
         // Decide whether to rotate the label.
         if (h2 * w2 > h1 * w1) {
             attachLabelVertical(labelText, sizeFactor2, textColor, bgMaterial,
-                    rightX, centerY, w2, h2);
+                    labelRightX, centerY, w2, h2);
         } else {
-            attachLabelHorizontal(labelText, sizeFactor1, textColor, bgMaterial,
-                    rightX, centerY, w1, h1);
+            attachLabelHorizontal(building.getNode(), labelText, sizeFactor1,
+                    textColor, bgMaterial, labelRightX, centerY, w1, h1);
         }
     }
 
     /**
-     * Attach a horizontal label to the visuals.
+     * Attach a horizontal label to the specified parent.
      *
+     * @param parent where to attach the label (not null)
      * @param labelText text of the label (not null)
      * @param sizeFactor text size relative to preferred size (&gt;0)
      * @param textColor color for the text (not null, unaffected)
      * @param bgMaterial material for the background, or null for no background
-     * @param rightX world X coordinate for the right edge of the label
-     * @param centerY world Y coordinate for the center of the label
+     * @param labelRightX world X coordinate for the right edge of the label
+     * @param centerY Y coordinate for the center of the label (in the
+     * parent's coordinates)
      * @param xWidth width of label (in compressed units, &gt;0)
      * @param yHeight height of label (in world units, &gt;0)
      */
-    private void attachLabelHorizontal(String labelText, float sizeFactor,
-            ColorRGBA textColor, Material bgMaterial, float rightX,
-            float centerY, float xWidth, float yHeight) {
+    private void attachLabelHorizontal(Node parent, String labelText,
+            float sizeFactor, ColorRGBA textColor, Material bgMaterial,
+            float labelRightX, float centerY, float xWidth, float yHeight) {
         assert labelText != null;
         assert sizeFactor > 0f : sizeFactor;
         assert textColor != null;
@@ -1009,23 +1116,23 @@ public class ScoreView implements EditorView {
 
         Spatial label = r.makeLabel(labelText, sizeFactor,
                 textColor, bgMaterial, xWidth, yHeight);
-        visuals.attachChild(label);
-        float compression = cgm.getScorePov().compression();
+        parent.attachChild(label);
         label.setLocalScale(compression, 1f, 1f);
-        float x = rightX - xWidth * compression;
+        float x = labelRightX - xWidth * compression;
         float y = centerY + yHeight / 2;
         label.setLocalTranslation(x, y, zLabels);
     }
 
     /**
-     * Attach a vertical label to the visuals.
+     * Attach a vertical label to the staff being built.
      *
      * @param labelText text of the label (not null)
      * @param sizeFactor text size relative to preferred size (&gt;0)
      * @param textColor color for the text (not null, unaffected)
      * @param bgMaterial material for the background, or null for no background
      * @param bottomX world X coordinate for the bottom edge of the label
-     * @param centerY world Y coordinate for the center of the label
+     * @param centerY Y coordinate for the center of the label (relative to
+     * the top of the staff)
      * @param xHeight height of label (in compressed units, &gt;0)
      * @param yWidth width of label (in world units, &gt;0)
      */
@@ -1041,9 +1148,8 @@ public class ScoreView implements EditorView {
         String nameSuffix = String.format("%d", staffIndex);
         Spatial label = r.makeLabel(labelText, sizeFactor,
                 textColor, bgMaterial, yWidth, xHeight); // swap X and Y
-        visuals.attachChild(label);
+        building.getNode().attachChild(label);
         label.setLocalRotation(ScoreResources.quarterZ);
-        float compression = cgm.getScorePov().compression();
         label.setLocalScale(1f, compression, 1f);
         float x = bottomX - xHeight * compression;
         float y = centerY - yWidth / 2;
@@ -1090,31 +1196,30 @@ public class ScoreView implements EditorView {
         // Attach the left-hand rectangle: a narrow outline.
         String rectName = String.format("left rect%d", staffIndex);
         Geometry geometry = new Geometry(rectName, ScoreResources.outlineMesh);
-        visuals.attachChild(geometry);
+        building.getNode().attachChild(geometry);
         geometry.setLocalScale(-0.2f, staffHeight, 1f);
-        geometry.setLocalTranslation(xLeftMargin, -height, zLines);
+        geometry.setLocalTranslation(xLeftMargin, 0f, zLines);
         geometry.setMaterial(wireMaterial);
 
         // Attach a track label overlapping the left-hand rectangle.
-        float leftX = cgm.getScorePov().leftX() + xGap;
-        float rightX = -0.2f * ScoreResources.hashSize;
-        float middleY = -(height + staffHeight / 2);
-        float compression = cgm.getScorePov().compression();
-        float maxWidth = (rightX - leftX) / compression;
+        float labelLeftX = leftX + xGap;
+        float labelRightX = -0.2f * ScoreResources.hashSize;
+        float middleY = -staffHeight / 2;
+        float maxWidth = (labelRightX - labelLeftX) / compression;
         float minWidth = ScoreResources.hashSize / compression;
-        attachLabel(rightX, middleY, minWidth, maxWidth, staffHeight);
+        attachLabel(labelRightX, middleY, minWidth, maxWidth, staffHeight);
 
         // Attach the right-hand rectangle: an outline.
         rectName = String.format("right rect%d", staffIndex);
         geometry = new Geometry(rectName, ScoreResources.outlineMesh);
-        visuals.attachChild(geometry);
+        building.getNode().attachChild(geometry);
         geometry.setLocalScale(1f, staffHeight, 1f);
-        geometry.setLocalTranslation(xRightMargin, -height, zLines);
+        geometry.setLocalTranslation(xRightMargin, 0f, zLines);
         geometry.setMaterial(wireMaterial);
     }
 
     /**
-     * Attach a single sparkline to the visualization.
+     * Attach a single sparkline to the staff being built.
      *
      * @param numVertices number of values to use (&ge;0)
      * @param xx array of X-values for the sparkline (not null, unaffected)
@@ -1138,10 +1243,10 @@ public class ScoreView implements EditorView {
                 = new Sparkline(numVertices, xx, yy, sparklineHeight, mode);
         String name = String.format("%d%s", staffIndex, suffix);
         Geometry geometry = new Geometry(name, sparkline);
-        visuals.attachChild(geometry);
+        building.getNode().attachChild(geometry);
 
         float yOffset = sparklineHeight + yIndex * (float) Finial.hpf;
-        float y = -height - yOffset;
+        float y = -yOffset;
         geometry.setLocalTranslation(xLeftMargin, y, zLines);
         geometry.setMaterial(material);
     }
@@ -1152,12 +1257,12 @@ public class ScoreView implements EditorView {
     private void attachSparklines() {
         if (isSelectedTrack) {
             // Record the X-coordinates of all keyframes in the selected track.
-            assert frameXs.isEmpty();
             int numFrames = cgm.getTrack().countKeyframes();
+            float[] xs = new float[numFrames];
             for (int i = 0; i < numFrames; i++) {
-                float x = StaffTrack.getFrameT(i);
-                frameXs.put(i, x);
+                xs[i] = StaffTrack.getFrameT(i);
             }
+            building.setFrameXs(xs);
         }
 
         this.numPlots = 0;
@@ -1186,30 +1291,29 @@ public class ScoreView implements EditorView {
     }
 
     /**
-     * Attach a staff to visualize the indexed spatial track.
+     * Attach a staff to visualize the indexed spatial track. The staff is
+     * rebuilt only if its inputs have changed.
      *
      * @param spatialTrackIndex which spatial track (&ge;0)
      */
     private void attachSpatialStaff(int spatialTrackIndex) {
         assert spatialTrackIndex >= 0 : spatialTrackIndex;
 
-        StaffTrack.loadSpatialTrack(spatialTrackIndex);
-        boolean hasTranslations = StaffTrack.hasTranslations();
-        boolean hasRotations = StaffTrack.hasRotations();
-        boolean hasScales = StaffTrack.hasScales();
+        Object track = StaffTrack.findSpatialTrack(spatialTrackIndex);
+        boolean hasTranslations
+                = MaudUtil.getTrackTranslations(track) != null;
+        boolean hasRotations = MaudUtil.getTrackRotations(track) != null;
+        boolean hasScales = MaudUtil.getTrackScales(track) != null;
 
         ScoreOptions options = Maud.getModel().getScore();
         boolean translations = hasTranslations && options.showsTranslations();
         boolean rotations = hasRotations && options.showsRotations();
         boolean scales = hasScales && options.showsScales();
 
-        float staffHeight;
-        Finial finial
-                = new Finial(translations, rotations, scales, sparklineHeight);
-        staffHeight = finial.getHeight();
+        Finial finial = finial(translations, rotations, scales);
+        float staffHeight = finial.getHeight();
         if (staffHeight == 0f) {
             finial = null;
-            StaffTrack.setNoData();
         }
 
         // Calculate the range of (world) Ys that the staff occupies.
@@ -1218,7 +1322,7 @@ public class ScoreView implements EditorView {
         float maxY = -height;
         assert minY <= maxY;
 
-        String trackDesc = StaffTrack.labelText();
+        String trackDesc = StaffTrack.describeSpatialTrack(spatialTrackIndex);
         trackYs.put(trackDesc, new Vector2f(minY, maxY));
 
         this.isSelectedTrack = false;
@@ -1228,11 +1332,29 @@ public class ScoreView implements EditorView {
             if (trackDesc.equals(desc)) {
                 this.isSelectedTrack = true;
             }
-            if (finial == null) {
-                attachTracklessStaff();
+
+            StaffKey key = makeKey(track, trackDesc, null);
+            RetainedStaff staff = spatialStaves.get(spatialTrackIndex);
+            if (staff == null || !staff.getKey().equals(key)) {
+                String name = String.format("spatial staff%d",
+                        spatialTrackIndex);
+                staff = new RetainedStaff(key, name);
+                spatialStaves.put(spatialTrackIndex, staff);
+
+                this.building = staff;
+                StaffTrack.loadSpatialTrack(spatialTrackIndex);
+                if (finial == null) {
+                    StaffTrack.setNoData();
+                    attachTracklessStaff();
+                } else {
+                    attachTrackedStaff(finial);
+                }
+                this.building = null;
+                ++numRebuilt;
             } else {
-                attachTrackedStaff(finial);
+                ++numReused;
             }
+            placeStaff(staff);
             ++staffIndex;
         }
         this.height = newHeight;
@@ -1258,11 +1380,10 @@ public class ScoreView implements EditorView {
      * @param finial (not null)
      */
     private void attachTrackedStaff(Finial finial) {
-        float zoom = cgm.getScorePov().getHalfHeight();
-        if (zoom > 4f) {
+        if (halfHeight > 4f) {
             // zoomed out too far to render detailed finials
             float staffHeight = finial.getHeight();
-            if (zoom > 25f) {
+            if (halfHeight > 25f) {
                 attachHashes(staffHeight);
             } else {
                 attachRectangles(staffHeight);
@@ -1278,33 +1399,33 @@ public class ScoreView implements EditorView {
      * Attach a staff with neither finials nor tracks.
      */
     private void attachTracklessStaff() {
-        float zoom = cgm.getScorePov().getHalfHeight();
-        if (zoom < 4f) {
+        if (halfHeight < 4f) {
             // Attach a track label on the left side.
-            float leftX = cgm.getScorePov().leftX() + xGap;
-            float rightX = -0.2f * ScoreResources.hashSize;
-            float middleY = -height;
-            float compression = cgm.getScorePov().compression();
-            float maxWidth = (rightX - leftX) / compression;
+            float labelLeftX = leftX + xGap;
+            float labelRightX = -0.2f * ScoreResources.hashSize;
+            float middleY = 0f;
+            float maxWidth = (labelRightX - labelLeftX) / compression;
             float minWidth = ScoreResources.hashSize / compression;
-            attachLabel(rightX, middleY, minWidth, maxWidth, 0.09f);
+            attachLabel(labelRightX, middleY, minWidth, maxWidth, 0.09f);
         } else {
             attachHashes(0f);
         }
     }
 
     /**
-     * Attach a left-aligned transform icon to the visuals.
+     * Attach a left-aligned transform icon to the staff being built.
      *
-     * @param leftX world X coordinate for the left edge of the icon
-     * @param middleY world Y coordinate for the center of the icon
+     * @param iconLeftX world X coordinate for the left edge of the icon
+     * @param middleY Y coordinate for the center of the icon (relative to the
+     * top of the staff)
      * @param maxWidth maximum width of icon (in compressed units, &gt;0)
      * @param maxHeight maximum height of icon (in world units, &gt;0)
      * @param prefix prefix for the geometry name (not null)
      * @param material material to apply (not null)
      */
-    private void attachTransformIcon(float leftX, float middleY, float maxWidth,
-            float maxHeight, String prefix, Material material) {
+    private void attachTransformIcon(float iconLeftX, float middleY,
+            float maxWidth, float maxHeight, String prefix,
+            Material material) {
         assert maxHeight > 0f : maxHeight;
         assert maxWidth > 0f : maxWidth;
         assert material != null;
@@ -1312,14 +1433,48 @@ public class ScoreView implements EditorView {
         float size = Math.min(maxHeight, maxWidth);
         String name = String.format("%s%d", prefix, staffIndex);
         Geometry geometry = new Geometry(name, ScoreResources.iconMesh);
-        visuals.attachChild(geometry);
-        float compression = cgm.getScorePov().compression();
+        building.getNode().attachChild(geometry);
         geometry.setLocalScale(compression * size, size, 1f);
-        geometry.setLocalTranslation(leftX, middleY, zLabels);
+        geometry.setLocalTranslation(iconLeftX, middleY, zLabels);
         geometry.setMaterial(material);
         geometry.setQueueBucket(RenderQueue.Bucket.Transparent);
     }
 
+    /**
+     * Discard all retained staves that weren't used in the current frame.
+     *
+     * @param staves the retained staves (not null, modified)
+     */
+    private void evictUnusedStaves(Map<Integer, RetainedStaff> staves) {
+        Iterator<RetainedStaff> iterator = staves.values().iterator();
+        while (iterator.hasNext()) {
+            RetainedStaff staff = iterator.next();
+            if (staff.lastUsed() != frameCount) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Access the end-cap mesh for the specified components, creating it if
+     * necessary.
+     *
+     * @param tra if true, include a limb for translations, else omit
+     * @param rot if true, include a limb for rotations, else omit
+     * @param sca if true, include a limb for scales, else omit
+     * @return a pre-existing or new mesh (not null)
+     */
+    private static Finial finial(boolean tra, boolean rot, boolean sca) {
+        int index = (tra ? 0x1 : 0x0) | (rot ? 0x2 : 0x0) | (sca ? 0x4 : 0x0);
+        Finial result = finials[index];
+        if (result == null) {
+            result = new Finial(tra, rot, sca, sparklineHeight);
+            finials[index] = result;
+        }
+
+        return result;
+    }
+
     /**
      * Calculate the location of the gnomon (time indicator).
      *
@@ -1349,7 +1504,6 @@ public class ScoreView implements EditorView {
      */
     private boolean isStaffVisible(float minY, float maxY) {
         float cameraY = cgm.getScorePov().getCameraY();
-        float halfHeight = cgm.getScorePov().getHalfHeight();
         assert halfHeight > 0f : halfHeight;
         float bottomY = cameraY - halfHeight;
         float topY = cameraY + halfHeight;
@@ -1361,15 +1515,71 @@ public class ScoreView implements EditorView {
     }
 
     /**
-     * Convert a sparkline ordinate value to a world Y coordinate.
+     * Create a key for a staff, based on the specified inputs and those common
+     * to all staves in the current frame.
+     *
+     * @param track the visualized track, or null if none
+     * @param labelText the text of the staff's label (not null)
+     * @param pose the user transform of the target bone, or null if the pose
+     * isn't indicated
+     * @return a new key
+     */
+    private StaffKey makeKey(Object track, String labelText, Transform pose) {
+        ScoreOptions options = Maud.getModel().getScore();
+        int components = 0x0;
+        if (options.showsTranslations()) {
+            components |= 0x1;
+        }
+        if (options.showsRotations()) {
+            components |= 0x2;
+        }
+        if (options.showsScales()) {
+            components |= 0x4;
+        }
+        TweenTransforms techniques = Maud.getModel().getTweenTransforms();
+        float duration = cgm.getAnimation().duration();
+
+        StaffKey result = new StaffKey(track, labelText, revision, components,
+                techniques, duration, numSamples, compression, halfHeight,
+                leftX, rightX, isSelectedTrack, pose);
+
+        return result;
+    }
+
+    /**
+     * Position a staff below the staves already placed and attach it to the
+     * visuals, along with its pose points and keyframe X-coordinates.
+     *
+     * @param staff the staff to place (not null)
+     */
+    private void placeStaff(RetainedStaff staff) {
+        assert staff != null;
+
+        Node node = staff.getNode();
+        node.setLocalTranslation(0f, -height, 0f);
+        visuals.attachChild(node);
+        staff.addPosePointsTo(poseMesh, -height);
+        staff.setLastUsed(frameCount);
+
+        float[] xs = staff.getFrameXs();
+        if (xs != null) {
+            assert frameXs.isEmpty();
+            for (int i = 0; i < xs.length; ++i) {
+                frameXs.put(i, xs[i]);
+            }
+        }
+    }
+
+    /**
+     * Convert a sparkline ordinate value to a Y coordinate relative to the top
+     * of the staff.
      *
      * @param ordinate input sparkline ordinate
      * @param yIndex position in the staff (&ge;0, &lt;10, 0&rarr; top position)
-     * @return world Y coordinate
+     * @return Y coordinate (relative to the top of the staff)
      */
-    private float scoreY(float ordinate, int yIndex) {
-        float result = -height;
-        result -= sparklineHeight * (1f - ordinate);
+    private static float staffY(float ordinate, int yIndex) {
+        float result = -sparklineHeight * (1f - ordinate);
         result -= yIndex * (float) Finial.hpf;
 
         return result;
@@ -0,0 +1,211 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.view;
+
+import com.jme3.math.Transform;
+import java.util.logging.Logger;
+import jme3utilities.wes.TweenTransforms;
+
+/**
+ * Immutable key that identifies the inputs of a staff in a score view: if 2
+ * staves have equal keys, their geometries are interchangeable.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class StaffKey {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(StaffKey.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the staff visualizes the selected track, otherwise false
+     */
+    final private boolean isSelected;
+    /**
+     * camera compression factor of the score view
+     */
+    final private float compression;
+    /**
+     * duration of the loaded animation (in seconds)
+     */
+    final private float duration;
+    /**
+     * half height of the score camera's frustum (in world units)
+     */
+    final private float halfHeight;
+    /**
+     * world X-coordinate of the left edge of the camera's frustum
+     */
+    final private float leftX;
+    /**
+     * world X-coordinate of the right edge of the camera's frustum
+     */
+    final private float rightX;
+    /**
+     * bitmask of the components to plot: 0x1&rarr;translations,
+     * 0x2&rarr;rotations, 0x4&rarr;scales
+     */
+    final private int components;
+    /**
+     * number of interpolated samples per sparkline, or 0 for none
+     */
+    final private int numSamples;
+    /**
+     * revision of the edited C-G model, or 0 if it's not editable
+     */
+    final private long revision;
+    /**
+     * visualized track (compared by identity), or null if none
+     */
+    final private Object track;
+    /**
+     * text of the staff's label, or null if determined by the track
+     */
+    final private String labelText;
+    /**
+     * user transform of the target bone in the displayed pose, or null if the
+     * staff doesn't indicate the pose
+     */
+    final private Transform pose;
+    /**
+     * tweening techniques used to interpolate samples
+     */
+    final private Object tweenTranslations;
+    final private Object tweenRotations;
+    final private Object tweenScales;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a key with the specified inputs.
+     *
+     * @param track the visualized track (alias created) or null
+     * @param labelText the label text, or null if determined by the track
+     * @param revision the revision of the edited C-G model (&ge;0)
+     * @param components the bitmask of components to plot
+     * @param techniques the tweening techniques (not null, unaffected)
+     * @param duration the duration of the loaded animation (in seconds)
+     * @param numSamples the number of interpolated samples (&ge;0)
+     * @param compression the camera compression factor (&gt;0)
+     * @param halfHeight the half height of the camera's frustum (&gt;0)
+     * @param leftX the X-coordinate of the frustum's left edge
+     * @param rightX the X-coordinate of the frustum's right edge
+     * @param isSelected true if the track is selected, otherwise false
+     * @param pose the user transform of the target bone (alias created) or
+     * null
+     */
+    StaffKey(Object track, String labelText, long revision, int components,
+            TweenTransforms techniques, float duration, int numSamples,
+            float compression, float halfHeight, float leftX, float rightX,
+            boolean isSelected, Transform pose) {
+        assert revision >= 0L : revision;
+        assert numSamples >= 0 : numSamples;
+
+        this.track = track;
+        this.labelText = labelText;
+        this.revision = revision;
+        this.components = components;
+        this.tweenTranslations = techniques.getTweenTranslations();
+        this.tweenRotations = techniques.getTweenRotations();
+        this.tweenScales = techniques.getTweenScales();
+        this.duration = duration;
+        this.numSamples = numSamples;
+        this.compression = compression;
+        this.halfHeight = halfHeight;
+        this.leftX = leftX;
+        this.rightX = rightX;
+        this.isSelected = isSelected;
+        this.pose = pose;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Test for exact equivalence with another Object. Tracks are compared by
+     * identity.
+     *
+     * @param otherObject the object to compare to (may be null, unaffected)
+     * @return true if the objects are equivalent, otherwise false
+     */
+    @Override
+    public boolean equals(Object otherObject) {
+        boolean result;
+        if (otherObject == this) {
+            result = true;
+        } else if (otherObject != null
+                && otherObject.getClass() == getClass()) {
+            StaffKey other = (StaffKey) otherObject;
+            result = other.track == track
+                    && other.revision == revision
+                    && other.components == components
+                    && other.numSamples == numSamples
+                    && other.isSelected == isSelected
+                    && Float.compare(other.duration, duration) == 0
+                    && Float.compare(other.compression, compression) == 0
+                    && Float.compare(other.halfHeight, halfHeight) == 0
+                    && Float.compare(other.leftX, leftX) == 0
+                    && Float.compare(other.rightX, rightX) == 0
+                    && other.tweenTranslations == tweenTranslations
+                    && other.tweenRotations == tweenRotations
+                    && other.tweenScales == tweenScales
+                    && (labelText == null ? other.labelText == null
+                            : labelText.equals(other.labelText))
+                    && (pose == null ? other.pose == null
+                            : pose.equals(other.pose));
+        } else {
+            result = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate the hash code for this key.
+     *
+     * @return the value to use for hashing
+     */
+    @Override
+    public int hashCode() {
+        int hash = System.identityHashCode(track);
+        hash = 37 * hash + (int) (revision ^ (revision >>> 32));
+        hash = 37 * hash + components;
+        hash = 37 * hash + numSamples;
+        hash = 37 * hash + Float.floatToIntBits(compression);
+        hash = 37 * hash + Float.floatToIntBits(halfHeight);
+        hash = 37 * hash + Float.floatToIntBits(leftX);
+        hash = 37 * hash + (isSelected ? 1 : 0);
+
+        return hash;
+    }
+}
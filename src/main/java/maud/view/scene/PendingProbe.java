@@ -0,0 +1,709 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.view.scene;
+
+import com.jme3.app.state.AppStateManager;
+import com.jme3.environment.EnvironmentCamera;
+import com.jme3.environment.LightProbeFactory;
+import com.jme3.environment.generation.JobProgressAdapter;
+import com.jme3.export.Savable;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.export.binary.BinaryImporter;
+import com.jme3.light.Light;
+import com.jme3.light.LightProbe;
+import com.jme3.material.MatParam;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import com.jme3.texture.TextureCubeMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.MyString;
+import jme3utilities.ui.ActionApplication;
+import maud.Maud;
+import maud.MaudUtil;
+import maud.model.cgm.Cgm;
+import maud.model.option.scene.PlatformType;
+
+/**
+ * A request to add a LightProbe to the scene view of a C-G model.
+ * <p>
+ * Requests are queued and handled one at a time, because all of them share
+ * the application's EnvironmentCamera. Each finished probe is cached in a
+ * file whose folder is keyed on a hash of the scene and the background color,
+ * and whose name is keyed on the probe's location and radius. The scene hash
+ * is based on the MVC model rather than the scene view, so it doesn't depend
+ * on the current animation pose. A request that finds its file is satisfied
+ * by loading it, without baking, and loading a C-G model restores every probe
+ * cached for its scene. Only the most recently used scene folders are
+ * retained. All methods are invoked on the JME thread, except that cache
+ * files are written and pruned by a worker thread.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PendingProbe {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(PendingProbe.class.getName());
+    /**
+     * worker thread that writes cache files, in order of submission
+     */
+    final private static ExecutorService worker
+            = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread result = new Thread(runnable, "probe writer");
+                    result.setDaemon(true);
+                    return result;
+                }
+            });
+    /**
+     * asset path to the folder of cached probes
+     */
+    final private static String cacheAssetPath = "Probes";
+    /**
+     * filename extension of cached probes
+     */
+    final private static String extension = ".j3o";
+    /**
+     * maximum number of scene folders to retain in the cache
+     */
+    final private static int maxFolders = 16;
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the request has been cancelled
+     */
+    private boolean isCancelled = false;
+    /**
+     * C-G model whose scene view will receive the probe (not null)
+     */
+    final private Cgm cgm;
+    /**
+     * background color at the time of the request (not null)
+     */
+    final private ColorRGBA background;
+    /**
+     * requests that haven't started yet, in order of submission
+     */
+    final private static Deque<PendingProbe> queue = new ArrayDeque<>(8);
+    /**
+     * cache file for the probe, or null if not yet determined
+     */
+    private File file = null;
+    /**
+     * radius of the probe's area of influence (in world units, &gt;0)
+     */
+    final private float radius;
+    /**
+     * request currently being baked, or null if none
+     */
+    private static PendingProbe active = null;
+    /**
+     * starting time of the bake (from {@link System#nanoTime()})
+     */
+    private long startTime;
+    /**
+     * location of the probe (in world coordinates, not null)
+     */
+    final private Vector3f location;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a request. Invoked only by
+     * {@link #enqueue(maud.model.cgm.Cgm, com.jme3.math.Vector3f,
+     * com.jme3.math.ColorRGBA, float)}.
+     */
+    private PendingProbe(Cgm cgm, Vector3f location, ColorRGBA background,
+            float radius) {
+        this.cgm = cgm;
+        this.location = location.clone();
+        this.background = background.clone();
+        this.radius = radius;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Cancel all requests for the specified C-G model, including the one
+     * being baked, if any. A probe that's already being baked is discarded
+     * when it's done.
+     *
+     * @param cgm which C-G model (not null)
+     */
+    static void cancel(Cgm cgm) {
+        assert cgm != null;
+
+        Iterator<PendingProbe> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            PendingProbe request = iterator.next();
+            if (request.cgm == cgm) {
+                iterator.remove();
+            }
+        }
+        if (active != null && active.cgm == cgm) {
+            active.isCancelled = true;
+        }
+    }
+
+    /**
+     * Count the requests for the specified C-G model that haven't completed,
+     * including the one being baked, if any.
+     *
+     * @param cgm which C-G model (not null)
+     * @return the count (&ge;0)
+     */
+    static int countPending(Cgm cgm) {
+        assert cgm != null;
+
+        int result = 0;
+        for (PendingProbe request : queue) {
+            if (request.cgm == cgm) {
+                ++result;
+            }
+        }
+        if (active != null && active.cgm == cgm && !active.isCancelled) {
+            ++result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Delete the specified cache file, if it exists.
+     *
+     * @param file the file to delete (not null)
+     */
+    static void delete(File file) {
+        assert file != null;
+
+        if (file.exists() && !file.delete()) {
+            logger.log(Level.WARNING, "Unable to delete probe file {0}.",
+                    MyString.quote(file.getPath()));
+        }
+    }
+
+    /**
+     * Submit a request to add a probe to the scene view of the specified C-G
+     * model. If no other request is being baked, the request is handled
+     * immediately.
+     *
+     * @param cgm which C-G model (not null)
+     * @param location the desired location (in world coordinates, not null,
+     * unaffected)
+     * @param background the desired background color (not null, unaffected)
+     * @param radius the desired radius of influence (in world units, &gt;0)
+     */
+    static void enqueue(Cgm cgm, Vector3f location, ColorRGBA background,
+            float radius) {
+        assert cgm != null;
+        assert location != null;
+        assert background != null;
+        assert radius > 0f : radius;
+
+        PendingProbe request
+                = new PendingProbe(cgm, location, background, radius);
+        queue.addLast(request);
+        startNext();
+    }
+
+    /**
+     * Add all cached probes for the current scene of the specified C-G model
+     * to its scene view.
+     *
+     * @param cgm which C-G model (not null)
+     * @return the number of probes restored (&ge;0)
+     */
+    static int restore(Cgm cgm) {
+        assert cgm != null;
+
+        SceneViewCore view = cgm.getSceneView();
+        ColorRGBA background = view.getViewPort().getBackgroundColor();
+        File folder = cacheFolder(cgm, background);
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        /*
+         * Mark the folder as recently used, then prune the others.
+         */
+        folder.setLastModified(System.currentTimeMillis());
+        String cachePath = ActionApplication.filePath(cacheAssetPath);
+        final File cacheRoot = new File(cachePath);
+        worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                prune(cacheRoot);
+            }
+        });
+
+        Arrays.sort(files);
+        int result = 0;
+        for (File cacheFile : files) {
+            if (cacheFile.getName().endsWith(extension)) {
+                LightProbe probe = load(cacheFile);
+                if (probe != null) {
+                    view.addProbe(probe, cacheFile);
+                    ++result;
+                }
+            }
+        }
+        if (result > 0) {
+            logger.log(Level.INFO, "Restored {0} cached probe(s).", result);
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Determine the cache folder for the specified C-G model and background.
+     *
+     * @param cgm the C-G model (not null, unaffected)
+     * @param background the background color (not null, unaffected)
+     * @return a new File
+     */
+    private static File cacheFolder(Cgm cgm, ColorRGBA background) {
+        long key = sceneHash(cgm);
+        key = 31L * key + Float.floatToIntBits(background.r);
+        key = 31L * key + Float.floatToIntBits(background.g);
+        key = 31L * key + Float.floatToIntBits(background.b);
+        key = 31L * key + Float.floatToIntBits(background.a);
+
+        String assetPath = String.format("%s/%016x", cacheAssetPath, key);
+        String folderPath = ActionApplication.filePath(assetPath);
+        File result = new File(folderPath);
+
+        return result;
+    }
+
+    /**
+     * Handle the finished probe on the JME thread: add it to the scene view,
+     * cache it, and begin the next request.
+     *
+     * @param probe the finished probe (not null, ready)
+     */
+    private void complete(LightProbe probe) {
+        assert active == this;
+        active = null;
+
+        long milliseconds = (System.nanoTime() - startTime) / 1_000_000L;
+        if (isCancelled) {
+            logger.log(Level.INFO, "Discarded a cancelled probe after {0} "
+                    + "msec.", milliseconds);
+        } else {
+            logger.log(Level.INFO, "Baked a probe in {0} msec.", milliseconds);
+            probe.getArea().setRadius(radius);
+            cgm.getSceneView().addProbe(probe, file);
+            final LightProbe snapshot = snapshot(probe);
+            final File cacheFile = file;
+            worker.execute(new Runnable() {
+                @Override
+                public void run() {
+                    save(snapshot, cacheFile);
+                }
+            });
+        }
+
+        startNext();
+    }
+
+    /**
+     * Fold the elements of the specified buffer into a hash.
+     *
+     * @param seed the hash so far
+     * @param data the buffer to read (not null, unaffected)
+     * @return the new hash
+     */
+    private static long hash(long seed, Buffer data) {
+        int limit = data.limit();
+        long result = 31L * seed + limit;
+        if (data instanceof FloatBuffer) {
+            FloatBuffer floats = (FloatBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + Float.floatToIntBits(floats.get(i));
+            }
+        } else if (data instanceof IntBuffer) {
+            IntBuffer ints = (IntBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + ints.get(i);
+            }
+        } else if (data instanceof ShortBuffer) {
+            ShortBuffer shorts = (ShortBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + shorts.get(i);
+            }
+        } else if (data instanceof ByteBuffer) {
+            ByteBuffer bytes = (ByteBuffer) data;
+            for (int i = 0; i < limit; ++i) {
+                result = 31L * result + bytes.get(i);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Fold the specified string into a hash.
+     *
+     * @param seed the hash so far
+     * @param string the string to fold in (may be null)
+     * @return the new hash
+     */
+    private static long hash(long seed, String string) {
+        long result = 31L * seed + String.valueOf(string).hashCode();
+        return result;
+    }
+
+    /**
+     * Fold the specified Transform into a hash.
+     *
+     * @param seed the hash so far
+     * @param transform the transform to fold in (not null, unaffected)
+     * @return the new hash
+     */
+    private static long hash(long seed, Transform transform) {
+        long result = 31L * seed + transform.getTranslation().hashCode();
+        result = 31L * result + transform.getRotation().hashCode();
+        result = 31L * result + transform.getScale().hashCode();
+
+        return result;
+    }
+
+    /**
+     * Fold the specified subtree into a hash: its structure, local
+     * transforms, meshes, and materials. Buffers that skinning rewrites are
+     * represented by their bind-pose counterparts.
+     *
+     * @param seed the hash so far
+     * @param spatial the root of the subtree (not null, unaffected)
+     * @return the new hash
+     */
+    private static long hashSubtree(long seed, Spatial spatial) {
+        long result = hash(seed, spatial.getName());
+        result = 31L * result + spatial.getCullHint().ordinal();
+        result = hash(result, spatial.getLocalTransform());
+
+        if (spatial instanceof Geometry) {
+            Geometry geometry = (Geometry) spatial;
+            Mesh mesh = geometry.getMesh();
+            result = 31L * result + mesh.getMode().ordinal();
+            for (VertexBuffer buffer : mesh.getBufferList()) {
+                VertexBuffer.Type type = buffer.getBufferType();
+                boolean isAnimated = type == VertexBuffer.Type.Position
+                        && mesh.getBuffer(VertexBuffer.Type.BindPosePosition)
+                        != null
+                        || type == VertexBuffer.Type.Normal
+                        && mesh.getBuffer(VertexBuffer.Type.BindPoseNormal)
+                        != null
+                        || type == VertexBuffer.Type.Tangent
+                        && mesh.getBuffer(VertexBuffer.Type.BindPoseTangent)
+                        != null;
+                if (!isAnimated && buffer.getData() != null) {
+                    result = 31L * result + type.ordinal();
+                    result = hash(result, buffer.getData());
+                }
+            }
+
+            Material material = geometry.getMaterial();
+            result = hash(result, material.getMaterialDef().getAssetName());
+            for (MatParam param : material.getParams()) {
+                result = hash(result, param.getName());
+                Object value = param.getValue();
+                if (value instanceof Texture) {
+                    Texture texture = (Texture) value;
+                    String keyName = (texture.getKey() == null)
+                            ? texture.getName() : texture.getKey().getName();
+                    result = hash(result, keyName);
+                } else {
+                    result = hash(result, String.valueOf(value));
+                }
+            }
+
+        } else if (spatial instanceof Node) {
+            for (Spatial child : ((Node) spatial).getChildren()) {
+                result = hashSubtree(result, child);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Load a cached probe from the specified file.
+     *
+     * @param cacheFile the file to read (not null)
+     * @return a new probe, or null if the file couldn't be read
+     */
+    private static LightProbe load(File cacheFile) {
+        BinaryImporter importer = BinaryImporter.getInstance();
+        LightProbe result = null;
+        try {
+            Savable loaded = importer.load(cacheFile);
+            if (loaded instanceof LightProbe) {
+                result = (LightProbe) loaded;
+            }
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "Unable to read probe file {0}: {1}",
+                    new Object[]{
+                        MyString.quote(cacheFile.getPath()), exception
+                    });
+        }
+
+        if (result == null || !result.isReady()) {
+            delete(cacheFile);
+            result = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Delete the least recently used scene folders, retaining at most
+     * {@link #maxFolders} of them. Invoked on the worker thread.
+     *
+     * @param cacheRoot the folder of cached probes (not null)
+     */
+    private static void prune(File cacheRoot) {
+        File[] folders = cacheRoot.listFiles();
+        if (folders == null || folders.length <= maxFolders) {
+            return;
+        }
+
+        int numFolders = folders.length;
+        long[] lastUsed = new long[numFolders];
+        for (int i = 0; i < numFolders; ++i) {
+            lastUsed[i] = folders[i].lastModified();
+        }
+        long[] sorted = lastUsed.clone();
+        Arrays.sort(sorted);
+        long cutoff = sorted[numFolders - maxFolders];
+
+        int numDeleted = 0;
+        for (int i = 0; i < numFolders; ++i) {
+            File folder = folders[i];
+            if (lastUsed[i] < cutoff && folder.isDirectory()) {
+                File[] files = folder.listFiles();
+                if (files != null) {
+                    for (File cacheFile : files) {
+                        delete(cacheFile);
+                    }
+                }
+                if (folder.delete()) {
+                    ++numDeleted;
+                } else {
+                    logger.log(Level.WARNING,
+                            "Unable to delete probe folder {0}.",
+                            MyString.quote(folder.getPath()));
+                }
+            }
+        }
+        if (numDeleted > 0) {
+            logger.log(Level.INFO, "Pruned {0} unused probe folder(s).",
+                    numDeleted);
+        }
+    }
+
+    /**
+     * Calculate a hash of the parts of the specified C-G model's scene that
+     * affect a baked probe, apart from the background: the C-G model, its
+     * scale, the platform type, and the non-probe lights. The MVC model is
+     * hashed instead of the scene view, since the view's attachment nodes
+     * and animated spatials move with the current pose.
+     *
+     * @param cgm the C-G model (not null, unaffected)
+     * @return the hash
+     */
+    private static long sceneHash(Cgm cgm) {
+        long result = 1L;
+        if (cgm.isLoaded()) {
+            result = hashSubtree(result, cgm.getRootSpatial());
+        }
+        SceneViewCore view = cgm.getSceneView();
+        float scale = view.getTransform().getScale();
+        result = 31L * result + Float.floatToIntBits(scale);
+
+        PlatformType platformType
+                = Maud.getModel().getScene().getPlatformType();
+        result = 31L * result + platformType.ordinal();
+
+        for (Light light : view.getSceneRoot().getLocalLightList()) {
+            if (!(light instanceof LightProbe)) {
+                result = hash(result, light.getType().toString());
+                result = 31L * result + light.getColor().hashCode();
+                result = 31L * result + (light.isEnabled() ? 1 : 0);
+            }
+        }
+        Vector3f direction = view.getMainLight().getDirection(); // alias
+        result = 31L * result + direction.hashCode();
+
+        return result;
+    }
+
+    /**
+     * Write the specified probe to the specified file. Invoked on the worker
+     * thread.
+     *
+     * @param probe the probe to write (not null, unaffected)
+     * @param cacheFile the destination file (not null)
+     */
+    private static void save(LightProbe probe, File cacheFile) {
+        File folder = cacheFile.getParentFile();
+        if (!folder.exists() && !folder.mkdirs()) {
+            logger.log(Level.WARNING, "Unable to create probe folder {0}.",
+                    MyString.quote(folder.getPath()));
+            return;
+        }
+
+        BinaryExporter exporter = BinaryExporter.getInstance();
+        try {
+            exporter.save(probe, cacheFile);
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "Unable to write probe file {0}: {1}",
+                    new Object[]{
+                        MyString.quote(cacheFile.getPath()), exception
+                    });
+            delete(cacheFile);
+        }
+    }
+
+    /**
+     * Copy the specified probe for writing on the worker thread. The copy
+     * shares image data with the original but not buffer positions, so
+     * writing it can't disturb rendering.
+     *
+     * @param probe the probe to copy (not null, unaffected)
+     * @return a new probe
+     */
+    private static LightProbe snapshot(LightProbe probe) {
+        Image image = probe.getPrefilteredEnvMap().getImage();
+        int numFaces = image.getData().size();
+        ArrayList<ByteBuffer> faces = new ArrayList<>(numFaces);
+        for (ByteBuffer face : image.getData()) {
+            faces.add(face.duplicate());
+        }
+        Image imageCopy = new Image(image.getFormat(), image.getWidth(),
+                image.getHeight(), image.getDepth(), faces,
+                image.getMipMapSizes(), image.getColorSpace());
+
+        LightProbe result = new LightProbe();
+        result.setPrefilteredMap(new TextureCubeMap(imageCopy));
+        result.setPosition(probe.getPosition());
+        result.getArea().setRadius(probe.getArea().getRadius());
+        result.setShCoeffs(probe.getShCoeffs());
+        result.setNbMipMaps(probe.getNbMipMaps());
+        result.setReady(true);
+
+        return result;
+    }
+
+    /**
+     * Handle the request: load the probe from its cache file if possible,
+     * otherwise begin baking it.
+     */
+    private void start() {
+        assert active == null;
+
+        SceneViewCore view = cgm.getSceneView();
+        File folder = cacheFolder(cgm, background);
+        long key = 31L * Float.floatToIntBits(location.x)
+                + Float.floatToIntBits(location.y);
+        key = 31L * key + Float.floatToIntBits(location.z);
+        key = 31L * key + Float.floatToIntBits(radius);
+        String fileName = String.format("%016x%s", key, extension);
+        this.file = new File(folder, fileName);
+
+        if (file.exists()) {
+            LightProbe probe = load(file);
+            if (probe != null) {
+                logger.log(Level.INFO, "Reused a cached probe.");
+                folder.setLastModified(System.currentTimeMillis());
+                view.addProbe(probe, file);
+                return;
+            }
+        }
+
+        AppStateManager stateManager = Maud.getApplication().getStateManager();
+        EnvironmentCamera environmentCamera
+                = stateManager.getState(EnvironmentCamera.class);
+        environmentCamera.setPosition(location);
+        MaudUtil.setEnvironmentCameraBackground(background);
+
+        active = this;
+        this.startTime = System.nanoTime();
+        JobProgressAdapter<LightProbe> progress
+                = new JobProgressAdapter<LightProbe>() {
+            @Override
+            public void done(LightProbe result) {
+                complete(result);
+            }
+        };
+        Node sceneRoot = view.getSceneRoot();
+        LightProbeFactory.makeProbe(environmentCamera, sceneRoot, progress);
+    }
+
+    /**
+     * Handle queued requests until one begins baking or the queue is empty.
+     */
+    private static void startNext() {
+        while (active == null && !queue.isEmpty()) {
+            PendingProbe request = queue.removeFirst();
+            request.start();
+        }
+    }
+}
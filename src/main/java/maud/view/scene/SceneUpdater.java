@@ -193,6 +193,58 @@ final public class SceneUpdater {
         return transform;
     }
 
+    /**
+     * Test whether the axes are displayed, without calculating their
+     * transform. Equivalent to {@code axesTransform(cgm) != null}.
+     *
+     * @param cgm (not null)
+     * @return true if displayed, otherwise false
+     */
+    public static boolean hasAxes(Cgm cgm) {
+        boolean result;
+        AxesSubject subject = Maud.getModel().getScene().getAxes().getSubject();
+        switch (subject) {
+            case Bone:
+                result = cgm.getBone().isSelected();
+                break;
+
+            case Camera:
+            case World:
+                result = true;
+                break;
+
+            case CollisionObject:
+                result = cgm.getPco().isSelected();
+                break;
+
+            case Light:
+                result = cgm.getLight().isSelected();
+                break;
+
+            case Model:
+            case Spatial:
+                result = cgm.isLoaded();
+                break;
+
+            case None:
+                result = false;
+                break;
+
+            case Shape:
+                result = cgm.getShape().isSelected();
+                break;
+
+            case Skeleton:
+                result = cgm.isLoaded() && cgm.getSkeleton().isSelected();
+                break;
+
+            default:
+                throw new IllegalStateException("subject = " + subject);
+        }
+
+        return result;
+    }
+
     /**
      * Update a scene view prior to rendering. Invoked once per frame on each
      * scene view.
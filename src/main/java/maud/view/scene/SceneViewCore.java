@@ -40,9 +40,6 @@ import com.jme3.bullet.BulletAppState;
 import com.jme3.bullet.PhysicsSpace;
 import com.jme3.bullet.control.PhysicsControl;
 import com.jme3.collision.CollisionResult;
-import com.jme3.environment.EnvironmentCamera;
-import com.jme3.environment.LightProbeFactory;
-import com.jme3.environment.generation.JobProgressAdapter;
 import com.jme3.input.InputManager;
 import com.jme3.light.AmbientLight;
 import com.jme3.light.DirectionalLight;
@@ -50,7 +47,6 @@ import com.jme3.light.LightProbe;
 import com.jme3.material.MatParamOverride;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.FastMath;
-import com.jme3.math.Matrix4f;
 import com.jme3.math.Ray;
 import com.jme3.math.Transform;
 import com.jme3.math.Vector2f;
@@ -69,13 +65,13 @@ import com.jme3.scene.control.AbstractControl;
 import com.jme3.shadow.DirectionalLightShadowRenderer;
 import com.jme3.util.clone.Cloner;
 import com.jme3.util.clone.JmeCloneable;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jme3utilities.MyCamera;
-import jme3utilities.MyMesh;
 import jme3utilities.MySkeleton;
 import jme3utilities.MySpatial;
 import jme3utilities.MyString;
@@ -94,6 +90,7 @@ import jme3utilities.ui.Locators;
 import jme3utilities.wes.Pose;
 import maud.Maud;
 import maud.MaudUtil;
+import maud.SpatialIndex;
 import maud.model.EditorModel;
 import maud.model.WhichCgm;
 import maud.model.cgm.Cgm;
@@ -129,6 +126,11 @@ public class SceneViewCore implements EditorView, JmeCloneable {
      * local copy of {@link com.jme3.math.Transform#IDENTITY}
      */
     final private static Transform transformIdentity = new Transform();
+    /**
+     * half-extent of the AXIS_SWEEP_3 broadphase, as a multiple of the
+     * scaled C-G model's size: a bit larger than the max camera range
+     */
+    final private static float broadphaseScale = 12f;
     /**
      * location of the camera after loading a new C-G model
      */
@@ -166,11 +168,16 @@ public class SceneViewCore implements EditorView, JmeCloneable {
     /**
      * app state for Bullet physics
      */
-    final private BulletAppState bulletAppState;
+    final private TimedBulletAppState bulletAppState;
     /**
      * C-G model that appears in this view (not null)
      */
     private Cgm cgm;
+    /**
+     * max extent of the C-G model along any axis, as calculated when it was
+     * loaded (in model units, &gt;0)
+     */
+    private float cgmSize = 1f;
     /**
      * world transform for the C-G model rendered in this view
      */
@@ -183,10 +190,19 @@ public class SceneViewCore implements EditorView, JmeCloneable {
      * directional light added to the scene
      */
     final private DirectionalLight mainLight = new DirectionalLight();
+    /**
+     * cache files of the light probes added to the scene, in the same order
+     * (elements may be null)
+     */
+    final private List<File> addedProbeFiles = new ArrayList<>(8);
     /**
      * light probes added to the scene
      */
     final private List<LightProbe> addedProbes = new ArrayList<>(8);
+    /**
+     * scratch tree position for per-frame updates (shared between clones)
+     */
+    final private List<Integer> tmpPosition = new ArrayList<>(8);
     /**
      * root node of the overlay scene (not null)
      */
@@ -216,10 +232,18 @@ public class SceneViewCore implements EditorView, JmeCloneable {
      * sky simulation added to the scene
      */
     private SkyControl skyControl;
+    /**
+     * index of this view's copy of the C-G model (not cloned)
+     */
+    private SpatialIndex spatialIndex = new SpatialIndex();
     /**
      * root spatial in this view's copy of the C-G model
      */
     private Spatial cgmRoot;
+    /**
+     * scratch transform for per-frame updates (shared between clones)
+     */
+    final private Transform tmpTransform = new Transform();
     /**
      * marker for the selected vertex
      */
@@ -272,44 +296,37 @@ public class SceneViewCore implements EditorView, JmeCloneable {
     // new methods exposed
 
     /**
-     * Add a LightProbe based on the current ViewPort background and Camera
-     * location and frustum.
+     * Request a LightProbe based on the current ViewPort background and Camera
+     * location and frustum. The probe is baked (or loaded from the cache)
+     * after any requests submitted earlier.
      */
     public void addLightProbe() {
-        assert !Maud.envCamIsBusy;
-
         ViewPort viewPort = getViewPort();
         ColorRGBA backgroundColor = viewPort.getBackgroundColor(); // alias
         Camera camera = getCamera();
         Vector3f location = camera.getLocation(); // alias
         float far = camera.getFrustumFar();
 
-        AppStateManager stateManager = Maud.getApplication().getStateManager();
-        EnvironmentCamera environmentCamera
-                = stateManager.getState(EnvironmentCamera.class);
-        environmentCamera.setPosition(location);
-        MaudUtil.setEnvironmentCameraBackground(backgroundColor);
+        PendingProbe.enqueue(cgm, location, backgroundColor, far);
+    }
+
+    /**
+     * Add a finished LightProbe to the scene.
+     *
+     * @param probe the probe to add (not null, ready, alias created)
+     * @param cacheFile the probe's cache file (may be null)
+     */
+    void addProbe(LightProbe probe, File cacheFile) {
+        assert probe.isReady();
 
         int lpIndex = 1 + addedProbes.size();
         String lpName = String.format("Probe#%d", lpIndex);
-        JobProgressAdapter<LightProbe> progress;
-        progress = new JobProgressAdapter<LightProbe>() {
-            @Override
-            public void done(LightProbe result) {
-                Maud.envCamIsBusy = false;
-                logger.log(Level.WARNING, "Finished generating {0}.", lpName);
-            }
-        };
-        logger.log(Level.WARNING, "Began generating {0}.", lpName);
-        Maud.envCamIsBusy = true;
+        probe.setName(lpName);
 
         Node sceneRoot = getSceneRoot();
-        LightProbe probe = LightProbeFactory.makeProbe(environmentCamera,
-                sceneRoot, progress);
         sceneRoot.addLight(probe);
         addedProbes.add(probe);
-        probe.getArea().setRadius(far);
-        probe.setName(lpName);
+        addedProbeFiles.add(cacheFile);
     }
 
     /**
@@ -335,8 +352,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
     }
 
     /**
-     * Count all light probes added using addLightProbe(), which may include one
-     * that isn't yet ready.
+     * Count all light probes added to the scene, either by addLightProbe() or
+     * by restoring them from the cache.
      *
      * @return the count (&ge;0)
      */
@@ -346,14 +363,28 @@ public class SceneViewCore implements EditorView, JmeCloneable {
     }
 
     /**
-     * Delete all light probes added using addLightProbe().
+     * Count the light probes requested using addLightProbe() that haven't been
+     * added yet.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countPendingLightProbes() {
+        int result = PendingProbe.countPending(cgm);
+        return result;
+    }
+
+    /**
+     * Delete all light probes added to the scene, along with their cache
+     * files, and cancel any pending requests.
      */
     public void deleteAddedLightProbes() {
-        Node sceneRoot = getSceneRoot();
-        for (LightProbe probe : addedProbes) {
-            sceneRoot.removeLight(probe);
+        PendingProbe.cancel(cgm);
+        for (File cacheFile : addedProbeFiles) {
+            if (cacheFile != null) {
+                PendingProbe.delete(cacheFile);
+            }
         }
-        addedProbes.clear();
+        removeAddedLightProbes();
     }
 
     /**
@@ -367,7 +398,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         Validate.nonNull(spatial, "input");
 
         List<Integer> treePosition = new ArrayList<>(4);
-        boolean success = MaudUtil.findPosition(spatial, cgmRoot, treePosition);
+        boolean success
+                = spatialIndex.findPosition(spatial, cgmRoot, treePosition);
         if (!success) {
             treePosition = null;
         }
@@ -503,6 +535,23 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         return projectile;
     }
 
+    /**
+     * Access the root node of the base scene graph.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    Node getSceneRoot() {
+        List<Spatial> scenes = viewPort2.getScenes();
+        int numScenes = scenes.size();
+        assert numScenes >= 1 : numScenes;
+        assert numScenes <= 2 : numScenes;
+        Spatial spatial = scenes.get(0);
+        Node node = (Node) spatial;
+
+        assert node != null;
+        return node;
+    }
+
     /**
      * Access the shadow renderer added to the scene.
      *
@@ -603,6 +652,16 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         prepareForViewing();
     }
 
+    /**
+     * Read the smoothed time spent simulating physics during each frame.
+     *
+     * @return the time (in milliseconds, &ge;0)
+     */
+    public float physicsStepMilliseconds() {
+        float result = bulletAppState.stepMilliseconds();
+        return result;
+    }
+
     /**
      * Re-install the C-G model in the physics space after creating a
      * checkpoint.
@@ -745,6 +804,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
             parent.detachChild(cgmRoot);
         }
         setCgmRoot(null);
+        PendingProbe.cancel(cgm);
+        removeAddedLightProbes();
         this.animControl = null;
         this.skeleton = null;
         this.skeletonControl = null;
@@ -881,15 +942,16 @@ public class SceneViewCore implements EditorView, JmeCloneable {
             int[] vertexIndices = new int[3];
             mesh.getTriangle(triangleIndex, vertexIndices);
 
-            Pose pose = cgm.getPose().get();
-            Matrix4f[] matrices = pose.skin(null);
+            DisplayedPose displayedPose = cgm.getPose();
             Vector3f worldPosition = new Vector3f();
+            Vector3f screen = new Vector3f();
+            Vector2f screenXY = new Vector2f();
 
             for (int vertexIndex : vertexIndices) {
-                MyMesh.vertexWorldLocation(
-                        geometry, vertexIndex, matrices, worldPosition);
-                Vector3f screen = camera.getScreenCoordinates(worldPosition);
-                Vector2f screenXY = new Vector2f(screen.x, screen.y);
+                displayedPose.vertexWorldLocation(
+                        geometry, vertexIndex, worldPosition);
+                camera.getScreenCoordinates(worldPosition, screen);
+                screenXY.set(screen.x, screen.y);
                 selection.considerVertex(cgm, geometry, vertexIndex, screenXY);
             }
         }
@@ -951,8 +1013,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
     public void update(Cgm ignored, float tpf) {
         Camera camera = getCamera();
         if (camera != null) {
-            List<Integer> modelRootPosition = new ArrayList<>(0);
-            updateLocalTransforms(cgmRoot, modelRootPosition);
+            tmpPosition.clear();
+            updateLocalTransforms(cgmRoot, tmpPosition);
 
             updateParentShadowMode();
             updateParentTransform();
@@ -964,6 +1026,21 @@ public class SceneViewCore implements EditorView, JmeCloneable {
             SceneOptions options = Maud.getModel().getScene();
             int numIterations = options.numPhysicsIterations();
             space.setSolverNumIterations(numIterations);
+
+            if (isBroadphaseStale()) {
+                /*
+                 * Rebuild the physics space at the start of the next frame,
+                 * while no simulation step is in progress.
+                 */
+                Maud.getApplication().enqueue(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (isBroadphaseStale()) {
+                            rebuildPhysicsSpace();
+                        }
+                    }
+                });
+            }
         }
     }
 
@@ -1000,7 +1077,7 @@ public class SceneViewCore implements EditorView, JmeCloneable {
      */
     @Override
     public void cloneFields(Cloner cloner, Object original) {
-        // addedProbes not cloned: shared
+        // addedProbeFiles, addedProbes not cloned: shared
         // ambientLight not cloned: shared
         this.animControl = cloner.clone(animControl);
         // axesVisualizer not cloned: shared
@@ -1019,6 +1096,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         this.skeletonControl = cloner.clone(skeletonControl);
         // skeletonVisualizer not cloned: shared
         // skyControl not cloned: shared
+        this.spatialIndex = new SpatialIndex();
+        // tmpPosition, tmpTransform not cloned: shared
         // vertexSpatial not cloned: shared
         // viewPort1, viewPort2 not cloned: shared
     }
@@ -1300,20 +1379,30 @@ public class SceneViewCore implements EditorView, JmeCloneable {
     }
 
     /**
-     * Access the root node of the base scene graph.
+     * Test whether the physics space should be rebuilt to match the selected
+     * broadphase type or to fit the scaled C-G model.
      *
-     * @return the pre-existing instance (not null)
-     */
-    private Node getSceneRoot() {
-        List<Spatial> scenes = viewPort2.getScenes();
-        int numScenes = scenes.size();
-        assert numScenes >= 1 : numScenes;
-        assert numScenes <= 2 : numScenes;
-        Spatial spatial = scenes.get(0);
-        Node node = (Node) spatial;
+     * @return true if stale, otherwise false
+     */
+    private boolean isBroadphaseStale() {
+        SceneOptions options = Maud.getModel().getScene();
+        PhysicsSpace.BroadphaseType broadphaseType
+                = options.getBroadphaseType();
+        if (broadphaseType != bulletAppState.getBroadphaseType()) {
+            return true;
+        } else if (broadphaseType == PhysicsSpace.BroadphaseType.DBVT
+                || broadphaseType == PhysicsSpace.BroadphaseType.SIMPLE) {
+            return false; // these broadphases aren't bounded
+        }
+        /*
+         * Resize if the model has outgrown the broadphase,
+         * or if it has shrunk to less than half its size.
+         */
+        float halfExtent = broadphaseScale * cgmTransform.getScale() * cgmSize;
+        float current = bulletAppState.worldMax().x;
+        boolean result = halfExtent > current || 2f * halfExtent < current;
 
-        assert node != null;
-        return node;
+        return result;
     }
 
     /**
@@ -1324,14 +1413,20 @@ public class SceneViewCore implements EditorView, JmeCloneable {
      * @param viewPort2 (not null)
      * @return a new instance
      */
-    private BulletAppState makeBullet(ViewPort viewPort1, ViewPort viewPort2) {
+    private TimedBulletAppState makeBullet(ViewPort viewPort1,
+            ViewPort viewPort2) {
         assert viewPort2 != null;
-
-        float radius = 100f; // TODO adjust based on CGM size
-        Vector3f worldMin = new Vector3f(-radius, -radius, -radius);
-        Vector3f worldMax = new Vector3f(radius, radius, radius);
-        BulletAppState result = new BulletAppState(worldMin, worldMax,
-                PhysicsSpace.BroadphaseType.AXIS_SWEEP_3);
+        /*
+         * The broadphase gets resized (and possibly replaced) by
+         * rebuildPhysicsSpace() after a C-G model is loaded.
+         */
+        float halfExtent = broadphaseScale * cgmSize;
+        Vector3f worldMax = new Vector3f(halfExtent, halfExtent, halfExtent);
+        Vector3f worldMin = worldMax.negate();
+        PhysicsSpace.BroadphaseType broadphaseType
+                = Maud.getModel().getScene().getBroadphaseType();
+        TimedBulletAppState result
+                = new TimedBulletAppState(worldMin, worldMax, broadphaseType);
 
         ViewPort[] viewPorts;
         if (viewPort1 == null) {
@@ -1388,6 +1483,7 @@ public class SceneViewCore implements EditorView, JmeCloneable {
 
         // Configure the transform and calculate the model's size.
         float maxExtent = configureTransform();
+        this.cgmSize = maxExtent;
 
         // Reset the camera limits/rate/position.
         ScenePov pov = getPov();
@@ -1403,6 +1499,54 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         model.getScene().setPlatformDiameter(whichCgm, maxExtent);
 
         projectile.delete();
+        /*
+         * Replace any light probes of the previous C-G model with those cached
+         * for this one.
+         */
+        PendingProbe.cancel(cgm);
+        removeAddedLightProbes();
+        PendingProbe.restore(cgm);
+    }
+
+    /**
+     * Replace the physics space with a new one that uses the selected type of
+     * broadphase, sized to fit the scaled C-G model, and move all physics
+     * controls to the new space. Must not be invoked during a simulation
+     * step.
+     */
+    private void rebuildPhysicsSpace() {
+        emptyPhysicsSpace();
+        bulletAppState.stopPhysics();
+
+        SceneOptions options = Maud.getModel().getScene();
+        PhysicsSpace.BroadphaseType broadphaseType
+                = options.getBroadphaseType();
+        bulletAppState.setBroadphaseType(broadphaseType);
+
+        float halfExtent = broadphaseScale * cgmTransform.getScale() * cgmSize;
+        Vector3f worldMax = new Vector3f(halfExtent, halfExtent, halfExtent);
+        Vector3f worldMin = worldMax.negate();
+        bulletAppState.setWorldMin(worldMin);
+        bulletAppState.setWorldMax(worldMax);
+
+        bulletAppState.startPhysics();
+        fillPhysicsSpace();
+
+        logger.log(Level.INFO, "Rebuilt the physics space using {0} with "
+                + "half-extent {1}", new Object[]{broadphaseType, halfExtent});
+    }
+
+    /**
+     * Remove all added light probes from the scene, without deleting their
+     * cache files.
+     */
+    private void removeAddedLightProbes() {
+        Node sceneRoot = getSceneRoot();
+        for (LightProbe probe : addedProbes) {
+            sceneRoot.removeLight(probe);
+        }
+        addedProbes.clear();
+        addedProbeFiles.clear();
     }
 
     /**
@@ -1423,7 +1567,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
      * the MVC model. Note: recursive!
      *
      * @param spatial subtree of the base scene graph (not null)
-     * @param position tree position of subtree (not null, unaffected)
+     * @param position tree position of subtree (not null, modified during
+     * the call but restored before returning)
      */
     private void updateLocalTransforms(
             Spatial spatial, List<Integer> position) {
@@ -1431,21 +1576,24 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         assert spatial != null;
 
         // Copy local transform from the MVC model.
-        Transform transform = cgm.getLocalTransform(position);
+        Transform transform = cgm.getLocalTransform(position, tmpTransform);
         spatial.setLocalTransform(transform);
 
         int numChildren = cgm.countChildren(position);
         if (numChildren > 0) {
+            /*
+             * Extend the position temporarily, to avoid allocating
+             * a new list for each child.
+             */
             Node node = (Node) spatial;
             int depth = position.size();
-            List<Integer> childPosition = new ArrayList<>(depth + 1);
-            childPosition.addAll(position);
-            childPosition.add(-1);
+            position.add(-1);
             for (int childIndex = 0; childIndex < numChildren; childIndex++) {
                 Spatial childSpatial = node.getChild(childIndex);
-                childPosition.set(depth, childIndex);
-                updateLocalTransforms(childSpatial, childPosition);
+                position.set(depth, childIndex);
+                updateLocalTransforms(childSpatial, position);
             }
+            position.remove(depth);
         }
     }
 
@@ -1482,7 +1630,8 @@ public class SceneViewCore implements EditorView, JmeCloneable {
         int numTransforms = pose.countBones();
         assert numTransforms == boneCount : numTransforms;
 
-        Transform transform = new Transform();
+        Transform transform = tmpTransform;
+        Spatial transformSpatial = null;
 
         for (int boneIndex = 0; boneIndex < boneCount; ++boneIndex) {
             pose.localTransform(boneIndex, transform);
@@ -1503,7 +1652,9 @@ public class SceneViewCore implements EditorView, JmeCloneable {
                 }
 
                 pose.modelTransform(boneIndex, transform);
-                Spatial transformSpatial = findTransformSpatial();
+                if (transformSpatial == null) {
+                    transformSpatial = findTransformSpatial();
+                }
                 if (!MySpatial.isIgnoringTransforms(transformSpatial)) {
                     Transform worldTransform
                             = transformSpatial.getWorldTransform(); // alias
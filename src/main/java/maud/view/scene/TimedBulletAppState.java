@@ -0,0 +1,142 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.view.scene;
+
+import com.jme3.bullet.BulletAppState;
+import com.jme3.bullet.PhysicsSpace;
+import com.jme3.math.Vector3f;
+import java.util.logging.Logger;
+
+/**
+ * A BulletAppState that measures how long the physics simulation takes during
+ * each frame.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class TimedBulletAppState extends BulletAppState {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * weight given to the latest frame when smoothing the step time (&gt;0,
+     * &le;1)
+     */
+    final private static float smoothing = 0.1f;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(TimedBulletAppState.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * smoothed simulation time per frame (in nanoseconds, &ge;0)
+     */
+    private float smoothedNanos = 0f;
+    /**
+     * simulation time accumulated since the last postRender() (in
+     * nanoseconds, &ge;0)
+     */
+    private long frameNanos = 0L;
+    /**
+     * System.nanoTime() at the start of the current simulation step
+     */
+    private long stepStart = 0L;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an app state to manage a PhysicsSpace with the specified
+     * broadphase.
+     *
+     * @param worldMin the desired minimum coordinate values (not null,
+     * unaffected)
+     * @param worldMax the desired maximum coordinate values (not null,
+     * unaffected)
+     * @param broadphaseType which broadphase collision-detection algorithm to
+     * use (not null)
+     */
+    TimedBulletAppState(Vector3f worldMin, Vector3f worldMax,
+            PhysicsSpace.BroadphaseType broadphaseType) {
+        super(worldMin, worldMax, broadphaseType);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the smoothed simulation time per frame.
+     *
+     * @return the time (in milliseconds, &ge;0)
+     */
+    float stepMilliseconds() {
+        float result = 1e-6f * smoothedNanos;
+
+        assert result >= 0f : result;
+        return result;
+    }
+    // *************************************************************************
+    // BulletAppState methods
+
+    /**
+     * Callback from Bullet, invoked just after each simulation step. With
+     * ThreadingType.PARALLEL, this runs on the physics thread, whose steps
+     * complete before postRender() returns.
+     *
+     * @param space the space that was just stepped (not null)
+     * @param timeStep the duration of the simulation step (in seconds, &ge;0)
+     */
+    @Override
+    public void physicsTick(PhysicsSpace space, float timeStep) {
+        super.physicsTick(space, timeStep);
+        frameNanos += System.nanoTime() - stepStart;
+    }
+
+    /**
+     * Wait for the physics simulation of the current frame to complete, then
+     * fold its duration into the smoothed step time. Invoked once per frame.
+     */
+    @Override
+    public void postRender() {
+        super.postRender();
+
+        smoothedNanos += smoothing * (frameNanos - smoothedNanos);
+        frameNanos = 0L;
+    }
+
+    /**
+     * Callback from Bullet, invoked just before each simulation step.
+     *
+     * @param space the space that's about to be stepped (not null)
+     * @param timeStep the duration of the simulation step (in seconds, &ge;0)
+     */
+    @Override
+    public void prePhysicsTick(PhysicsSpace space, float timeStep) {
+        super.prePhysicsTick(space, timeStep);
+        stepStart = System.nanoTime();
+    }
+}
@@ -83,6 +83,10 @@ public class VertexMarker {
      * {@link #setView(SceneViewCore)})
      */
     private SceneViewCore view;
+    /**
+     * reusable storage for the world location of the selected vertex
+     */
+    final private Vector3f worldLocation = new Vector3f();
     // *************************************************************************
     // constructors
 
@@ -129,7 +133,7 @@ public class VertexMarker {
 
         SelectedVertex vertex = cgm.getVertex();
         if (vertex.isSelected()) {
-            Vector3f worldLocation = vertex.worldLocation(null);
+            vertex.worldLocation(worldLocation);
             geometry.setLocalTranslation(worldLocation);
 
             double t = Math.sin(Math.PI * colorTime / cycleTime);
@@ -1,15 +1,16 @@
 package net.bithaven.jme;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Locale;
-import java.util.Scanner;
 import com.jme3.util.BufferUtils;
 import com.jme3.animation.AnimControl;
 import com.jme3.animation.Animation;
@@ -68,9 +69,11 @@ public class IQELoader implements AssetLoader {
     private static final Quaternion FIX_ROTATION
             = new Quaternion().fromAngleNormalAxis(-FastMath.HALF_PI, Vector3f.UNIT_X);
     InputStream in;
-    Scanner scan;
-    HashMap<String, LinkedList<? extends Number>> vectors;
-    LinkedList<Triangle> triangles;
+    BufferedReader reader;
+    String[] tokens = new String[16];
+    HashMap<String, FloatArray> vectors;
+    ByteArray boneIndices;
+    IntArray triangles;
     ArrayList<Geometry> geometries;
     Geometry currentGeometry;
     LinkedList<Animation> animations;
@@ -118,12 +121,12 @@ public class IQELoader implements AssetLoader {
         try {
             in = info.openStream();
 
-            scan = new Scanner(in);
-            scan.useLocale(Locale.US);
+            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
 
-            if (!scan.hasNextLine()) {
+            String firstLine = reader.readLine();
+            if (firstLine == null) {
                 throw (new IOException("File is empty."));
-            } else if (!scan.nextLine().startsWith("# Inter-Quake Export")) {
+            } else if (!firstLine.startsWith("# Inter-Quake Export")) {
                 throw (new IOException("First line of an IQE file must be \"# Inter-Quake Export\"."));
             }
 
@@ -155,8 +158,9 @@ public class IQELoader implements AssetLoader {
                 in.close();
             }
 
-            scan = null;
+            reader = null;
             vectors = null;
+            boneIndices = null;
             triangles = null;
             geometries = null;
             currentGeometry = null;
@@ -211,13 +215,18 @@ public class IQELoader implements AssetLoader {
     }
 
     private boolean readLine() throws IOException {
-        if (!scan.hasNextLine()) {
+        String line = reader.readLine();
+        if (line == null) {
             finishMesh();
             finishAnimation();
             return false;
         }
 
-        String[] args = scan.nextLine().split(" ");
+        String[] args = tokenize(line);
+        if (args.length == 0) {
+            //A blank line.
+            return true;
+        }
 
         if (args[0].startsWith("#")) {
             //A one-line comment.
@@ -255,7 +264,8 @@ public class IQELoader implements AssetLoader {
             case "mesh":
                 finishMesh();
                 finishAnimation();
-                vectors = new HashMap<String, LinkedList<? extends Number>>();
+                vectors = new HashMap<String, FloatArray>();
+                boneIndices = null;
                 currentGeometry = new Geometry();
                 if (args.length > 1) {
                     String name = args[1];
@@ -265,7 +275,7 @@ public class IQELoader implements AssetLoader {
                     currentGeometry.setName(name);
                 }
                 geometries.add(currentGeometry);
-                triangles = new LinkedList<Triangle>();
+                triangles = new IntArray();
                 break;
             case "material":
                 if (args.length > 1) {
@@ -283,7 +293,9 @@ public class IQELoader implements AssetLoader {
             case "fa":
                 throw new IOException("Absolute triangles (fa) are not supported, only relative triangles (fm).");
             case "fm":
-                triangles.add(new Triangle(args[1], args[2], args[3]));
+                triangles.add(Integer.parseInt(args[1]));
+                triangles.add(Integer.parseInt(args[2]));
+                triangles.add(Integer.parseInt(args[3]));
                 break;
             case "smoothuv":
             case "smoothgroup":
@@ -369,13 +381,13 @@ public class IQELoader implements AssetLoader {
                 } else {
                     currentAnim.name = "unnamed";
                 }
-                currentAnim.translations = new ArrayList<LinkedList<Vector3f>>(jointCount);
-                currentAnim.rotations = new ArrayList<LinkedList<Quaternion>>(jointCount);
-                currentAnim.scales = new ArrayList<LinkedList<Vector3f>>(jointCount);
+                currentAnim.translations = new ArrayList<ArrayList<Vector3f>>(jointCount);
+                currentAnim.rotations = new ArrayList<ArrayList<Quaternion>>(jointCount);
+                currentAnim.scales = new ArrayList<ArrayList<Vector3f>>(jointCount);
                 for (int i = 0; i < jointCount; i++) {
-                    currentAnim.translations.add(new LinkedList<Vector3f>());
-                    currentAnim.rotations.add(new LinkedList<Quaternion>());
-                    currentAnim.scales.add(new LinkedList<Vector3f>());
+                    currentAnim.translations.add(new ArrayList<Vector3f>());
+                    currentAnim.rotations.add(new ArrayList<Quaternion>());
+                    currentAnim.scales.add(new ArrayList<Vector3f>());
                 }
                 break;
             case "loop":
@@ -431,42 +443,27 @@ public class IQELoader implements AssetLoader {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void setBuffer(Mesh mesh, int componentsPerElement, String vectorType, VertexBuffer.Type... types) {
-        int size;
+        int numTriangles = triangles.size / 3;
+        int[] corners = triangles.data;
         if (vectorType.equals("vbi")) {
-            ByteBuffer byteBuffer = null;
-            LinkedList<Byte> list = (LinkedList<Byte>) vectors.get(vectorType);
-            size = list.size();
-            Iterator<Byte> iter = list.iterator();
-            byte[] src = new byte[size];
-            for (int i = 0; i < size; i++) {
-                src[i] = iter.next();
-            }
-            byteBuffer = BufferUtils.createByteBuffer(triangles.size() * 3 * componentsPerElement);
-            for (Triangle t : triangles) {
-                byteBuffer.put(src, t.v2 * componentsPerElement, componentsPerElement);
-                byteBuffer.put(src, t.v1 * componentsPerElement, componentsPerElement);
-                byteBuffer.put(src, t.v0 * componentsPerElement, componentsPerElement);
+            byte[] src = boneIndices.data;
+            ByteBuffer byteBuffer = BufferUtils.createByteBuffer(numTriangles * 3 * componentsPerElement);
+            for (int i = 0; i < numTriangles * 3; i += 3) {
+                byteBuffer.put(src, corners[i + 2] * componentsPerElement, componentsPerElement);
+                byteBuffer.put(src, corners[i + 1] * componentsPerElement, componentsPerElement);
+                byteBuffer.put(src, corners[i] * componentsPerElement, componentsPerElement);
             }
             for (Type type : types) {
                 mesh.setBuffer(type, componentsPerElement, byteBuffer);
             }
         } else {
-            FloatBuffer floatBuffer = null;
-            LinkedList<Float> list = (LinkedList<Float>) vectors.get(vectorType);
-            size = list.size();
-            Iterator<Float> iter = list.iterator();
-            float[] src = new float[size];
-            for (int i = 0; i < size; i++) {
-                src[i] = iter.next();
-            }
-            floatBuffer = BufferUtils.createFloatBuffer(triangles.size() * 3 * componentsPerElement);
-
-            for (Triangle t : triangles) {
-                floatBuffer.put(src, t.v2 * componentsPerElement, componentsPerElement);
-                floatBuffer.put(src, t.v1 * componentsPerElement, componentsPerElement);
-                floatBuffer.put(src, t.v0 * componentsPerElement, componentsPerElement);
+            float[] src = vectors.get(vectorType).data;
+            FloatBuffer floatBuffer = BufferUtils.createFloatBuffer(numTriangles * 3 * componentsPerElement);
+            for (int i = 0; i < numTriangles * 3; i += 3) {
+                floatBuffer.put(src, corners[i + 2] * componentsPerElement, componentsPerElement);
+                floatBuffer.put(src, corners[i + 1] * componentsPerElement, componentsPerElement);
+                floatBuffer.put(src, corners[i] * componentsPerElement, componentsPerElement);
             }
             for (Type type : types) {
                 mesh.setBuffer(type, componentsPerElement, floatBuffer);
@@ -477,7 +474,11 @@ public class IQELoader implements AssetLoader {
     private void finishMesh() {
         if (currentGeometry != null) {
             Mesh mesh = new Mesh();
-            for (String vectorType : vectors.keySet()) {
+            ArrayList<String> vectorTypes = new ArrayList<String>(vectors.keySet());
+            if (boneIndices != null) {
+                vectorTypes.add("vbi");
+            }
+            for (String vectorType : vectorTypes) {
                 switch (vectorType) {
                     case "vp":
                         setBuffer(mesh, 3, vectorType, Type.BindPosePosition, Type.Position);
@@ -519,11 +520,11 @@ public class IQELoader implements AssetLoader {
 
             maxNumWeights = 0;
             currentGeometry = null;
+            boneIndices = null;
             triangles = null;
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void handleVector(String[] args) throws IOException {
         switch (args[0]) {
             case "vp":
@@ -540,14 +541,14 @@ public class IQELoader implements AssetLoader {
                     throw new IOException("Only tangent vectors of the format <X,Y,Z,W> are supported.");
                 }
             case "vb":
-                LinkedList<Byte> listi = (LinkedList<Byte>) vectors.get("vbi");
+                ByteArray listi = boneIndices;
                 if (listi == null) {
-                    listi = new LinkedList<Byte>();
-                    vectors.put("vbi", listi);
+                    listi = new ByteArray();
+                    boneIndices = listi;
                 }
-                LinkedList<Float> listw = (LinkedList<Float>) vectors.get("vbw");
+                FloatArray listw = vectors.get("vbw");
                 if (listw == null) {
-                    listw = new LinkedList<Float>();
+                    listw = new FloatArray();
                     vectors.put("vbw", listw);
                 }
                 for (int i = 0; i < 4; i++) {
@@ -580,11 +581,10 @@ public class IQELoader implements AssetLoader {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void addVector(String[] args, int floatsPerVector, int oneAfter) {
-        LinkedList<Float> list = (LinkedList<Float>) vectors.get(args[0]);
+        FloatArray list = vectors.get(args[0]);
         if (list == null) {
-            list = new LinkedList<Float>();
+            list = new FloatArray();
             vectors.put(args[0], list);
         }
         for (int i = 0; i < floatsPerVector; i++) {
@@ -601,23 +601,85 @@ public class IQELoader implements AssetLoader {
         }
     }
 
-    private class TempAnim {
+    /**
+     * Split a line into tokens separated by spaces or tabs, without using
+     * regular expressions.
+     */
+    private String[] tokenize(String line) {
+        int count = 0;
+        int length = line.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean separator = (i == length) || line.charAt(i) == ' ' || line.charAt(i) == '\t';
+            if (separator) {
+                if (start >= 0) {
+                    if (count == tokens.length) {
+                        tokens = Arrays.copyOf(tokens, 2 * count);
+                    }
+                    tokens[count++] = line.substring(start, i);
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        return Arrays.copyOf(tokens, count);
+    }
 
-        String name;
-        float framerate;
-        ArrayList<LinkedList<Vector3f>> translations;
-        ArrayList<LinkedList<Quaternion>> rotations;
-        ArrayList<LinkedList<Vector3f>> scales;
+    /**
+     * A growable array of bytes.
+     */
+    private static class ByteArray {
+
+        byte[] data = new byte[1024];
+        int size = 0;
+
+        void add(byte value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
+        }
     }
 
-    private class Triangle {
+    /**
+     * A growable array of floats.
+     */
+    private static class FloatArray {
 
-        int v0, v1, v2;
+        float[] data = new float[1024];
+        int size = 0;
 
-        private Triangle(String a, String b, String c) {
-            v0 = Integer.parseInt(a);
-            v1 = Integer.parseInt(b);
-            v2 = Integer.parseInt(c);
+        void add(float value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
         }
     }
+
+    /**
+     * A growable array of ints.
+     */
+    private static class IntArray {
+
+        int[] data = new int[1024];
+        int size = 0;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
+        }
+    }
+
+    private class TempAnim {
+
+        String name;
+        float framerate;
+        ArrayList<ArrayList<Vector3f>> translations;
+        ArrayList<ArrayList<Quaternion>> rotations;
+        ArrayList<ArrayList<Vector3f>> scales;
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package maud.model;
+
+import com.jme3.scene.VertexBuffer;
+import com.jme3.util.BufferUtils;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Automated tests for spilling checkpoint data to disk and reloading it.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class TestCheckpointSpill {
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Spill 2 vertex buffers (keeping a 3rd in memory), reload them, and
+     * verify that their data and formats survive the round trip.
+     */
+    @Test
+    public void testSpillThenReload() {
+        float[] positions = {1f, 2f, 3f, 4f, 5f, 6f, -0f, Float.NaN, 9e9f};
+        VertexBuffer positionBuffer
+                = new VertexBuffer(VertexBuffer.Type.Position);
+        positionBuffer.setupData(VertexBuffer.Usage.Static, 3,
+                VertexBuffer.Format.Float,
+                BufferUtils.createFloatBuffer(positions));
+
+        short[] indices = {0, 1, 2};
+        VertexBuffer indexBuffer = new VertexBuffer(VertexBuffer.Type.Index);
+        indexBuffer.setupData(VertexBuffer.Usage.Dynamic, 3,
+                VertexBuffer.Format.UnsignedShort,
+                BufferUtils.createShortBuffer(indices));
+
+        VertexBuffer keptBuffer = new VertexBuffer(VertexBuffer.Type.Normal);
+        keptBuffer.setupData(VertexBuffer.Usage.Static, 3,
+                VertexBuffer.Format.Float,
+                BufferUtils.createFloatBuffer(0f, 0f, 1f));
+
+        List<Object> copyList = new ArrayList<>(3);
+        copyList.add(positionBuffer);
+        copyList.add(indexBuffer);
+        copyList.add(keptBuffer);
+        Set<Object> keep
+                = Collections.newSetFromMap(new IdentityHashMap<>());
+        keep.add(keptBuffer);
+
+        CheckpointPool pool = new CheckpointPool();
+        long expectedBytes = 4L * positions.length + 2L * indices.length;
+        long releasedBytes = pool.spill(copyList, keep);
+        Assert.assertEquals(expectedBytes, releasedBytes);
+        Assert.assertNull(positionBuffer.getData());
+        Assert.assertNull(indexBuffer.getData());
+        Assert.assertNotNull(keptBuffer.getData());
+        Assert.assertEquals(expectedBytes, pool.spilledBytes(positionBuffer)
+                + pool.spilledBytes(indexBuffer));
+        Assert.assertEquals(0L, pool.spilledBytes(keptBuffer));
+
+        long reloadedBytes = pool.reload(copyList);
+        Assert.assertEquals(expectedBytes, reloadedBytes);
+        Assert.assertEquals(0L, pool.spilledBytes(positionBuffer));
+
+        FloatBuffer reloadedPositions = (FloatBuffer) positionBuffer.getData();
+        Assert.assertNotNull(reloadedPositions);
+        Assert.assertEquals(positions.length, reloadedPositions.limit());
+        for (int i = 0; i < positions.length; ++i) {
+            Assert.assertEquals(Float.floatToIntBits(positions[i]),
+                    Float.floatToIntBits(reloadedPositions.get(i)));
+        }
+        Assert.assertEquals(3, positionBuffer.getNumComponents());
+        Assert.assertEquals(VertexBuffer.Format.Float,
+                positionBuffer.getFormat());
+
+        ShortBuffer reloadedIndices = (ShortBuffer) indexBuffer.getData();
+        Assert.assertNotNull(reloadedIndices);
+        Assert.assertEquals(indices.length, reloadedIndices.limit());
+        for (int i = 0; i < indices.length; ++i) {
+            Assert.assertEquals(indices[i], reloadedIndices.get(i));
+        }
+        Assert.assertEquals(VertexBuffer.Usage.Dynamic,
+                indexBuffer.getUsage());
+        Assert.assertEquals(VertexBuffer.Format.UnsignedShort,
+                indexBuffer.getFormat());
+        /*
+         * A 2nd spill should reuse the existing files.
+         */
+        releasedBytes = pool.spill(copyList, keep);
+        Assert.assertEquals(expectedBytes, releasedBytes);
+        reloadedBytes = pool.reload(copyList);
+        Assert.assertEquals(expectedBytes, reloadedBytes);
+        Assert.assertNotNull(positionBuffer.getData());
+    }
+}